@@ -0,0 +1,180 @@
+package io.katharsis.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH result files written with <code>-rf json</code> and fails if a benchmark of the current run got
+ * slower than the baseline by more than the given tolerance. Benchmarks are matched by name and parameters, results
+ * present in only one of the files are ignored. Throughput results are expected to grow, all other modes to shrink.
+ * <p>
+ * Usage: <code>BaselineComparison baseline.json current.json [tolerance in percent]</code>. The process exits with
+ * status 1 if a regression was found, which allows to gate upgrades in a build.
+ */
+public class BaselineComparison {
+
+    public static final double DEFAULT_TOLERANCE = 10.0;
+
+    private static final String THROUGHPUT_MODE = "thrpt";
+
+    private final double tolerance;
+
+    public BaselineComparison(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("usage: BaselineComparison <baseline.json> <current.json> [tolerance in percent]");
+            System.exit(2);
+        }
+        double tolerance = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(new File(args[0]));
+        JsonNode current = objectMapper.readTree(new File(args[1]));
+
+        List<Result> results = new BaselineComparison(tolerance).compare(baseline, current);
+        print(results, System.out);
+        if (hasRegression(results)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param baseline JMH results of the baseline
+     * @param current JMH results of the current run
+     * @return comparison of all benchmarks present in both results
+     */
+    public List<Result> compare(JsonNode baseline, JsonNode current) {
+        Map<String, JsonNode> baselineResults = index(baseline);
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : index(current).entrySet()) {
+            JsonNode baselineResult = baselineResults.get(entry.getKey());
+            if (baselineResult == null) {
+                continue;
+            }
+            JsonNode currentResult = entry.getValue();
+            boolean higherIsBetter = THROUGHPUT_MODE.equals(currentResult.get("mode").asText());
+            double baselineScore = getScore(baselineResult);
+            double currentScore = getScore(currentResult);
+            double change = baselineScore == 0.0 ? 0.0 : (currentScore - baselineScore) / baselineScore * 100.0;
+            double improvement = higherIsBetter ? change : -change;
+            results.add(new Result(entry.getKey(), getUnit(currentResult), baselineScore, currentScore, improvement,
+                improvement < -tolerance));
+        }
+        return results;
+    }
+
+    public static boolean hasRegression(List<Result> results) {
+        for (Result result : results) {
+            if (result.isRegression()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void print(List<Result> results, PrintStream out) {
+        out.println(String.format("%-100s %15s %15s %10s", "benchmark", "baseline", "current", "change"));
+        for (Result result : results) {
+            out.println(String.format("%-100s %15.3f %15.3f %+9.1f%% %s %s", result.getName(), result.getBaselineScore(),
+                result.getCurrentScore(), result.getImprovement(), result.getUnit(),
+                result.isRegression() ? "REGRESSION" : ""));
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> index = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            index.put(getName(result), result);
+        }
+        return index;
+    }
+
+    private static String getName(JsonNode result) {
+        StringBuilder name = new StringBuilder(result.get("benchmark").asText());
+        JsonNode params = result.get("params");
+        if (params != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                name.append(name.indexOf("(") == -1 ? "(" : ", ");
+                name.append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            if (name.indexOf("(") != -1) {
+                name.append(')');
+            }
+        }
+        return name.toString();
+    }
+
+    private static double getScore(JsonNode result) {
+        return result.get("primaryMetric").get("score").asDouble();
+    }
+
+    private static String getUnit(JsonNode result) {
+        return result.get("primaryMetric").get("scoreUnit").asText();
+    }
+
+    /**
+     * Outcome of the comparison of a single benchmark.
+     */
+    public static class Result {
+
+        private final String name;
+        private final String unit;
+        private final double baselineScore;
+        private final double currentScore;
+        private final double improvement;
+        private final boolean regression;
+
+        public Result(String name, String unit, double baselineScore, double currentScore, double improvement,
+                      boolean regression) {
+            this.name = name;
+            this.unit = unit;
+            this.baselineScore = baselineScore;
+            this.currentScore = currentScore;
+            this.improvement = improvement;
+            this.regression = regression;
+        }
+
+        /**
+         * @return benchmark name followed by its parameters
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public double getBaselineScore() {
+            return baselineScore;
+        }
+
+        public double getCurrentScore() {
+            return currentScore;
+        }
+
+        /**
+         * @return relative improvement in percent, negative if the current run is slower
+         */
+        public double getImprovement() {
+            return improvement;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.katharsis.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.benchmark.model.Task;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.response.BaseResponseContext;
+
+/**
+ * Measures {@link io.katharsis.client.internal.BaseResponseDeserializer} with documents written by the server for
+ * collections of the requested size, including the project of each task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientDeserializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int size;
+
+    private byte[] document;
+
+    private ObjectMapper clientObjectMapper;
+
+    @Setup
+    public void setup() throws IOException {
+        KatharsisStack stack = new KatharsisStack(size);
+        document = stack.get("/tasks", KatharsisStack.parameters("include[tasks]", "project"));
+
+        KatharsisClient client = new KatharsisClient(KatharsisStack.SERVICE_URL, Task.class.getPackage().getName());
+        // obtaining a repository sets up the client
+        client.getRepository(Task.class);
+        clientObjectMapper = client.getObjectMapper();
+    }
+
+    @Benchmark
+    public BaseResponseContext deserialize() throws IOException {
+        return clientObjectMapper.readValue(document, BaseResponseContext.class);
+    }
+}
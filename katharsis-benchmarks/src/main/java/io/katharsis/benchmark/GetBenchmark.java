@@ -0,0 +1,100 @@
+package io.katharsis.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures GET requests from the parsed path to the written response document. Collection requests are paged to the
+ * requested size, inclusions are performed for ten tasks with the requested depth:
+ * <ol>
+ * <li>tasks to projects</li>
+ * <li>tasks to projects to leaders</li>
+ * <li>tasks to projects to leaders to companies</li>
+ * </ol>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetBenchmark {
+
+    private static final String[] INCLUSIONS = {"project", "project.leader", "project.leader.company"};
+
+    @State(Scope.Benchmark)
+    public static class StackState {
+
+        KatharsisStack stack;
+
+        @Setup
+        public void setup() {
+            stack = new KatharsisStack(1000);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CollectionState {
+
+        @Param({"1", "10", "100", "1000"})
+        public int size;
+
+        Map<String, Set<String>> parameters;
+
+        Map<String, Set<String>> sparseParameters;
+
+        @Setup
+        public void setup() {
+            parameters = KatharsisStack.parameters("page[limit]", Integer.toString(size));
+            sparseParameters = KatharsisStack.parameters("page[limit]", Integer.toString(size), "fields[tasks]", "name");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class IncludeState {
+
+        @Param({"1", "2", "3"})
+        public int depth;
+
+        Map<String, Set<String>> parameters;
+
+        @Setup
+        public void setup() {
+            parameters = KatharsisStack.parameters("page[limit]", "10", "include[tasks]", INCLUSIONS[depth - 1]);
+        }
+    }
+
+    @Benchmark
+    public byte[] getSingle(StackState state) throws IOException {
+        return state.stack.get("/tasks/1", Collections.<String, Set<String>>emptyMap());
+    }
+
+    @Benchmark
+    public byte[] getCollection(StackState state, CollectionState collection) throws IOException {
+        return state.stack.get("/tasks", collection.parameters);
+    }
+
+    @Benchmark
+    public byte[] getCollectionWithSparseFieldset(StackState state, CollectionState collection) throws IOException {
+        return state.stack.get("/tasks", collection.sparseParameters);
+    }
+
+    @Benchmark
+    public byte[] getCollectionWithInclusion(StackState state, IncludeState include) throws IOException {
+        return state.stack.get("/tasks", include.parameters);
+    }
+}
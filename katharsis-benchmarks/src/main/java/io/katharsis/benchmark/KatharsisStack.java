@@ -0,0 +1,204 @@
+package io.katharsis.benchmark;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.benchmark.model.Company;
+import io.katharsis.benchmark.model.Person;
+import io.katharsis.benchmark.model.Project;
+import io.katharsis.benchmark.model.Task;
+import io.katharsis.benchmark.repository.InMemoryRepository;
+import io.katharsis.dispatcher.RequestDispatcher;
+import io.katharsis.internal.boot.KatharsisBoot;
+import io.katharsis.module.ServiceDiscovery;
+import io.katharsis.module.ServiceDiscoveryFactory;
+import io.katharsis.repository.Repository;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.registry.ConstantServiceUrlProvider;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.BaseResponseContext;
+
+/**
+ * Boots Katharsis over in-memory repositories and performs requests the same way the servlet and JAX-RS integrations
+ * do: the path is parsed, the request is dispatched and the response is written with the Katharsis
+ * {@link ObjectMapper}. No HTTP server is involved, so the measurements only cover the framework itself.
+ */
+public class KatharsisStack {
+
+    public static final String SERVICE_URL = "http://localhost:8080/api";
+
+    public static final int COMPANY_COUNT = 10;
+
+    public static final int PERSON_COUNT = 50;
+
+    public static final int PROJECT_COUNT = 100;
+
+    private final InMemoryRepository<Task> taskRepository = new InMemoryRepository<>(Task.class);
+
+    private final InMemoryRepository<Project> projectRepository = new InMemoryRepository<>(Project.class);
+
+    private final InMemoryRepository<Person> personRepository = new InMemoryRepository<>(Person.class);
+
+    private final InMemoryRepository<Company> companyRepository = new InMemoryRepository<>(Company.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final ResourceRegistry resourceRegistry;
+
+    private final RequestDispatcher requestDispatcher;
+
+    private final PathBuilder pathBuilder;
+
+    /**
+     * @param taskCount number of tasks to populate, the other resources have a fixed size
+     */
+    public KatharsisStack(int taskCount) {
+        populate(taskCount);
+
+        KatharsisBoot boot = new KatharsisBoot();
+        objectMapper = boot.getObjectMapper();
+        boot.setResourceFieldNameTransformer(new ResourceFieldNameTransformer(objectMapper.getSerializationConfig()));
+        boot.setServiceUrlProvider(new ConstantServiceUrlProvider(SERVICE_URL));
+        boot.setServiceDiscoveryFactory(new ServiceDiscoveryFactory() {
+
+            @Override
+            public ServiceDiscovery getInstance() {
+                return new RepositoryServiceDiscovery(
+                    Arrays.<Object>asList(taskRepository, projectRepository, personRepository, companyRepository));
+            }
+        });
+        boot.boot();
+
+        resourceRegistry = boot.getResourceRegistry();
+        requestDispatcher = boot.getRequestDispatcher();
+        pathBuilder = new PathBuilder(resourceRegistry);
+    }
+
+    private void populate(int taskCount) {
+        List<Company> companies = new ArrayList<>();
+        for (long i = 0; i < COMPANY_COUNT; i++) {
+            Company company = new Company();
+            company.setId(i);
+            company.setName("company " + i);
+            company.setCountry("country " + i % 3);
+            companies.add(companyRepository.save(company));
+        }
+        List<Person> people = new ArrayList<>();
+        for (long i = 0; i < PERSON_COUNT; i++) {
+            Person person = new Person();
+            person.setId(i);
+            person.setName("person " + i);
+            person.setEmail("person" + i + "@example.com");
+            person.setCompany(companies.get((int) (i % COMPANY_COUNT)));
+            people.add(personRepository.save(person));
+        }
+        List<Project> projects = new ArrayList<>();
+        for (long i = 0; i < PROJECT_COUNT; i++) {
+            Project project = new Project();
+            project.setId(i);
+            project.setName("project " + i);
+            project.setDescription("description of project " + i);
+            project.setLeader(people.get((int) (i % PERSON_COUNT)));
+            projects.add(projectRepository.save(project));
+        }
+        for (long i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setName("task " + i);
+            task.setDescription("description of task " + i);
+            task.setPriority((int) (i % 5));
+            task.setDone(i % 2 == 0);
+            Project project = projects.get((int) (i % PROJECT_COUNT));
+            task.setProject(project);
+            project.getTasks().add(task);
+            taskRepository.save(task);
+        }
+    }
+
+    public JsonPath parsePath(String path) {
+        return pathBuilder.buildPath(path);
+    }
+
+    public BaseResponseContext dispatch(String method, String path, Map<String, Set<String>> parameters,
+                                        RequestBody requestBody) {
+        JsonPath jsonPath = pathBuilder.buildPath(path);
+        return requestDispatcher.dispatchRequest(jsonPath, method, parameters, null, requestBody);
+    }
+
+    /**
+     * Performs a GET request and writes the response document.
+     *
+     * @param path request path relative to the service url
+     * @param parameters query parameters
+     * @return written response document
+     * @throws IOException if the response cannot be written
+     */
+    public byte[] get(String path, Map<String, Set<String>> parameters) throws IOException {
+        return write(dispatch("GET", path, parameters, null));
+    }
+
+    public byte[] write(BaseResponseContext response) throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    public RequestBody readRequestBody(byte[] requestBody) throws IOException {
+        return objectMapper.readValue(requestBody, RequestBody.class);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public ResourceRegistry getResourceRegistry() {
+        return resourceRegistry;
+    }
+
+    /**
+     * Builds a query parameter map the way the integrations pass it to the dispatcher.
+     *
+     * @param keyValues alternating parameter names and values
+     * @return parameter map
+     */
+    public static Map<String, Set<String>> parameters(String... keyValues) {
+        Map<String, Set<String>> parameters = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            parameters.put(keyValues[i], Collections.singleton(keyValues[i + 1]));
+        }
+        return parameters;
+    }
+
+    private static class RepositoryServiceDiscovery implements ServiceDiscovery {
+
+        private final List<Object> repositories;
+
+        RepositoryServiceDiscovery(List<Object> repositories) {
+            this.repositories = repositories;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> getInstancesByType(Class<T> clazz) {
+            if (clazz == Repository.class) {
+                return (List<T>) repositories;
+            }
+            return Collections.emptyList();
+        }
+
+        @Override
+        public <A extends Annotation> List<Object> getInstancesByAnnotation(Class<A> annotation) {
+            return Collections.emptyList();
+        }
+    }
+}
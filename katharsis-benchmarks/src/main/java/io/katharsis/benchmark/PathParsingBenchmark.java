@@ -0,0 +1,62 @@
+package io.katharsis.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.katharsis.request.path.JsonPath;
+
+/**
+ * Measures {@link io.katharsis.request.path.PathBuilder} for every kind of path a request can target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathParsingBenchmark {
+
+    /**
+     * Paths are referred to by name, JMH does not support commas within parameter values.
+     */
+    private static final Map<String, String> PATHS = new HashMap<>();
+
+    static {
+        PATHS.put("collection", "/tasks");
+        PATHS.put("resource", "/tasks/1");
+        PATHS.put("resources", "/tasks/1,2,3,4,5");
+        PATHS.put("field", "/tasks/1/project");
+        PATHS.put("relationship", "/tasks/1/relationships/project");
+    }
+
+    @Param({"collection", "resource", "resources", "field", "relationship"})
+    public String kind;
+
+    private String path;
+
+    private KatharsisStack stack;
+
+    @Setup
+    public void setup() {
+        stack = new KatharsisStack(0);
+        path = PATHS.get(kind);
+    }
+
+    @Benchmark
+    public JsonPath parsePath() {
+        return stack.parsePath(path);
+    }
+}
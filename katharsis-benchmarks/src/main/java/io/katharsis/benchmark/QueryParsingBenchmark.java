@@ -0,0 +1,87 @@
+package io.katharsis.benchmark;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.katharsis.benchmark.model.Task;
+import io.katharsis.queryParams.DefaultQueryParamsParser;
+import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.queryspec.DefaultQuerySpecDeserializer;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecDeserializerContext;
+import io.katharsis.resource.registry.ResourceRegistry;
+
+/**
+ * Measures the translation of request parameters into {@link QuerySpec} and {@link QueryParams} for a request making
+ * use of filtering, sorting, paging, sparse fieldsets and inclusions at the same time. Both flavors get the same
+ * request in their respective sorting syntax.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryParsingBenchmark {
+
+    private Map<String, Set<String>> querySpecParameters;
+
+    private Map<String, Set<String>> queryParamsParameters;
+
+    private DefaultQuerySpecDeserializer querySpecDeserializer;
+
+    private QueryParamsBuilder queryParamsBuilder;
+
+    @Setup
+    public void setup() {
+        final ResourceRegistry resourceRegistry = new KatharsisStack(0).getResourceRegistry();
+        querySpecDeserializer = new DefaultQuerySpecDeserializer();
+        querySpecDeserializer.init(new QuerySpecDeserializerContext() {
+
+            @Override
+            public ResourceRegistry getResourceRegistry() {
+                return resourceRegistry;
+            }
+        });
+        queryParamsBuilder = new QueryParamsBuilder(new DefaultQueryParamsParser());
+        querySpecParameters = KatharsisStack.parameters(
+            "filter[tasks][name]", "task 1",
+            "filter[tasks][priority][GE]", "2",
+            "sort[tasks]", "-name",
+            "page[offset]", "20",
+            "page[limit]", "10",
+            "fields[tasks]", "name",
+            "include[tasks]", "project");
+        queryParamsParameters = KatharsisStack.parameters(
+            "filter[tasks][name]", "task 1",
+            "filter[tasks][priority][GE]", "2",
+            "sort[tasks][name]", "desc",
+            "page[offset]", "20",
+            "page[limit]", "10",
+            "fields[tasks]", "name",
+            "include[tasks]", "project");
+    }
+
+    @Benchmark
+    public QuerySpec parseQuerySpec() {
+        return querySpecDeserializer.deserialize(Task.class, querySpecParameters);
+    }
+
+    @Benchmark
+    public QueryParams parseQueryParams() {
+        return queryParamsBuilder.buildQueryParams(queryParamsParameters);
+    }
+}
@@ -0,0 +1,74 @@
+package io.katharsis.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.katharsis.request.dto.RequestBody;
+
+/**
+ * Measures POST and PATCH requests. The <i>read</i> benchmarks only cover the deserialization of the request
+ * document, the others additionally dispatch the request and write the response document. Both requests target an
+ * existing task, so the size of the data set does not change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBodyBenchmark {
+
+    private static final Map<String, Set<String>> NO_PARAMETERS = Collections.emptyMap();
+
+    private KatharsisStack stack;
+
+    private byte[] postBody;
+
+    private byte[] patchBody;
+
+    @Setup
+    public void setup() {
+        stack = new KatharsisStack(100);
+        postBody = ("{\"data\":{\"type\":\"tasks\",\"id\":\"1\","
+            + "\"attributes\":{\"name\":\"posted task\",\"description\":\"posted description\",\"priority\":3,\"done\":false},"
+            + "\"relationships\":{\"project\":{\"data\":{\"type\":\"projects\",\"id\":\"2\"}}}}}").getBytes();
+        patchBody = ("{\"data\":{\"type\":\"tasks\",\"id\":\"2\","
+            + "\"attributes\":{\"name\":\"patched task\",\"priority\":4}}}").getBytes();
+    }
+
+    @Benchmark
+    public RequestBody readPost() throws IOException {
+        return stack.readRequestBody(postBody);
+    }
+
+    @Benchmark
+    public byte[] post() throws IOException {
+        RequestBody requestBody = stack.readRequestBody(postBody);
+        return stack.write(stack.dispatch("POST", "/tasks", NO_PARAMETERS, requestBody));
+    }
+
+    @Benchmark
+    public RequestBody readPatch() throws IOException {
+        return stack.readRequestBody(patchBody);
+    }
+
+    @Benchmark
+    public byte[] patch() throws IOException {
+        RequestBody requestBody = stack.readRequestBody(patchBody);
+        return stack.write(stack.dispatch("PATCH", "/tasks/2", NO_PARAMETERS, requestBody));
+    }
+}
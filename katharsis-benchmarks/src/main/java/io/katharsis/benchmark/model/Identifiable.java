@@ -0,0 +1,11 @@
+package io.katharsis.benchmark.model;
+
+/**
+ * Gives the in-memory repositories access to the identifier of the benchmark resources.
+ */
+public interface Identifiable {
+
+    Long getId();
+
+    void setId(Long id);
+}
@@ -0,0 +1,68 @@
+package io.katharsis.benchmark.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.annotations.JsonApiToMany;
+import io.katharsis.resource.annotations.JsonApiToOne;
+
+@JsonApiResource(type = "projects")
+public class Project implements Identifiable {
+
+    @JsonApiId
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    @JsonApiToOne
+    private Person leader;
+
+    @JsonApiToMany
+    private List<Task> tasks = new ArrayList<>();
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Person getLeader() {
+        return leader;
+    }
+
+    public void setLeader(Person leader) {
+        this.leader = leader;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+}
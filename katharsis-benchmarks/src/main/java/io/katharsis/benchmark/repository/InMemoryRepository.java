@@ -0,0 +1,71 @@
+package io.katharsis.benchmark.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import io.katharsis.benchmark.model.Identifiable;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.resource.exception.ResourceNotFoundException;
+
+/**
+ * Keeps resources in a sorted map so that the benchmarks measure Katharsis itself rather than a data store. Saving a
+ * resource with an already used identifier replaces it, which keeps the size of the data set stable for POST and
+ * PATCH benchmarks.
+ *
+ * @param <T> resource type
+ */
+public class InMemoryRepository<T extends Identifiable> implements QuerySpecResourceRepository<T, Long> {
+
+    private final Class<T> resourceClass;
+
+    private final ConcurrentMap<Long, T> resources = new ConcurrentSkipListMap<>();
+
+    public InMemoryRepository(Class<T> resourceClass) {
+        this.resourceClass = resourceClass;
+    }
+
+    @Override
+    public Class<T> getResourceClass() {
+        return resourceClass;
+    }
+
+    @Override
+    public T findOne(Long id, QuerySpec querySpec) {
+        T resource = resources.get(id);
+        if (resource == null) {
+            throw new ResourceNotFoundException(resourceClass.getCanonicalName());
+        }
+        return resource;
+    }
+
+    @Override
+    public Iterable<T> findAll(QuerySpec querySpec) {
+        return querySpec.apply(resources.values());
+    }
+
+    @Override
+    public Iterable<T> findAll(Iterable<Long> ids, QuerySpec querySpec) {
+        List<T> result = new ArrayList<>();
+        for (Long id : ids) {
+            T resource = resources.get(id);
+            if (resource != null) {
+                result.add(resource);
+            }
+        }
+        return querySpec.apply(result);
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        resources.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public void delete(Long id) {
+        resources.remove(id);
+    }
+}
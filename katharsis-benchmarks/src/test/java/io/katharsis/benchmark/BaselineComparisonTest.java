@@ -0,0 +1,79 @@
+package io.katharsis.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class BaselineComparisonTest {
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private BaselineComparison sut = new BaselineComparison(10.0);
+
+    @Test
+    public void onSlowerThroughputShouldReportRegression() throws Exception {
+        // GIVEN
+        JsonNode baseline = results("thrpt", 1000.0);
+        JsonNode current = results("thrpt", 800.0);
+
+        // WHEN
+        List<BaselineComparison.Result> results = sut.compare(baseline, current);
+
+        // THEN
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getName()).isEqualTo("io.katharsis.benchmark.GetBenchmark.getCollection(size=10)");
+        assertThat(results.get(0).getImprovement()).isEqualTo(-20.0);
+        assertThat(BaselineComparison.hasRegression(results)).isTrue();
+    }
+
+    @Test
+    public void onLowerAverageTimeShouldNotReportRegression() throws Exception {
+        // GIVEN
+        JsonNode baseline = results("avgt", 1000.0);
+        JsonNode current = results("avgt", 800.0);
+
+        // WHEN
+        List<BaselineComparison.Result> results = sut.compare(baseline, current);
+
+        // THEN
+        assertThat(results.get(0).getImprovement()).isEqualTo(20.0);
+        assertThat(BaselineComparison.hasRegression(results)).isFalse();
+    }
+
+    @Test
+    public void onChangeWithinToleranceShouldNotReportRegression() throws Exception {
+        // GIVEN
+        JsonNode baseline = results("thrpt", 1000.0);
+        JsonNode current = results("thrpt", 950.0);
+
+        // WHEN
+        List<BaselineComparison.Result> results = sut.compare(baseline, current);
+
+        // THEN
+        assertThat(BaselineComparison.hasRegression(results)).isFalse();
+    }
+
+    @Test
+    public void onBenchmarkMissingInBaselineShouldIgnoreIt() throws Exception {
+        // GIVEN
+        JsonNode baseline = objectMapper.readTree("[]");
+        JsonNode current = results("thrpt", 1000.0);
+
+        // WHEN
+        List<BaselineComparison.Result> results = sut.compare(baseline, current);
+
+        // THEN
+        assertThat(results).isEmpty();
+    }
+
+    private JsonNode results(String mode, double score) throws Exception {
+        String json = "[{'benchmark':'io.katharsis.benchmark.GetBenchmark.getCollection','mode':'" + mode + "',"
+            + "'params':{'size':'10'},'primaryMetric':{'score':" + score + ",'scoreUnit':'ops/s'}}]";
+        return objectMapper.readTree(json.replaceAll("'", "\""));
+    }
+}
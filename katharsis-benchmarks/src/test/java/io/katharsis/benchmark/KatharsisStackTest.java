@@ -0,0 +1,93 @@
+package io.katharsis.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.benchmark.model.Task;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.response.BaseResponseContext;
+
+public class KatharsisStackTest {
+
+    private KatharsisStack sut = new KatharsisStack(20);
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void onSingleGetShouldWriteResource() throws Exception {
+        // WHEN
+        JsonNode document = objectMapper.readTree(sut.get("/tasks/1", Collections.<String, Set<String>>emptyMap()));
+
+        // THEN
+        assertThat(document.get("data").get("id").asText()).isEqualTo("1");
+        assertThat(document.get("data").get("attributes").get("name").asText()).isEqualTo("task 1");
+    }
+
+    @Test
+    public void onPagedCollectionGetWithSparseFieldsetShouldWriteRequestedAttributes() throws Exception {
+        // WHEN
+        byte[] response = sut.get("/tasks", KatharsisStack.parameters("page[limit]", "5", "fields[tasks]", "name"));
+        JsonNode document = objectMapper.readTree(response);
+
+        // THEN
+        assertThat(document.get("data")).hasSize(5);
+        assertThat(document.get("data").get(0).get("attributes").has("name")).isTrue();
+        assertThat(document.get("data").get(0).get("attributes").has("description")).isFalse();
+    }
+
+    @Test
+    public void onNestedInclusionShouldWriteAllLevels() throws Exception {
+        // WHEN
+        byte[] response = sut.get("/tasks",
+            KatharsisStack.parameters("page[limit]", "1", "include[tasks]", "project.leader.company"));
+        JsonNode document = objectMapper.readTree(response);
+
+        // THEN
+        List<String> includedTypes = new ArrayList<>();
+        for (JsonNode included : document.get("included")) {
+            includedTypes.add(included.get("type").asText());
+            if ("people".equals(included.get("type").asText())) {
+                assertThat(included.get("relationships").get("company").get("data").get("type").asText())
+                    .isEqualTo("companies");
+            }
+        }
+        assertThat(includedTypes).containsOnly("projects", "people", "companies");
+    }
+
+    @Test
+    public void onPatchShouldUpdateResource() throws Exception {
+        // GIVEN
+        byte[] requestBody = "{\"data\":{\"type\":\"tasks\",\"id\":\"2\",\"attributes\":{\"name\":\"patched\"}}}".getBytes();
+
+        // WHEN
+        sut.dispatch("PATCH", "/tasks/2", Collections.<String, Set<String>>emptyMap(), sut.readRequestBody(requestBody));
+
+        // THEN
+        JsonNode document = objectMapper.readTree(sut.get("/tasks/2", Collections.<String, Set<String>>emptyMap()));
+        assertThat(document.get("data").get("attributes").get("name").asText()).isEqualTo("patched");
+        assertThat(document.get("data").get("attributes").get("description").asText()).isEqualTo("description of task 2");
+    }
+
+    @Test
+    public void onServerDocumentShouldBeReadableByClient() throws Exception {
+        // GIVEN
+        byte[] response = sut.get("/tasks", KatharsisStack.parameters("include[tasks]", "project"));
+        KatharsisClient client = new KatharsisClient(KatharsisStack.SERVICE_URL, Task.class.getPackage().getName());
+        client.getRepository(Task.class);
+
+        // WHEN
+        BaseResponseContext responseContext = client.getObjectMapper().readValue(response, BaseResponseContext.class);
+
+        // THEN
+        assertThat((Iterable<?>) responseContext.getResponse().getEntity()).hasSize(20);
+    }
+}
@@ -0,0 +1,22 @@
+package io.katharsis.client;
+
+import java.io.Serializable;
+
+import io.katharsis.client.response.ResourceList;
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * Non-blocking counterpart of the read operations of {@link QuerySpecRelationshipRepositoryStub}.
+ *
+ * @see AsyncQuerySpecResourceRepositoryStub
+ */
+public interface AsyncQuerySpecRelationshipRepositoryStub<T, TID extends Serializable, D, DID extends Serializable> {
+
+	public Class<T> getSourceResourceClass();
+
+	public Class<D> getTargetResourceClass();
+
+	public ClientFuture<D> findOneTarget(TID sourceId, String fieldName, QuerySpec querySpec);
+
+	public ClientFuture<ResourceList<D>> findManyTargets(TID sourceId, String fieldName, QuerySpec querySpec);
+}
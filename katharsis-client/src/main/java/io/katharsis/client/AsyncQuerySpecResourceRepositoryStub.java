@@ -0,0 +1,45 @@
+package io.katharsis.client;
+
+import java.io.Serializable;
+
+import io.katharsis.client.response.ResourceList;
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * Non-blocking counterpart of {@link QuerySpecResourceRepositoryStub}. Requests are performed with
+ * {@link io.katharsis.client.http.AsyncHttpAdapter#enqueue(io.katharsis.client.http.HttpAdapterRequest, io.katharsis.client.http.HttpAdapterCallback)},
+ * responses are deserialized on the executor of the {@link KatharsisClient}. Errors are reported through the returned
+ * future with the same exceptions the synchronous stub throws.
+ */
+public interface AsyncQuerySpecResourceRepositoryStub<T, I extends Serializable> {
+
+	public Class<T> getResourceClass();
+
+	public ClientFuture<T> findOne(I id, QuerySpec querySpec);
+
+	public ClientFuture<ResourceList<T>> findAll(QuerySpec querySpec);
+
+	public ClientFuture<ResourceList<T>> findAll(Iterable<I> ids, QuerySpec querySpec);
+
+	/**
+	 * @see QuerySpecResourceRepositoryStub#save(Object)
+	 */
+	public <S extends T> ClientFuture<S> save(S entity);
+
+	/**
+	 * @see QuerySpecResourceRepositoryStub#save(Object, QuerySpec)
+	 */
+	public <S extends T> ClientFuture<S> save(S entity, QuerySpec querySpec);
+
+	/**
+	 * @see QuerySpecResourceRepositoryStub#create(Object)
+	 */
+	public <S extends T> ClientFuture<S> create(S entity);
+
+	/**
+	 * @see QuerySpecResourceRepositoryStub#create(Object, QuerySpec)
+	 */
+	public <S extends T> ClientFuture<S> create(S entity, QuerySpec querySpec);
+
+	public ClientFuture<Void> delete(I id);
+}
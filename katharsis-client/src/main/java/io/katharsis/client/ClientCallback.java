@@ -0,0 +1,19 @@
+package io.katharsis.client;
+
+/**
+ * Notified once a {@link ClientFuture} completes.
+ *
+ * @param <T> result type
+ */
+public interface ClientCallback<T> {
+
+	/**
+	 * @param result of the invocation
+	 */
+	public void onSuccess(T result);
+
+	/**
+	 * @param cause why the invocation failed, same exception as thrown by the synchronous stub
+	 */
+	public void onFailure(Throwable cause);
+}
@@ -0,0 +1,20 @@
+package io.katharsis.client;
+
+import java.util.concurrent.Future;
+
+/**
+ * Result of an asynchronous stub invocation. Besides blocking with {@link #get()}, callers can register callbacks to
+ * get notified once the result is available without occupying a thread in the meantime.
+ *
+ * @param <T> result type
+ */
+public interface ClientFuture<T> extends Future<T> {
+
+	/**
+	 * Registers a callback that is notified once the future completes. If the future is already done, the callback is
+	 * notified immediately by the calling thread. Otherwise it is notified by the thread completing the future.
+	 *
+	 * @param callback to notify
+	 */
+	public void addCallback(ClientCallback<? super T> callback);
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -11,6 +12,8 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import io.katharsis.client.http.HttpAdapter;
 import io.katharsis.client.http.okhttp.OkHttpAdapter;
+import io.katharsis.client.internal.AsyncRelationshipRepositoryStubImpl;
+import io.katharsis.client.internal.AsyncResourceRepositoryStubImpl;
 import io.katharsis.client.internal.BaseResponseDeserializer;
 import io.katharsis.client.internal.ErrorResponseDeserializer;
 import io.katharsis.client.internal.RelationshipRepositoryStubImpl;
@@ -48,7 +51,17 @@ import okhttp3.OkHttpClient;
  */
 public class KatharsisClient {
 
-	private OkHttpAdapter httpAdapter;
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	private HttpAdapter httpAdapter;
+
+	private Executor executor = DIRECT_EXECUTOR;
 
 	private ObjectMapper objectMapper;
 
@@ -251,6 +264,29 @@ public class KatharsisClient {
 		return (QuerySpecRelationshipRepositoryStub<T, I, D, J>) repositoryAdapter.getRelationshipRepository();
 	}
 
+	/**
+	 * @param resourceClass resource class
+	 * @return non-blocking stub for the given resourceClass
+	 */
+	@SuppressWarnings("unchecked")
+	public <T, I extends Serializable> AsyncQuerySpecResourceRepositoryStub<T, I> getAsyncQuerySpecRepository(
+			Class<T> resourceClass) {
+		ResourceRepositoryStubImpl<T, I> stub = (ResourceRepositoryStubImpl<T, I>) getQuerySpecRepository(resourceClass);
+		return new AsyncResourceRepositoryStubImpl<>(this, stub, urlBuilder);
+	}
+
+	/**
+	 * @param sourceClass source class
+	 * @param targetClass target class
+	 * @return non-blocking stub for the relationship between the given source
+	 *         and target class
+	 */
+	public <T, I extends Serializable, D, J extends Serializable> AsyncQuerySpecRelationshipRepositoryStub<T, I, D, J> getAsyncQuerySpecRepository(
+			Class<T> sourceClass, Class<D> targetClass) {
+		init();
+		return new AsyncRelationshipRepositoryStubImpl<>(this, sourceClass, targetClass, urlBuilder);
+	}
+
 	/**
 	 * @return objectMapper in use
 	 */
@@ -262,11 +298,14 @@ public class KatharsisClient {
 	 * @return http client library in use
 	 */
 	public OkHttpClient getHttpClient() {
-		return httpAdapter.getImplementation();
+		if (!(httpAdapter instanceof OkHttpAdapter)) {
+			throw new IllegalStateException("synchronous stubs require an OkHttpAdapter, use the asynchronous stubs instead");
+		}
+		return ((OkHttpAdapter) httpAdapter).getImplementation();
 	}
 
 	public void setHttpClient(HttpAdapter httpAdapter) {
-		this.httpAdapter = (OkHttpAdapter) httpAdapter;
+		this.httpAdapter = httpAdapter;
 
 		List<Module> modules = moduleRegistry.getModules();
 		for (Module module : modules) {
@@ -299,6 +338,21 @@ public class KatharsisClient {
 		return httpAdapter;
 	}
 
+	/**
+	 * Sets the executor the asynchronous stubs use to deserialize responses and to notify callbacks. By default this
+	 * happens on the thread of the {@link HttpAdapter} that received the response. An executor should be set if
+	 * responses are large or callbacks perform further work, so the threads of the transport are not blocked.
+	 *
+	 * @param executor to use
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor != null ? executor : DIRECT_EXECUTOR;
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+
 	public ExceptionMapperRegistry getExceptionMapperRegistry() {
 		return exceptionMapperRegistry;
 	}
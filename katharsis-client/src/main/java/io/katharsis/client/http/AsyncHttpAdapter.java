@@ -0,0 +1,17 @@
+package io.katharsis.client.http;
+
+/**
+ * {@link HttpAdapter} able to perform requests without blocking the calling thread, as required by the asynchronous
+ * stubs of the client.
+ */
+public interface AsyncHttpAdapter extends HttpAdapter {
+
+	/**
+	 * Performs the given request without blocking the calling thread. The callback is notified by a thread of the
+	 * transport once the response has been received or the request failed.
+	 *
+	 * @param request to perform
+	 * @param callback to notify
+	 */
+	public void enqueue(HttpAdapterRequest request, HttpAdapterCallback callback);
+}
@@ -0,0 +1,23 @@
+package io.katharsis.client.http;
+
+import java.io.IOException;
+
+/**
+ * Notified by {@link AsyncHttpAdapter#enqueue(HttpAdapterRequest, HttpAdapterCallback)} once a request completed.
+ */
+public interface HttpAdapterCallback {
+
+	/**
+	 * Called for every received response, including responses with an error status.
+	 *
+	 * @param response received from the server
+	 */
+	public void onResponse(HttpAdapterResponse response);
+
+	/**
+	 * Called if the request could not be performed or the response could not be read.
+	 *
+	 * @param e cause of the failure
+	 */
+	public void onFailure(IOException e);
+}
@@ -0,0 +1,50 @@
+package io.katharsis.client.http;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Transport independent description of a request performed by an {@link AsyncHttpAdapter}.
+ */
+public class HttpAdapterRequest {
+
+	private final String method;
+
+	private final String url;
+
+	private final String body;
+
+	private final Map<String, String> headers = new LinkedHashMap<>();
+
+	/**
+	 * @param method http method
+	 * @param url absolute url of the request
+	 * @param body request body or null if the request has none
+	 */
+	public HttpAdapterRequest(String method, String url, String body) {
+		this.method = method;
+		this.url = url;
+		this.body = body;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public void setHeader(String name, String value) {
+		headers.put(name, value);
+	}
+
+	public Map<String, String> getHeaders() {
+		return Collections.unmodifiableMap(headers);
+	}
+}
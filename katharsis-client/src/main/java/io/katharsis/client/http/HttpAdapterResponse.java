@@ -0,0 +1,40 @@
+package io.katharsis.client.http;
+
+/**
+ * Transport independent response of a {@link HttpAdapterRequest}.
+ */
+public class HttpAdapterResponse {
+
+	private final int code;
+
+	private final String message;
+
+	private final String body;
+
+	/**
+	 * @param code http status code
+	 * @param message http status message
+	 * @param body fully read response body, empty if the response has none
+	 */
+	public HttpAdapterResponse(int code, String message, String body) {
+		this.code = code;
+		this.message = message;
+		this.body = body;
+	}
+
+	public int getCode() {
+		return code;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public boolean isSuccessful() {
+		return code >= 200 && code < 300;
+	}
+}
@@ -1,12 +1,23 @@
 package io.katharsis.client.http.okhttp;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
-import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.AsyncHttpAdapter;
+import io.katharsis.client.http.HttpAdapterCallback;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterResponse;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
-public class OkHttpAdapter implements HttpAdapter {
+public class OkHttpAdapter implements AsyncHttpAdapter {
 
 	private OkHttpClient impl;
 
@@ -37,4 +48,35 @@ public class OkHttpAdapter implements HttpAdapter {
 			}
 		}
 	}
+
+	@Override
+	public void enqueue(HttpAdapterRequest request, final HttpAdapterCallback callback) {
+		Request.Builder builder = new Request.Builder().url(request.getUrl());
+		for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+			builder.header(header.getKey(), header.getValue());
+		}
+		RequestBody body = request.getBody() != null ? RequestBody.create(null, request.getBody()) : null;
+		builder.method(request.getMethod(), body);
+
+		getImplementation().newCall(builder.build()).enqueue(new Callback() {
+
+			@Override
+			public void onFailure(Call call, IOException e) {
+				callback.onFailure(e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response) {
+				HttpAdapterResponse adapterResponse;
+				try (ResponseBody responseBody = response.body()) {
+					adapterResponse = new HttpAdapterResponse(response.code(), response.message(), responseBody.string());
+				}
+				catch (IOException e) {
+					callback.onFailure(e);
+					return;
+				}
+				callback.onResponse(adapterResponse);
+			}
+		});
+	}
 }
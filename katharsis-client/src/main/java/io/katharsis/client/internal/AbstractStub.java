@@ -2,7 +2,13 @@ package io.katharsis.client.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.katharsis.client.ClientException;
+import io.katharsis.client.ClientFuture;
 import io.katharsis.client.KatharsisClient;
+import io.katharsis.client.http.AsyncHttpAdapter;
+import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.HttpAdapterCallback;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterResponse;
 import io.katharsis.client.response.ResourceList;
 import io.katharsis.errorhandling.ErrorData;
 import io.katharsis.errorhandling.ErrorResponse;
@@ -22,6 +28,7 @@ import okhttp3.Response;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 public class AbstractStub {
 
@@ -85,19 +92,89 @@ public class AbstractStub {
 		}
 	}
 
-	@SuppressWarnings({ "unchecked" })
+	/**
+	 * Performs the request with {@link AsyncHttpAdapter#enqueue(HttpAdapterRequest, HttpAdapterCallback)} and converts
+	 * the response on the executor of the client. Fails if the {@link HttpAdapter} of the client
+	 * cannot perform asynchronous requests.
+	 */
+	protected <R> ClientFuture<R> executeAsync(String method, HttpUrl requestUrl, String body, final boolean getResponse,
+			final ResponseConverter<R> converter) {
+		final DefaultClientFuture<R> future = new DefaultClientFuture<>();
+
+		HttpAdapter httpAdapter = katharsis.getHttpAdapter();
+		if (!(httpAdapter instanceof AsyncHttpAdapter)) {
+			future.fail(new UnsupportedOperationException(
+					"asynchronous stubs require an AsyncHttpAdapter, got " + httpAdapter.getClass().getName()));
+			return future;
+		}
+
+		HttpAdapterRequest request = new HttpAdapterRequest(method, requestUrl.toString(), body);
+		request.setHeader("Content-Type", CONTENT_TYPE);
+		request.setHeader("Accept", CONTENT_TYPE);
+
+		((AsyncHttpAdapter) httpAdapter).enqueue(request, new HttpAdapterCallback() {
+
+			@Override
+			public void onResponse(final HttpAdapterResponse response) {
+				try {
+					katharsis.getExecutor().execute(new Runnable() {
+
+						@Override
+						public void run() {
+							try {
+								BaseResponseContext context = readResponse(response, getResponse);
+								future.complete(converter.convert(context));
+							}
+							catch (RuntimeException e) {
+								future.fail(e);
+							}
+						}
+					});
+				}
+				catch (RejectedExecutionException e) {
+					future.fail(e);
+				}
+			}
+
+			@Override
+			public void onFailure(IOException e) {
+				future.fail(new IllegalStateException(e));
+			}
+		});
+		return future;
+	}
+
+	private BaseResponseContext readResponse(HttpAdapterResponse response, boolean getResponse) {
+		try {
+			if (!response.isSuccessful()) {
+				throw createError(response.getCode(), response.getMessage(), response.getBody());
+			}
+			if (getResponse) {
+				return katharsis.getObjectMapper().readValue(response.getBody(), BaseResponseContext.class);
+			} else {
+				return null;
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	private void handleError(Response response) throws IOException {
 		String body = response.body().string(); // wise to do null check here
+		throw createError(response.code(), response.message(), body);
+	}
 
+	@SuppressWarnings({ "unchecked" })
+	private RuntimeException createError(int code, String message, String body) throws IOException {
 		ErrorResponse errorResponse = null;
 		if(body.length() > 0){
 			ObjectMapper objectMapper = katharsis.getObjectMapper();
 			errorResponse = objectMapper.readValue(body, ErrorResponse.class);
 		}
 		if(errorResponse != null){
-			errorResponse = new ErrorResponse((Iterable<ErrorData>) errorResponse.getResponse().getEntity(), response.code());
+			errorResponse = new ErrorResponse((Iterable<ErrorData>) errorResponse.getResponse().getEntity(), code);
 		}else{
-			errorResponse = new ErrorResponse(null, response.code());
+			errorResponse = new ErrorResponse(null, code);
 		}
 			
 		ExceptionMapperRegistry exceptionMapperRegistry = katharsis.getExceptionMapperRegistry();
@@ -105,12 +182,24 @@ public class AbstractStub {
 		if(mapper.isPresent()){
 			 Throwable throwable = mapper.get().fromErrorResponse(errorResponse);
 			 if(throwable instanceof RuntimeException){
-				 throw (RuntimeException)throwable;
+				 return (RuntimeException)throwable;
 			 }else{
-				 throw new ClientException(response.code(), response.message(), throwable);
+				 return new ClientException(code, message, throwable);
 			 }
 		}else{
-			throw new ClientException(response.code(), response.message());
+			return new ClientException(code, message);
 		}
 	}
+
+	/**
+	 * Converts the deserialized response of an asynchronous request to the result of the stub method.
+	 */
+	protected interface ResponseConverter<R> {
+
+		/**
+		 * @param responseContext deserialized response, null if the request did not ask for the response
+		 * @return result of the stub method
+		 */
+		R convert(BaseResponseContext responseContext);
+	}
 }
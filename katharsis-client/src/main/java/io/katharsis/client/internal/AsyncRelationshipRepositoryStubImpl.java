@@ -0,0 +1,63 @@
+package io.katharsis.client.internal;
+
+import java.io.Serializable;
+
+import okhttp3.HttpUrl;
+
+import io.katharsis.client.AsyncQuerySpecRelationshipRepositoryStub;
+import io.katharsis.client.ClientFuture;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.client.response.ResourceList;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.utils.JsonApiUrlBuilder;
+
+public class AsyncRelationshipRepositoryStubImpl<T, I extends Serializable, D, J extends Serializable> extends AbstractStub
+		implements AsyncQuerySpecRelationshipRepositoryStub<T, I, D, J> {
+
+	private Class<T> sourceClass;
+
+	private Class<D> targetClass;
+
+	public AsyncRelationshipRepositoryStubImpl(KatharsisClient client, Class<T> sourceClass, Class<D> targetClass,
+			JsonApiUrlBuilder urlBuilder) {
+		super(client, urlBuilder);
+		this.sourceClass = sourceClass;
+		this.targetClass = targetClass;
+	}
+
+	@Override
+	public ClientFuture<D> findOneTarget(I sourceId, String fieldName, QuerySpec querySpec) {
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(sourceClass, sourceId, querySpec, fieldName));
+		return executeAsync("GET", url, null, true, new ResponseConverter<D>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public D convert(BaseResponseContext responseContext) {
+				return (D) responseContext.getResponse().getEntity();
+			}
+		});
+	}
+
+	@Override
+	public ClientFuture<ResourceList<D>> findManyTargets(I sourceId, String fieldName, QuerySpec querySpec) {
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(sourceClass, sourceId, querySpec, fieldName));
+		return executeAsync("GET", url, null, true, new ResponseConverter<ResourceList<D>>() {
+
+			@Override
+			public ResourceList<D> convert(BaseResponseContext responseContext) {
+				return toList(responseContext.getResponse());
+			}
+		});
+	}
+
+	@Override
+	public Class<T> getSourceResourceClass() {
+		return sourceClass;
+	}
+
+	@Override
+	public Class<D> getTargetResourceClass() {
+		return targetClass;
+	}
+}
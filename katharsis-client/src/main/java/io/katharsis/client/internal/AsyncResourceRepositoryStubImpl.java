@@ -0,0 +1,116 @@
+package io.katharsis.client.internal;
+
+import java.io.Serializable;
+
+import okhttp3.HttpUrl;
+
+import io.katharsis.client.AsyncQuerySpecResourceRepositoryStub;
+import io.katharsis.client.ClientFuture;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.client.response.ResourceList;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.internal.QuerySpecAdapter;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.utils.JsonApiUrlBuilder;
+
+public class AsyncResourceRepositoryStubImpl<T, I extends Serializable> extends AbstractStub
+		implements AsyncQuerySpecResourceRepositoryStub<T, I> {
+
+	private ResourceRepositoryStubImpl<T, I> stub;
+
+	private Class<T> resourceClass;
+
+	public AsyncResourceRepositoryStubImpl(KatharsisClient client, ResourceRepositoryStubImpl<T, I> stub,
+			JsonApiUrlBuilder urlBuilder) {
+		super(client, urlBuilder);
+		this.stub = stub;
+		this.resourceClass = stub.getResourceClass();
+	}
+
+	@Override
+	public Class<T> getResourceClass() {
+		return resourceClass;
+	}
+
+	@Override
+	public ClientFuture<T> findOne(I id, QuerySpec querySpec) {
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(resourceClass, id, querySpec));
+		return executeAsync("GET", url, null, true, new ResponseConverter<T>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public T convert(BaseResponseContext responseContext) {
+				return (T) responseContext.getResponse().getEntity();
+			}
+		});
+	}
+
+	@Override
+	public ClientFuture<ResourceList<T>> findAll(QuerySpec querySpec) {
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(resourceClass, null, querySpec));
+		return findAll(url);
+	}
+
+	@Override
+	public ClientFuture<ResourceList<T>> findAll(Iterable<I> ids, QuerySpec querySpec) {
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(resourceClass, ids, querySpec));
+		return findAll(url);
+	}
+
+	private ClientFuture<ResourceList<T>> findAll(HttpUrl url) {
+		return executeAsync("GET", url, null, true, new ResponseConverter<ResourceList<T>>() {
+
+			@Override
+			public ResourceList<T> convert(BaseResponseContext responseContext) {
+				return toList(responseContext.getResponse());
+			}
+		});
+	}
+
+	@Override
+	public <S extends T> ClientFuture<S> save(S entity) {
+		return modify(entity, new QuerySpec(resourceClass), false);
+	}
+
+	@Override
+	public <S extends T> ClientFuture<S> save(S entity, QuerySpec querySpec) {
+		return modify(entity, querySpec, false);
+	}
+
+	@Override
+	public <S extends T> ClientFuture<S> create(S entity) {
+		return modify(entity, new QuerySpec(resourceClass), true);
+	}
+
+	@Override
+	public <S extends T> ClientFuture<S> create(S entity, QuerySpec querySpec) {
+		return modify(entity, querySpec, true);
+	}
+
+	private <S extends T> ClientFuture<S> modify(S entity, QuerySpec querySpec, boolean create) {
+		String idString = stub.getStringId(entity, create);
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(resourceClass, idString, (QuerySpec) null));
+		String requestBody = stub.serialize(entity, new QuerySpecAdapter(querySpec, katharsis.getRegistry()));
+		String method = create || katharsis.getPushAlways() ? "POST" : "PATCH";
+		return executeAsync(method, url, requestBody, true, new ResponseConverter<S>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public S convert(BaseResponseContext responseContext) {
+				return (S) responseContext.getResponse().getEntity();
+			}
+		});
+	}
+
+	@Override
+	public ClientFuture<Void> delete(I id) {
+		HttpUrl url = HttpUrl.parse(urlBuilder.buildUrl(resourceClass, id, (QuerySpec) null));
+		return executeAsync("DELETE", url, null, false, new ResponseConverter<Void>() {
+
+			@Override
+			public Void convert(BaseResponseContext responseContext) {
+				return null;
+			}
+		});
+	}
+}
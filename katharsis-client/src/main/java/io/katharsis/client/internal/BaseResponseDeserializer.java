@@ -1,255 +1,357 @@
-package io.katharsis.client.internal;
-
-import java.io.IOException;
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import io.katharsis.client.response.JsonLinksInformation;
-import io.katharsis.client.response.JsonMetaInformation;
-import io.katharsis.dispatcher.controller.resource.ResourceUpsert;
-import io.katharsis.jackson.exception.JsonDeserializationException;
-import io.katharsis.queryspec.internal.QueryAdapter;
-import io.katharsis.repository.RepositoryMethodParameterProvider;
-import io.katharsis.request.dto.DataBody;
-import io.katharsis.request.dto.RequestBody;
-import io.katharsis.request.path.JsonPath;
-import io.katharsis.resource.information.ResourceInformation;
-import io.katharsis.resource.registry.RegistryEntry;
-import io.katharsis.resource.registry.ResourceRegistry;
-import io.katharsis.response.BaseResponseContext;
-import io.katharsis.response.CollectionResponseContext;
-import io.katharsis.response.JsonApiResponse;
-import io.katharsis.response.LinksInformation;
-import io.katharsis.response.MetaInformation;
-import io.katharsis.response.ResourceResponseContext;
-import io.katharsis.utils.parser.TypeParser;
-
-/**
- * Deerializes top-level JSON object and provides ability to include compound documents
- * 
- * TODO could this be merged with RequestBodyDeserializer?
- */
-public class BaseResponseDeserializer extends JsonDeserializer<BaseResponseContext> {
-
-	private static final String INCLUDED_FIELD_NAME = "included";
-
-	private static final String DATA_FIELD_NAME = "data";
-
-	private static final String META_FIELD_NAME = "meta";
-
-	private static final String LINKS_FIELD_NAME = "links";
-
-	private ResourceRegistry resourceRegistry;
-
-	private ObjectMapper objectMapper;
-
-	private TypeParser typeParser = new TypeParser();
-
-	public BaseResponseDeserializer(ResourceRegistry resourceRegistry, ObjectMapper objectMapper) {
-		this.resourceRegistry = resourceRegistry;
-		this.objectMapper = objectMapper;
-	}
-
-	@Override
-	public BaseResponseContext deserialize(JsonParser jp, DeserializationContext ctxt)
-			throws IOException, JsonProcessingException {
-
-		JsonNode node = jp.readValueAsTree();
-		if (node == null) {
-			return null;
-		}
-
-		JsonNode data = node.get(DATA_FIELD_NAME);
-		JsonNode included = node.get(INCLUDED_FIELD_NAME);
-		LinksInformation links = readLinks(node);
-		MetaInformation meta = readMeta(node);
-		if (data == null) {
-			throw new IllegalStateException("no data received");
-		}
-
-		ClientResourceUpsert upsert = new ClientResourceUpsert(resourceRegistry, typeParser, objectMapper);
-
-		ResourceBodies dataBodies = upsert.parse(data, jp);
-		ResourceBodies includedBodies = upsert.parse(included, jp);
-
-		upsert.allocateResources(dataBodies);
-		upsert.allocateResources(includedBodies);
-
-		upsert.setRelations(dataBodies);
-		upsert.setRelations(includedBodies);
-
-		JsonApiResponse response = new JsonApiResponse();
-		response.setLinksInformation(links);
-		response.setMetaInformation(meta);
-		if (dataBodies.isCollection) {
-			response.setEntity(dataBodies.resources);
-			return new CollectionResponseContext(response, null, null);
-		}
-		else {
-			if (dataBodies.resources.size() == 1) {
-				response.setEntity(dataBodies.resources.get(0));
-			}
-			else {
-				response.setEntity(null);
-			}
-			return new ResourceResponseContext(response, -1);
-		}
-	}
-
-	private LinksInformation readLinks(JsonNode node) {
-		JsonNode data = node.get(LINKS_FIELD_NAME);
-		if (data != null) {
-			return new JsonLinksInformation(data);
-		}
-		else {
-			return null;
-		}
-	}
-
-	private MetaInformation readMeta(JsonNode node) {
-		JsonNode data = node.get(META_FIELD_NAME);
-		if (data != null) {
-			return new JsonMetaInformation(data);
-		}
-		else {
-			return null;
-		}
-	}
-
-	class ClientResourceUpsert extends ResourceUpsert {
-
-		private HashMap<Object, Object> resourceMap = new HashMap<>();
-
-		public ClientResourceUpsert(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper) {
-			super(resourceRegistry, typeParser, objectMapper);
-		}
-
-		public String getUID(DataBody body) {
-			return body.getType() + "#" + body.getId();
-		}
-		
-		public String getUID(RegistryEntry<?> entry, Serializable id) {
-			return entry.getResourceInformation().getResourceType() + "#" + id;
-		}
-
-		public void setRelations(ResourceBodies dataBodies) {
-			for (DataBody body : dataBodies.dataBodies) {
-				String uid = getUID(body);
-				Object resource = resourceMap.get(uid);
-
-				RegistryEntry registryEntry = resourceRegistry.getEntry(body.getType());
-				QueryAdapter queryAdapter = null;
-				RepositoryMethodParameterProvider parameterProvider = null;
-
-				setRelations(resource, registryEntry, body, queryAdapter, parameterProvider);
-			}
-		}
-
-		/**
-		 * Get relations from includes section or create a remote proxy
-		 */
-		@Override
-		protected Object fetchRelatedObject(RegistryEntry entry, Serializable relationId,
-				RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
-
-			String uid = getUID(entry, relationId);
-			Object relatedResource = resourceMap.get(uid);
-			if(relatedResource != null){
-				return relatedResource;
-			}else{
-				return null; // TODO create remote proxy
-			}
-		}
-
-		public void allocateResources(ResourceBodies dataBodies) {
-			for (DataBody body : dataBodies.dataBodies) {
-
-				RegistryEntry<?> registryEntry = resourceRegistry.getEntry(body.getType());
-				ResourceInformation resourceInformation = registryEntry.getResourceInformation();
-
-				Object resource = newResource(resourceInformation, body);
-				setId(body, resource, resourceInformation);
-				setAttributes(body, resource, resourceInformation);
-				dataBodies.resources.add(resource);
-
-				String uid = getUID(body);
-				resourceMap.put(uid, resource);
-			}
-		}
-
-		@Override
-		public boolean isAcceptable(JsonPath jsonPath, String requestType) {
-			throw new IllegalStateException();
-		}
-
-		@Override
-		public BaseResponseContext handle(JsonPath jsonPath, QueryAdapter queryAdapter,
-				RepositoryMethodParameterProvider parameterProvider, RequestBody requestBody) {
-			throw new IllegalStateException();
-		}
-
-		public ResourceBodies parse(JsonNode node, JsonParser jp) throws JsonProcessingException {
-			ResourceBodies bodies = new ResourceBodies();
-			if (node != null) {
-				if (node.isArray()) {
-					Iterator<JsonNode> nodeIterator = node.iterator();
-					while (nodeIterator.hasNext()) {
-						DataBody newLinkage = jp.getCodec().treeToValue(nodeIterator.next(), ClientDataBody.class);
-						bodies.dataBodies.add(newLinkage);
-					}
-					bodies.isCollection = true;
-				}
-				else if (node.isObject()) {
-					bodies.dataBodies.add(jp.getCodec().treeToValue(node, ClientDataBody.class));
-				}
-				else if (!node.isNull()) {
-					throw new JsonDeserializationException("data field has wrong type: " + node.toString());
-				}
-			}
-			return bodies;
-		}
-	};
-
-	public static class ClientDataBody extends DataBody {
-
-		// TODO support processing of those fields
-		private JsonNode links;
-
-		private JsonNode meta;
-
-		public JsonNode getLinks() {
-			return links;
-		}
-
-		public void setLinks(JsonNode links) {
-			this.links = links;
-		}
-
-		public JsonNode getMeta() {
-			return meta;
-		}
-
-		public void setMeta(JsonNode meta) {
-			this.meta = meta;
-		}
-	}
-
-	class ResourceBodies {
-
-		ArrayList<Object> resources = new ArrayList<>();
-
-		ArrayList<DataBody> dataBodies = new ArrayList<>();
-
-		boolean isCollection = false;
-	}
-
-}
+package io.katharsis.client.internal;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.client.response.JsonLinksInformation;
+import io.katharsis.client.response.JsonMetaInformation;
+import io.katharsis.dispatcher.controller.resource.ResourceUpsert;
+import io.katharsis.jackson.exception.JsonDeserializationException;
+import io.katharsis.queryspec.internal.QueryAdapter;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.request.dto.DataBody;
+import io.katharsis.request.dto.LinkageData;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.dto.ResourceRelationships;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.CollectionResponseContext;
+import io.katharsis.response.JsonApiResponse;
+import io.katharsis.response.LinksInformation;
+import io.katharsis.response.MetaInformation;
+import io.katharsis.response.ResourceResponseContext;
+import io.katharsis.utils.parser.TypeParser;
+
+/**
+ * Deerializes top-level JSON object and provides ability to include compound documents
+ * <p>
+ * The document is read token by token. The attributes of a resource are read as tree and applied with the
+ * {@link io.katharsis.resource.field.ResourceAttributesBridge} once the resource is complete, such that dynamic
+ * attributes reach the {@link com.fasterxml.jackson.annotation.JsonAnySetter} of the resource. Only the
+ * relationships of every resource are kept until the end of the document, where they are linked to the data and
+ * included resources with an identity map from type and id to resource instance.
+ * 
+ * TODO could this be merged with RequestBodyDeserializer?
+ */
+public class BaseResponseDeserializer extends JsonDeserializer<BaseResponseContext> {
+
+	private static final String INCLUDED_FIELD_NAME = "included";
+
+	private static final String DATA_FIELD_NAME = "data";
+
+	private static final String META_FIELD_NAME = "meta";
+
+	private static final String LINKS_FIELD_NAME = "links";
+
+	private static final String TYPE_FIELD_NAME = "type";
+
+	private static final String ID_FIELD_NAME = "id";
+
+	private static final String ATTRIBUTES_FIELD_NAME = "attributes";
+
+	private static final String RELATIONSHIPS_FIELD_NAME = "relationships";
+
+	private ResourceRegistry resourceRegistry;
+
+	private ObjectMapper objectMapper;
+
+	private TypeParser typeParser = new TypeParser();
+
+	public BaseResponseDeserializer(ResourceRegistry resourceRegistry, ObjectMapper objectMapper) {
+		this.resourceRegistry = resourceRegistry;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public BaseResponseContext deserialize(JsonParser jp, DeserializationContext ctxt)
+			throws IOException, JsonProcessingException {
+
+		JsonToken token = jp.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = jp.nextToken();
+		}
+		else if (token != JsonToken.FIELD_NAME) {
+			return null;
+		}
+
+		ClientResourceUpsert upsert = new ClientResourceUpsert(resourceRegistry, typeParser, objectMapper);
+		ResourceBodies dataBodies = null;
+		LinksInformation links = null;
+		MetaInformation meta = null;
+
+		for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+			String fieldName = jp.getCurrentName();
+			jp.nextToken();
+			if (DATA_FIELD_NAME.equals(fieldName)) {
+				dataBodies = upsert.parse(jp);
+			}
+			else if (INCLUDED_FIELD_NAME.equals(fieldName)) {
+				upsert.parse(jp);
+			}
+			else if (LINKS_FIELD_NAME.equals(fieldName)) {
+				links = readLinks(jp);
+			}
+			else if (META_FIELD_NAME.equals(fieldName)) {
+				meta = readMeta(jp);
+			}
+			else {
+				jp.skipChildren();
+			}
+		}
+		if (dataBodies == null) {
+			throw new IllegalStateException("no data received");
+		}
+
+		upsert.setRelations();
+
+		JsonApiResponse response = new JsonApiResponse();
+		response.setLinksInformation(links);
+		response.setMetaInformation(meta);
+		if (dataBodies.isCollection) {
+			response.setEntity(dataBodies.resources);
+			return new CollectionResponseContext(response, null, null);
+		}
+		else {
+			if (dataBodies.resources.size() == 1) {
+				response.setEntity(dataBodies.resources.get(0));
+			}
+			else {
+				response.setEntity(null);
+			}
+			return new ResourceResponseContext(response, -1);
+		}
+	}
+
+	private LinksInformation readLinks(JsonParser jp) throws IOException {
+		JsonNode data = jp.readValueAsTree();
+		if (data != null) {
+			return new JsonLinksInformation(data);
+		}
+		else {
+			return null;
+		}
+	}
+
+	private MetaInformation readMeta(JsonParser jp) throws IOException {
+		JsonNode data = jp.readValueAsTree();
+		if (data != null) {
+			return new JsonMetaInformation(data);
+		}
+		else {
+			return null;
+		}
+	}
+
+	class ClientResourceUpsert extends ResourceUpsert {
+
+		private HashMap<Object, Object> resourceMap = new HashMap<>();
+
+		private ArrayList<PendingRelations> pendingRelations = new ArrayList<>();
+
+		public ClientResourceUpsert(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper) {
+			super(resourceRegistry, typeParser, objectMapper);
+		}
+
+		public String getUID(DataBody body) {
+			return body.getType() + "#" + body.getId();
+		}
+		
+		public String getUID(RegistryEntry<?> entry, Serializable id) {
+			return entry.getResourceInformation().getResourceType() + "#" + id;
+		}
+
+		public void setRelations() {
+			for (PendingRelations pending : pendingRelations) {
+				QueryAdapter queryAdapter = null;
+				RepositoryMethodParameterProvider parameterProvider = null;
+
+				setRelations(pending.resource, pending.registryEntry, pending.body, queryAdapter, parameterProvider);
+			}
+			pendingRelations.clear();
+		}
+
+		/**
+		 * Get relations from includes section or create a remote proxy
+		 */
+		@Override
+		protected Object fetchRelatedObject(RegistryEntry entry, Serializable relationId,
+				RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter) {
+
+			String uid = getUID(entry, relationId);
+			Object relatedResource = resourceMap.get(uid);
+			if(relatedResource != null){
+				return relatedResource;
+			}else{
+				return null; // TODO create remote proxy
+			}
+		}
+
+		@Override
+		public boolean isAcceptable(JsonPath jsonPath, String requestType) {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public BaseResponseContext handle(JsonPath jsonPath, QueryAdapter queryAdapter,
+				RepositoryMethodParameterProvider parameterProvider, RequestBody requestBody) {
+			throw new IllegalStateException();
+		}
+
+		/**
+		 * Reads the value of a data or included field, the parser points to its first token.
+		 */
+		public ResourceBodies parse(JsonParser jp) throws IOException {
+			ResourceBodies bodies = new ResourceBodies();
+			JsonToken token = jp.getCurrentToken();
+			if (token == JsonToken.START_ARRAY) {
+				while (jp.nextToken() == JsonToken.START_OBJECT) {
+					bodies.resources.add(readResource(jp));
+				}
+				bodies.isCollection = true;
+			}
+			else if (token == JsonToken.START_OBJECT) {
+				bodies.resources.add(readResource(jp));
+			}
+			else if (token != JsonToken.VALUE_NULL) {
+				throw new JsonDeserializationException("data field has wrong type: " + jp.getText());
+			}
+			return bodies;
+		}
+
+		private Object readResource(JsonParser jp) throws IOException {
+			DataBody body = new DataBody();
+			RegistryEntry<?> registryEntry = null;
+
+			while (jp.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = jp.getCurrentName();
+				JsonToken valueToken = jp.nextToken();
+				if (TYPE_FIELD_NAME.equals(fieldName)) {
+					body.setType(jp.getText());
+					registryEntry = getRegistryEntry(body.getType());
+				}
+				else if (ID_FIELD_NAME.equals(fieldName)) {
+					body.setId(valueToken == JsonToken.VALUE_NULL ? null : jp.getText());
+				}
+				else if (ATTRIBUTES_FIELD_NAME.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+					body.setAttributes((JsonNode) jp.readValueAsTree());
+				}
+				else if (RELATIONSHIPS_FIELD_NAME.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+					body.setRelationships(readRelationships(jp));
+				}
+				else {
+					jp.skipChildren();
+				}
+			}
+
+			if (registryEntry == null) {
+				throw new JsonDeserializationException("resource without type received");
+			}
+			ResourceInformation resourceInformation = registryEntry.getResourceInformation();
+			Object resource = newResource(resourceInformation, body);
+			setAttributes(body, resource, resourceInformation);
+			setId(body, resource, resourceInformation);
+
+			resourceMap.put(getUID(body), resource);
+			if (body.getRelationships() != null) {
+				pendingRelations.add(new PendingRelations(resource, registryEntry, body));
+			}
+			return resource;
+		}
+
+		private RegistryEntry<?> getRegistryEntry(String type) throws JsonDeserializationException {
+			RegistryEntry<?> registryEntry = resourceRegistry.getEntry(type);
+			if (registryEntry == null) {
+				throw new JsonDeserializationException("unknown resource type received: " + type);
+			}
+			return registryEntry;
+		}
+
+		/**
+		 * Same structure as built by {@link io.katharsis.jackson.deserializer.ResourceRelationshipsDeserializer}.
+		 */
+		private ResourceRelationships readRelationships(JsonParser jp) throws IOException {
+			ResourceRelationships relationships = new ResourceRelationships();
+			while (jp.nextToken() == JsonToken.FIELD_NAME) {
+				String relationshipName = jp.getCurrentName();
+				if (jp.nextToken() != JsonToken.START_OBJECT) {
+					throw new JsonDeserializationException("relationship must be an object: " + relationshipName);
+				}
+				Object value = null;
+				while (jp.nextToken() == JsonToken.FIELD_NAME) {
+					String fieldName = jp.getCurrentName();
+					JsonToken valueToken = jp.nextToken();
+					if (DATA_FIELD_NAME.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+						List<LinkageData> linkages = new ArrayList<>();
+						while (jp.nextToken() == JsonToken.START_OBJECT) {
+							linkages.add(readLinkage(jp));
+						}
+						value = linkages;
+					}
+					else if (DATA_FIELD_NAME.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+						value = readLinkage(jp);
+					}
+					else {
+						jp.skipChildren();
+					}
+				}
+				relationships.setAdditionalProperty(relationshipName, value);
+			}
+			return relationships;
+		}
+
+		private LinkageData readLinkage(JsonParser jp) throws IOException {
+			LinkageData linkage = new LinkageData();
+			while (jp.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = jp.getCurrentName();
+				JsonToken valueToken = jp.nextToken();
+				if (TYPE_FIELD_NAME.equals(fieldName)) {
+					linkage.setType(jp.getText());
+				}
+				else if (ID_FIELD_NAME.equals(fieldName)) {
+					linkage.setId(valueToken == JsonToken.VALUE_NULL ? null : jp.getText());
+				}
+				else {
+					jp.skipChildren();
+				}
+			}
+			return linkage;
+		}
+	};
+
+	class PendingRelations {
+
+		final Object resource;
+
+		final RegistryEntry<?> registryEntry;
+
+		final DataBody body;
+
+		PendingRelations(Object resource, RegistryEntry<?> registryEntry, DataBody body) {
+			this.resource = resource;
+			this.registryEntry = registryEntry;
+			this.body = body;
+		}
+	}
+
+	class ResourceBodies {
+
+		ArrayList<Object> resources = new ArrayList<>();
+
+		boolean isCollection = false;
+	}
+
+}
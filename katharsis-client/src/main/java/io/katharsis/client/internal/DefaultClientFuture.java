@@ -0,0 +1,128 @@
+package io.katharsis.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.katharsis.client.ClientCallback;
+import io.katharsis.client.ClientFuture;
+
+/**
+ * {@link ClientFuture} completed by the stubs once a response has been deserialized.
+ */
+public class DefaultClientFuture<T> implements ClientFuture<T> {
+
+	private final CountDownLatch latch = new CountDownLatch(1);
+
+	private List<ClientCallback<? super T>> callbacks = new ArrayList<>();
+
+	private boolean done;
+
+	private boolean cancelled;
+
+	private T result;
+
+	private Throwable failure;
+
+	/**
+	 * @param result of the invocation
+	 * @return true if this call completed the future, false if it was already done
+	 */
+	public boolean complete(T result) {
+		return finish(result, null, false);
+	}
+
+	/**
+	 * @param failure cause of the failure
+	 * @return true if this call completed the future, false if it was already done
+	 */
+	public boolean fail(Throwable failure) {
+		return finish(null, failure, false);
+	}
+
+	/**
+	 * Marks the future as cancelled. The request itself is not aborted, its result is discarded.
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		return finish(null, new CancellationException(), true);
+	}
+
+	private boolean finish(T result, Throwable failure, boolean cancelled) {
+		List<ClientCallback<? super T>> toNotify;
+		synchronized (this) {
+			if (done) {
+				return false;
+			}
+			this.done = true;
+			this.result = result;
+			this.failure = failure;
+			this.cancelled = cancelled;
+			toNotify = callbacks;
+			callbacks = null;
+		}
+		latch.countDown();
+		for (ClientCallback<? super T> callback : toNotify) {
+			notify(callback);
+		}
+		return true;
+	}
+
+	@Override
+	public void addCallback(ClientCallback<? super T> callback) {
+		synchronized (this) {
+			if (!done) {
+				callbacks.add(callback);
+				return;
+			}
+		}
+		notify(callback);
+	}
+
+	private void notify(ClientCallback<? super T> callback) {
+		if (failure == null) {
+			callback.onSuccess(result);
+		}
+		else {
+			callback.onFailure(failure);
+		}
+	}
+
+	@Override
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	@Override
+	public synchronized boolean isDone() {
+		return done;
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		latch.await();
+		return getResult();
+	}
+
+	@Override
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if (!latch.await(timeout, unit)) {
+			throw new TimeoutException();
+		}
+		return getResult();
+	}
+
+	private synchronized T getResult() throws ExecutionException {
+		if (cancelled) {
+			throw (CancellationException) failure;
+		}
+		if (failure != null) {
+			throw new ExecutionException(failure);
+		}
+		return result;
+	}
+}
@@ -45,6 +45,21 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 	}
 
 	private BaseResponseContext executeUpdate(HttpUrl requestUrl, T resource, QueryAdapter queryAdapter, boolean create) {
+		String requestBodyValue = serialize(resource, queryAdapter);
+
+		Builder builder = new Request.Builder().url(requestUrl);
+
+		if (create || katharsis.getPushAlways()) {
+			builder = builder.post(RequestBody.create(null, requestBodyValue));
+		}
+		else {
+			builder = builder.patch(RequestBody.create(null, requestBodyValue));
+		}
+
+		return execute(builder, true);
+	}
+
+	String serialize(T resource, QueryAdapter queryAdapter) {
 		JsonApiResponse response = new JsonApiResponse();
 		response.setEntity(resource);
 
@@ -52,24 +67,12 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 		ResourceResponseContext context = new ResourceResponseContext(response, jsonPath, queryAdapter);
 
 		ObjectMapper objectMapper = katharsis.getObjectMapper();
-		String requestBodyValue;
 		try {
-			requestBodyValue = objectMapper.writeValueAsString(context);
+			return objectMapper.writeValueAsString(context);
 		}
 		catch (JsonProcessingException e) {
 			throw new IllegalStateException(e);
 		}
-
-		Builder builder = new Request.Builder().url(requestUrl);
-
-		if (create || katharsis.getPushAlways()) {
-			builder = builder.post(RequestBody.create(null, requestBodyValue));
-		}
-		else {
-			builder = builder.patch(RequestBody.create(null, requestBodyValue));
-		}
-
-		return execute(builder, true);
 	}
 
 	@Override
@@ -137,7 +140,7 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 		return (S) context.getResponse().getEntity();
 	}
 
-	private <S extends T> String getStringId(S entity, boolean create) {
+	<S extends T> String getStringId(S entity, boolean create) {
 		if (katharsis.getPushAlways()) {
 			return null;
 		}
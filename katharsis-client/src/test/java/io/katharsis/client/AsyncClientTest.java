@@ -0,0 +1,179 @@
+package io.katharsis.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.mock.models.Project;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.client.response.ResourceList;
+import io.katharsis.queryspec.Direction;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+
+public class AsyncClientTest extends AbstractClientTest {
+
+	private QuerySpecResourceRepositoryStub<Task, Long> taskRepo;
+
+	private AsyncQuerySpecResourceRepositoryStub<Task, Long> asyncTaskRepo;
+
+	private AsyncQuerySpecResourceRepositoryStub<Project, Long> asyncProjectRepo;
+
+	private AsyncQuerySpecRelationshipRepositoryStub<Task, Long, Project, Long> asyncRelRepo;
+
+	private ExecutorService executor;
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		executor = Executors.newFixedThreadPool(2);
+		client.setExecutor(executor);
+
+		taskRepo = client.getQuerySpecRepository(Task.class);
+		asyncTaskRepo = client.getAsyncQuerySpecRepository(Task.class);
+		asyncProjectRepo = client.getAsyncQuerySpecRepository(Project.class);
+		asyncRelRepo = client.getAsyncQuerySpecRepository(Task.class, Project.class);
+	}
+
+	@After
+	public void teardown() {
+		executor.shutdown();
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testCreateAndFind() throws Exception {
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("test");
+		Task createdTask = asyncTaskRepo.create(task).get(10, TimeUnit.SECONDS);
+		Assert.assertEquals("test", createdTask.getName());
+
+		ResourceList<Task> tasks = asyncTaskRepo.findAll(new QuerySpec(Task.class)).get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(1, tasks.size());
+		Assert.assertEquals("test", tasks.get(0).getName());
+
+		tasks = asyncTaskRepo.findAll(Arrays.asList(1L), new QuerySpec(Task.class)).get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(1, tasks.size());
+
+		Task savedTask = asyncTaskRepo.findOne(1L, new QuerySpec(Task.class)).get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(task.getId(), savedTask.getId());
+		Assert.assertEquals(task.getName(), savedTask.getName());
+
+		asyncTaskRepo.delete(1L).get(10, TimeUnit.SECONDS);
+		Assert.assertTrue(taskRepo.findAll(new QuerySpec(Task.class)).isEmpty());
+	}
+
+	@Test
+	public void testConcurrentRequests() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			Task task = new Task();
+			task.setId(Long.valueOf(i));
+			task.setName("task" + i);
+			taskRepo.create(task);
+		}
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+
+		List<ClientFuture<Task>> futures = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(asyncTaskRepo.findOne(Long.valueOf(i), querySpec));
+		}
+		ClientFuture<ResourceList<Task>> all = asyncTaskRepo.findAll(querySpec);
+
+		for (int i = 0; i < 5; i++) {
+			Assert.assertEquals("task" + i, futures.get(i).get(10, TimeUnit.SECONDS).getName());
+		}
+		Assert.assertEquals(5, all.get(10, TimeUnit.SECONDS).size());
+	}
+
+	@Test
+	public void testCallbackOnSuccess() throws Exception {
+		Project project = new Project();
+		project.setId(2L);
+		project.setName("project");
+		asyncProjectRepo.create(project).get(10, TimeUnit.SECONDS);
+
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("task");
+		taskRepo.create(task);
+		client.getQuerySpecRepository(Task.class, Project.class).setRelation(task, 2L, "project");
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<Project> result = new AtomicReference<>();
+		asyncRelRepo.findOneTarget(1L, "project", new QuerySpec(Task.class)).addCallback(new ClientCallback<Project>() {
+
+			@Override
+			public void onSuccess(Project project) {
+				result.set(project);
+				latch.countDown();
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				latch.countDown();
+			}
+		});
+		Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Assert.assertEquals(Long.valueOf(2L), result.get().getId());
+	}
+
+	@Test
+	public void testFindNull() throws Exception {
+		ClientFuture<Task> future = asyncTaskRepo.findOne(1L, new QuerySpec(Task.class));
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			Assert.fail();
+		}
+		catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof ClientException);
+			Assert.assertEquals("Not Found", e.getCause().getMessage());
+		}
+
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		future.addCallback(new ClientCallback<Task>() {
+
+			@Override
+			public void onSuccess(Task result) {
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				failure.set(cause);
+			}
+		});
+		Assert.assertTrue(failure.get() instanceof ClientException);
+	}
+
+	@Test
+	public void testSynchronousHttpAdapterNotSupported() throws Exception {
+		client.setHttpClient(new HttpAdapter() {
+		});
+		ClientFuture<ResourceList<Task>> future = asyncTaskRepo.findAll(new QuerySpec(Task.class));
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			Assert.fail();
+		}
+		catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof UnsupportedOperationException);
+		}
+	}
+}
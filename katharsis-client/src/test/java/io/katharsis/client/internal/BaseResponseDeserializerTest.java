@@ -0,0 +1,148 @@
+package io.katharsis.client.internal;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.client.mock.models.Project;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.jackson.exception.JsonDeserializationException;
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.CollectionResponseContext;
+
+public class BaseResponseDeserializerTest {
+
+	private ObjectMapper objectMapper;
+
+	@Before
+	public void setup() {
+		KatharsisClient client = new KatharsisClient("http://localhost:8080/api", "io.katharsis.client.mock");
+		client.getQuerySpecRepository(Task.class);
+		objectMapper = client.getObjectMapper();
+	}
+
+	@Test
+	public void testCollectionWithIncludedResources() throws IOException {
+		String document = "{\"data\": ["
+				+ "{\"type\": \"tasks\", \"id\": \"1\", \"attributes\": {\"name\": \"task1\"}, "
+				+ "\"relationships\": {\"project\": {\"data\": {\"type\": \"projects\", \"id\": \"10\"}, \"links\": {}}, "
+				+ "\"projects\": {\"data\": [{\"type\": \"projects\", \"id\": \"10\"}, {\"type\": \"projects\", \"id\": \"11\"}]}}, "
+				+ "\"links\": {\"self\": \"http://localhost:8080/api/tasks/1\"}},"
+				+ "{\"attributes\": {\"name\": \"task2\"}, \"id\": \"2\", \"type\": \"tasks\", "
+				+ "\"relationships\": {\"project\": {\"data\": {\"type\": \"projects\", \"id\": \"10\"}}}}], "
+				+ "\"included\": ["
+				+ "{\"type\": \"projects\", \"id\": \"10\", \"attributes\": {\"name\": \"project10\"}},"
+				+ "{\"type\": \"projects\", \"id\": \"11\", \"attributes\": {\"name\": \"project11\"}}], "
+				+ "\"meta\": {\"totalCount\": 2}}";
+
+		BaseResponseContext context = objectMapper.readValue(document, BaseResponseContext.class);
+
+		Assert.assertTrue(context instanceof CollectionResponseContext);
+		@SuppressWarnings("unchecked")
+		List<Task> tasks = (List<Task>) context.getResponse().getEntity();
+		Assert.assertEquals(2, tasks.size());
+		Task task1 = tasks.get(0);
+		Task task2 = tasks.get(1);
+		Assert.assertEquals(Long.valueOf(1L), task1.getId());
+		Assert.assertEquals("task1", task1.getName());
+		Assert.assertEquals(Long.valueOf(2L), task2.getId());
+		Assert.assertEquals("task2", task2.getName());
+
+		Project project = task1.getProject();
+		Assert.assertEquals(Long.valueOf(10L), project.getId());
+		Assert.assertEquals("project10", project.getName());
+		Assert.assertSame(project, task2.getProject());
+		Assert.assertEquals(2, task1.getProjects().size());
+		Assert.assertSame(project, task1.getProjects().get(0));
+		Assert.assertEquals("project11", task1.getProjects().get(1).getName());
+
+		Assert.assertNotNull(context.getResponse().getMetaInformation());
+	}
+
+	@Test
+	public void testSingleAndNullData() throws IOException {
+		BaseResponseContext context = objectMapper.readValue(
+				"{\"data\": {\"type\": \"tasks\", \"id\": \"1\", \"attributes\": {\"name\": \"task1\"}}}",
+				BaseResponseContext.class);
+		Task task = (Task) context.getResponse().getEntity();
+		Assert.assertEquals("task1", task.getName());
+
+		context = objectMapper.readValue("{\"data\": null}", BaseResponseContext.class);
+		Assert.assertNull(context.getResponse().getEntity());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testMissingData() throws IOException {
+		objectMapper.readValue("{\"meta\": {}}", BaseResponseContext.class);
+	}
+
+	@Test(expected = JsonDeserializationException.class)
+	public void testUnknownType() throws IOException {
+		objectMapper.readValue("{\"data\": {\"type\": \"unknown\", \"id\": \"1\"}}", BaseResponseContext.class);
+	}
+
+	@Test
+	public void testDynamicAttributes() throws IOException {
+		KatharsisClient client = new KatharsisClient("http://localhost:8080/api", "io.katharsis.client.internal");
+		client.getQuerySpecRepository(DynamicResource.class);
+
+		BaseResponseContext context = client.getObjectMapper().readValue(
+				"{\"data\": {\"attributes\": {\"name\": \"dynamic\", \"color\": \"red\"}, \"type\": \"dynamics\", \"id\": \"1\"}}",
+				BaseResponseContext.class);
+
+		DynamicResource resource = (DynamicResource) context.getResponse().getEntity();
+		Assert.assertEquals(Long.valueOf(1L), resource.getId());
+		Assert.assertEquals("dynamic", resource.getName());
+		Assert.assertEquals("red", resource.getAttributes().get("color"));
+		Assert.assertFalse(resource.getAttributes().containsKey("name"));
+	}
+
+	@JsonApiResource(type = "dynamics")
+	public static class DynamicResource {
+
+		@JsonApiId
+		private Long id;
+
+		private String name;
+
+		private Map<String, Object> attributes = new HashMap<>();
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		@JsonAnyGetter
+		public Map<String, Object> getAttributes() {
+			return attributes;
+		}
+
+		@JsonAnySetter
+		public void setAttribute(String name, Object value) {
+			attributes.put(name, value);
+		}
+	}
+}
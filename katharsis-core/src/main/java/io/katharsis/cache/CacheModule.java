@@ -0,0 +1,154 @@
+package io.katharsis.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.katharsis.cache.internal.CacheInvalidationFilter;
+import io.katharsis.cache.internal.CachedBulkRelationshipRepository;
+import io.katharsis.cache.internal.CachedBulkResourceRepository;
+import io.katharsis.cache.internal.CachedRelationshipRepository;
+import io.katharsis.cache.internal.CachedResourceRepository;
+import io.katharsis.cache.internal.CacheRegion;
+import io.katharsis.cache.internal.ResultCache;
+import io.katharsis.module.Module;
+import io.katharsis.queryspec.QuerySpecBulkRelationshipRepository;
+import io.katharsis.queryspec.QuerySpecBulkResourceRepository;
+import io.katharsis.queryspec.QuerySpecRelationshipRepository;
+import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.repository.RepositoryDecoratorFactory;
+import io.katharsis.resource.annotations.JsonApiCache;
+import io.katharsis.utils.ClassUtils;
+import io.katharsis.utils.PreconditionUtil;
+import io.katharsis.utils.java.Optional;
+
+/**
+ * Katharsis module that caches the results of {@link QuerySpecResourceRepository} and
+ * {@link QuerySpecRelationshipRepository} implementations, keyed by the arguments and the normalized
+ * {@link io.katharsis.queryspec.QuerySpec}. It is meant for resources read far more often than they change, like
+ * reference data.
+ * <p>
+ * Resources are cached if a {@link CachePolicy} is configured for them with {@link #setPolicy(Class, CachePolicy)},
+ * they are annotated with {@link JsonApiCache} or a default policy is set, in that order. Relationships are cached
+ * according to the policy of their target type. Results depending on a resource type are invalidated whenever the
+ * resource type is saved, deleted or has its relationships modified, be it through a cached repository or through any
+ * request to a resource or relationship endpoint.
+ * <p>
+ * Both repositories registered through modules, which includes those discovered by
+ * {@link io.katharsis.internal.boot.KatharsisBoot}, and repositories found by a
+ * {@link io.katharsis.resource.registry.ResourceRegistryBuilder} are cached. Repositories created anew for every
+ * request share their cached results. Repositories working with {@link io.katharsis.queryParams.QueryParams} or
+ * annotated with {@link io.katharsis.repository.annotations.JsonApiResourceRepository} are not cached.
+ * <p>
+ * Every caller gets shallow copies of the cached resources, so resources must have a constructor without arguments.
+ * Requests other than GET bypass the cache, the resources they load and modify are never shared.
+ */
+public class CacheModule implements Module, RepositoryDecoratorFactory {
+
+	private final ResultCache cache = new ResultCache();
+
+	private final Map<Class<?>, CachePolicy> policies = new ConcurrentHashMap<>();
+
+	private CachePolicy defaultPolicy;
+
+	private ModuleContext context;
+
+	@Override
+	public String getModuleName() {
+		return "cache";
+	}
+
+	@Override
+	public void setupModule(ModuleContext context) {
+		if (!(context instanceof ExtendedModuleContext)) {
+			throw new UnsupportedOperationException("repositories cannot be decorated by " + context);
+		}
+		this.context = context;
+		((ExtendedModuleContext) context).addRepositoryDecoratorFactory(this);
+		context.addFilter(new CacheInvalidationFilter(context, cache));
+	}
+
+	/**
+	 * Sets the policy of the given resource type, taking precedence over {@link JsonApiCache}.
+	 *
+	 * @param resourceClass resource type
+	 * @param policy policy
+	 */
+	public void setPolicy(Class<?> resourceClass, CachePolicy policy) {
+		checkNotInitialized();
+		policies.put(resourceClass, policy);
+	}
+
+	/**
+	 * @param defaultPolicy policy of resource types without a policy of their own, <code>null</code> to not cache them
+	 */
+	public void setDefaultPolicy(CachePolicy defaultPolicy) {
+		checkNotInitialized();
+		this.defaultPolicy = defaultPolicy;
+	}
+
+	/**
+	 * @param resourceClass resource type
+	 * @return policy of the given resource type or <code>null</code> if it is not cached
+	 */
+	public CachePolicy getPolicy(Class<?> resourceClass) {
+		CachePolicy policy = policies.get(resourceClass);
+		if (policy != null) {
+			return policy;
+		}
+		Optional<JsonApiCache> annotation = ClassUtils.getAnnotation(resourceClass, JsonApiCache.class);
+		if (annotation.isPresent()) {
+			return CachePolicy.fromAnnotation(annotation.get());
+		}
+		return defaultPolicy;
+	}
+
+	/**
+	 * Invalidates all cached results depending on the given resource type, for example after it has been modified
+	 * outside of Katharsis.
+	 *
+	 * @param resourceClass resource type
+	 */
+	public void invalidate(Class<?> resourceClass) {
+		cache.invalidate(resourceClass);
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public Object decorateRepository(Object repository) {
+		if (repository instanceof QuerySpecResourceRepository) {
+			QuerySpecResourceRepository resourceRepository = (QuerySpecResourceRepository) repository;
+			Class<?> resourceClass = resourceRepository.getResourceClass();
+			CachePolicy policy = getPolicy(resourceClass);
+			if (policy != null) {
+				CacheRegion region = cache.getRegion(policy, resourceClass);
+				if (repository instanceof QuerySpecBulkResourceRepository) {
+					return new CachedBulkResourceRepository((QuerySpecBulkResourceRepository) repository, region, cache);
+				}
+				return new CachedResourceRepository(resourceRepository, region, cache);
+			}
+		}
+		else if (repository instanceof QuerySpecRelationshipRepository) {
+			QuerySpecRelationshipRepository relationshipRepository = (QuerySpecRelationshipRepository) repository;
+			Class<?> sourceClass = relationshipRepository.getSourceResourceClass();
+			Class<?> targetClass = relationshipRepository.getTargetResourceClass();
+			CachePolicy policy = getPolicy(targetClass);
+			if (policy != null) {
+				CacheRegion region = cache.getRegion(policy, sourceClass, targetClass);
+				if (repository instanceof QuerySpecBulkRelationshipRepository) {
+					return new CachedBulkRelationshipRepository((QuerySpecBulkRelationshipRepository) repository, region,
+							cache);
+				}
+				return new CachedRelationshipRepository(relationshipRepository, region, cache);
+			}
+		}
+		return repository;
+	}
+
+	private void checkNotInitialized() {
+		PreconditionUtil.assertNull("module is already initialized, no further changes can be performed", context);
+	}
+}
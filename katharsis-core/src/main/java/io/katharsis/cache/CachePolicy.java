@@ -0,0 +1,48 @@
+package io.katharsis.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import io.katharsis.resource.annotations.JsonApiCache;
+
+/**
+ * Bounds the repository results cached for a resource type by {@link CacheModule}.
+ */
+public class CachePolicy {
+
+	private final int maxSize;
+
+	private final long timeToLiveMillis;
+
+	/**
+	 * @param maxSize number of results kept, the least recently used result is evicted first
+	 * @param timeToLive time a result is kept after it has been loaded
+	 * @param unit unit of <code>timeToLive</code>
+	 */
+	public CachePolicy(int maxSize, long timeToLive, TimeUnit unit) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be positive, got " + maxSize);
+		}
+		if (timeToLive < 1) {
+			throw new IllegalArgumentException("timeToLive must be positive, got " + timeToLive);
+		}
+		this.maxSize = maxSize;
+		this.timeToLiveMillis = unit.toMillis(timeToLive);
+	}
+
+	public static CachePolicy fromAnnotation(JsonApiCache annotation) {
+		return new CachePolicy(annotation.maxSize(), annotation.timeToLive(), annotation.unit());
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getTimeToLiveMillis() {
+		return timeToLiveMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "CachePolicy[maxSize=" + maxSize + ", timeToLiveMillis=" + timeToLiveMillis + "]";
+	}
+}
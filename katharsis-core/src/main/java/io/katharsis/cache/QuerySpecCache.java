@@ -0,0 +1,51 @@
+package io.katharsis.cache;
+
+import io.katharsis.cache.internal.CacheKey;
+import io.katharsis.cache.internal.CacheRegion;
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * Caches values computed for a {@link QuerySpec}, for example the total count of a query, bounded by a
+ * {@link CachePolicy}. QuerySpecs are normalized, so equal requests share their values regardless of the order of
+ * their parameters. Meant for repositories caching on their own, independent of {@link CacheModule}.
+ */
+public class QuerySpecCache {
+
+	private final CacheRegion region;
+
+	public QuerySpecCache(CachePolicy policy) {
+		this.region = new CacheRegion(policy);
+	}
+
+	/**
+	 * Loads the value computed for a QuerySpec and further arguments.
+	 *
+	 * @param <V> value type
+	 */
+	public interface Loader<V> {
+
+		V load();
+	}
+
+	/**
+	 * @param operation identifying the value, like <i>count</i>
+	 * @param querySpec the value is computed for
+	 * @param arguments further identifying the value, compared with equals
+	 * @param loader computing the value if it is not cached, a value computed while the cache is cleared is not kept
+	 * @return cached or loaded value
+	 */
+	public <V> V get(String operation, QuerySpec querySpec, Object[] arguments, Loader<V> loader) {
+		return region.get(new CacheKey(operation, querySpec, arguments), loader);
+	}
+
+	/**
+	 * Discards all values, for example once the underlying data has been modified.
+	 */
+	public void clear() {
+		region.clear();
+	}
+
+	public int size() {
+		return region.size();
+	}
+}
@@ -0,0 +1,70 @@
+package io.katharsis.cache.internal;
+
+import io.katharsis.dispatcher.controller.HttpMethod;
+import io.katharsis.dispatcher.filter.AbstractFilter;
+import io.katharsis.dispatcher.filter.FilterChain;
+import io.katharsis.dispatcher.filter.FilterRequestContext;
+import io.katharsis.dispatcher.filter.VersionFilter;
+import io.katharsis.dispatcher.filter.VersionFilterChain;
+import io.katharsis.module.Module.ModuleContext;
+import io.katharsis.request.path.FieldPath;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.resource.field.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.response.BaseResponseContext;
+
+/**
+ * Invalidates the cached results depending on the resource type modified by a request. For relationship requests the
+ * target type is invalidated as well. Covers repositories which are not cached themselves, cached repositories
+ * invalidate on their own. While a modifying request is processed the cached repositories are bypassed.
+ */
+public class CacheInvalidationFilter extends AbstractFilter implements VersionFilter {
+
+	private final ModuleContext context;
+
+	private final ResultCache cache;
+
+	public CacheInvalidationFilter(ModuleContext context, ResultCache cache) {
+		this.context = context;
+		this.cache = cache;
+	}
+
+	@Override
+	public BaseResponseContext filter(FilterRequestContext filterRequestContext, FilterChain chain) {
+		if (HttpMethod.GET.name().equals(filterRequestContext.getMethod())) {
+			return chain.doFilter(filterRequestContext);
+		}
+		cache.beginModification();
+		try {
+			return chain.doFilter(filterRequestContext);
+		}
+		finally {
+			cache.endModification();
+			invalidate(filterRequestContext.getJsonPath());
+		}
+	}
+
+	@Override
+	public String filterVersion(FilterRequestContext filterRequestContext, VersionFilterChain chain) {
+		return chain.doFilter(filterRequestContext);
+	}
+
+	private void invalidate(JsonPath jsonPath) {
+		if (jsonPath == null) {
+			return;
+		}
+		RegistryEntry<?> entry = context.getResourceRegistry().getEntry(jsonPath.getResourceName());
+		if (entry == null) {
+			return;
+		}
+		ResourceInformation resourceInformation = entry.getResourceInformation();
+		cache.invalidate(resourceInformation.getResourceClass());
+		if (jsonPath instanceof FieldPath) {
+			ResourceField field = resourceInformation.findRelationshipFieldByName(jsonPath.getElementName());
+			if (field != null) {
+				cache.invalidate(field.getElementType());
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package io.katharsis.cache.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.utils.CompareUtils;
+
+/**
+ * Identifies a repository call by its operation, arguments and normalized {@link QuerySpec}. Iterable arguments are
+ * copied and the hash code is computed once, so keys are cheap to compare and unaffected by later changes to the
+ * arguments.
+ */
+public final class CacheKey {
+
+	private final String operation;
+
+	private final QuerySpec querySpec;
+
+	private final Object[] arguments;
+
+	private final int hashCode;
+
+	public CacheKey(String operation, QuerySpec querySpec, Object... arguments) {
+		this.operation = operation;
+		this.querySpec = querySpec != null ? querySpec.normalize() : null;
+		this.arguments = new Object[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			this.arguments[i] = arguments[i] instanceof Iterable ? toList((Iterable<?>) arguments[i]) : arguments[i];
+		}
+		this.hashCode = computeHashCode();
+	}
+
+	private static List<Object> toList(Iterable<?> iterable) {
+		List<Object> list = new ArrayList<>();
+		for (Object element : iterable) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	private int computeHashCode() {
+		final int prime = 31;
+		int result = operation.hashCode();
+		result = prime * result + ((querySpec == null) ? 0 : querySpec.hashCode());
+		result = prime * result + Arrays.deepHashCode(arguments);
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		CacheKey other = (CacheKey) obj;
+		return hashCode == other.hashCode && operation.equals(other.operation) // NOSONAR
+				&& Arrays.deepEquals(arguments, other.arguments) && CompareUtils.isEquals(querySpec, other.querySpec);
+	}
+
+	@Override
+	public String toString() {
+		return operation + Arrays.toString(arguments) + (querySpec != null ? "@" + querySpec.getResourceClass().getName() : "");
+	}
+}
@@ -0,0 +1,165 @@
+package io.katharsis.cache.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.katharsis.cache.CachePolicy;
+import io.katharsis.cache.QuerySpecCache;
+
+/**
+ * Results of a single repository, bounded by a {@link CachePolicy}. Every invalidation starts a new generation, results
+ * loaded during an older generation are not stored since they may be outdated already.
+ * <p>
+ * Reads do not lock, they only record when an entry was last used. Storing a result into a full region evicts the least
+ * recently used entries, which is approximate since concurrent reads may still update them meanwhile.
+ */
+public class CacheRegion {
+
+	static final Object MISS = new Object();
+
+	private final CachePolicy policy;
+
+	private final ConcurrentMap<CacheKey, Entry> entries = new ConcurrentHashMap<>();
+
+	private final AtomicLong accessCounter = new AtomicLong();
+
+	private volatile long generation;
+
+	public CacheRegion(CachePolicy policy) {
+		this.policy = policy;
+	}
+
+	public CachePolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @return generation to pass to {@link #put(CacheKey, Object, long)}, to be obtained before loading a result
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * @param key key
+	 * @return cached result, which may be <code>null</code>, or {@link #MISS}
+	 */
+	public Object get(CacheKey key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return MISS;
+		}
+		if (currentTimeMillis() >= entry.expiresAt) {
+			entries.remove(key, entry);
+			return MISS;
+		}
+		entry.lastAccess = accessCounter.incrementAndGet();
+		return entry.value;
+	}
+
+	/**
+	 * @param key key
+	 * @param loader loading the result if it is not cached
+	 * @return cached or loaded result
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V get(CacheKey key, QuerySpecCache.Loader<V> loader) {
+		long currentGeneration = getGeneration();
+		Object cached = get(key);
+		if (cached != MISS) {
+			return (V) cached;
+		}
+		V value = loader.load();
+		put(key, value, currentGeneration);
+		return value;
+	}
+
+	/**
+	 * Stores the given result unless the region was invalidated since the given generation.
+	 *
+	 * @param key key
+	 * @param value result
+	 * @param generation generation obtained before the result was loaded
+	 */
+	public synchronized void put(CacheKey key, Object value, long generation) {
+		if (generation == this.generation) {
+			Entry entry = new Entry(value, currentTimeMillis() + policy.getTimeToLiveMillis());
+			entry.lastAccess = accessCounter.incrementAndGet();
+			entries.put(key, entry);
+			if (entries.size() > policy.getMaxSize()) {
+				evict();
+			}
+		}
+	}
+
+	/**
+	 * Evicts the least recently used entries. Some more entries than necessary are evicted from large regions, so the
+	 * entries are not sorted again whenever a further result is stored.
+	 */
+	private void evict() {
+		int maxSize = policy.getMaxSize();
+		// access times are taken up front, concurrent reads must not change the order while sorting
+		List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+		for (Map.Entry<CacheKey, Entry> entry : entries.entrySet()) {
+			candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+		}
+		Collections.sort(candidates);
+		int evictions = candidates.size() - maxSize + maxSize / 16;
+		for (int i = 0; i < evictions && i < candidates.size(); i++) {
+			EvictionCandidate candidate = candidates.get(i);
+			entries.remove(candidate.key, candidate.entry);
+		}
+	}
+
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private static class Entry {
+
+		private final Object value;
+
+		private final long expiresAt;
+
+		private volatile long lastAccess;
+
+		Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private static class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+		private final CacheKey key;
+
+		private final Entry entry;
+
+		private final long lastAccess;
+
+		EvictionCandidate(CacheKey key, Entry entry) {
+			this.key = key;
+			this.entry = entry;
+			this.lastAccess = entry.lastAccess;
+		}
+
+		@Override
+		public int compareTo(EvictionCandidate other) {
+			return Long.compare(lastAccess, other.lastAccess);
+		}
+	}
+}
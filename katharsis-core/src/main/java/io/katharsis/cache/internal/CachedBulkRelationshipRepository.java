@@ -0,0 +1,81 @@
+package io.katharsis.cache.internal;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecBulkRelationshipRepository;
+
+/**
+ * Caches the results of a {@link QuerySpecBulkRelationshipRepository}, bulk requests are cached as a whole.
+ */
+public class CachedBulkRelationshipRepository<T, I extends Serializable, D, J extends Serializable>
+		extends CachedRelationshipRepository<T, I, D, J> implements QuerySpecBulkRelationshipRepository<T, I, D, J> {
+
+	private static final String FIND_ONE_TARGETS = "findOneTargets";
+
+	private static final String FIND_MANY_TARGETS_BULK = "findManyTargetsBulk";
+
+	private final QuerySpecBulkRelationshipRepository<T, I, D, J> repository;
+
+	public CachedBulkRelationshipRepository(QuerySpecBulkRelationshipRepository<T, I, D, J> repository, CacheRegion region,
+			ResultCache cache) {
+		super(repository, region, cache);
+		this.repository = repository;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<I, D> findOneTargets(Iterable<I> sourceIds, String fieldName, QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findOneTargets(sourceIds, fieldName, querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_ONE_TARGETS, querySpec, sourceIds, fieldName);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			cached = copyTargets(repository.findOneTargets(sourceIds, fieldName, querySpec));
+			region.put(key, cached, generation);
+		}
+		return copyTargets((Map<I, D>) cached);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<I, Iterable<D>> findManyTargets(Iterable<I> sourceIds, String fieldName, QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findManyTargets(sourceIds, fieldName, querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_MANY_TARGETS_BULK, querySpec, sourceIds, fieldName);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			cached = copyManyTargets(repository.findManyTargets(sourceIds, fieldName, querySpec));
+			region.put(key, cached, generation);
+		}
+		return copyManyTargets((Map<I, Iterable<D>>) cached);
+	}
+
+	private Map<I, D> copyTargets(Map<I, D> targets) {
+		if (targets == null) {
+			return null;
+		}
+		Map<I, D> result = new HashMap<>();
+		for (Map.Entry<I, D> entry : targets.entrySet()) {
+			result.put(entry.getKey(), copy(entry.getValue()));
+		}
+		return result;
+	}
+
+	private Map<I, Iterable<D>> copyManyTargets(Map<I, Iterable<D>> targets) {
+		if (targets == null) {
+			return null;
+		}
+		Map<I, Iterable<D>> result = new HashMap<>();
+		for (Map.Entry<I, Iterable<D>> entry : targets.entrySet()) {
+			result.put(entry.getKey(), (Iterable<D>) copyAll(entry.getValue()));
+		}
+		return result;
+	}
+}
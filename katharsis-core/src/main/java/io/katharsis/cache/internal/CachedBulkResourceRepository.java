@@ -0,0 +1,41 @@
+package io.katharsis.cache.internal;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.katharsis.queryspec.QuerySpecBulkResourceRepository;
+
+/**
+ * Caches the results of a {@link QuerySpecBulkResourceRepository}, bulk writes invalidate the cache once.
+ */
+public class CachedBulkResourceRepository<T, I extends Serializable> extends CachedResourceRepository<T, I>
+		implements QuerySpecBulkResourceRepository<T, I> {
+
+	private final QuerySpecBulkResourceRepository<T, I> repository;
+
+	public CachedBulkResourceRepository(QuerySpecBulkResourceRepository<T, I> repository, CacheRegion region,
+			ResultCache cache) {
+		super(repository, region, cache);
+		this.repository = repository;
+	}
+
+	@Override
+	public <S extends T> List<S> saveAll(Iterable<S> entities) {
+		try {
+			return repository.saveAll(entities);
+		}
+		finally {
+			cache.invalidate(getResourceClass());
+		}
+	}
+
+	@Override
+	public void deleteAll(Iterable<I> ids) {
+		try {
+			repository.deleteAll(ids);
+		}
+		finally {
+			cache.invalidate(getResourceClass());
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package io.katharsis.cache.internal;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecRelationshipRepository;
+
+/**
+ * Caches the results of a {@link QuerySpecRelationshipRepository}. Modifying a relationship invalidates all results
+ * depending on the source or the target type.
+ */
+public class CachedRelationshipRepository<T, I extends Serializable, D, J extends Serializable> extends CachedRepositoryBase<D>
+		implements QuerySpecRelationshipRepository<T, I, D, J> {
+
+	private static final String FIND_ONE_TARGET = "findOneTarget";
+
+	private static final String FIND_MANY_TARGETS = "findManyTargets";
+
+	private final QuerySpecRelationshipRepository<T, I, D, J> repository;
+
+	public CachedRelationshipRepository(QuerySpecRelationshipRepository<T, I, D, J> repository, CacheRegion region,
+			ResultCache cache) {
+		super(region, cache);
+		this.repository = repository;
+	}
+
+	@Override
+	public QuerySpecRelationshipRepository<T, I, D, J> getRepository() {
+		return repository;
+	}
+
+	@Override
+	public Class<T> getSourceResourceClass() {
+		return repository.getSourceResourceClass();
+	}
+
+	@Override
+	public Class<D> getTargetResourceClass() {
+		return repository.getTargetResourceClass();
+	}
+
+	@Override
+	public void setRelation(T source, J targetId, String fieldName) {
+		try {
+			repository.setRelation(source, targetId, fieldName);
+		}
+		finally {
+			invalidate();
+		}
+	}
+
+	@Override
+	public void setRelations(T source, Iterable<J> targetIds, String fieldName) {
+		try {
+			repository.setRelations(source, targetIds, fieldName);
+		}
+		finally {
+			invalidate();
+		}
+	}
+
+	@Override
+	public void addRelations(T source, Iterable<J> targetIds, String fieldName) {
+		try {
+			repository.addRelations(source, targetIds, fieldName);
+		}
+		finally {
+			invalidate();
+		}
+	}
+
+	@Override
+	public void removeRelations(T source, Iterable<J> targetIds, String fieldName) {
+		try {
+			repository.removeRelations(source, targetIds, fieldName);
+		}
+		finally {
+			invalidate();
+		}
+	}
+
+	protected void invalidate() {
+		cache.invalidate(getSourceResourceClass());
+		cache.invalidate(getTargetResourceClass());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public D findOneTarget(I sourceId, String fieldName, QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findOneTarget(sourceId, fieldName, querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_ONE_TARGET, querySpec, sourceId, fieldName);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			D target = repository.findOneTarget(sourceId, fieldName, querySpec);
+			region.put(key, copy(target), generation);
+			return target;
+		}
+		return copy((D) cached);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterable<D> findManyTargets(I sourceId, String fieldName, QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findManyTargets(sourceId, fieldName, querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_MANY_TARGETS, querySpec, sourceId, fieldName);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			cached = copyAll(repository.findManyTargets(sourceId, fieldName, querySpec));
+			region.put(key, cached, generation);
+		}
+		return copyAll((List<D>) cached);
+	}
+}
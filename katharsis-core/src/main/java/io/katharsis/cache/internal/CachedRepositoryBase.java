@@ -0,0 +1,134 @@
+package io.katharsis.cache.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecLinksRepository;
+import io.katharsis.queryspec.QuerySpecMetaRepository;
+import io.katharsis.resource.exception.ResourceException;
+import io.katharsis.response.LinksInformation;
+import io.katharsis.response.MetaInformation;
+import io.katharsis.response.paging.CursorPagedResultList;
+import io.katharsis.response.paging.HasNextPagedResultList;
+import io.katharsis.response.paging.PagedResultList;
+import io.katharsis.utils.ClassUtils;
+
+/**
+ * Base class of the caching repository decorators. Results are copied before they are cached and again for every
+ * caller, such that Katharsis can set the included relationships of the returned resources without modifying the
+ * cache. Resources are copied shallowly, field by field, and need a constructor without arguments. Collections keep
+ * their paging information. Repositories are called directly while {@link ResultCache#isModifying()}, the resources
+ * of modifying requests are neither cached nor taken from the cache.
+ */
+public abstract class CachedRepositoryBase<T> implements QuerySpecMetaRepository<T>, QuerySpecLinksRepository<T> {
+
+	private static final ConcurrentMap<Class<?>, List<Field>> COPIED_FIELDS = new ConcurrentHashMap<>();
+
+	protected final CacheRegion region;
+
+	protected final ResultCache cache;
+
+	protected CachedRepositoryBase(CacheRegion region, ResultCache cache) {
+		this.region = region;
+		this.cache = cache;
+	}
+
+	protected abstract Object getRepository();
+
+	public CacheRegion getRegion() {
+		return region;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public MetaInformation getMetaInformation(Iterable<T> resources, QuerySpec querySpec) {
+		Object repository = getRepository();
+		if (repository instanceof QuerySpecMetaRepository) {
+			return ((QuerySpecMetaRepository<T>) repository).getMetaInformation(resources, querySpec);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public LinksInformation getLinksInformation(Iterable<T> resources, QuerySpec querySpec) {
+		Object repository = getRepository();
+		if (repository instanceof QuerySpecLinksRepository) {
+			return ((QuerySpecLinksRepository<T>) repository).getLinksInformation(resources, querySpec);
+		}
+		return null;
+	}
+
+	/**
+	 * @param resources to copy
+	 * @return list with copies of the given resources, a {@link PagedResultList} of the same kind if the given
+	 *         resources are paged
+	 */
+	protected static <E> List<E> copyAll(Iterable<E> resources) {
+		if (resources == null) {
+			return null;
+		}
+		List<E> list = new ArrayList<>();
+		for (E resource : resources) {
+			list.add(copy(resource));
+		}
+		if (resources instanceof CursorPagedResultList) {
+			CursorPagedResultList<E> paged = (CursorPagedResultList<E>) resources;
+			return new CursorPagedResultList<>(list, paged.getTotalCount(), paged.getNextCursor(), paged.getPrevCursor());
+		}
+		if (resources instanceof HasNextPagedResultList) {
+			HasNextPagedResultList<E> paged = (HasNextPagedResultList<E>) resources;
+			return new HasNextPagedResultList<>(list, paged.getTotalCount(), paged.hasNext());
+		}
+		if (resources instanceof PagedResultList) {
+			return new PagedResultList<>(list, ((PagedResultList<E>) resources).getTotalCount());
+		}
+		return list;
+	}
+
+	/**
+	 * @param resource to copy
+	 * @return shallow copy of the given resource
+	 */
+	@SuppressWarnings("unchecked")
+	protected static <E> E copy(E resource) {
+		if (resource == null) {
+			return null;
+		}
+		Class<E> resourceClass = (Class<E>) resource.getClass();
+		try {
+			Constructor<E> constructor = resourceClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			E copy = constructor.newInstance();
+			for (Field field : getCopiedFields(resourceClass)) {
+				field.set(copy, field.get(resource));
+			}
+			return copy;
+		}
+		catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+			throw new ResourceException(String.format("couldn't copy a cached instance of %s", resourceClass));
+		}
+	}
+
+	private static List<Field> getCopiedFields(Class<?> resourceClass) {
+		List<Field> fields = COPIED_FIELDS.get(resourceClass);
+		if (fields == null) {
+			fields = new ArrayList<>();
+			for (Field field : ClassUtils.getClassFields(resourceClass)) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					field.setAccessible(true);
+					fields.add(field);
+				}
+			}
+			COPIED_FIELDS.putIfAbsent(resourceClass, fields);
+		}
+		return fields;
+	}
+}
@@ -0,0 +1,124 @@
+package io.katharsis.cache.internal;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.repository.VersionedRepository;
+import io.katharsis.response.ResultStream;
+
+/**
+ * Caches the results of a {@link QuerySpecResourceRepository}. Saving or deleting a resource invalidates all results
+ * depending on the resource type.
+ */
+public class CachedResourceRepository<T, I extends Serializable> extends CachedRepositoryBase<T>
+		implements QuerySpecResourceRepository<T, I>, VersionedRepository<I> {
+
+	private static final String FIND_ONE = "findOne";
+
+	private static final String FIND_ALL = "findAll";
+
+	private final QuerySpecResourceRepository<T, I> repository;
+
+	public CachedResourceRepository(QuerySpecResourceRepository<T, I> repository, CacheRegion region, ResultCache cache) {
+		super(region, cache);
+		this.repository = repository;
+	}
+
+	@Override
+	public QuerySpecResourceRepository<T, I> getRepository() {
+		return repository;
+	}
+
+	@Override
+	public Class<T> getResourceClass() {
+		return repository.getResourceClass();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T findOne(I id, QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findOne(id, querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_ONE, querySpec, id);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			T resource = repository.findOne(id, querySpec);
+			region.put(key, copy(resource), generation);
+			return resource;
+		}
+		return copy((T) cached);
+	}
+
+	@Override
+	public Iterable<T> findAll(QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findAll(querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_ALL, querySpec);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			Iterable<T> resources = repository.findAll(querySpec);
+			if (resources instanceof ResultStream) {
+				// too large to be cached
+				return resources;
+			}
+			cached = copyAll(resources);
+			region.put(key, cached, generation);
+		}
+		return copyAll(toResources(cached));
+	}
+
+	@Override
+	public Iterable<T> findAll(Iterable<I> ids, QuerySpec querySpec) {
+		if (cache.isModifying()) {
+			return repository.findAll(ids, querySpec);
+		}
+		CacheKey key = new CacheKey(FIND_ALL, querySpec, ids);
+		long generation = region.getGeneration();
+		Object cached = region.get(key);
+		if (cached == CacheRegion.MISS) {
+			cached = copyAll(repository.findAll(ids, querySpec));
+			region.put(key, cached, generation);
+		}
+		return copyAll(toResources(cached));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> toResources(Object cached) {
+		return (List<T>) cached;
+	}
+
+	@Override
+	public <S extends T> S save(S entity) {
+		try {
+			return repository.save(entity);
+		}
+		finally {
+			cache.invalidate(getResourceClass());
+		}
+	}
+
+	@Override
+	public void delete(I id) {
+		try {
+			repository.delete(id);
+		}
+		finally {
+			cache.invalidate(getResourceClass());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public String getVersion(Iterable<I> ids, QuerySpec querySpec) {
+		if (repository instanceof VersionedRepository) {
+			return ((VersionedRepository<I>) repository).getVersion(ids, querySpec);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,86 @@
+package io.katharsis.cache.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.katharsis.cache.CachePolicy;
+
+/**
+ * Keeps track of the {@link CacheRegion}s depending on a resource type to invalidate them once the resource type is
+ * modified.
+ */
+public class ResultCache {
+
+	private final ConcurrentMap<Class<?>, List<CacheRegion>> regions = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<List<Class<?>>, CacheRegion> regionsByResourceClasses = new ConcurrentHashMap<>();
+
+	private final ThreadLocal<Boolean> modifying = new ThreadLocal<>();
+
+	/**
+	 * Returns the region of the repository of the given resource types. Repositories built anew for every request,
+	 * like those of a service locator creating new instances, share the region created by the first call.
+	 *
+	 * @param policy policy of the region if it is created
+	 * @param resourceClasses resource types whose modification invalidates the region, the first one being the
+	 *            resource type or the source of the relationship cached by the region
+	 * @return region
+	 */
+	public CacheRegion getRegion(CachePolicy policy, Class<?>... resourceClasses) {
+		List<Class<?>> key = Arrays.asList(resourceClasses);
+		CacheRegion region = regionsByResourceClasses.get(key);
+		if (region != null) {
+			return region;
+		}
+		CacheRegion newRegion = new CacheRegion(policy);
+		region = regionsByResourceClasses.putIfAbsent(key, newRegion);
+		if (region != null) {
+			return region;
+		}
+		for (Class<?> resourceClass : resourceClasses) {
+			List<CacheRegion> dependentRegions = regions.get(resourceClass);
+			if (dependentRegions == null) {
+				regions.putIfAbsent(resourceClass, new CopyOnWriteArrayList<CacheRegion>());
+				dependentRegions = regions.get(resourceClass);
+			}
+			dependentRegions.add(newRegion);
+		}
+		return newRegion;
+	}
+
+	public void invalidate(Class<?> resourceClass) {
+		List<CacheRegion> dependentRegions = regions.get(resourceClass);
+		if (dependentRegions != null) {
+			for (CacheRegion region : dependentRegions) {
+				region.clear();
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		for (List<CacheRegion> dependentRegions : regions.values()) {
+			for (CacheRegion region : dependentRegions) {
+				region.clear();
+			}
+		}
+	}
+
+	/**
+	 * Marks the current thread as processing a modifying request until {@link #endModification()}. Resources loaded
+	 * meanwhile are about to be modified, they are loaded from the repositories and not cached.
+	 */
+	public void beginModification() {
+		modifying.set(Boolean.TRUE);
+	}
+
+	public void endModification() {
+		modifying.remove();
+	}
+
+	public boolean isModifying() {
+		return modifying.get() != null;
+	}
+}
@@ -0,0 +1,116 @@
+package io.katharsis.dispatcher;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.dispatcher.controller.HttpMethod;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.utils.ETagUtils;
+
+/**
+ * Answers a GET request carrying an <i>If-None-Match</i> header on behalf of an integration with ETags enabled. The
+ * integration first calls {@link #isNotModified(RequestDispatcher, JsonPath, String, Map, RepositoryMethodParameterProvider)}
+ * to compare the ETag derived from the version of a {@link io.katharsis.repository.VersionedRepository} without
+ * dispatching the request. If the request is dispatched, {@link #write(ObjectMapper, BaseResponseContext, OutputStream)}
+ * serializes the response to a buffer and compares the ETag computed from the body if no version is available.
+ * <p>
+ * A <i>304 Not Modified</i> response only carries the {@link #getETag()} header, the integrations set the content
+ * type and status of other responses only once the comparison is done.
+ */
+public class ConditionalRequest {
+
+	private final boolean conditional;
+
+	private final String ifNoneMatch;
+
+	private String etag;
+
+	/**
+	 * @param etagEnabled whether the integration has ETags enabled
+	 * @param method of the request, only GET requests are conditional
+	 * @param ifNoneMatch value of the <i>If-None-Match</i> header, may be <i>null</i>
+	 */
+	public ConditionalRequest(boolean etagEnabled, String method, String ifNoneMatch) {
+		this.conditional = etagEnabled && HttpMethod.GET.name().equals(method);
+		this.ifNoneMatch = ifNoneMatch;
+	}
+
+	/**
+	 * @return <i>true</i> if the response may carry an ETag
+	 */
+	public boolean isConditional() {
+		return conditional;
+	}
+
+	/**
+	 * Derives the ETag from the version of the requested resources, see
+	 * {@link RequestDispatcher#getVersion(JsonPath, String, Map, RepositoryMethodParameterProvider)}.
+	 *
+	 * @param path request path, part of the ETag
+	 * @return <i>true</i> if the client has an up-to-date representation and the request must not be dispatched
+	 */
+	public boolean isNotModified(RequestDispatcher requestDispatcher, JsonPath jsonPath, String path,
+			Map<String, Set<String>> parameters, RepositoryMethodParameterProvider parameterProvider) {
+		if (!conditional) {
+			return false;
+		}
+		String version = requestDispatcher.getVersion(jsonPath, HttpMethod.GET.name(), parameters, parameterProvider);
+		if (version == null) {
+			return false;
+		}
+		etag = ETagUtils.fromVersion(version, path, parameters);
+		return ETagUtils.matches(ifNoneMatch, etag);
+	}
+
+	/**
+	 * Serializes the response. The ETag is computed from the written body if it could not be derived from a version.
+	 *
+	 * @param out buffer to write the response to, since it must be discarded if the client representation is
+	 *            up-to-date
+	 * @return <i>true</i> if the client has an up-to-date representation and the buffer must not be sent
+	 */
+	public boolean write(ObjectMapper objectMapper, BaseResponseContext response, OutputStream out) throws IOException {
+		if (!isCacheable(response)) {
+			objectMapper.writeValue(out, response);
+			return false;
+		}
+		if (etag == null) {
+			MessageDigest digest = ETagUtils.newDigest();
+			objectMapper.writeValue(new DigestOutputStream(out, digest), response);
+			etag = ETagUtils.fromDigest(digest);
+		}
+		else {
+			objectMapper.writeValue(out, response);
+		}
+		return ETagUtils.matches(ifNoneMatch, etag);
+	}
+
+	/**
+	 * @return ETag of a <i>304 Not Modified</i> response
+	 */
+	public String getETag() {
+		return etag;
+	}
+
+	/**
+	 * @return ETag to send along with the response or <i>null</i> if there is none. Responses streamed without
+	 *         {@link #write(ObjectMapper, BaseResponseContext, OutputStream)} only carry an ETag derived from a
+	 *         version.
+	 */
+	public String getETag(BaseResponseContext response) {
+		return isCacheable(response) ? etag : null;
+	}
+
+	private boolean isCacheable(BaseResponseContext response) {
+		return conditional && response.getHttpStatus() == HttpStatus.OK_200;
+	}
+}
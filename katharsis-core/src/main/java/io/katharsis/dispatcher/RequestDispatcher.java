@@ -1,6 +1,8 @@
 package io.katharsis.dispatcher;
 
+import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -9,9 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.katharsis.dispatcher.controller.BaseController;
+import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.dispatcher.filter.Filter;
 import io.katharsis.dispatcher.filter.FilterChain;
 import io.katharsis.dispatcher.filter.FilterRequestContext;
+import io.katharsis.dispatcher.filter.VersionFilter;
+import io.katharsis.dispatcher.filter.VersionFilterChain;
 import io.katharsis.dispatcher.registry.ControllerRegistry;
 import io.katharsis.errorhandling.mapper.ExceptionMapperRegistry;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
@@ -24,12 +29,16 @@ import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.repository.exception.RepositoryNotFoundException;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathIds;
+import io.katharsis.request.path.ResourcePath;
 import io.katharsis.resource.exception.ResourceFieldNotFoundException;
 import io.katharsis.resource.field.ResourceField;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.responseRepository.ResourceRepositoryAdapter;
 import io.katharsis.response.BaseResponseContext;
 import io.katharsis.utils.java.Optional;
+import io.katharsis.utils.parser.TypeParser;
 
 /**
  * A class that can be used to integrate Katharsis with external frameworks like Jersey, Spring etc. See katharsis-rs
@@ -37,8 +46,12 @@ import io.katharsis.utils.java.Optional;
  */
 public class RequestDispatcher {
 
+	private static final String INCLUDE_PARAMETER = "include";
+
 	private Logger logger = LoggerFactory.getLogger(getClass());
 
+	private final TypeParser typeParser = new TypeParser();
+
 	private final ControllerRegistry controllerRegistry;
 
 	private final ExceptionMapperRegistry exceptionMapperRegistry;
@@ -90,6 +103,70 @@ public class RequestDispatcher {
 		}
 	}
 
+	/**
+	 * Determines the version of the resources requested by a GET request with a
+	 * {@link io.katharsis.repository.VersionedRepository} without dispatching the request. Used by the integrations to
+	 * answer conditional requests. Only resource and collection requests without inclusions are supported.
+	 * <p>
+	 * The lookup does not pass the response filter chain, but the {@link VersionFilter} hook of the filters. It only
+	 * takes place if every registered filter implements that hook. If a filter answers on its own or fails, no version
+	 * is available and the request has to be dispatched.
+	 *
+	 * @param jsonPath          built {@link JsonPath} instance which represents the URI sent in the request
+	 * @param method            type of the request
+	 * @param parameters        query parameters of the request
+	 * @param parameterProvider repository method parameter provider
+	 * @return version or <i>null</i> if not available, in which case the request has to be dispatched
+	 */
+	public String getVersion(JsonPath jsonPath, String method, Map<String, Set<String>> parameters,
+			RepositoryMethodParameterProvider parameterProvider) {
+		if (!HttpMethod.GET.name().equals(method) || !(jsonPath instanceof ResourcePath) || hasInclusions(parameters)) {
+			return null;
+		}
+		RegistryEntry<?> registryEntry = moduleRegistry.getResourceRegistry().getEntry(jsonPath.getResourceName());
+		List<VersionFilter> versionFilters = getVersionFilters();
+		if (registryEntry == null || versionFilters == null) {
+			return null;
+		}
+		try {
+			QueryAdapter queryAdapter = queryAdapterBuilder.build(registryEntry.getResourceInformation().getResourceClass(),
+					parameters);
+			DefaultFilterRequestContext context = new DefaultFilterRequestContext(jsonPath, queryAdapter, parameterProvider,
+					null, method);
+			return new DefaultVersionFilterChain(versionFilters, registryEntry).doFilter(context);
+		} catch (RuntimeException e) {
+			// the request will be dispatched and report the problem
+			logger.debug("failed to determine version", e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return filters as {@link VersionFilter} or <i>null</i> if not all filters implement it
+	 */
+	private List<VersionFilter> getVersionFilters() {
+		List<Filter> filters = moduleRegistry.getFilters();
+		List<VersionFilter> versionFilters = new ArrayList<>(filters.size());
+		for (Filter filter : filters) {
+			if (!(filter instanceof VersionFilter)) {
+				return null;
+			}
+			versionFilters.add((VersionFilter) filter);
+		}
+		return versionFilters;
+	}
+
+	private static boolean hasInclusions(Map<String, Set<String>> parameters) {
+		if (parameters != null) {
+			for (String name : parameters.keySet()) {
+				if (name.startsWith(INCLUDE_PARAMETER)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	private Class<?> getRequestedResource(JsonPath jsonPath) {
 		ResourceRegistry resourceRegistry = moduleRegistry.getResourceRegistry();
 		RegistryEntry<?> registryEntry = resourceRegistry.getEntry(jsonPath.getResourceName());
@@ -126,7 +203,7 @@ public class RequestDispatcher {
 		public BaseResponseContext doFilter(FilterRequestContext context) {
 			List<Filter> filters = moduleRegistry.getFilters();
 			if (filterIndex == filters.size()) {
-				return controller.handle(context.getJsonPath(), context.getQueryAdapter(), context.getParameterProvider(), context.getRequestBody());
+				return handle(context);
 			}
 			else {
 				Filter filter = filters.get(filterIndex);
@@ -134,6 +211,56 @@ public class RequestDispatcher {
 				return filter.filter(context, this);
 			}
 		}
+
+		protected BaseResponseContext handle(FilterRequestContext context) {
+			return controller.handle(context.getJsonPath(), context.getQueryAdapter(), context.getParameterProvider(), context.getRequestBody());
+		}
+	}
+
+	/**
+	 * Passes a version lookup through the {@link VersionFilter}s and asks the repository for the version of the
+	 * requested resources once all filters have been passed.
+	 */
+	class DefaultVersionFilterChain implements VersionFilterChain {
+
+		private int filterIndex = 0;
+
+		private final List<VersionFilter> filters;
+
+		private final RegistryEntry<?> registryEntry;
+
+		public DefaultVersionFilterChain(List<VersionFilter> filters, RegistryEntry<?> registryEntry) {
+			this.filters = filters;
+			this.registryEntry = registryEntry;
+		}
+
+		@Override
+		public String doFilter(FilterRequestContext context) {
+			if (filterIndex == filters.size()) {
+				return getVersion(context);
+			}
+			else {
+				VersionFilter filter = filters.get(filterIndex);
+				filterIndex++;
+				return filter.filterVersion(context, this);
+			}
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private String getVersion(FilterRequestContext context) {
+			ResourceRepositoryAdapter repositoryAdapter = registryEntry.getResourceRepository(context.getParameterProvider());
+			List<Serializable> ids = null;
+			PathIds pathIds = context.getJsonPath().getIds();
+			if (pathIds != null) {
+				Class<? extends Serializable> idClass = (Class<? extends Serializable>) registryEntry.getResourceInformation()
+						.getIdField().getType();
+				ids = new ArrayList<>(pathIds.getIds().size());
+				for (String id : pathIds.getIds()) {
+					ids.add(typeParser.parse(id, idClass));
+				}
+			}
+			return repositoryAdapter.getVersion(ids, context.getQueryAdapter());
+		}
 	}
 
 	class DefaultFilterRequestContext implements FilterRequestContext {
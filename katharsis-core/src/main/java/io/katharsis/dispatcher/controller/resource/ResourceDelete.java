@@ -1,6 +1,8 @@
 package io.katharsis.dispatcher.controller.resource;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import io.katharsis.dispatcher.controller.BaseController;
 import io.katharsis.dispatcher.controller.HttpMethod;
@@ -48,14 +50,16 @@ public class ResourceDelete extends BaseController {
             //TODO: Add JsonPath toString and provide to exception?
             throw new ResourceNotFoundException(resourceName);
         }
+        List<Serializable> castedIds = new ArrayList<>();
         for (String id : resourceIds.getIds()) {
-            @SuppressWarnings("unchecked") Class<? extends Serializable> idClass = (Class<? extends Serializable>) registryEntry
-                    .getResourceInformation()
-                    .getIdField()
-                    .getType();
-            Serializable castedId = registryEntry.getResourceInformation().parseIdString(id);
+            castedIds.add(registryEntry.getResourceInformation().parseIdString(id));
+        }
+        if (castedIds.size() == 1) {
+            //noinspection unchecked
+            registryEntry.getResourceRepository(parameterProvider).delete(castedIds.get(0), queryAdapter);
+        } else {
             //noinspection unchecked
-            registryEntry.getResourceRepository(parameterProvider).delete(castedId, queryAdapter);
+            registryEntry.getResourceRepository(parameterProvider).deleteAll(castedIds, queryAdapter);
         }
 
         //TODO: Avoid nulls - use optional
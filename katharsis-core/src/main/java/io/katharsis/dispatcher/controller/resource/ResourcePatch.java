@@ -1,16 +1,18 @@
 package io.katharsis.dispatcher.controller.resource;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.katharsis.dispatcher.controller.HttpMethod;
-import io.katharsis.queryParams.QueryParams;
 import io.katharsis.queryspec.internal.QueryAdapter;
-import io.katharsis.queryspec.internal.QueryParamsAdapter;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.request.dto.DataBody;
 import io.katharsis.request.dto.RequestBody;
@@ -19,12 +21,15 @@ import io.katharsis.request.path.ResourcePath;
 import io.katharsis.resource.exception.RequestBodyException;
 import io.katharsis.resource.exception.RequestBodyNotFoundException;
 import io.katharsis.resource.exception.ResourceNotFoundException;
+import io.katharsis.resource.field.ResourceAttributesBridge;
+import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.responseRepository.ResourceRepositoryAdapter;
 import io.katharsis.response.BaseResponseContext;
 import io.katharsis.response.JsonApiResponse;
 import io.katharsis.response.ResourceResponseContext;
+import io.katharsis.utils.PropertyUtils;
 import io.katharsis.utils.parser.TypeParser;
 
 public class ResourcePatch extends ResourceUpsert {
@@ -35,8 +40,7 @@ public class ResourcePatch extends ResourceUpsert {
 
     @Override
     public boolean isAcceptable(JsonPath jsonPath, String requestType) {
-        return !jsonPath.isCollection() &&
-                jsonPath instanceof ResourcePath &&
+        return jsonPath instanceof ResourcePath &&
                 HttpMethod.PATCH.name().equals(requestType);
     }
 
@@ -52,6 +56,13 @@ public class ResourcePatch extends ResourceUpsert {
         if (requestBody == null) {
             throw new RequestBodyNotFoundException(HttpMethod.PATCH, resourceEndpointName);
         }
+        if (jsonPath.isCollection()) {
+            if (!requestBody.isMultiple()) {
+                throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName, "Single data in body of a collection");
+            }
+            return updateResources(jsonPath, queryAdapter, parameterProvider, endpointRegistryEntry,
+                    requestBody.getMultipleData());
+        }
         if (requestBody.isMultiple()) {
             throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName, "Multiple data in body");
         }
@@ -75,21 +86,7 @@ public class ResourcePatch extends ResourceUpsert {
         @SuppressWarnings("unchecked")
         Object resource = extractResource(resourceRepository.findOne(resourceId, queryAdapter));
 
-        String attributesFromFindOne = null;
-        try {
-            // extract attributes from find one without any manipulation by query params (such as sparse fieldsets)
-            attributesFromFindOne = this.extractAttributesFromResourceAsJson(resource, jsonPath, new QueryParamsAdapter(new QueryParams()));
-            Map<String,Object> attributesToUpdate = objectMapper.readValue(attributesFromFindOne, Map.class);
-            // get the JSON form the request and deserialize into a map
-            String attributesAsJson = objectMapper.writeValueAsString(dataBody.getAttributes());
-            Map<String,Object> attributesFromRequest = objectMapper.readValue(attributesAsJson, Map.class);;
-            // walk the source map and apply target values from request
-            updateValues(attributesToUpdate, attributesFromRequest);
-            JsonNode upsertedAttributes = objectMapper.valueToTree(attributesToUpdate);
-            dataBody.setAttributes(upsertedAttributes);
-        } catch (Exception e) {
-            attributesFromFindOne = "";
-        }
+        mergeNestedAttributes(dataBody.getAttributes(), resource, bodyRegistryEntry.getResourceInformation());
 
         setAttributes(dataBody, resource, bodyRegistryEntry.getResourceInformation());
         setRelations(resource, bodyRegistryEntry, dataBody, queryAdapter, parameterProvider);
@@ -98,40 +95,105 @@ public class ResourcePatch extends ResourceUpsert {
         return new ResourceResponseContext(response, jsonPath, queryAdapter);
     }
 
-    private String extractAttributesFromResourceAsJson(Object resource, JsonPath jsonPath, QueryAdapter queryAdapter) throws Exception {
+    /**
+     * Updates all resources of a request body holding an array sent to the collection of a resource. The resources are
+     * loaded with a single findAll and saved with a single call to the repository, see
+     * {@link ResourceRepositoryAdapter#saveAll(Iterable, QueryAdapter)}.
+     */
+    private BaseResponseContext updateResources(JsonPath jsonPath, QueryAdapter queryAdapter,
+                                                RepositoryMethodParameterProvider parameterProvider,
+                                                RegistryEntry endpointRegistryEntry, Iterable<DataBody> dataBodies) {
+        String resourceEndpointName = jsonPath.getResourceName();
+        ResourceInformation resourceInformation = endpointRegistryEntry.getResourceInformation();
+        List<Serializable> resourceIds = new ArrayList<>();
+        List<RegistryEntry> bodyRegistryEntries = new ArrayList<>();
+        for (DataBody dataBody : dataBodies) {
+            if (dataBody == null) {
+                throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName, "No data field in the body.");
+            }
+            if (dataBody.getId() == null) {
+                throw new RequestBodyException(HttpMethod.PATCH, resourceEndpointName, "No id field in the body.");
+            }
+            RegistryEntry bodyRegistryEntry = resourceRegistry.getEntry(dataBody.getType());
+            verifyTypes(HttpMethod.PATCH, resourceEndpointName, endpointRegistryEntry, bodyRegistryEntry);
+            resourceIds.add(bodyRegistryEntry.getResourceInformation().parseIdString(dataBody.getId()));
+            bodyRegistryEntries.add(bodyRegistryEntry);
+        }
+
+        // related resources are fetched first, loading them must not detach the resources to update
+        Map<RegistryEntry, Map<Serializable, Object>> relatedObjects = fetchRelatedObjects(dataBodies, queryAdapter,
+                parameterProvider);
+        ResourceRepositoryAdapter resourceRepository = endpointRegistryEntry.getResourceRepository(parameterProvider);
+        Iterable<?> loadedResources = (Iterable<?>) extractResource(resourceRepository.findAll(resourceIds, queryAdapter));
+        Map<Serializable, Object> resourceMap = new HashMap<>();
+        if (loadedResources != null) {
+            String idFieldName = resourceInformation.getIdField().getUnderlyingName();
+            for (Object loadedResource : loadedResources) {
+                resourceMap.put((Serializable) PropertyUtils.getProperty(loadedResource, idFieldName), loadedResource);
+            }
+        }
 
-        JsonApiResponse response = new JsonApiResponse();
-        response.setEntity(resource);
-        ResourceResponseContext katharsisResponse = new ResourceResponseContext(response, jsonPath, queryAdapter);
-        // deserialize using the objectMapper so it becomes json-api
-        String newRequestBody = objectMapper.writeValueAsString(katharsisResponse);
-        JsonNode node = objectMapper.readTree(newRequestBody);
-        JsonNode attributes = node.findValue("attributes");
-        return objectMapper.writeValueAsString(attributes);
+        List<Object> resources = new ArrayList<>();
+        int index = 0;
+        for (DataBody dataBody : dataBodies) {
+            Object resource = resourceMap.get(resourceIds.get(index));
+            if (resource == null) {
+                throw new ResourceNotFoundException(resourceEndpointName + "/" + dataBody.getId());
+            }
+            RegistryEntry bodyRegistryEntry = bodyRegistryEntries.get(index);
+            mergeNestedAttributes(dataBody.getAttributes(), resource, bodyRegistryEntry.getResourceInformation());
+            setAttributes(dataBody, resource, bodyRegistryEntry.getResourceInformation());
+            setRelations(resource, bodyRegistryEntry, dataBody, queryAdapter, parameterProvider, relatedObjects);
+            resources.add(resource);
+            index++;
+        }
 
+        JsonApiResponse response = resourceRepository.saveAll(resources, queryAdapter);
+        return new ResourceResponseContext(response, jsonPath, queryAdapter);
     }
 
-    private void updateValues(Map<String, Object> source, Map<String, Object> updates) {
+    /**
+     * Only the attributes given in the request are applied to the resource. Embedded objects in the request are
+     * merged into the current value of the attribute so that values not sent by the client are retained.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeNestedAttributes(JsonNode requestAttributes, Object resource, ResourceInformation resourceInformation) {
+        if (requestAttributes == null || !requestAttributes.isObject()) {
+            return;
+        }
+        ResourceAttributesBridge attributesBridge = resourceInformation.getAttributeFields();
+        Iterator<Map.Entry<String, JsonNode>> fields = requestAttributes.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isObject()) {
+                Object currentValue = attributesBridge.getProperty(resource, field.getKey());
+                if (currentValue != null) {
+                    JsonNode currentNode = objectMapper.valueToTree(currentValue);
+                    if (currentNode.isObject()) {
+                        updateValues((ObjectNode) currentNode, (ObjectNode) field.getValue());
+                        field.setValue(currentNode);
+                    }
+                }
+            }
+        }
+    }
 
-        for (Map.Entry<String, Object> entry : updates.entrySet()) {
+    private void updateValues(ObjectNode source, ObjectNode updates) {
+        Iterator<Map.Entry<String, JsonNode>> fields = updates.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
             String fieldName = entry.getKey();
-            Object updatedValue = entry.getValue();
+            JsonNode updatedValue = entry.getValue();
+            JsonNode sourceValue = source.get(fieldName);
 
             // updating an embedded object
-            if (updatedValue instanceof Map) {
-
-                // source may lack the whole entry yet
-                if (!source.containsKey(fieldName)) {
-                    source.put(fieldName, new HashMap<>());
-                }
-
-                Object sourceMap = source.get(fieldName);
-                updateValues((Map<String, Object>)sourceMap, (Map<String, Object>)updatedValue);
+            if (updatedValue.isObject() && sourceValue != null && sourceValue.isObject()) {
+                updateValues((ObjectNode) sourceValue, (ObjectNode) updatedValue);
                 continue;
             }
 
             // updating a simple value
-            source.put(fieldName, updatedValue);
+            source.set(fieldName, updatedValue);
         }
     }
 
@@ -20,6 +20,11 @@ import io.katharsis.response.JsonApiResponse;
 import io.katharsis.response.ResourceResponseContext;
 import io.katharsis.utils.parser.TypeParser;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 public class ResourcePost extends ResourceUpsert {
 
     public ResourcePost(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper) {
@@ -51,7 +56,8 @@ public class ResourcePost extends ResourceUpsert {
             throw new RequestBodyNotFoundException(HttpMethod.POST, resourceEndpointName);
         }
         if (requestBody.isMultiple()) {
-            throw new RequestBodyException(HttpMethod.POST, resourceEndpointName, "Multiple data in body");
+            return createResources(jsonPath, queryAdapter, parameterProvider, endpointRegistryEntry,
+                requestBody.getMultipleData());
         }
 
         DataBody dataBody = requestBody.getSingleData();
@@ -70,4 +76,43 @@ public class ResourcePost extends ResourceUpsert {
 
         return new ResourceResponseContext(response, jsonPath, queryAdapter, HttpStatus.CREATED_201);
     }
+
+    /**
+     * Creates all resources of a request body holding an array with a single call to the repository, see
+     * {@link ResourceRepositoryAdapter#saveAll(Iterable, QueryAdapter)}. The related resources of all relationships
+     * are looked up in bulk as well.
+     */
+    private ResourceResponseContext createResources(JsonPath jsonPath, QueryAdapter queryAdapter,
+                                                    RepositoryMethodParameterProvider parameterProvider,
+                                                    RegistryEntry endpointRegistryEntry, Iterable<DataBody> dataBodies) {
+        String resourceEndpointName = jsonPath.getResourceName();
+        List<Object> newResources = new ArrayList<>();
+        List<RegistryEntry> bodyRegistryEntries = new ArrayList<>();
+        for (DataBody dataBody : dataBodies) {
+            if (dataBody == null) {
+                throw new RequestBodyException(HttpMethod.POST, resourceEndpointName, "No data field in the body.");
+            }
+            RegistryEntry bodyRegistryEntry = resourceRegistry.getEntry(dataBody.getType());
+            verifyTypes(HttpMethod.POST, resourceEndpointName, endpointRegistryEntry, bodyRegistryEntry);
+            Object newResource = newResource(bodyRegistryEntry.getResourceInformation(), dataBody);
+
+            setId(dataBody, newResource, bodyRegistryEntry.getResourceInformation());
+            setAttributes(dataBody, newResource, bodyRegistryEntry.getResourceInformation());
+            newResources.add(newResource);
+            bodyRegistryEntries.add(bodyRegistryEntry);
+        }
+
+        Map<RegistryEntry, Map<Serializable, Object>> relatedObjects = fetchRelatedObjects(dataBodies, queryAdapter,
+            parameterProvider);
+        int index = 0;
+        for (DataBody dataBody : dataBodies) {
+            setRelations(newResources.get(index), bodyRegistryEntries.get(index), dataBody, queryAdapter, parameterProvider,
+                relatedObjects);
+            index++;
+        }
+
+        ResourceRepositoryAdapter resourceRepository = endpointRegistryEntry.getResourceRepository(parameterProvider);
+        JsonApiResponse response = resourceRepository.saveAll(newResources, queryAdapter);
+        return new ResourceResponseContext(response, jsonPath, queryAdapter, HttpStatus.CREATED_201);
+    }
 }
@@ -1,10 +1,14 @@
 package io.katharsis.dispatcher.controller.resource;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -188,6 +192,16 @@ public abstract class ResourceUpsert extends BaseController {
     protected void setRelations(Object newResource, RegistryEntry registryEntry, DataBody dataBody, QueryAdapter
             queryAdapter,
                                 RepositoryMethodParameterProvider parameterProvider) {
+        setRelations(newResource, registryEntry, dataBody, queryAdapter, parameterProvider, null);
+    }
+
+    /**
+     * @param relatedObjects loaded by {@link #fetchRelatedObjects(Iterable, QueryAdapter, RepositoryMethodParameterProvider)}
+     *                       or <i>null</i> to look up every related object separately
+     */
+    protected void setRelations(Object newResource, RegistryEntry registryEntry, DataBody dataBody, QueryAdapter
+            queryAdapter, RepositoryMethodParameterProvider parameterProvider,
+                                Map<RegistryEntry, Map<Serializable, Object>> relatedObjects) {
         if (dataBody.getRelationships() != null) {
             Map<String, Object> additionalProperties = dataBody.getRelationships()
                     .getAdditionalProperties();
@@ -199,10 +213,12 @@ public abstract class ResourceUpsert extends BaseController {
                             registryEntry,
                             (Map.Entry) property,
                             queryAdapter,
-                            parameterProvider);
+                            parameterProvider,
+                            relatedObjects);
                 } else {
                     //noinspection unchecked
-                    setRelationField(newResource, registryEntry, (Map.Entry) property, queryAdapter, parameterProvider);
+                    setRelationField(newResource, registryEntry, (Map.Entry) property, queryAdapter, parameterProvider,
+                            relatedObjects);
                 }
 
             }
@@ -211,7 +227,8 @@ public abstract class ResourceUpsert extends BaseController {
 
     private void setRelationsField(Object newResource, RegistryEntry registryEntry,
                                    Map.Entry<String, Iterable<LinkageData>> property, QueryAdapter queryAdapter,
-                                   RepositoryMethodParameterProvider parameterProvider) {
+                                   RepositoryMethodParameterProvider parameterProvider,
+                                   Map<RegistryEntry, Map<Serializable, Object>> relatedObjects) {
         String propertyName = property.getKey();
         ResourceField relationshipField = registryEntry.getResourceInformation()
                 .findRelationshipFieldByName(propertyName);
@@ -231,7 +248,8 @@ public abstract class ResourceUpsert extends BaseController {
             }
             Serializable castedRelationshipId = typeParser.parse(linkageData.getId(), idFieldType);
             
-            Object relationObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter);
+            Object relationObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter,
+                    relatedObjects);
             
             relationships.add(relationObject);
         }
@@ -241,6 +259,13 @@ public abstract class ResourceUpsert extends BaseController {
     protected void setRelationField(Object newResource, RegistryEntry registryEntry,
                                   Map.Entry<String, LinkageData> property, QueryAdapter queryAdapter,
                                   RepositoryMethodParameterProvider parameterProvider) {
+        setRelationField(newResource, registryEntry, property, queryAdapter, parameterProvider, null);
+    }
+
+    private void setRelationField(Object newResource, RegistryEntry registryEntry,
+                                  Map.Entry<String, LinkageData> property, QueryAdapter queryAdapter,
+                                  RepositoryMethodParameterProvider parameterProvider,
+                                  Map<RegistryEntry, Map<Serializable, Object>> relatedObjects) {
 
         ResourceField relationshipFieldByName = registryEntry.getResourceInformation()
                 .findRelationshipFieldByName(property.getKey());
@@ -258,7 +283,8 @@ public abstract class ResourceUpsert extends BaseController {
                     .getType();
             Serializable castedRelationshipId = typeParser.parse(property.getValue().getId(), idFieldType);
             
-            relationObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter);
+            relationObject = fetchRelatedObject(entry, castedRelationshipId, parameterProvider, queryAdapter,
+                    relatedObjects);
         } else {
             relationObject = null;
         }
@@ -270,4 +296,73 @@ public abstract class ResourceUpsert extends BaseController {
 			QueryAdapter queryAdapter) {
 		return entry.getResourceRepository(parameterProvider).findOne(relationId, queryAdapter).getEntity();
 	}
+
+	private Object fetchRelatedObject(RegistryEntry entry, Serializable relationId,
+			RepositoryMethodParameterProvider parameterProvider, QueryAdapter queryAdapter,
+			Map<RegistryEntry, Map<Serializable, Object>> relatedObjects) {
+		if (relatedObjects != null && relatedObjects.containsKey(entry)) {
+			Map<Serializable, Object> objectMap = relatedObjects.get(entry);
+			if (!objectMap.containsKey(relationId)) {
+				throw new ResourceNotFoundException(entry.getResourceInformation().getResourceType() + "/" + relationId);
+			}
+			return objectMap.get(relationId);
+		}
+		return fetchRelatedObject(entry, relationId, parameterProvider, queryAdapter);
+	}
+
+	/**
+	 * Loads the resources referenced by the relationships of all given data bodies with a single findAll per resource
+	 * type, such that bulk requests do not look up every linkage separately.
+	 *
+	 * @return related objects by registry entry and id, to be passed to
+	 *         {@link #setRelations(Object, RegistryEntry, DataBody, QueryAdapter, RepositoryMethodParameterProvider, Map)}
+	 */
+	protected Map<RegistryEntry, Map<Serializable, Object>> fetchRelatedObjects(Iterable<DataBody> dataBodies,
+			QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider) {
+		Map<RegistryEntry, Set<Serializable>> relationIds = new HashMap<>();
+		for (DataBody dataBody : dataBodies) {
+			RegistryEntry registryEntry = resourceRegistry.getEntry(dataBody.getType());
+			if (registryEntry == null || dataBody.getRelationships() == null) {
+				continue;
+			}
+			for (Map.Entry<String, Object> property : dataBody.getRelationships().getAdditionalProperties().entrySet()) {
+				ResourceField relationshipField = registryEntry.getResourceInformation()
+						.findRelationshipFieldByName(property.getKey());
+				if (relationshipField == null || property.getValue() == null) {
+					continue;
+				}
+				Class<?> relationshipFieldClass = Generics.getResourceClass(relationshipField.getGenericType(),
+						relationshipField.getType());
+				Iterable<LinkageData> linkages = property.getValue() instanceof Iterable
+						? (Iterable<LinkageData>) property.getValue()
+						: Collections.singletonList((LinkageData) property.getValue());
+				for (LinkageData linkageData : linkages) {
+					RegistryEntry entry = resourceRegistry.getEntry(linkageData.getType(), relationshipFieldClass);
+					Class idFieldType = entry.getResourceInformation().getIdField().getType();
+					Set<Serializable> ids = relationIds.get(entry);
+					if (ids == null) {
+						ids = new LinkedHashSet<>();
+						relationIds.put(entry, ids);
+					}
+					ids.add(typeParser.parse(linkageData.getId(), idFieldType));
+				}
+			}
+		}
+
+		Map<RegistryEntry, Map<Serializable, Object>> relatedObjects = new HashMap<>();
+		for (Map.Entry<RegistryEntry, Set<Serializable>> entry : relationIds.entrySet()) {
+			RegistryEntry relationEntry = entry.getKey();
+			String idFieldName = relationEntry.getResourceInformation().getIdField().getUnderlyingName();
+			Iterable<?> objects = (Iterable<?>) relationEntry.getResourceRepository(parameterProvider)
+					.findAll(entry.getValue(), queryAdapter).getEntity();
+			Map<Serializable, Object> objectMap = new HashMap<>();
+			if (objects != null) {
+				for (Object object : objects) {
+					objectMap.put((Serializable) PropertyUtils.getProperty(object, idFieldName), object);
+				}
+			}
+			relatedObjects.put(relationEntry, objectMap);
+		}
+		return relatedObjects;
+	}
 }
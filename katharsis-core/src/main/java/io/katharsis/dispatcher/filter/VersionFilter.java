@@ -0,0 +1,20 @@
+package io.katharsis.dispatcher.filter;
+
+/**
+ * Allows a {@link Filter} to intercept the version lookup of conditional GET requests, see
+ * {@link io.katharsis.dispatcher.RequestDispatcher#getVersion}. A request whose version matches is answered with
+ * <i>304 Not Modified</i> without being dispatched, so the lookup only takes place if every registered filter
+ * implements this interface. Filters restricting access have to apply the same restrictions here.
+ */
+public interface VersionFilter {
+
+	/**
+	 * Filters a version lookup. To continue the lookup, {@link VersionFilterChain#doFilter(FilterRequestContext)} must
+	 * be called.
+	 *
+	 * @param filterRequestContext request context
+	 * @param chain next filters
+	 * @return version or <i>null</i> if not available, in which case the request is dispatched
+	 */
+	String filterVersion(FilterRequestContext filterRequestContext, VersionFilterChain chain);
+}
@@ -0,0 +1,15 @@
+package io.katharsis.dispatcher.filter;
+
+/**
+ * Manages the chain of {@link VersionFilter}s applied to a version lookup.
+ */
+public interface VersionFilterChain {
+
+	/**
+	 * Executes the next filter or asks the repository for the version once all filters have been invoked.
+	 *
+	 * @param filterRequestContext request context
+	 * @return version or <i>null</i> if not available
+	 */
+	String doFilter(FilterRequestContext filterRequestContext);
+}
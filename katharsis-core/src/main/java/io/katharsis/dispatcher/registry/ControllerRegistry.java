@@ -4,18 +4,32 @@ import io.katharsis.dispatcher.controller.BaseController;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Stores a list of controllers which are used to process the incoming requests.
+ * <p>
+ * The built-in controllers decide on acceptance by the type of the {@link JsonPath}, whether it denotes a collection
+ * and the HTTP method alone. The registry makes use of that by keeping a routing table keyed by those three values.
+ * For every route it holds the ordered list of candidate controllers: the built-in controllers accepting the route
+ * and all other controllers, whose acceptance may depend on the actual path. The first suitable candidate is
+ * returned, so the result is the same as when iterating over all registered controllers.
  *
  * @see io.katharsis.dispatcher.RequestDispatcher
  */
 public class ControllerRegistry {
 
+    private static final String BUILT_IN_CONTROLLER_PACKAGE = BaseController.class.getPackage().getName();
+
     private final List<BaseController> controllers = new LinkedList<>();
 
+    private volatile ConcurrentMap<Route, List<BaseController>> routes = new ConcurrentHashMap<>();
+
     public ControllerRegistry(List<BaseController> baseControllers) {
         if (baseControllers != null) {
             controllers.addAll(baseControllers);
@@ -23,26 +37,91 @@ public class ControllerRegistry {
     }
 
     /**
-     * Adds Katharsis controller to the registry. Should be called at initialization time.
+     * Adds Katharsis controller to the registry. Should be called at initialization time. The routing table is reset
+     * so the new controller is taken into account for all subsequent requests.
      *
      * @param controller a controller to be added
      */
-    public void addController(BaseController controller) {
+    public synchronized void addController(BaseController controller) {
         controllers.add(controller);
+        routes = new ConcurrentHashMap<>();
     }
 
     /**
-     * Iterate over all registered controllers to get the first suitable one.
+     * Get the first suitable controller. Only the candidates of the routing table are checked, registered controllers
+     * are only iterated for requests of a new shape.
+     *
      * @param jsonPath built JsonPath object mad from request path
      * @param requestType type of a HTTP request
      * @return suitable controller
      */
     public BaseController getController(JsonPath jsonPath, String requestType) {
-        for (BaseController controller : controllers) {
-            if (controller.isAcceptable(jsonPath, requestType)) {
-                return controller;
+        ConcurrentMap<Route, List<BaseController>> currentRoutes = routes;
+        Route route = new Route(jsonPath.getClass(), jsonPath.isCollection(), requestType);
+        List<BaseController> candidates = currentRoutes.get(route);
+        if (candidates == null) {
+            candidates = getCandidates(jsonPath, requestType);
+            currentRoutes.put(route, candidates);
+        }
+
+        for (BaseController candidate : candidates) {
+            if (candidate.isAcceptable(jsonPath, requestType)) {
+                return candidate;
             }
         }
         throw new MethodNotFoundException(PathBuilder.buildPath(jsonPath), requestType);
     }
+
+    private synchronized List<BaseController> getCandidates(JsonPath jsonPath, String requestType) {
+        List<BaseController> candidates = new ArrayList<>();
+        for (BaseController controller : controllers) {
+            if (!isRouteBased(controller) || controller.isAcceptable(jsonPath, requestType)) {
+                candidates.add(controller);
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean isRouteBased(BaseController controller) {
+        try {
+            Class<?> declaringClass = controller.getClass()
+                .getMethod("isAcceptable", JsonPath.class, String.class)
+                .getDeclaringClass();
+            return declaringClass.getName().startsWith(BUILT_IN_CONTROLLER_PACKAGE + ".");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Route {
+
+        private final Class<? extends JsonPath> pathType;
+        private final boolean collection;
+        private final String requestType;
+
+        Route(Class<? extends JsonPath> pathType, boolean collection, String requestType) {
+            this.pathType = pathType;
+            this.collection = collection;
+            this.requestType = requestType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Route route = (Route) o;
+            return collection == route.collection &&
+                Objects.equals(pathType, route.pathType) &&
+                Objects.equals(requestType, route.requestType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pathType, collection, requestType);
+        }
+    }
 }
@@ -23,10 +23,21 @@ public class ControllerRegistryBuilder {
 
     public ControllerRegistryBuilder(@SuppressWarnings("SameParameterValue") ResourceRegistry resourceRegistry, @SuppressWarnings("SameParameterValue") TypeParser typeParser,
                                      @SuppressWarnings("SameParameterValue") ObjectMapper objectMapper) {
+        this(resourceRegistry, typeParser, objectMapper, new IncludeLookupSetter(resourceRegistry));
+    }
+
+    /**
+     * @param resourceRegistry registry of the resources
+     * @param typeParser parser of the identifiers
+     * @param objectMapper mapper of the request bodies
+     * @param includeFieldSetter looks up the relationships to include, see {@link IncludeLookupSetter#setExecutor}
+     */
+    public ControllerRegistryBuilder(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper,
+                                     IncludeLookupSetter includeFieldSetter) {
         this.resourceRegistry = resourceRegistry;
         this.typeParser = typeParser;
         this.objectMapper = objectMapper;
-        this.includeFieldSetter = new IncludeLookupSetter(resourceRegistry);
+        this.includeFieldSetter = includeFieldSetter;
     }
 
     /**
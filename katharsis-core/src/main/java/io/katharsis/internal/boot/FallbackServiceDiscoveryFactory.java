@@ -3,6 +3,7 @@ package io.katharsis.internal.boot;
 import io.katharsis.locator.JsonServiceLocator;
 import io.katharsis.module.ServiceDiscovery;
 import io.katharsis.module.ServiceDiscoveryFactory;
+import io.katharsis.resource.index.ResourceIndex;
 
 public class FallbackServiceDiscoveryFactory implements ServiceDiscoveryFactory {
 
@@ -26,7 +27,19 @@ public class FallbackServiceDiscoveryFactory implements ServiceDiscoveryFactory
 			return instance;
 		}
 		String resourceSearchPackage = propertiesProvider.getProperty(KatharsisBootProperties.RESOURCE_SEARCH_PACKAGE);
+		if (!"false".equalsIgnoreCase(propertiesProvider.getProperty(KatharsisBootProperties.RESOURCE_INDEX_ENABLED))) {
+			ResourceIndex index = ResourceIndex.load(getClassLoader());
+			// classes of jars and directories without an index would be missed, scan the classpath in that case
+			if (index != null && index.isComplete(resourceSearchPackage)) {
+				return new IndexServiceDiscovery(index, resourceSearchPackage, serviceLocator);
+			}
+		}
 		return new ReflectionsServiceDiscovery(resourceSearchPackage, serviceLocator);
 	}
 
+	private static ClassLoader getClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : FallbackServiceDiscoveryFactory.class.getClassLoader();
+	}
+
 }
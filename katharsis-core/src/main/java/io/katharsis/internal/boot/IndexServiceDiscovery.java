@@ -0,0 +1,58 @@
+package io.katharsis.internal.boot;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.katharsis.locator.JsonServiceLocator;
+import io.katharsis.module.ServiceDiscovery;
+import io.katharsis.resource.index.ResourceIndex;
+import io.katharsis.utils.ClassUtils;
+
+/**
+ * Discovers components listed in a {@link ResourceIndex} instead of scanning the classpath like
+ * {@link ReflectionsServiceDiscovery}.
+ */
+public class IndexServiceDiscovery implements ServiceDiscovery {
+
+	private List<Class<?>> componentClasses;
+
+	private JsonServiceLocator locator;
+
+	public IndexServiceDiscovery(ResourceIndex index, String resourceSearchPackages, JsonServiceLocator locator) {
+		this.locator = locator;
+		this.componentClasses = index.getClasses(ResourceIndex.COMPONENT, resourceSearchPackages);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getInstancesByType(Class<T> clazz) {
+		List<T> instances = new ArrayList<>();
+		for (Class<?> componentClass : componentClasses) {
+			if (clazz.isAssignableFrom(componentClass)) {
+				addInstance(instances, (Class<T>) componentClass);
+			}
+		}
+		return instances;
+	}
+
+	@Override
+	public <A extends Annotation> List<Object> getInstancesByAnnotation(Class<A> annotation) {
+		List<Object> instances = new ArrayList<>();
+		for (Class<?> componentClass : componentClasses) {
+			if (ClassUtils.getAnnotation(componentClass, annotation).isPresent()) {
+				addInstance(instances, componentClass);
+			}
+		}
+		return instances;
+	}
+
+	private <T> void addInstance(List<? super T> instances, Class<T> type) {
+		if (ReflectionsServiceDiscovery.isValid(type)) {
+			T instance = locator.getInstance(type);
+			if (instance != null) {
+				instances.add(instance);
+			}
+		}
+	}
+}
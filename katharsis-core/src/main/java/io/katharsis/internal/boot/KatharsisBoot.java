@@ -1,6 +1,8 @@
 package io.katharsis.internal.boot;
 
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -33,6 +35,8 @@ import io.katharsis.repository.ResourceRepository;
 import io.katharsis.repository.annotations.JsonApiRelationshipRepository;
 import io.katharsis.repository.annotations.JsonApiResourceRepository;
 import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.include.IncludeLookupExecutorProvider;
+import io.katharsis.resource.include.IncludeLookupSetter;
 import io.katharsis.resource.information.AnnotationResourceInformationBuilder;
 import io.katharsis.resource.registry.ConstantServiceUrlProvider;
 import io.katharsis.resource.registry.ResourceRegistry;
@@ -74,6 +78,10 @@ public class KatharsisBoot {
 
 	private ServiceDiscoveryFactory serviceDiscoveryFactory = new DefaultServiceDiscoveryFactory();
 
+	private Executor includeLookupExecutor;
+
+	private ExecutorService defaultIncludeLookupExecutor;
+
 	public void setObjectMapper(ObjectMapper objectMapper) {
 		PreconditionUtil.assertNull("ObjectMapper already set", this.objectMapper);
 		this.objectMapper = objectMapper;
@@ -93,6 +101,17 @@ public class KatharsisBoot {
 		this.queryParamsBuilder = null;
 	}
 
+	/**
+	 * Sets the executor to look up included relationships concurrently on. Takes precedence over the executor created
+	 * for {@link KatharsisBootProperties#INCLUDE_LOOKUP_CONCURRENCY}.
+	 *
+	 * @param includeLookupExecutor executor
+	 */
+	public void setIncludeLookupExecutor(Executor includeLookupExecutor) {
+		checkNotConfiguredYet();
+		this.includeLookupExecutor = includeLookupExecutor;
+	}
+
 	/**
 	 * Sets a JsonServiceLocator.  No longer necessary if a ServiceDiscovery implementation is in place.
 	 * 
@@ -138,6 +157,17 @@ public class KatharsisBoot {
 		bootDiscovery();
 	}
 
+	/**
+	 * Releases what {@link #boot()} created, like the executor for {@link KatharsisBootProperties#INCLUDE_LOOKUP_CONCURRENCY}.
+	 * To be called once the application stops. Executors set by the application are not shut down.
+	 */
+	public void shutdown() {
+		if (defaultIncludeLookupExecutor != null) {
+			defaultIncludeLookupExecutor.shutdown();
+			defaultIncludeLookupExecutor = null;
+		}
+	}
+
 	private void setupServiceDiscovery() {
 		// revert to reflection-based approach if no ServiceDiscovery is found
 		FallbackServiceDiscoveryFactory fallback = new FallbackServiceDiscoveryFactory(serviceDiscoveryFactory, serviceLocator,
@@ -153,6 +183,16 @@ public class KatharsisBoot {
 		moduleRegistry.init(objectMapper, resourceRegistry);
 
 		JsonApiModuleBuilder jsonApiModuleBuilder = new JsonApiModuleBuilder();
+		String maxInclusionDepth = propertiesProvider != null
+				? propertiesProvider.getProperty(KatharsisBootProperties.INCLUDE_MAX_DEPTH) : null;
+		if (maxInclusionDepth != null) {
+			jsonApiModuleBuilder.setMaxInclusionDepth(Integer.parseInt(maxInclusionDepth));
+		}
+		String maxStreamedInclusions = propertiesProvider != null
+				? propertiesProvider.getProperty(KatharsisBootProperties.INCLUDE_MAX_STREAMED) : null;
+		if (maxStreamedInclusions != null) {
+			jsonApiModuleBuilder.setMaxStreamedInclusions(Integer.parseInt(maxStreamedInclusions));
+		}
 		objectMapper.registerModule(jsonApiModuleBuilder.build(resourceRegistry, false));
 
 		ExceptionMapperRegistry exceptionMapperRegistry = buildExceptionMapperRegistry();
@@ -166,7 +206,7 @@ public class KatharsisBoot {
 	private RequestDispatcher createRequestDispatcher(ExceptionMapperRegistry exceptionMapperRegistry) {
 		TypeParser typeParser = new TypeParser();
 		ControllerRegistryBuilder controllerRegistryBuilder = new ControllerRegistryBuilder(resourceRegistry, typeParser,
-				objectMapper);
+				objectMapper, createIncludeLookupSetter());
 		ControllerRegistry controllerRegistry = controllerRegistryBuilder.build();
 
 		QueryAdapterBuilder queryAdapterBuilder;
@@ -181,6 +221,26 @@ public class KatharsisBoot {
 	}
 
 
+	private IncludeLookupSetter createIncludeLookupSetter() {
+		IncludeLookupSetter includeLookupSetter = new IncludeLookupSetter(resourceRegistry);
+		String concurrency = propertiesProvider != null
+				? propertiesProvider.getProperty(KatharsisBootProperties.INCLUDE_LOOKUP_CONCURRENCY) : null;
+		if (concurrency != null) {
+			includeLookupSetter.setMaxConcurrency(Integer.parseInt(concurrency));
+		}
+		if (includeLookupExecutor != null) {
+			includeLookupSetter.setExecutor(includeLookupExecutor);
+		}
+		else if (concurrency != null) {
+			defaultIncludeLookupExecutor = IncludeLookupSetter.createDefaultExecutor();
+			includeLookupSetter.setExecutor(defaultIncludeLookupExecutor);
+		}
+		for (IncludeLookupExecutorProvider executorProvider : moduleRegistry.getIncludeLookupExecutorProviders()) {
+			includeLookupSetter.addExecutorProvider(executorProvider);
+		}
+		return includeLookupSetter;
+	}
+
 	private ExceptionMapperRegistry buildExceptionMapperRegistry() {
 		ExceptionMapperLookup exceptionMapperLookup = moduleRegistry.getExceptionMapperLookup();
 		ExceptionMapperRegistryBuilder mapperRegistryBuilder = new ExceptionMapperRegistryBuilder();
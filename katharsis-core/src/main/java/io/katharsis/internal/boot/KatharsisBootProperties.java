@@ -45,4 +45,59 @@ public class KatharsisBootProperties {
      * @since 0.9.4
      */
     public static final String WEB_PATH_PREFIX = "katharsis.config.web.path.prefix";
+
+    /**
+     * Enables ETags for successful GET responses and answers requests carrying a matching <i>If-None-Match</i> header
+     * with <i>304 Not Modified</i>. Disabled by default.
+     *
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WEB_ETAG_ENABLED = "katharsis.config.web.etag.enabled";
+
+    /**
+     * Set the number of relationships followed from a top-level resource when collecting included resources, both
+     * for inclusion paths like <i>include[tasks]=project.leader.company</i> and for relationships included by default.
+     * Longer paths are cut off. Defaults to 10.
+     *
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String INCLUDE_MAX_DEPTH = "katharsis.config.include.maxDepth";
+
+    /**
+     * Set the number of relationships looked up concurrently for a single request when including related resources
+     * like <i>include[tasks]=assignee,project,labels</i>. Independent relationships are then looked up on virtual
+     * threads if available, otherwise on a pool of daemon threads. Relationships are looked up one after another on
+     * the request thread if not set. The pool is released by {@link KatharsisBoot#shutdown()}.
+     *
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String INCLUDE_LOOKUP_CONCURRENCY = "katharsis.config.include.lookup.concurrency";
+
+    /**
+     * Set the number of included resources buffered while writing a collection returned as
+     * {@link io.katharsis.response.ResultStream}. The resources of the collection are written as they are fetched,
+     * the included resources can only be written at the end. Further included resources are dropped and
+     * <tt>includedTruncated</tt> is set in the meta information of the document. Defaults to 10000.
+     *
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String INCLUDE_MAX_STREAMED = "katharsis.config.include.maxStreamed";
+
+    /**
+     * Set to <tt>false</tt> to scan the classpath for repositories and other components even if an index written by
+     * {@link io.katharsis.resource.index.ResourceIndexProcessor} is available. The index is used by default.
+     *
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RESOURCE_INDEX_ENABLED = "katharsis.config.core.resource.index.enabled";
 }
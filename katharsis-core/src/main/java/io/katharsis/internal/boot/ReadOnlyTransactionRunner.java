@@ -0,0 +1,19 @@
+package io.katharsis.internal.boot;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link TransactionRunner} that can mark transactions read-only. Runners not implementing it run read-only requests
+ * with {@link #doInTransaction(Callable)}.
+ */
+public interface ReadOnlyTransactionRunner extends TransactionRunner {
+
+	/**
+	 * Runs the callable in a transaction that is not going to modify data, like the one of a GET request.
+	 * 
+	 * @param callable to run
+	 * @param <T> type of the result
+	 * @return result of the callable
+	 */
+	public <T> T doInReadOnlyTransaction(Callable<T> callable);
+}
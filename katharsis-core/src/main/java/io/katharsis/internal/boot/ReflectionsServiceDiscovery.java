@@ -77,7 +77,7 @@ public class ReflectionsServiceDiscovery implements ServiceDiscovery {
 		return instances;
 	}
 
-	private static boolean isValid(Class<?> type) {
+	static boolean isValid(Class<?> type) {
 		return !Modifier.isPrivate(type.getModifiers()) && !type.isInterface() && !Modifier.isAbstract(type.getModifiers())
 				&& hasDefaultConstructor(type);
 	}
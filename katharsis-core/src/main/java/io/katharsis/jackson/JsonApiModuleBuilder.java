@@ -8,6 +8,7 @@ import io.katharsis.jackson.serializer.DataLinksContainerSerializer;
 import io.katharsis.jackson.serializer.ErrorResponseSerializer;
 import io.katharsis.jackson.serializer.LinkageContainerSerializer;
 import io.katharsis.jackson.serializer.RelationshipContainerSerializer;
+import io.katharsis.jackson.serializer.include.IncludedRelationshipExtractor;
 import io.katharsis.resource.registry.ResourceRegistry;
 
 /**
@@ -17,6 +18,27 @@ public class JsonApiModuleBuilder {
 
     public static final String JSON_API_MODULE_NAME = "JsonApiModule";
 
+    private int maxInclusionDepth = IncludedRelationshipExtractor.DEFAULT_MAX_INCLUSION_DEPTH;
+
+    private int maxStreamedInclusions = BaseResponseSerializer.DEFAULT_MAX_STREAMED_INCLUSIONS;
+
+    /**
+     * @param maxInclusionDepth number of relationships followed from a top-level resource when collecting included
+     *                          resources
+     */
+    public void setMaxInclusionDepth(int maxInclusionDepth) {
+        this.maxInclusionDepth = maxInclusionDepth;
+    }
+
+    /**
+     * @param maxStreamedInclusions number of included resources buffered while writing a
+     *                              {@link io.katharsis.response.ResultStream}, see
+     *                              {@link BaseResponseSerializer#INCLUDED_TRUNCATED_META_NAME}
+     */
+    public void setMaxStreamedInclusions(int maxStreamedInclusions) {
+        this.maxStreamedInclusions = maxStreamedInclusions;
+    }
+
     /**
      * Creates Katharsis Jackson module with all required serializers
      *
@@ -32,7 +54,7 @@ public class JsonApiModuleBuilder {
                 .addSerializer(new DataLinksContainerSerializer(resourceRegistry))
                 .addSerializer(new RelationshipContainerSerializer(resourceRegistry, isClient))
                 .addSerializer(new LinkageContainerSerializer())
-                .addSerializer(new BaseResponseSerializer(resourceRegistry))
+                .addSerializer(new BaseResponseSerializer(resourceRegistry, maxInclusionDepth, maxStreamedInclusions))
                 .addSerializer(new ErrorResponseSerializer());
 
         return simpleModule;
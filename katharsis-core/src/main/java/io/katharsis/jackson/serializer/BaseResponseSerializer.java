@@ -2,9 +2,14 @@ package io.katharsis.jackson.serializer;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.katharsis.jackson.serializer.include.IncludedRelationshipExtractor;
 import io.katharsis.jackson.serializer.include.ResourceDigest;
+import io.katharsis.jackson.serializer.include.StreamedInclusions;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.*;
 
@@ -12,7 +17,10 @@ import java.io.IOException;
 import java.util.*;
 
 /**
- * Serializes top-level JSON object and provides ability to include compound documents
+ * Serializes top-level JSON object and provides ability to include compound documents. Collections returned as
+ * {@link ResultStream} are written resource by resource without holding them in memory. If such a collection
+ * includes more resources than can be buffered, the document is completed with the included resources collected so
+ * far and <i>{@value #INCLUDED_TRUNCATED_META_NAME}</i> set in its meta information.
  */
 public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext> {
 
@@ -22,10 +30,45 @@ public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext>
     private static final String LINKS_FIELD_NAME = "links";
     private static final String ERRORS_FIELD_NAME = "errors";
 
+    /**
+     * Meta information set if included resources of a {@link ResultStream} have been dropped.
+     */
+    public static final String INCLUDED_TRUNCATED_META_NAME = "includedTruncated";
+
+    /**
+     * Default number of included resources buffered while writing a {@link ResultStream}.
+     */
+    public static final int DEFAULT_MAX_STREAMED_INCLUSIONS = 10000;
+
+    /**
+     * Number of resources of a {@link ResultStream} after which the generator is flushed.
+     */
+    static final int STREAM_FLUSH_INTERVAL = 100;
+
     private final IncludedRelationshipExtractor includedRelationshipExtractor;
 
+    private final int maxStreamedInclusions;
+
     public BaseResponseSerializer(ResourceRegistry resourceRegistry) {
-        this.includedRelationshipExtractor = new IncludedRelationshipExtractor(resourceRegistry);
+        this(resourceRegistry, IncludedRelationshipExtractor.DEFAULT_MAX_INCLUSION_DEPTH);
+    }
+
+    /**
+     * @param resourceRegistry registry of the resources
+     * @param maxInclusionDepth see {@link IncludedRelationshipExtractor#IncludedRelationshipExtractor(ResourceRegistry, int)}
+     */
+    public BaseResponseSerializer(ResourceRegistry resourceRegistry, int maxInclusionDepth) {
+        this(resourceRegistry, maxInclusionDepth, DEFAULT_MAX_STREAMED_INCLUSIONS);
+    }
+
+    /**
+     * @param resourceRegistry registry of the resources
+     * @param maxInclusionDepth see {@link IncludedRelationshipExtractor#IncludedRelationshipExtractor(ResourceRegistry, int)}
+     * @param maxStreamedInclusions number of included resources buffered while writing a {@link ResultStream}
+     */
+    public BaseResponseSerializer(ResourceRegistry resourceRegistry, int maxInclusionDepth, int maxStreamedInclusions) {
+        this.includedRelationshipExtractor = new IncludedRelationshipExtractor(resourceRegistry, maxInclusionDepth);
+        this.maxStreamedInclusions = maxStreamedInclusions;
     }
 
     @Override
@@ -34,13 +77,16 @@ public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext>
 
         gen.writeStartObject();
 
+        boolean includedTruncated = false;
         if (isLinkageContainer(context)) {
             gen.writeObjectField(DATA_FIELD_NAME, response.getEntity());
         } else {
-            writeResponseWithResources(context, gen);
+            includedTruncated = writeResponseWithResources(context, gen);
         }
 
-        if (response.getMetaInformation() != null) {
+        if (includedTruncated) {
+            gen.writeObjectField(META_FIELD_NAME, getTruncatedMeta(response.getMetaInformation(), gen));
+        } else if (response.getMetaInformation() != null) {
             gen.writeObjectField(META_FIELD_NAME, response.getMetaInformation());
         }
         if (response.getLinksInformation() != null) {
@@ -58,7 +104,7 @@ public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext>
             return context.getResponse().getEntity() instanceof LinkageContainer;
         } else if (context instanceof CollectionResponseContext) {
             Iterable data = (Iterable) context.getResponse().getEntity();
-            if (data == null) {
+            if (data == null || data instanceof ResultStream) {
                 return false;
             } else {
                 Iterator iterator = data.iterator();
@@ -70,18 +116,44 @@ public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext>
         }
     }
 
-    private void writeResponseWithResources(BaseResponseContext value, JsonGenerator gen) throws IOException {
-        Map<ResourceDigest, Container> includedResources;
-        if (value instanceof ResourceResponseContext) {
-            includedResources = serializeSingle((ResourceResponseContext) value, gen);
+    private static ObjectNode getTruncatedMeta(MetaInformation metaInformation, JsonGenerator gen) throws IOException {
+        ObjectNode meta = JsonNodeFactory.instance.objectNode();
+        if (metaInformation != null) {
+            TokenBuffer buffer = new TokenBuffer(gen.getCodec(), false);
+            buffer.writeObject(metaInformation);
+            JsonNode node = buffer.asParser().readValueAsTree();
+            if (node instanceof ObjectNode) {
+                meta.setAll((ObjectNode) node);
+            }
+        }
+        meta.put(INCLUDED_TRUNCATED_META_NAME, true);
+        return meta;
+    }
+
+    /**
+     * @return <i>true</i> if included resources have been dropped
+     */
+    private boolean writeResponseWithResources(BaseResponseContext value, JsonGenerator gen) throws IOException {
+        Collection<Container> includedResources;
+        boolean truncated = false;
+        if (value instanceof ResourceResponseContext && value.getResponse().getEntity() instanceof Iterable) {
+            // bulk requests answer with all the resources they created or updated
+            includedResources = serializeResourceCollection(value, gen).values();
+        } else if (value instanceof ResourceResponseContext) {
+            includedResources = serializeSingle((ResourceResponseContext) value, gen).values();
+        } else if (value instanceof CollectionResponseContext && value.getResponse().getEntity() instanceof ResultStream) {
+            StreamedInclusions inclusions = serializeResourceStream((CollectionResponseContext) value, gen);
+            includedResources = inclusions.getIncludedResources();
+            truncated = inclusions.isTruncated();
         } else if (value instanceof CollectionResponseContext) {
-            includedResources = serializeResourceCollection((CollectionResponseContext) value, gen);
+            includedResources = serializeResourceCollection((CollectionResponseContext) value, gen).values();
         } else {
             throw new IllegalArgumentException(String.format("JsonApiResponse can be either %s or %s. Got %s",
                     ResourceResponseContext.class, CollectionResponseContext.class, value.getClass()));
         }
 
-        gen.writeObjectField(INCLUDED_FIELD_NAME, includedResources.values());
+        gen.writeObjectField(INCLUDED_FIELD_NAME, includedResources);
+        return truncated;
     }
 
     private Map<ResourceDigest, Container> serializeSingle(ResourceResponseContext responseContext, JsonGenerator gen)
@@ -96,10 +168,9 @@ public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext>
         }
     }
 
-    private Map<ResourceDigest, Container> serializeResourceCollection(CollectionResponseContext responseContext, JsonGenerator gen)
+    private Map<ResourceDigest, Container> serializeResourceCollection(BaseResponseContext responseContext, JsonGenerator gen)
             throws IOException {
         Iterable values = (Iterable) responseContext.getResponse().getEntity();
-        Map<ResourceDigest, Container> includedFields = new HashMap<>();
         List<Container> containers = new ArrayList<>();
 
         if (values == null) {
@@ -107,14 +178,36 @@ public class BaseResponseSerializer extends JsonSerializer<BaseResponseContext>
         }
 
         for (Object value : values) {
-            //noinspection unchecked
-            includedFields.putAll(includedRelationshipExtractor.extractIncludedResources(value, responseContext));
             containers.add(new Container(value, responseContext, ContainerType.TOP));
         }
 
         gen.writeObjectField(DATA_FIELD_NAME, containers);
 
-        return includedFields;
+        return includedRelationshipExtractor.extractIncludedResources(values, responseContext);
+    }
+
+    /**
+     * Writes the resources one after another as they are fetched and flushes the generator every
+     * {@value #STREAM_FLUSH_INTERVAL} resources. Only the included resources are held until the end of the response.
+     * The stream is closed once its resources have been written.
+     */
+    private StreamedInclusions serializeResourceStream(CollectionResponseContext responseContext, JsonGenerator gen)
+            throws IOException {
+        StreamedInclusions inclusions =
+            includedRelationshipExtractor.newStreamedInclusions(responseContext, maxStreamedInclusions);
+        try (ResultStream<?> values = (ResultStream<?>) responseContext.getResponse().getEntity()) {
+            gen.writeArrayFieldStart(DATA_FIELD_NAME);
+            int count = 0;
+            for (Object value : values) {
+                gen.writeObject(new Container(value, responseContext, ContainerType.TOP));
+                inclusions.add(value);
+                if (++count % STREAM_FLUSH_INTERVAL == 0) {
+                    gen.flush();
+                }
+            }
+            gen.writeEndArray();
+        }
+        return inclusions;
     }
 
     public Class<BaseResponseContext> handledType() {
@@ -1,21 +1,24 @@
 package io.katharsis.jackson.serializer;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
-import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.AnnotationIntrospectorPair;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.PropertyWriter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.katharsis.jackson.exception.JsonSerializationException;
+import io.katharsis.queryParams.include.Inclusion;
 import io.katharsis.queryParams.params.IncludedFieldsParams;
 import io.katharsis.queryParams.params.IncludedRelationsParams;
 import io.katharsis.queryParams.params.TypedParams;
-import io.katharsis.request.dto.Attributes;
 import io.katharsis.resource.field.ResourceField;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.registry.RegistryEntry;
@@ -24,7 +27,6 @@ import io.katharsis.response.Container;
 import io.katharsis.response.ContainerType;
 import io.katharsis.response.DataLinksContainer;
 import io.katharsis.response.LinkageContainer;
-import io.katharsis.utils.BeanUtils;
 import io.katharsis.utils.Predicate2;
 import io.katharsis.utils.PropertyUtils;
 import io.katharsis.utils.java.Optional;
@@ -53,6 +55,7 @@ public class ContainerSerializer extends JsonSerializer<Container> {
 
     private final ResourceRegistry resourceRegistry;
 	private boolean isClient;
+    private volatile AttributesWriter attributesWriter;
 
     public ContainerSerializer(ResourceRegistry resourceRegistry, boolean isClient) {
         this.resourceRegistry = resourceRegistry;
@@ -87,6 +90,9 @@ public class ContainerSerializer extends JsonSerializer<Container> {
                             includedRelationsParams = includedRelationsParamsInner;
                         }
                     }
+                } else if (includedRelations != null &&
+                        ContainerType.INCLUDED_NESTED.equals(container.getContainerType())) {
+                    includedRelationsParams = findNestedInclusions(includedRelations, container.getIncludedFieldName());
                 }
             }
 
@@ -180,37 +186,30 @@ public class ContainerSerializer extends JsonSerializer<Container> {
 
         final Optional<Set<String>> fields = includedFields(resourceType, includedFields);
 
-        Map<String, Object> dataMap;
+        Predicate2<Object, PropertyWriter> includeChecker;
         if (fields.isPresent()) {
-            Predicate2<Object, PropertyWriter> includeChecker = new Predicate2<Object, PropertyWriter>() {
+            includeChecker = new Predicate2<Object, PropertyWriter>() {
                 @Override
                 public boolean test(Object bean, PropertyWriter writer) {
                     return bean != data || (fields.get().contains(writer.getName()) &&
                             !notAttributesFields.contains(writer.getName()));
                 }
             };
-            ObjectMapper om = getObjectMapper(gen, data, includeChecker);
-            dataMap = om.convertValue(data, new TypeReference<Map<String, Object>>() {
-            });
         } else {
-            Predicate2<Object, PropertyWriter> includeChecker = new Predicate2<Object, PropertyWriter>() {
+            includeChecker = new Predicate2<Object, PropertyWriter>() {
                 @Override
                 public boolean test(Object bean, PropertyWriter writer) {
                     return bean != data || !notAttributesFields.contains(writer.getName());
                 }
             };
-            ObjectMapper om = getObjectMapper(gen, data, includeChecker);
-            dataMap = om.convertValue(data, new TypeReference<Map<String, Object>>() {
-            });
         }
 
+        ObjectWriter writer = getAttributesWriter(gen);
+        FilterProvider fp = new AttributesFilterProvider(new KatharsisFieldPropertyFilter(includeChecker),
+                writer.getConfig().getFilterProvider());
 
-        Attributes attributesObject = new Attributes();
-        for (Map.Entry<String, Object> entry : dataMap.entrySet()) {
-            attributesObject.addAttribute(entry.getKey(), entry.getValue());
-        }
-
-        gen.writeObjectField(ATTRIBUTES_FIELD_NAME, attributesObject);
+        gen.writeFieldName(ATTRIBUTES_FIELD_NAME);
+        writer.with(fp).writeValue(gen, data);
     }
 
     /**
@@ -241,6 +240,22 @@ public class ContainerSerializer extends JsonSerializer<Container> {
         return typeIncludedFields == null || typeIncludedFields.getParams().isEmpty();
     }
 
+    /**
+     * @return inclusions continuing after the given relationship, which is not the first one of the path
+     */
+    private static IncludedRelationsParams findNestedInclusions(TypedParams<IncludedRelationsParams> includedRelations,
+                                                                String includedFieldName) {
+        for (IncludedRelationsParams includedRelationsParams : includedRelations.getParams().values()) {
+            for (Inclusion inclusion : includedRelationsParams.getParams()) {
+                int index = inclusion.getPathList().lastIndexOf(includedFieldName);
+                if (index > 0 && index < inclusion.getPathList().size() - 1) {
+                    return includedRelationsParams;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Returns included elements for a resource
      *
@@ -308,32 +323,84 @@ public class ContainerSerializer extends JsonSerializer<Container> {
     }
 
     /**
-     * Generate a new object mapper and configure the filter to exclude some properties.
+     * Returns a writer which applies the <i>katharsisFilter</i> to all serialized resources. It is derived once from the
+     * generator's object mapper and reused for all resources to benefit from Jackson's serializer cache. The actual
+     * filter is passed along with each resource.
      */
-    private static ObjectMapper getObjectMapper(JsonGenerator gen, final Object data,
-                                                Predicate2<Object, PropertyWriter> includedFields) {
-        ObjectMapper attributesObjectMapper = ((ObjectMapper) gen.getCodec())
-                .copy();
-
-        FilterProvider fp = new SimpleFilterProvider()
-                .addFilter(JACKSON_ATTRIBUTE_FILTER_NAME, new KatharsisFieldPropertyFilter(includedFields));
-        attributesObjectMapper.setFilters(fp);
-
-        attributesObjectMapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
-            @Override
-            public Object findFilterId(Annotated a) {
-                Object filterId = null;
-
-                if (a instanceof AnnotatedClass) {
-                    AnnotatedClass ac = (AnnotatedClass) a;
-                    if (ac.getRawType().equals(data.getClass())) {
-                        filterId = JACKSON_ATTRIBUTE_FILTER_NAME;
-                    }
-                }
-                return filterId;
+    private ObjectWriter getAttributesWriter(JsonGenerator gen) {
+        ObjectMapper objectMapper = (ObjectMapper) gen.getCodec();
+        AttributesWriter current = attributesWriter;
+        if (current == null || current.objectMapper != objectMapper) {
+            ObjectMapper attributesObjectMapper = objectMapper.copy();
+            attributesObjectMapper.setAnnotationIntrospector(new AnnotationIntrospectorPair(
+                    new AttributesAnnotationIntrospector(resourceRegistry),
+                    objectMapper.getSerializationConfig().getAnnotationIntrospector()));
+            ObjectWriter writer = attributesObjectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            current = new AttributesWriter(objectMapper, writer);
+            attributesWriter = current;
+        }
+        return current.writer;
+    }
+
+    private static class AttributesWriter {
+
+        private final ObjectMapper objectMapper;
+        private final ObjectWriter writer;
+
+        AttributesWriter(ObjectMapper objectMapper, ObjectWriter writer) {
+            this.objectMapper = objectMapper;
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * Assigns the <i>katharsisFilter</i> to every resource class. Filters of other beans, like nested value objects,
+     * are left to the introspector of the object mapper.
+     */
+    private static class AttributesAnnotationIntrospector extends NopAnnotationIntrospector {
+
+        private final transient ResourceRegistry resourceRegistry;
+
+        AttributesAnnotationIntrospector(ResourceRegistry resourceRegistry) {
+            this.resourceRegistry = resourceRegistry;
+        }
+
+        @Override
+        public Object findFilterId(Annotated a) {
+            if (a instanceof AnnotatedClass && resourceRegistry.hasEntry(a.getRawType())) {
+                return JACKSON_ATTRIBUTE_FILTER_NAME;
             }
-        });
+            return null;
+        }
+    }
 
-        return attributesObjectMapper;
+    /**
+     * Provides the <i>katharsisFilter</i> of the resource being serialized and looks up all other filters with the
+     * filter provider of the object mapper.
+     */
+    private static class AttributesFilterProvider extends FilterProvider {
+
+        private final PropertyFilter attributesFilter;
+        private final FilterProvider filterProvider;
+
+        AttributesFilterProvider(PropertyFilter attributesFilter, FilterProvider filterProvider) {
+            this.attributesFilter = attributesFilter;
+            this.filterProvider = filterProvider;
+        }
+
+        @Override
+        @Deprecated
+        public BeanPropertyFilter findFilter(Object filterId) {
+            throw new UnsupportedOperationException("use findPropertyFilter");
+        }
+
+        @Override
+        public PropertyFilter findPropertyFilter(Object filterId, Object valueToFilter) {
+            if (JACKSON_ATTRIBUTE_FILTER_NAME.equals(filterId)) {
+                return attributesFilter;
+            }
+            return filterProvider != null ? filterProvider.findPropertyFilter(filterId, valueToFilter) : null;
+        }
     }
 }
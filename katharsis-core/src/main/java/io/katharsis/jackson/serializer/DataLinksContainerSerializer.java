@@ -12,6 +12,7 @@ import io.katharsis.response.DataLinksContainer;
 import io.katharsis.response.RelationshipContainer;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Serializes a <i>links</i> field of a resource in data field of JSON API response.
@@ -51,6 +52,9 @@ public class DataLinksContainerSerializer extends JsonSerializer<DataLinksContai
                         && inclusion.getPathList().size() > 1
                         && field.getJsonName().equals(inclusion.getPathList().get(1))) {
                     return true;
+                } else if (dataLinksContainer.getContainerType().equals(ContainerType.INCLUDED_NESTED)
+                        && isNextInclusionElement(inclusion.getPathList(), dataLinksContainer.getIncludedFieldName(), field)) {
+                    return true;
                 }
             }
         }
@@ -58,6 +62,18 @@ public class DataLinksContainerSerializer extends JsonSerializer<DataLinksContai
         return false;
     }
 
+    /**
+     * @return <i>true</i> if the field follows the relationship a nested resource has been included with
+     */
+    private static boolean isNextInclusionElement(List<String> pathList, String includedFieldName, ResourceField field) {
+        for (int i = 1; i < pathList.size() - 1; i++) {
+            if (pathList.get(i).equals(includedFieldName) && pathList.get(i + 1).equals(field.getJsonName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Class<DataLinksContainer> handledType() {
         return DataLinksContainer.class;
     }
@@ -0,0 +1,345 @@
+package io.katharsis.jackson.serializer.include;
+
+import io.katharsis.queryParams.include.Inclusion;
+import io.katharsis.queryParams.params.IncludedRelationsParams;
+import io.katharsis.queryParams.params.TypedParams;
+import io.katharsis.request.path.FieldPath;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.exception.ResourceFieldNotFoundException;
+import io.katharsis.resource.field.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.Container;
+import io.katharsis.response.ContainerType;
+import io.katharsis.utils.PropertyUtils;
+import io.katharsis.utils.java.Optional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inclusions of a single request. The inclusion parameters are resolved once when the plan is created and compiled
+ * into a tree of relationships, so that inclusions sharing a prefix like <i>project.tasks</i> and
+ * <i>project.leader</i> resolve <i>project</i> only once. The resources are then walked breadth-first: a relationship
+ * is resolved for all resources of a level before moving on to the next level. Resources reachable from multiple
+ * places of a level are expanded only once, the digest of a resource is computed only once per extraction.
+ * <p>
+ * Resources included by default are found with the same breadth-first walk. An identity-based set of already expanded
+ * resources prunes cycles and shared subgraphs. Both walks stop at the maximum inclusion depth.
+ * <p>
+ * Extracting further resources with the same plan adds their inclusions to the ones found so far, see
+ * {@link StreamedInclusions}.
+ */
+class InclusionPlan {
+
+    private final ResourceRegistry resourceRegistry;
+
+    private final BaseResponseContext response;
+
+    private final int maxInclusionDepth;
+
+    /**
+     * First elements of the inclusions of the requested element, these relationships are traversed to find resources
+     * included by default.
+     */
+    private final Set<String> includedFieldNames;
+
+    /**
+     * Compiled inclusions by resource type, for field paths the inclusions depend on the type of the resource.
+     */
+    private final Map<String, InclusionNode> inclusionTrees = new HashMap<>();
+
+    private final Map<Class<?>, ResourceInformation> resourceInformations = new HashMap<>();
+
+    /**
+     * Digests of the resources of the current extraction, identity-based and thus cleared afterwards, such that
+     * streamed collections do not keep every resource instance they include.
+     */
+    private final Map<Object, ResourceDigest> digests = new IdentityHashMap<>();
+
+    private final Map<ResourceDigest, Container> includedResources = new HashMap<>();
+
+    InclusionPlan(ResourceRegistry resourceRegistry, BaseResponseContext response, int maxInclusionDepth) {
+        this.resourceRegistry = resourceRegistry;
+        this.response = response;
+        this.maxInclusionDepth = maxInclusionDepth;
+        this.includedFieldNames = getIncludedFieldNames();
+    }
+
+    public Map<ResourceDigest, Container> extract(Iterable<?> resources) {
+        List<Object> topLevel = new ArrayList<>();
+        for (Object resource : resources) {
+            if (resource != null) {
+                topLevel.add(resource);
+            }
+        }
+        try {
+            populateIncludedByDefaultResources(topLevel);
+            if (response.getQueryAdapter() != null && response.getJsonPath() != null) {
+                populateIncludedRelationships(topLevel);
+            }
+        } finally {
+            digests.clear();
+        }
+        return includedResources;
+    }
+
+    private void populateIncludedByDefaultResources(List<Object> resources) {
+        Map<Object, Boolean> visited = new IdentityHashMap<>();
+        for (Object resource : resources) {
+            visited.put(resource, Boolean.TRUE);
+        }
+
+        // resources included by default are put with the type of the container they are found in
+        ContainerType containerType = ContainerType.TOP;
+        List<Object> level = resources;
+        for (int depth = 0; depth < maxInclusionDepth && !level.isEmpty(); depth++) {
+            List<Object> nextLevel = new ArrayList<>();
+            for (Object resource : level) {
+                for (ResourceField resourceField : getResourceInformation(resource).getRelationshipFields()) {
+                    boolean includeByDefault = resourceField.getIncludeByDefault();
+                    // if this is a top level container and its field matches the included parameters traverse further to find defaults
+                    boolean traverse = containerType == ContainerType.TOP
+                        && includedFieldNames.contains(resourceField.getUnderlyingName());
+                    if (!includeByDefault && !traverse) {
+                        continue;
+                    }
+                    Object targetDataObj = PropertyUtils.getProperty(resource, resourceField.getUnderlyingName());
+                    if (targetDataObj instanceof Iterable) {
+                        for (Object objectItem : (Iterable) targetDataObj) {
+                            populateIncludedByDefaultResource(objectItem, containerType, includeByDefault, visited, nextLevel);
+                        }
+                    } else {
+                        populateIncludedByDefaultResource(targetDataObj, containerType, includeByDefault, visited, nextLevel);
+                    }
+                }
+            }
+            containerType = containerType == ContainerType.TOP
+                ? ContainerType.INCLUDED_DEFAULT : ContainerType.INCLUDED_DEFAULT_NESTED;
+            level = nextLevel;
+        }
+    }
+
+    private void populateIncludedByDefaultResource(Object resource, ContainerType containerType, boolean include,
+                                                   Map<Object, Boolean> visited, List<Object> nextLevel) {
+        if (resource == null) {
+            return;
+        }
+        if (include) {
+            include(resource, containerType, null);
+        }
+        if (visited.put(resource, Boolean.TRUE) == null) {
+            nextLevel.add(resource);
+        }
+    }
+
+    private Set<String> getIncludedFieldNames() {
+        if (response.getQueryAdapter() == null || response.getJsonPath() == null) {
+            return Collections.emptySet();
+        }
+        IncludedRelationsParams includedRelationsParams =
+            findInclusions(response.getQueryAdapter().getIncludedRelations(), response.getJsonPath().getElementName());
+        if (includedRelationsParams == null || includedRelationsParams.getParams() == null) {
+            return Collections.emptySet();
+        }
+        Set<String> fieldNames = new HashSet<>();
+        for (Inclusion inclusion : includedRelationsParams.getParams()) {
+            fieldNames.add(inclusion.getPathList().get(0));
+        }
+        return fieldNames;
+    }
+
+    private void populateIncludedRelationships(List<Object> resources) {
+        // group the resources by their inclusions, they only differ for field paths
+        Map<InclusionNode, List<Object>> resourcesByInclusions = new LinkedHashMap<>();
+        for (Object resource : resources) {
+            InclusionNode inclusionTree = getInclusionTree(resource);
+            if (!inclusionTree.children.isEmpty()) {
+                List<Object> group = resourcesByInclusions.get(inclusionTree);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    resourcesByInclusions.put(inclusionTree, group);
+                }
+                group.add(resource);
+            }
+        }
+
+        for (Map.Entry<InclusionNode, List<Object>> entry : resourcesByInclusions.entrySet()) {
+            populateIncludedResources(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void populateIncludedResources(InclusionNode inclusionTree, List<Object> resources) {
+        List<InclusionNode> nodes = Collections.singletonList(inclusionTree);
+        List<List<Object>> levels = Collections.singletonList(resources);
+        for (int depth = 0; depth < maxInclusionDepth && !nodes.isEmpty(); depth++) {
+            ContainerType containerType = depth == 0 ? ContainerType.INCLUDED : ContainerType.INCLUDED_NESTED;
+            boolean lastLevel = depth == maxInclusionDepth - 1;
+
+            List<InclusionNode> nextNodes = new ArrayList<>();
+            List<List<Object>> nextLevels = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                List<Object> level = levels.get(i);
+                for (InclusionNode child : nodes.get(i).children.values()) {
+                    List<Object> included = populateIncludedResources(level, child.fieldName, containerType,
+                        !lastLevel && !child.children.isEmpty());
+                    if (!included.isEmpty()) {
+                        nextNodes.add(child);
+                        nextLevels.add(included);
+                    }
+                }
+            }
+            nodes = nextNodes;
+            levels = nextLevels;
+        }
+    }
+
+    /**
+     * @return distinct resources found in the given relationship if they are expanded further, otherwise an empty list
+     */
+    private List<Object> populateIncludedResources(List<Object> resources, String includedFieldName,
+                                                   ContainerType containerType, boolean expand) {
+        Map<Object, Boolean> nextLevel = new IdentityHashMap<>();
+        for (Object resource : resources) {
+            String fieldName = getRelationshipName(includedFieldName, resource.getClass());
+            Object resourceProperty = PropertyUtils.getProperty(resource, fieldName);
+            if (resourceProperty instanceof Iterable) {
+                for (Object resourceToInclude : (Iterable) resourceProperty) {
+                    if (resourceToInclude != null) {
+                        include(resourceToInclude, containerType, includedFieldName);
+                        nextLevel.put(resourceToInclude, Boolean.TRUE);
+                    }
+                }
+            } else if (resourceProperty != null) {
+                include(resourceProperty, containerType, includedFieldName);
+                nextLevel.put(resourceProperty, Boolean.TRUE);
+            }
+        }
+        return expand ? new ArrayList<Object>(nextLevel.keySet()) : Collections.<Object>emptyList();
+    }
+
+    private InclusionNode getInclusionTree(Object resource) {
+        String elementName = response.getJsonPath().getElementName();
+
+        // handle field paths differently because the element name is not its type but field name (#357)
+        if (response.getJsonPath() instanceof FieldPath) {
+            // extract the resource's resource type name
+            Optional<Class<?>> optional = resourceRegistry.getResourceClass(resource);
+            if (optional.isPresent()) {
+                elementName = resourceRegistry.getResourceType(optional.get());
+            }
+        }
+
+        InclusionNode inclusionTree = inclusionTrees.get(elementName);
+        if (inclusionTree == null) {
+            inclusionTree = compileInclusionTree(elementName);
+            inclusionTrees.put(elementName, inclusionTree);
+        }
+        return inclusionTree;
+    }
+
+    private InclusionNode compileInclusionTree(String elementName) {
+        InclusionNode root = new InclusionNode(null);
+        IncludedRelationsParams includedRelationsParams =
+            findInclusions(response.getQueryAdapter().getIncludedRelations(), elementName);
+        if (includedRelationsParams == null) {
+            return root;
+        }
+        JsonPath jsonPath = response.getJsonPath();
+        for (Inclusion inclusion : includedRelationsParams.getParams()) {
+            List<String> pathList = inclusion.getPathList();
+            if (!(jsonPath instanceof ResourcePath) && !(jsonPath instanceof FieldPath)) {
+                // the first property name is the resource itself
+                pathList = pathList.subList(1, pathList.size());
+            }
+            InclusionNode node = root;
+            for (String fieldName : pathList) {
+                node = node.getOrCreateChild(fieldName);
+            }
+        }
+        return root;
+    }
+
+    private static IncludedRelationsParams findInclusions(TypedParams<IncludedRelationsParams> queryParams,
+                                                          String resourceName) {
+        if (queryParams != null && queryParams.getParams() != null) {
+            for (Map.Entry<String, IncludedRelationsParams> entry : queryParams.getParams().entrySet()) {
+                if (resourceName.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void include(Object resource, ContainerType containerType, String includedFieldName) {
+        includedResources.put(getResourceDigest(resource), new Container(resource, response, containerType, includedFieldName));
+    }
+
+    private String getRelationshipName(String jsonName, Class<?> resourceClazz) {
+        ResourceField relationshipField = getResourceInformation(resourceClazz).findRelationshipFieldByName(jsonName);
+        if (relationshipField == null) {
+            throw new ResourceFieldNotFoundException(String.format("%s for %s has been not found", jsonName, resourceClazz));
+        }
+        return relationshipField.getUnderlyingName();
+    }
+
+    private ResourceInformation getResourceInformation(Object resource) {
+        return getResourceInformation(resource.getClass());
+    }
+
+    private ResourceInformation getResourceInformation(Class<?> resourceClass) {
+        ResourceInformation resourceInformation = resourceInformations.get(resourceClass);
+        if (resourceInformation == null) {
+            RegistryEntry entry = resourceRegistry.getEntry(resourceClass);
+            resourceInformation = entry.getResourceInformation();
+            resourceInformations.put(resourceClass, resourceInformation);
+        }
+        return resourceInformation;
+    }
+
+    private ResourceDigest getResourceDigest(Object resource) {
+        ResourceDigest digest = digests.get(resource);
+        if (digest == null) {
+            ResourceInformation resourceInformation = getResourceInformation(resource);
+            String idFieldName = resourceInformation.getIdField().getUnderlyingName();
+            Object idValue = PropertyUtils.getProperty(resource, idFieldName);
+            digest = new ResourceDigest(idValue, resourceInformation.getResourceType());
+            digests.put(resource, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Relationship of an inclusion path, inclusions sharing a prefix share the corresponding nodes.
+     */
+    private static class InclusionNode {
+
+        private final String fieldName;
+
+        private final Map<String, InclusionNode> children = new LinkedHashMap<>();
+
+        InclusionNode(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        InclusionNode getOrCreateChild(String childFieldName) {
+            InclusionNode child = children.get(childFieldName);
+            if (child == null) {
+                child = new InclusionNode(childFieldName);
+                children.put(childFieldName, child);
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.katharsis.jackson.serializer.include;
+
+import io.katharsis.response.Container;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Collects the inclusions of a streamed collection one resource at a time, such that the top-level resources need not
+ * be held in memory. Only the included resources are buffered until the collection has been written, keyed by their
+ * digest so that every included resource is held once, also if every chunk of the collection loads its own instance
+ * of it. The buffer is bounded: once it holds more than the maximum number of resources, the inclusions of further
+ * resources are dropped and the included resources are reported as truncated. The status of the response has already
+ * been sent at that point, so the document is completed rather than aborted.
+ */
+public class StreamedInclusions {
+
+    private final InclusionPlan plan;
+
+    private final int maxIncludedResources;
+
+    private Map<ResourceDigest, Container> includedResources = Collections.emptyMap();
+
+    private boolean truncated;
+
+    StreamedInclusions(InclusionPlan plan, int maxIncludedResources) {
+        this.plan = plan;
+        this.maxIncludedResources = maxIncludedResources;
+    }
+
+    /**
+     * @param resource top-level resource that has just been written
+     */
+    public void add(Object resource) {
+        if (resource == null) {
+            return;
+        }
+        if (includedResources.size() > maxIncludedResources) {
+            truncated = true;
+            return;
+        }
+        includedResources = plan.extract(Collections.singletonList(resource));
+    }
+
+    /**
+     * @return <i>true</i> if the inclusions of some resources have been dropped
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * @return included resources of all resources added so far
+     */
+    public Collection<Container> getIncludedResources() {
+        return includedResources.values();
+    }
+}
@@ -3,6 +3,8 @@ package io.katharsis.module;
 import io.katharsis.dispatcher.filter.Filter;
 import io.katharsis.errorhandling.mapper.ExceptionMapper;
 import io.katharsis.errorhandling.mapper.ExceptionMapperLookup;
+import io.katharsis.repository.RepositoryDecoratorFactory;
+import io.katharsis.resource.include.IncludeLookupExecutorProvider;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.registry.ResourceLookup;
 import io.katharsis.resource.registry.ResourceRegistry;
@@ -121,4 +123,26 @@ public interface Module {
 		public SecurityProvider getSecurityProvider();
 
 	}
+
+	/**
+	 * Features a {@link ModuleContext} may offer in addition. They are kept apart to not break existing
+	 * {@link ModuleContext} implementations, modules have to check for them with <code>instanceof</code>.
+	 */
+	interface ExtendedModuleContext extends ModuleContext {
+
+		/**
+		 * Adds a provider deciding on which executor relationships are looked up when inclusions are resolved
+		 * concurrently.
+		 *
+		 * @param executorProvider executor provider
+		 */
+		void addIncludeLookupExecutorProvider(IncludeLookupExecutorProvider executorProvider);
+
+		/**
+		 * Adds a factory to decorate the repositories of all modules.
+		 *
+		 * @param decoratorFactory decorator factory
+		 */
+		void addRepositoryDecoratorFactory(RepositoryDecoratorFactory decoratorFactory);
+	}
 }
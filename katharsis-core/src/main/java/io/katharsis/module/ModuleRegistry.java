@@ -14,11 +14,13 @@ import io.katharsis.errorhandling.mapper.ExceptionMapperLookup;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
 import io.katharsis.module.SimpleModule.RelationshipRepositoryRegistration;
 import io.katharsis.module.SimpleModule.ResourceRepositoryRegistration;
+import io.katharsis.repository.RepositoryDecoratorFactory;
 import io.katharsis.repository.RepositoryInstanceBuilder;
 import io.katharsis.repository.ResourceRepository;
 import io.katharsis.repository.annotations.JsonApiRelationshipRepository;
 import io.katharsis.repository.annotations.JsonApiResourceRepository;
 import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.include.IncludeLookupExecutorProvider;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.registry.MultiResourceLookup;
 import io.katharsis.resource.registry.RegistryEntry;
@@ -67,7 +69,7 @@ public class ModuleRegistry {
 		return resourceRegistry;
 	}
 
-	class ModuleContextImpl implements Module.ModuleContext {
+	class ModuleContextImpl implements Module.ExtendedModuleContext {
 
 		@Override
 		public void addResourceInformationBuilder(ResourceInformationBuilder resourceInformationBuilder) {
@@ -103,6 +105,18 @@ public class ModuleRegistry {
 			aggregatedModule.addFilter(filter);
 		}
 
+		@Override
+		public void addIncludeLookupExecutorProvider(IncludeLookupExecutorProvider executorProvider) {
+			checkNotInitialized();
+			aggregatedModule.addIncludeLookupExecutorProvider(executorProvider);
+		}
+
+		@Override
+		public void addRepositoryDecoratorFactory(RepositoryDecoratorFactory decoratorFactory) {
+			checkNotInitialized();
+			aggregatedModule.addRepositoryDecoratorFactory(decoratorFactory);
+		}
+
 		@Override
 		public void addExceptionMapperLookup(ExceptionMapperLookup exceptionMapperLookup) {
 			checkNotInitialized();
@@ -276,6 +290,7 @@ public class ModuleRegistry {
 			this.resourceRegistry = resourceRegistry;
 			this.objectMapper.registerModules(getJacksonModules());
 
+			decorateRegisteredRepositories(resourceRegistry);
 			applyRepositoryRegistration(resourceRegistry);
 
 			for (Module module : modules) {
@@ -300,7 +315,7 @@ public class ModuleRegistry {
 		// TODO this needs to be merged with ResourceRegistryBuilder
 		for (final ResourceRepositoryRegistration resourceRepositoryRegistration : resourceRepositoryRegistrations) {
 			Class<?> resourceClass = resourceRepositoryRegistration.getResourceClass();
-			final Object repository = resourceRepositoryRegistration.getRepository();
+			final Object repository = decorateRepository(resourceRepositoryRegistration.getRepository());
 			RepositoryInstanceBuilder<ResourceRepository<?, ?>> repositoryInstanceBuilder = new RepositoryInstanceBuilder(null,
 					null) {
 
@@ -331,20 +346,50 @@ public class ModuleRegistry {
 		}
 	}
 
+	/**
+	 * Decorates the repositories already present in the registry, like those found by a
+	 * {@link io.katharsis.resource.registry.ResourceRegistryBuilder}. Repositories of modules are decorated when they
+	 * are registered.
+	 */
+	@SuppressWarnings("rawtypes")
+	private void decorateRegisteredRepositories(ResourceRegistry resourceRegistry) {
+		if (aggregatedModule.getRepositoryDecoratorFactories().isEmpty()) {
+			return;
+		}
+		RepositoryDecoratorFactory decoratorFactory = new RepositoryDecoratorFactory() {
+
+			@Override
+			public Object decorateRepository(Object repository) {
+				return ModuleRegistry.this.decorateRepository(repository);
+			}
+		};
+		for (RegistryEntry registryEntry : resourceRegistry.getResources().values()) {
+			registryEntry.decorateRepositories(decoratorFactory);
+		}
+	}
+
+	private Object decorateRepository(Object repository) {
+		Object decoratedRepository = repository;
+		for (RepositoryDecoratorFactory decoratorFactory : aggregatedModule.getRepositoryDecoratorFactories()) {
+			decoratedRepository = decoratorFactory.decorateRepository(decoratedRepository);
+		}
+		return decoratedRepository;
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private void setupRelationShip(List<ResponseRelationshipEntry> relationshipEntries,
 			final RelationshipRepositoryRegistration relationshipRepositoryRegistration) {
-		Object relRepository = relationshipRepositoryRegistration.getRepository();
+		final Object relRepository = decorateRepository(relationshipRepositoryRegistration.getRepository());
 		RepositoryInstanceBuilder<Object> relationshipInstanceBuilder = new RepositoryInstanceBuilder<Object>(null, null) {
 
 			@Override
 			public Object buildRepository() {
-				return relationshipRepositoryRegistration.getRepository();
+				return relRepository;
 			}
 
 			@Override
 			public Class getRepositoryClass() {
-				return relationshipRepositoryRegistration.getRepository().getClass();
+				return relRepository.getClass();
 			}
 		};
 
@@ -370,6 +415,13 @@ public class ModuleRegistry {
 		return aggregatedModule.getFilters();
 	}
 
+	/**
+	 * @return {@link IncludeLookupExecutorProvider} added by all modules
+	 */
+	public List<IncludeLookupExecutorProvider> getIncludeLookupExecutorProviders() {
+		return aggregatedModule.getIncludeLookupExecutorProviders();
+	}
+
 	/**
 	 * @return combined {@link ExceptionMapperLookup} added by all modules
 	 */
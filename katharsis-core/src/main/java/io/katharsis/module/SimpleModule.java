@@ -10,6 +10,8 @@ import java.util.Set;
 import io.katharsis.dispatcher.filter.Filter;
 import io.katharsis.errorhandling.mapper.ExceptionMapperLookup;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
+import io.katharsis.repository.RepositoryDecoratorFactory;
+import io.katharsis.resource.include.IncludeLookupExecutorProvider;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.registry.ResourceLookup;
 import io.katharsis.security.SecurityProvider;
@@ -27,6 +29,10 @@ public class SimpleModule implements Module {
 
 	private List<ResourceLookup> resourceLookups = new ArrayList<>();
 
+	private List<IncludeLookupExecutorProvider> includeLookupExecutorProviders = new ArrayList<>();
+
+	private List<RepositoryDecoratorFactory> repositoryDecoratorFactories = new ArrayList<>();
+
 	private List<com.fasterxml.jackson.databind.Module> jacksonModules = new ArrayList<>();
 
 	private List<RelationshipRepositoryRegistration> relationshipRepositoryRegistrations = new ArrayList<>();
@@ -60,6 +66,19 @@ public class SimpleModule implements Module {
 		for (Filter filter : filters) {
 			context.addFilter(filter);
 		}
+		if (context instanceof ExtendedModuleContext) {
+			for (IncludeLookupExecutorProvider executorProvider : includeLookupExecutorProviders) {
+				((ExtendedModuleContext) context).addIncludeLookupExecutorProvider(executorProvider);
+			}
+		}
+		if (!repositoryDecoratorFactories.isEmpty()) {
+			if (!(context instanceof ExtendedModuleContext)) {
+				throw new UnsupportedOperationException("repositories cannot be decorated by " + context);
+			}
+			for (RepositoryDecoratorFactory decoratorFactory : repositoryDecoratorFactories) {
+				((ExtendedModuleContext) context).addRepositoryDecoratorFactory(decoratorFactory);
+			}
+		}
 		for (com.fasterxml.jackson.databind.Module jacksonModule : jacksonModules) {
 			context.addJacksonModule(jacksonModule);
 		}
@@ -116,6 +135,36 @@ public class SimpleModule implements Module {
 		return Collections.unmodifiableList(filters);
 	}
 
+	/**
+	 * Registers a new {@link IncludeLookupExecutorProvider} with this module.
+	 *
+	 * @param executorProvider executor provider
+	 */
+	public void addIncludeLookupExecutorProvider(IncludeLookupExecutorProvider executorProvider) {
+		checkInitialized();
+		includeLookupExecutorProviders.add(executorProvider);
+	}
+
+	protected List<IncludeLookupExecutorProvider> getIncludeLookupExecutorProviders() {
+		checkInitialized();
+		return Collections.unmodifiableList(includeLookupExecutorProviders);
+	}
+
+	/**
+	 * Registers a new {@link RepositoryDecoratorFactory} with this module.
+	 *
+	 * @param decoratorFactory decorator factory
+	 */
+	public void addRepositoryDecoratorFactory(RepositoryDecoratorFactory decoratorFactory) {
+		checkInitialized();
+		repositoryDecoratorFactories.add(decoratorFactory);
+	}
+
+	protected List<RepositoryDecoratorFactory> getRepositoryDecoratorFactories() {
+		checkInitialized();
+		return Collections.unmodifiableList(repositoryDecoratorFactories);
+	}
+
 	public void addSecurityProvider(SecurityProvider securityProvider) {
 		checkInitialized();
 		securityProviders.add(securityProvider);
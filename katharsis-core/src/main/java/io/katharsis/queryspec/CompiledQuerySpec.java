@@ -0,0 +1,233 @@
+package io.katharsis.queryspec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import io.katharsis.utils.PropertyPathAccessor;
+
+/**
+ * Filters, sorting and paging of a {@link QuerySpec} turned into a predicate and a comparator with resolved property
+ * accessors. Obtained with {@link InMemoryEvaluator#compile(QuerySpec)} and meant to be reused for many evaluations
+ * of the same query, the QuerySpec itself is not referenced anymore. Instances are thread-safe.
+ */
+public class CompiledQuerySpec {
+
+	private final List<FilterSpec> filters;
+
+	private final Predicate predicate;
+
+	private final PropertyPathAccessor[] sortAccessors;
+
+	private final boolean[] sortDescending;
+
+	private final long offset;
+
+	private final Long limit;
+
+	CompiledQuerySpec(QuerySpec querySpec) {
+		filters = Collections.unmodifiableList(new ArrayList<>(querySpec.getFilters()));
+		predicate = filters.isEmpty() ? null : compile(FilterSpec.and(filters));
+
+		List<SortSpec> sortSpecs = querySpec.getSort();
+		sortAccessors = new PropertyPathAccessor[sortSpecs.size()];
+		sortDescending = new boolean[sortSpecs.size()];
+		for (int i = 0; i < sortAccessors.length; i++) {
+			sortAccessors[i] = new PropertyPathAccessor(sortSpecs.get(i).getAttributePath());
+			sortDescending[i] = sortSpecs.get(i).getDirection() == Direction.DESC;
+		}
+
+		offset = querySpec.getOffset();
+		limit = querySpec.getLimit();
+	}
+
+	/**
+	 * @return top-level filters the query has been compiled from, all of them must match
+	 */
+	public List<FilterSpec> getFilters() {
+		return filters;
+	}
+
+	public long getOffset() {
+		return offset;
+	}
+
+	public Long getLimit() {
+		return limit;
+	}
+
+	public boolean isSorted() {
+		return sortAccessors.length > 0;
+	}
+
+	/**
+	 * @param object to check
+	 * @return true if the object matches all filters
+	 */
+	public boolean matches(Object object) {
+		return predicate == null || predicate.matches(object);
+	}
+
+	/**
+	 * @param <T> type of the compared objects
+	 * @return comparator establishing the order of the sort specs, <code>null</code> values come first
+	 */
+	public <T> Comparator<T> getComparator() {
+		return new Comparator<T>() {
+
+			@Override
+			public int compare(T o1, T o2) {
+				for (int i = 0; i < sortAccessors.length; i++) {
+					int d = compareKey(i, sortAccessors[i].getValue(o1), sortAccessors[i].getValue(o2));
+					if (d != 0) {
+						return d;
+					}
+				}
+				return 0;
+			}
+		};
+	}
+
+	/**
+	 * Reads the sort keys of the given object once, such that they can be compared without further property access.
+	 */
+	Object[] getSortKeys(Object object) {
+		Object[] keys = new Object[sortAccessors.length];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = sortAccessors[i].getValue(object);
+		}
+		return keys;
+	}
+
+	int compareSortKeys(Object[] keys1, Object[] keys2) {
+		for (int i = 0; i < keys1.length; i++) {
+			int d = compareKey(i, keys1[i], keys2[i]);
+			if (d != 0) {
+				return d;
+			}
+		}
+		return 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compareKey(int index, Object value1, Object value2) {
+		int d;
+		if (value1 == null && value2 == null) {
+			d = 0;
+		}
+		else if (value1 == null) {
+			d = -1;
+		}
+		else if (value2 == null) {
+			d = 1;
+		}
+		else {
+			d = ((Comparable<Object>) value1).compareTo(value2);
+		}
+		return sortDescending[index] ? -d : d;
+	}
+
+	static Predicate compile(FilterSpec filterSpec) {
+		List<FilterSpec> expressions = filterSpec.getExpression();
+		if (expressions == null) {
+			return new AttributePredicate(new PropertyPathAccessor(filterSpec.getAttributePath()), filterSpec.getOperator(),
+					filterSpec.getValue());
+		}
+		else if (filterSpec.getOperator() == FilterOperator.OR) {
+			return new OrPredicate(compile(expressions));
+		}
+		else if (filterSpec.getOperator() == FilterOperator.AND) {
+			return new AndPredicate(compile(expressions));
+		}
+		else if (filterSpec.getOperator() == FilterOperator.NOT) {
+			return new NotPredicate(new AndPredicate(compile(expressions)));
+		}
+		throw new UnsupportedOperationException("not implemented " + filterSpec);
+	}
+
+	private static Predicate[] compile(List<FilterSpec> expressions) {
+		Predicate[] predicates = new Predicate[expressions.size()];
+		for (int i = 0; i < predicates.length; i++) {
+			predicates[i] = compile(expressions.get(i));
+		}
+		return predicates;
+	}
+
+	interface Predicate {
+
+		boolean matches(Object object);
+	}
+
+	private static class AttributePredicate implements Predicate {
+
+		private final PropertyPathAccessor accessor;
+
+		private final FilterOperator operator;
+
+		private final Object value;
+
+		AttributePredicate(PropertyPathAccessor accessor, FilterOperator operator, Object value) {
+			this.accessor = accessor;
+			this.operator = operator;
+			this.value = value;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			return operator.matches(accessor.getValue(object), value);
+		}
+	}
+
+	private static class AndPredicate implements Predicate {
+
+		private final Predicate[] predicates;
+
+		AndPredicate(Predicate[] predicates) {
+			this.predicates = predicates;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			for (Predicate predicate : predicates) {
+				if (!predicate.matches(object)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static class OrPredicate implements Predicate {
+
+		private final Predicate[] predicates;
+
+		OrPredicate(Predicate[] predicates) {
+			this.predicates = predicates;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			for (Predicate predicate : predicates) {
+				if (predicate.matches(object)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static class NotPredicate implements Predicate {
+
+		private final Predicate predicate;
+
+		NotPredicate(Predicate predicate) {
+			this.predicate = predicate;
+		}
+
+		@Override
+		public boolean matches(Object object) {
+			return !predicate.matches(object);
+		}
+	}
+}
@@ -26,6 +26,10 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 
 	private static final String LIMIT_PARAMETER = "limit";
 
+	private static final String CURSOR_PARAMETER = "cursor";
+
+	private static final String AFTER_PARAMETER = "after";
+
 	private static final Pattern PARAMETER_PATTERN = Pattern.compile("(\\w+)(\\[(\\w+)\\])?([\\w\\[\\]]*)");
 
 	private TypeParser typeParser = new TypeParser();
@@ -180,6 +184,9 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 		else if (LIMIT_PARAMETER.equalsIgnoreCase(name)) {
 			querySpec.setLimit(parameter.getLongValue());
 		}
+		else if (CURSOR_PARAMETER.equalsIgnoreCase(name) || AFTER_PARAMETER.equalsIgnoreCase(name)) {
+			querySpec.setCursor(parameter.getStringValue());
+		}
 		else {
 			throw new ParametersDeserializationException(parameter.toString());
 		}
@@ -305,6 +312,13 @@ public class DefaultQuerySpecDeserializer implements QuerySpecDeserializer {
 			}
 		}
 
+		public String getStringValue() {
+			if (values.size() != 1) {
+				throw new ParametersDeserializationException("expected a single value for " + toString());
+			}
+			return values.iterator().next();
+		}
+
 		@Override
 		public String toString() {
 			return fullKey + "=" + values;
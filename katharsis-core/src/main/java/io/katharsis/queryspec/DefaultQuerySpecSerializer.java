@@ -125,6 +125,9 @@ public class DefaultQuerySpecSerializer implements QuerySpecSerializer {
 		if (querySpec.getLimit() != null) {
 			put(map, "page[limit]", Long.toString(querySpec.getLimit()));
 		}
+		if (querySpec.getCursor() != null) {
+			put(map, "page[cursor]", querySpec.getCursor());
+		}
 	}
 
 	private static void put(Map<String, Set<String>> map, String key, String value) {
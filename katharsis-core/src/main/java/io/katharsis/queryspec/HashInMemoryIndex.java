@@ -0,0 +1,58 @@
+package io.katharsis.queryspec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.katharsis.utils.PropertyPathAccessor;
+
+/**
+ * Hash based {@link InMemoryIndex} answering {@link FilterOperator#EQ} filters.
+ *
+ * @param <T> resource type
+ */
+public class HashInMemoryIndex<T> implements InMemoryIndex<T> {
+
+	private final List<T> resources;
+
+	private final List<String> attributePath;
+
+	private final Map<Object, List<T>> entries = new HashMap<>();
+
+	public HashInMemoryIndex(List<T> resources, List<String> attributePath) {
+		this.resources = resources;
+		this.attributePath = attributePath;
+
+		PropertyPathAccessor accessor = new PropertyPathAccessor(attributePath);
+		for (T resource : resources) {
+			Object key = accessor.getValue(resource);
+			List<T> keyResources = entries.get(key);
+			if (keyResources == null) {
+				keyResources = new ArrayList<>(1);
+				entries.put(key, keyResources);
+			}
+			keyResources.add(resource);
+		}
+	}
+
+	@Override
+	public List<T> getResources() {
+		return resources;
+	}
+
+	@Override
+	public List<String> getAttributePath() {
+		return attributePath;
+	}
+
+	@Override
+	public List<T> find(FilterOperator operator, Object value) {
+		if (operator != FilterOperator.EQ) {
+			return null;
+		}
+		List<T> keyResources = entries.get(value);
+		return keyResources != null ? Collections.unmodifiableList(keyResources) : Collections.<T> emptyList();
+	}
+}
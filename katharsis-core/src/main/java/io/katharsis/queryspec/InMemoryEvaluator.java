@@ -3,139 +3,213 @@ package io.katharsis.queryspec;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import io.katharsis.response.paging.PagedResultList;
-import io.katharsis.utils.PropertyUtils;
 
 /**
- * Applies the given QuerySpec to the provided list in memory. Result available
- * with getResult(). Use QuerySpec.apply to make use of this class.
+ * Applies the given QuerySpec to the provided list in memory. Use QuerySpec.apply to make use of this class.
+ * <p>
+ * The QuerySpec is compiled into a {@link CompiledQuerySpec} first, which can also be obtained with
+ * {@link #compile(QuerySpec)} to evaluate the same query repeatedly. Sorting with a limit keeps only the best
+ * offset+limit resources in a bounded heap. Without sorting and without {@link #setTotalCountRequired(boolean)} the
+ * evaluation stops as soon as the requested page is complete. {@link InMemoryIndex} instances registered with
+ * {@link #addIndex(InMemoryIndex)} are used to look up the candidates of a top-level filter.
  */
 public class InMemoryEvaluator {
 
-	public <T> List<T> eval(Iterable<T> resources, QuerySpec querySpec) {
-		List<T> results = new ArrayList<>();
-		
-		Iterator<T> iterator = resources.iterator();
-		while(iterator.hasNext()){
-			results.add(iterator.next());
-		}
-		long totalCount = results.size();
+	private boolean totalCountRequired = true;
 
-		// filter
-		if (!querySpec.getFilters().isEmpty()) {
-			FilterSpec filterSpec = FilterSpec.and(querySpec.getFilters());
-			applyFilter(results, filterSpec);
-		}
+	private final List<InMemoryIndex<?>> indexes = new ArrayList<>();
 
-		// sort
-		applySorting(results, querySpec.getSort());
+	/**
+	 * @param querySpec to compile
+	 * @return compiled, reusable form of the querySpec
+	 */
+	public static CompiledQuerySpec compile(QuerySpec querySpec) {
+		return new CompiledQuerySpec(querySpec);
+	}
 
-		// offset/limit
-		results = applyPaging(results, querySpec);
+	public boolean isTotalCountRequired() {
+		return totalCountRequired;
+	}
 
-		return new PagedResultList<>(results, totalCount);
+	/**
+	 * @param totalCountRequired whether the number of matching resources must be computed and returned as
+	 *            {@link PagedResultList}, true by default.
+	 */
+	public void setTotalCountRequired(boolean totalCountRequired) {
+		this.totalCountRequired = totalCountRequired;
 	}
 
-	private <T> void applySorting(List<T> results, List<SortSpec> sortSpec) {
-		if (!sortSpec.isEmpty()) {
-			Collections.sort(results, new SortSpecComparator<>(sortSpec));
-		}
+	/**
+	 * @param index to use when evaluating the list it has been built from
+	 */
+	public void addIndex(InMemoryIndex<?> index) {
+		indexes.add(index);
 	}
 
-	private <T> List<T> applyPaging(List<T> results, QuerySpec querySpec) {
-		int offset = (int) Math.min(querySpec.getOffset(), Integer.MAX_VALUE);
-		int limit = (int) Math.min(Integer.MAX_VALUE,
-				querySpec.getLimit() != null ? querySpec.getLimit() : Integer.MAX_VALUE);
-		limit = Math.min(results.size() - offset, limit);
-		if (offset > 0 || limit < results.size()) {
-			return results.subList(offset, offset + limit);
-		}
-		return results;
+	public <T> List<T> eval(Iterable<T> resources, QuerySpec querySpec) {
+		return eval(resources, compile(querySpec));
 	}
 
-	private <T> void applyFilter(List<T> results, FilterSpec filterSpec) {
-		if (filterSpec != null) {
-			Iterator<T> iterator = results.iterator();
-			while (iterator.hasNext()) {
-				if (!matches(iterator.next(), filterSpec)) {
-					iterator.remove();
+	public <T> List<T> eval(Iterable<T> resources, CompiledQuerySpec querySpec) {
+		Iterable<T> candidates = findCandidates(resources, querySpec);
+
+		long offset = querySpec.getOffset();
+		Long limit = querySpec.getLimit();
+		long end = limit != null && limit < Long.MAX_VALUE - offset ? offset + limit : Long.MAX_VALUE;
+
+		List<T> results;
+		long totalCount;
+		if (!querySpec.isSorted()) {
+			results = new ArrayList<>();
+			totalCount = 0;
+			for (T resource : candidates) {
+				if (querySpec.matches(resource)) {
+					if (totalCount >= offset && totalCount < end) {
+						results.add(resource);
+					}
+					totalCount++;
+					if (totalCount >= end && !totalCountRequired) {
+						break;
+					}
 				}
 			}
 		}
-	}
+		else {
+			SortedResults<T> sortedResults = new SortedResults<>(querySpec, end);
+			for (T resource : candidates) {
+				if (querySpec.matches(resource)) {
+					sortedResults.add(resource);
+				}
+			}
+			results = sortedResults.getPage(offset);
+			totalCount = sortedResults.count;
+		}
 
-	public static boolean matches(Object object, FilterSpec filterSpec) {
-		List<FilterSpec> expressions = filterSpec.getExpression();
-		if (expressions == null) {
-			Object value = PropertyUtils.getProperty(object, filterSpec.getAttributePath());
-			return filterSpec.getOperator().matches(value, filterSpec.getValue());
-		} else if (filterSpec.getOperator() == FilterOperator.OR) {
-			return matchesOr(object, expressions);
-		} else if (filterSpec.getOperator() == FilterOperator.AND) {
-			return matchesAnd(object, expressions);
-		} else if (filterSpec.getOperator() == FilterOperator.NOT) {
-			return !matches(object, FilterSpec.and(expressions));
+		if (totalCountRequired) {
+			return new PagedResultList<>(results, totalCount);
 		}
-		throw new UnsupportedOperationException("not implemented " + filterSpec);
+		return results;
 	}
 
-	private static boolean matchesOr(Object object, List<FilterSpec> expressions) {
-		for (FilterSpec expr : expressions) {
-			if (matches(object, expr)) {
-				return true;
+	/**
+	 * Returns the smallest set of candidates an index can provide for one of the top-level filters, or all resources
+	 * if no index applies.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Iterable<T> findCandidates(Iterable<T> resources, CompiledQuerySpec querySpec) {
+		Iterable<T> candidates = resources;
+		int numCandidates = Integer.MAX_VALUE;
+		for (InMemoryIndex<?> index : indexes) {
+			if (index.getResources() != resources) {
+				continue;
+			}
+			for (FilterSpec filterSpec : querySpec.getFilters()) {
+				if (filterSpec.getExpression() == null && index.getAttributePath().equals(filterSpec.getAttributePath())) {
+					List<T> indexCandidates = (List<T>) index.find(filterSpec.getOperator(), filterSpec.getValue());
+					if (indexCandidates != null && indexCandidates.size() < numCandidates) {
+						candidates = indexCandidates;
+						numCandidates = indexCandidates.size();
+					}
+				}
 			}
 		}
-		return false;
+		return candidates;
 	}
 
-	private static boolean matchesAnd(Object object, List<FilterSpec> expressions) {
-		for (FilterSpec expr : expressions) {
-			if (!matches(object, expr)) {
-				return false;
-			}
-		}
-		return true;
+	public static boolean matches(Object object, FilterSpec filterSpec) {
+		return CompiledQuerySpec.compile(filterSpec).matches(object);
 	}
 
-	static class SortSpecComparator<T> implements Comparator<T> {
+	/**
+	 * Collects matching resources together with their sort keys. If only the first resources are requested, a heap
+	 * holding the worst kept resource at its head bounds the number of kept resources. Ties are broken by the
+	 * encounter order to sort stable.
+	 */
+	private static class SortedResults<T> {
 
-		private List<SortSpec> sortSpecs;
+		private final CompiledQuerySpec querySpec;
 
-		public SortSpecComparator(List<SortSpec> sortSpecs) {
-			this.sortSpecs = sortSpecs;
+		private final Comparator<SortEntry> comparator;
+
+		private final long maxSize;
+
+		private final List<SortEntry> entries;
+
+		private final PriorityQueue<SortEntry> heap;
+
+		private long count = 0;
+
+		SortedResults(final CompiledQuerySpec querySpec, long maxSize) {
+			this.querySpec = querySpec;
+			this.maxSize = maxSize;
+			this.comparator = new Comparator<SortEntry>() {
+
+				@Override
+				public int compare(SortEntry o1, SortEntry o2) {
+					int d = querySpec.compareSortKeys(o1.keys, o2.keys);
+					if (d != 0) {
+						return d;
+					}
+					return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+				}
+			};
+			if (maxSize < Integer.MAX_VALUE) {
+				entries = null;
+				heap = new PriorityQueue<>(11, Collections.reverseOrder(comparator));
+			}
+			else {
+				entries = new ArrayList<>();
+				heap = null;
+			}
 		}
 
-		@Override
-		@SuppressWarnings("unchecked")
-		public int compare(T o1, T o2) {
-			for (SortSpec orderSpec : sortSpecs) {
-				Comparable<Object> value1 = (Comparable<Object>) PropertyUtils.getProperty(o1,
-						orderSpec.getAttributePath());
-				Comparable<Object> value2 = (Comparable<Object>) PropertyUtils.getProperty(o2,
-						orderSpec.getAttributePath());
-
-				int d = compare(value1, value2);
-				if (orderSpec.getDirection() == Direction.DESC) {
-					d = -d;
+		void add(T resource) {
+			long sequence = count++;
+			if (heap == null) {
+				entries.add(new SortEntry(resource, querySpec.getSortKeys(resource), sequence));
+			}
+			else if (maxSize > 0) {
+				SortEntry entry = new SortEntry(resource, querySpec.getSortKeys(resource), sequence);
+				if (heap.size() < maxSize) {
+					heap.add(entry);
+				}
+				else if (comparator.compare(entry, heap.peek()) < 0) {
+					heap.poll();
+					heap.add(entry);
 				}
-				if (d != 0)
-					return d;
 			}
-			return 0;
 		}
 
-		private int compare(Comparable<Object> value1, Comparable<Object> value2) {
-			if (value1 == null && value2 == null)
-				return 0;
-			if (value1 == null)
-				return -1;
-			if (value2 == null)
-				return 1;
+		@SuppressWarnings("unchecked")
+		List<T> getPage(long offset) {
+			List<SortEntry> sortedEntries = heap != null ? new ArrayList<>(heap) : entries;
+			Collections.sort(sortedEntries, comparator);
+
+			long end = Math.min(sortedEntries.size(), maxSize);
+			List<T> results = new ArrayList<>();
+			for (long i = offset; i < end; i++) {
+				results.add((T) sortedEntries.get((int) i).resource);
+			}
+			return results;
+		}
+	}
+
+	private static class SortEntry {
+
+		private final Object resource;
+
+		private final Object[] keys;
+
+		private final long sequence;
 
-			return value1.compareTo(value2);
+		SortEntry(Object resource, Object[] keys, long sequence) {
+			this.resource = resource;
+			this.keys = keys;
+			this.sequence = sequence;
 		}
 	}
 }
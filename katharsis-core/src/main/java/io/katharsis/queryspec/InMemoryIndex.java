@@ -0,0 +1,31 @@
+package io.katharsis.queryspec;
+
+import java.util.List;
+
+/**
+ * Secondary index over an attribute of a list of resources, used by {@link InMemoryEvaluator} to look up the
+ * candidates of a top-level filter instead of scanning the whole list. An index is a snapshot of the list it has been
+ * built from and must be rebuilt whenever the list or the indexed attribute values change.
+ *
+ * @param <T> resource type
+ */
+public interface InMemoryIndex<T> {
+
+	/**
+	 * @return indexed list, the index is only used when evaluating this very list
+	 */
+	List<T> getResources();
+
+	/**
+	 * @return path of the indexed attribute
+	 */
+	List<String> getAttributePath();
+
+	/**
+	 * @param operator filter operator
+	 * @param value filter value
+	 * @return resources whose attribute value matches the operator and value, in the order of
+	 *         {@link #getResources()}, or <code>null</code> if the index does not support the operator
+	 */
+	List<T> find(FilterOperator operator, Object value);
+}
@@ -17,6 +17,8 @@ public class QuerySpec {
 
 	private long offset = 0;
 
+	private String cursor = null;
+
 	private List<FilterSpec> filters = new ArrayList<>();
 
 	private List<SortSpec> sort = new ArrayList<>();
@@ -54,11 +56,13 @@ public class QuerySpec {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
+		result = prime * result + ((resourceClass == null) ? 0 : resourceClass.hashCode());
 		result = prime * result + ((filters == null) ? 0 : filters.hashCode());
 		result = prime * result + ((includedFields == null) ? 0 : includedFields.hashCode());
 		result = prime * result + ((includedRelations == null) ? 0 : includedRelations.hashCode());
 		result = prime * result + ((limit == null) ? 0 : limit.hashCode());
 		result = prime * result + Long.valueOf(offset).hashCode();
+		result = prime * result + ((cursor == null) ? 0 : cursor.hashCode());
 		result = prime * result + ((relatedSpecs == null) ? 0 : relatedSpecs.hashCode());
 		result = prime * result + ((sort == null) ? 0 : sort.hashCode());
 		return result;
@@ -71,10 +75,12 @@ public class QuerySpec {
 		if (obj == null || getClass() != obj.getClass())
 			return false;
 		QuerySpec other = (QuerySpec) obj;
-		return CompareUtils.isEquals(filters, other.filters) // NOSONAR
+		return CompareUtils.isEquals(resourceClass, other.resourceClass) // NOSONAR
+				&& CompareUtils.isEquals(filters, other.filters)
 				&& CompareUtils.isEquals(includedFields, other.includedFields)
 				&& CompareUtils.isEquals(includedRelations, other.includedRelations) && CompareUtils.isEquals(limit, other.limit)
-				&& CompareUtils.isEquals(offset, other.offset) && CompareUtils.isEquals(relatedSpecs, other.relatedSpecs)
+				&& CompareUtils.isEquals(offset, other.offset) && CompareUtils.isEquals(cursor, other.cursor)
+				&& CompareUtils.isEquals(relatedSpecs, other.relatedSpecs)
 				&& CompareUtils.isEquals(sort, other.sort);
 	}
 
@@ -94,6 +100,25 @@ public class QuerySpec {
 		this.offset = offset;
 	}
 
+	/**
+	 * @return opaque position to continue keyset pagination from, <code>null</code> if offset-based pagination is used
+	 */
+	public String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Requests keyset pagination: resources are selected relative to the position encoded in the cursor instead of
+	 * skipping <code>offset</code> resources. Cursors are issued by the repository as part of the next and previous
+	 * links, an empty cursor requests the first page. Repositories not supporting keyset pagination ignore the
+	 * cursor.
+	 *
+	 * @param cursor opaque cursor
+	 */
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
 	public List<FilterSpec> getFilters() {
 		return filters;
 	}
@@ -181,6 +206,7 @@ public class QuerySpec {
 		QuerySpec copy = new QuerySpec(resourceClass);
 		copy.limit = limit;
 		copy.offset = offset;
+		copy.cursor = cursor;
 		copy.includedFields.addAll(includedFields);
 		copy.includedRelations.addAll(includedRelations);
 		copy.sort.addAll(sort);
@@ -193,4 +219,26 @@ public class QuerySpec {
 		}
 		return copy;
 	}
+
+	/**
+	 * Normalizes this QuerySpec, such that QuerySpecs selecting the same resources are equal. Filters are normalized
+	 * with {@link FilterSpec#normalize()} and sorted, related QuerySpecs are normalized as well.
+	 *
+	 * @return normalized copy of this QuerySpec
+	 */
+	public QuerySpec normalize() {
+		QuerySpec copy = new QuerySpec(resourceClass);
+		copy.limit = limit;
+		copy.offset = offset;
+		copy.cursor = cursor;
+		copy.includedFields.addAll(includedFields);
+		copy.includedRelations.addAll(includedRelations);
+		copy.sort.addAll(sort);
+		copy.filters.addAll(FilterSpec.cloneExpressions(filters, true));
+
+		for (Entry<Class<?>, QuerySpec> entry : relatedSpecs.entrySet()) {
+			copy.relatedSpecs.put(entry.getKey(), entry.getValue().normalize());
+		}
+		return copy;
+	}
 }
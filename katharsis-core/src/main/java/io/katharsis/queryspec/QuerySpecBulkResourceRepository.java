@@ -0,0 +1,29 @@
+package io.katharsis.queryspec;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * {@code QuerySpecResourceRepository} implementation that provides additional support to bulk-write resources, used
+ * when a request carries an array of resources or multiple ids. Repositories not implementing this interface are
+ * called once per resource.
+ */
+public interface QuerySpecBulkResourceRepository<T, I extends Serializable> extends QuerySpecResourceRepository<T, I> {
+
+	/**
+	 * Saves multiple resources at once.
+	 *
+	 * @param entities resources to be saved
+	 * @param <S> type of the resources
+	 * @return saved resources in the order of the given resources. Must include set identifiers.
+	 */
+	<S extends T> List<S> saveAll(Iterable<S> entities);
+
+	/**
+	 * Removes multiple resources at once.
+	 *
+	 * @param ids identifiers of the resources to be removed
+	 */
+	void deleteAll(Iterable<I> ids);
+
+}
@@ -0,0 +1,18 @@
+package io.katharsis.queryspec;
+
+import io.katharsis.response.ResultStream;
+
+/**
+ * An optional interface that can be implemented along with {@link QuerySpecResourceRepository} to stream large
+ * collections instead of returning them as a whole from findAll.
+ */
+public interface QuerySpecStreamingRepository<T> {
+
+	/**
+	 * Called in place of findAll for GET requests on the collection of a resource.
+	 *
+	 * @param querySpec sent along with the request
+	 * @return lazily fetched resources or <code>null</code> to return the resources of findAll instead
+	 */
+	ResultStream<T> stream(QuerySpec querySpec);
+}
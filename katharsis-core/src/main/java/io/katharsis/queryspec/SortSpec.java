@@ -39,7 +39,7 @@ public class SortSpec extends AbstractPathSpec implements Serializable {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((direction == null) ? 0 : direction.hashCode());
-		return super.hashCode() | result;
+		return result;
 	}
 
 	@Override
@@ -0,0 +1,106 @@
+package io.katharsis.queryspec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import io.katharsis.utils.PropertyPathAccessor;
+
+/**
+ * Sorted {@link InMemoryIndex} answering {@link FilterOperator#EQ}, {@link FilterOperator#LT},
+ * {@link FilterOperator#LE}, {@link FilterOperator#GT} and {@link FilterOperator#GE} filters with non-null values.
+ * Attribute values must be {@link Comparable} and are ordered by their natural ordering, resources with a
+ * <code>null</code> value never match these operators and are not indexed.
+ *
+ * @param <T> resource type
+ */
+public class SortedInMemoryIndex<T> implements InMemoryIndex<T> {
+
+	private final List<T> resources;
+
+	private final List<String> attributePath;
+
+	private final Object[] snapshot;
+
+	/**
+	 * Maps attribute values to the positions of the resources in the indexed list.
+	 */
+	private final NavigableMap<Object, List<Integer>> entries = new TreeMap<>();
+
+	public SortedInMemoryIndex(List<T> resources, List<String> attributePath) {
+		this.resources = resources;
+		this.attributePath = attributePath;
+		this.snapshot = resources.toArray();
+
+		PropertyPathAccessor accessor = new PropertyPathAccessor(attributePath);
+		int position = 0;
+		for (T resource : resources) {
+			Object key = accessor.getValue(resource);
+			if (key != null) {
+				List<Integer> positions = entries.get(key);
+				if (positions == null) {
+					positions = new ArrayList<>(1);
+					entries.put(key, positions);
+				}
+				positions.add(position);
+			}
+			position++;
+		}
+	}
+
+	@Override
+	public List<T> getResources() {
+		return resources;
+	}
+
+	@Override
+	public List<String> getAttributePath() {
+		return attributePath;
+	}
+
+	@Override
+	public List<T> find(FilterOperator operator, Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (operator == FilterOperator.EQ) {
+			List<Integer> positions = entries.get(value);
+			return positions != null ? toResources(positions) : Collections.<T> emptyList();
+		}
+		else if (operator == FilterOperator.LT) {
+			return toResources(entries.headMap(value, false).values());
+		}
+		else if (operator == FilterOperator.LE) {
+			return toResources(entries.headMap(value, true).values());
+		}
+		else if (operator == FilterOperator.GT) {
+			return toResources(entries.tailMap(value, false).values());
+		}
+		else if (operator == FilterOperator.GE) {
+			return toResources(entries.tailMap(value, true).values());
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> toResources(List<Integer> positions) {
+		List<T> results = new ArrayList<>(positions.size());
+		for (Integer position : positions) {
+			results.add((T) snapshot[position]);
+		}
+		return results;
+	}
+
+	private List<T> toResources(Collection<List<Integer>> positionLists) {
+		List<Integer> positions = new ArrayList<>();
+		for (List<Integer> keyPositions : positionLists) {
+			positions.addAll(keyPositions);
+		}
+		// restore the order of the indexed list
+		Collections.sort(positions);
+		return toResources(positions);
+	}
+}
@@ -0,0 +1,43 @@
+package io.katharsis.repository;
+
+/**
+ * Decorates the repositories created by another builder with a {@link RepositoryDecoratorFactory}. A repository
+ * instance built again, as by a service locator returning singletons, is decorated only once.
+ */
+public class DecoratingRepositoryInstanceBuilder<T> extends RepositoryInstanceBuilder<T> {
+
+    private final RepositoryInstanceBuilder<T> repositoryInstanceBuilder;
+    private final RepositoryDecoratorFactory decoratorFactory;
+
+    private volatile DecoratedRepository<T> lastRepository;
+
+    public DecoratingRepositoryInstanceBuilder(RepositoryInstanceBuilder<T> repositoryInstanceBuilder,
+                                               RepositoryDecoratorFactory decoratorFactory) {
+        super(null, repositoryInstanceBuilder.getRepositoryClass());
+        this.repositoryInstanceBuilder = repositoryInstanceBuilder;
+        this.decoratorFactory = decoratorFactory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T buildRepository() {
+        T repository = repositoryInstanceBuilder.buildRepository();
+        DecoratedRepository<T> decoratedRepository = lastRepository;
+        if (decoratedRepository == null || decoratedRepository.repository != repository) {
+            decoratedRepository = new DecoratedRepository<>(repository, (T) decoratorFactory.decorateRepository(repository));
+            lastRepository = decoratedRepository;
+        }
+        return decoratedRepository.decorated;
+    }
+
+    private static class DecoratedRepository<T> {
+
+        private final T repository;
+        private final T decorated;
+
+        DecoratedRepository(T repository, T decorated) {
+            this.repository = repository;
+            this.decorated = decorated;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.katharsis.repository;
+
+/**
+ * Allows modules to decorate the repositories registered with Katharsis, for example to add caching or auditing. The
+ * decorated repository is used in place of the original one. Decorators should implement the same repository
+ * interfaces as the repository they decorate.
+ */
+public interface RepositoryDecoratorFactory {
+
+	/**
+	 * @param repository resource or relationship repository
+	 * @return decorated repository or the given repository if it is not decorated
+	 */
+	Object decorateRepository(Object repository);
+}
@@ -0,0 +1,25 @@
+package io.katharsis.repository;
+
+import java.io.Serializable;
+
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * An optional interface that can be implemented along with {@link ResourceRepository} or {@link
+ * io.katharsis.queryspec.QuerySpecResourceRepository} to provide a version of the requested resource(s) without
+ * loading them. Integrations with ETag support enabled use it to answer a conditional GET request with
+ * <i>304 Not Modified</i> before the request is dispatched.
+ * <p>
+ * The version has to change whenever the response could change, including resources that are included by default.
+ * Typical candidates are a version counter or the last modification timestamp of the underlying table. Versions are
+ * only requested for resource and collection requests without inclusions.
+ */
+public interface VersionedRepository<ID extends Serializable> {
+
+    /**
+     * @param ids ids of the requested resources or <i>null</i> if the whole collection is requested
+     * @param querySpec sent along with the request
+     * @return version or <i>null</i> if not known, in which case the request is processed as usual
+     */
+    String getVersion(Iterable<ID> ids, QuerySpec querySpec);
+}
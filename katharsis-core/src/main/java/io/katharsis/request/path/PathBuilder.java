@@ -8,11 +8,10 @@ import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.utils.StringUtils;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Builder responsible for parsing URL path.
@@ -21,6 +20,9 @@ public class PathBuilder {
     public static final String SEPARATOR = "/";
     public static final String RELATIONSHIP_MARK = "relationships";
 
+    private static final char SEPARATOR_CHAR = '/';
+    private static final String ENCODED_ID_SEPARATOR = "%2C";
+
     private final ResourceRegistry resourceRegistry;
 
     public PathBuilder(ResourceRegistry resourceRegistry) {
@@ -35,8 +37,8 @@ public class PathBuilder {
      * @return doubly-linked list which represents path given at the input
      */
     public JsonPath buildPath(String path) {
-        String[] strings = splitPath(path);
-        if (strings.length == 0 || (strings.length == 1 && "".equals(strings[0]))) {
+        List<String> strings = splitPath(path);
+        if (strings.isEmpty() || (strings.size() == 1 && "".equals(strings.get(0)))) {
             throw new ResourceException("Path is empty");
         }
 
@@ -45,23 +47,23 @@ public class PathBuilder {
         boolean relationshipMark;
         String elementName;
 
-        for (int currentElementIdx = 0; currentElementIdx < strings.length; ) {
+        for (int currentElementIdx = 0; currentElementIdx < strings.size(); ) {
             elementName = null;
             pathIds = null;
             relationshipMark = false;
 
-            if (RELATIONSHIP_MARK.equals(strings[currentElementIdx])) {
+            if (RELATIONSHIP_MARK.equals(strings.get(currentElementIdx))) {
                 relationshipMark = true;
                 currentElementIdx++;
             }
 
-            if (currentElementIdx < strings.length && !RELATIONSHIP_MARK.equals(strings[currentElementIdx])) {
-                elementName = strings[currentElementIdx];
+            if (currentElementIdx < strings.size() && !RELATIONSHIP_MARK.equals(strings.get(currentElementIdx))) {
+                elementName = strings.get(currentElementIdx);
                 currentElementIdx++;
             }
 
-            if (currentElementIdx < strings.length && !RELATIONSHIP_MARK.equals(strings[currentElementIdx])) {
-                pathIds = createPathIds(strings[currentElementIdx]);
+            if (currentElementIdx < strings.size() && !RELATIONSHIP_MARK.equals(strings.get(currentElementIdx))) {
+                pathIds = createPathIds(strings.get(currentElementIdx));
                 currentElementIdx++;
             }
             RegistryEntry entry = resourceRegistry.getEntry(elementName);
@@ -92,33 +94,75 @@ public class PathBuilder {
     private JsonPath getNonResourcePath(JsonPath previousJsonPath, String elementName, boolean relationshipMark) {
         String previousElementName = previousJsonPath.getElementName();
         RegistryEntry previousEntry = resourceRegistry.getEntry(previousElementName);
-        Set<ResourceField> resourceFields = previousEntry.getResourceInformation().getRelationshipFields();
-        for (ResourceField field : resourceFields) {
-            if (field.getJsonName().equals(elementName)) {
-                if (relationshipMark) {
-                    return new RelationshipsPath(elementName);
-                } else {
-                    return new FieldPath(elementName);
-                }
+        ResourceField field = previousEntry.getResourceInformation().findRelationshipFieldByName(elementName);
+        if (field != null) {
+            if (relationshipMark) {
+                return new RelationshipsPath(elementName);
+            } else {
+                return new FieldPath(elementName);
             }
         }
         //TODO: Throw different exception? element name can be null..
         throw new ResourceFieldNotFoundException(elementName);
     }
 
+    /**
+     * Splits the ids by {@link PathIds#ID_SEPARATOR} and its encoded form in a single pass. Behaves like
+     * <i>idsString.split(PathIds.ID_SEPARATOR_PATTERN)</i>.
+     */
     private static PathIds createPathIds(String idsString) {
-        List<String> pathIds = Arrays.asList(idsString.split(PathIds.ID_SEPARATOR_PATTERN));
+        List<String> pathIds = new ArrayList<>();
+        int start = 0;
+        int index = 0;
+        int length = idsString.length();
+        while (index < length) {
+            if (idsString.charAt(index) == ',') {
+                pathIds.add(idsString.substring(start, index));
+                index++;
+                start = index;
+            } else if (idsString.startsWith(ENCODED_ID_SEPARATOR, index)) {
+                pathIds.add(idsString.substring(start, index));
+                index += ENCODED_ID_SEPARATOR.length();
+                start = index;
+            } else {
+                index++;
+            }
+        }
+        if (pathIds.isEmpty()) {
+            return new PathIds(Collections.singletonList(idsString));
+        }
+        pathIds.add(idsString.substring(start));
+        removeTrailingEmptyElements(pathIds);
         return new PathIds(pathIds);
     }
 
-    private static String[] splitPath(String path) {
-        if (path.startsWith(SEPARATOR)) {
-            path = path.substring(1);
+    /**
+     * Splits the path by {@link #SEPARATOR} in a single pass, ignoring a leading separator. Behaves like
+     * <i>path.split(SEPARATOR)</i>.
+     */
+    private static List<String> splitPath(String path) {
+        int start = path.startsWith(SEPARATOR) ? 1 : 0;
+        List<String> elements = new ArrayList<>();
+        int index = path.indexOf(SEPARATOR_CHAR, start);
+        if (index == -1) {
+            elements.add(path.substring(start));
+            return elements;
         }
-        if (path.endsWith(SEPARATOR)) {
-            path = path.substring(0, path.length());
+        while (index != -1) {
+            elements.add(path.substring(start, index));
+            start = index + 1;
+            index = path.indexOf(SEPARATOR_CHAR, start);
+        }
+        elements.add(path.substring(start));
+        removeTrailingEmptyElements(elements);
+        return elements;
+    }
+
+    private static void removeTrailingEmptyElements(List<String> elements) {
+        int size = elements.size();
+        while (size > 0 && elements.get(size - 1).isEmpty()) {
+            elements.remove(--size);
         }
-        return path.split(SEPARATOR);
     }
 
     /**
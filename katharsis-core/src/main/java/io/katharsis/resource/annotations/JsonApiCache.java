@@ -0,0 +1,34 @@
+package io.katharsis.resource.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets {@link io.katharsis.cache.CacheModule} cache the repository results of the annotated resource. Suited for
+ * resources that are read often and change rarely, like reference data. Policies configured on the module take
+ * precedence.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonApiCache {
+
+    /**
+     * @return number of results kept, the least recently used result is evicted first
+     */
+    int maxSize() default 1000;
+
+    /**
+     * @return time a result is kept after it has been loaded
+     */
+    long timeToLive() default 60;
+
+    /**
+     * @return unit of {@link #timeToLive()}
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
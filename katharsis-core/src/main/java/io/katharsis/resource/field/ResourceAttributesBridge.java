@@ -13,6 +13,7 @@ import io.katharsis.utils.java.Optional;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -23,6 +24,7 @@ import java.util.Set;
 public class ResourceAttributesBridge<T> {
 
     private final Set<ResourceField> staticFields;
+    private final Map<String, ResourceField> staticFieldsByName = new HashMap<>();
     private final Class<T> resourceClass;
     private Method jsonAnyGetter;
     private Method jsonAnySetter;
@@ -30,6 +32,11 @@ public class ResourceAttributesBridge<T> {
     public ResourceAttributesBridge(Set<ResourceField> staticFields, Class<T> resourceClass) {
         this.staticFields = staticFields;
         this.resourceClass = resourceClass;
+        for (ResourceField staticField : staticFields) {
+            if (!staticFieldsByName.containsKey(staticField.getJsonName())) {
+                staticFieldsByName.put(staticField.getJsonName(), staticField);
+            }
+        }
 
         initializeGetterAndSetter(resourceClass);
     }
@@ -121,13 +128,33 @@ public class ResourceAttributesBridge<T> {
         }
     }
 
-    private Optional<ResourceField> findStaticField(String propertyName) {
-        for (ResourceField resourceField : staticFields) {
-            if (resourceField.getJsonName().equals(propertyName)) {
-                return Optional.of(resourceField);
+    /**
+     * Returns the current value of an attribute, either from a field or from the map returned by the
+     * {@link JsonAnyGetter} annotated method.
+     *
+     * @param instance     instance to read the attribute from
+     * @param propertyName JSON name of the attribute
+     * @return attribute value or <i>null</i> if not available
+     */
+    public Object getProperty(T instance, String propertyName) {
+        Optional<ResourceField> staticField = findStaticField(propertyName);
+        if (staticField.isPresent()) {
+            return PropertyUtils.getProperty(instance, staticField.get().getUnderlyingName());
+        }
+        if (jsonAnyGetter != null) {
+            try {
+                Map<?, ?> additionalAttributes = (Map<?, ?>) jsonAnyGetter.invoke(instance);
+                return additionalAttributes != null ? additionalAttributes.get(propertyName) : null;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new ResourceException(
+                    String.format("Exception while reading %s: %s", instance.getClass(), e.getMessage()));
             }
         }
-        return Optional.empty();
+        return null;
+    }
+
+    private Optional<ResourceField> findStaticField(String propertyName) {
+        return Optional.ofNullable(staticFieldsByName.get(propertyName));
     }
 
 	public Set<ResourceField> getFields() {
@@ -0,0 +1,21 @@
+package io.katharsis.resource.include;
+
+import java.util.concurrent.Executor;
+
+import io.katharsis.resource.information.ResourceInformation;
+
+/**
+ * Decides where the relationships of a resource type are looked up when {@link IncludeLookupSetter} resolves
+ * inclusions concurrently. Modules whose repositories are bound to the request thread, e.g. by a transaction, use it
+ * to opt out of concurrent lookups or to supply an executor of their own.
+ */
+public interface IncludeLookupExecutorProvider {
+
+	/**
+	 * @param resourceInformation resource owning the relationships to look up
+	 * @param executor executor chosen so far
+	 * @return executor to look up the relationships on, <code>null</code> to look them up on the request thread.
+	 *         Implementations not concerned with the given resource return the given executor.
+	 */
+	Executor getExecutor(ResourceInformation resourceInformation, Executor executor);
+}
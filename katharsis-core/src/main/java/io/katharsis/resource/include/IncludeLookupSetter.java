@@ -1,18 +1,34 @@
 package io.katharsis.resource.include;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.katharsis.errorhandling.exception.InternalServerErrorException;
 import io.katharsis.queryParams.include.Inclusion;
 import io.katharsis.queryParams.params.IncludedRelationsParams;
 import io.katharsis.queryParams.params.TypedParams;
@@ -25,18 +41,107 @@ import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.responseRepository.RelationshipRepositoryAdapter;
 import io.katharsis.response.JsonApiResponse;
+import io.katharsis.response.ResultStream;
 import io.katharsis.utils.PropertyUtils;
 
+/**
+ * Looks up the relationships requested by the inclusion parameters of a request whose
+ * {@link io.katharsis.resource.annotations.JsonApiLookupIncludeAutomatically} behavior asks for it. Inclusion paths
+ * sharing a prefix, like <i>project</i> and <i>project.tasks</i>, look up their common relationships only once.
+ * <p>
+ * By default all relationships are looked up one after another on the request thread. Once an executor is set,
+ * independent relationships are looked up concurrently on it and only relationships further down an inclusion path
+ * wait for their parent to be loaded. The number of lookups running concurrently for a single request is bounded by
+ * {@link #setMaxConcurrency(int)}. {@link IncludeLookupExecutorProvider}s choose a different executor for the
+ * relationships of a resource or keep them on the request thread.
+ * <p>
+ * Nothing is looked up for a {@link ResultStream}.
+ */
 public class IncludeLookupSetter {
 
+	/**
+	 * Default number of relationship lookups running concurrently for a single request.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
 	private static final Logger logger = LoggerFactory.getLogger(IncludeLookupSetter.class);
 
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
 	private final ResourceRegistry resourceRegistry;
 
+	private final List<IncludeLookupExecutorProvider> executorProviders = new CopyOnWriteArrayList<>();
+
+	private volatile Executor executor;
+
+	private volatile int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
 	public IncludeLookupSetter(ResourceRegistry resourceRegistry) {
 		this.resourceRegistry = resourceRegistry;
 	}
 
+	/**
+	 * @param executor executor to look up independent relationships concurrently on, <code>null</code> to look up all
+	 *            relationships one after another on the request thread
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @param maxConcurrency number of relationship lookups running concurrently for a single request
+	 */
+	public void setMaxConcurrency(int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("maxConcurrency must be positive, got " + maxConcurrency);
+		}
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Adds a provider consulted for the executor of each relationship lookup in the concurrent mode. Providers are
+	 * consulted in the order they are added, each one receiving the executor chosen by its predecessors.
+	 *
+	 * @param executorProvider executor provider
+	 */
+	public void addExecutorProvider(IncludeLookupExecutorProvider executorProvider) {
+		executorProviders.add(executorProvider);
+	}
+
+	/**
+	 * Creates an executor suitable for {@link #setExecutor(Executor)}. Relationships are looked up on virtual threads
+	 * if the JVM supports them, otherwise on a cached pool of daemon threads. The caller has to shut it down once it is
+	 * no longer used.
+	 *
+	 * @return executor
+	 */
+	public static ExecutorService createDefaultExecutor() {
+		try {
+			Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factoryMethod.invoke(null);
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			logger.debug("virtual threads not available, falling back to a thread pool", e);
+		}
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "katharsis-include-lookup-" + THREAD_COUNTER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
 	@SuppressWarnings("rawtypes")
 	public void setIncludedElements(String resourceName, Object repositoryResource, QueryAdapter queryAdapter,
 			RepositoryMethodParameterProvider parameterProvider) {
@@ -47,17 +152,28 @@ public class IncludeLookupSetter {
 		else {
 			resource = repositoryResource;
 		}
-		if (resource != null && queryAdapter != null && queryAdapter.hasIncludedRelations()) {
+		// streamed resources can be iterated only once, they are written without lookups
+		if (resource != null && !(resource instanceof ResultStream) && queryAdapter != null
+				&& queryAdapter.hasIncludedRelations()) {
 			Iterable resources = resource instanceof Iterable ? (Iterable<?>) resource : Arrays.asList(resource);
 
 			IncludedRelationsParams includedRelationsParams = findInclusions(queryAdapter.getIncludedRelations(), resourceName);
 			if (includedRelationsParams != null) {
+				LookupNode root = new LookupNode();
 				for (Inclusion inclusion : includedRelationsParams.getParams()) {
-					List<String> pathList = inclusion.getPathList();
-					if (!pathList.isEmpty()) {
-						RegistryEntry entry = resourceRegistry.getEntry(resourceName);
-						ResourceInformation resourceInformation = entry.getResourceInformation();
-						setIncludedElements(resourceInformation, resources, pathList, queryAdapter, parameterProvider);
+					root.addPath(inclusion.getPathList());
+				}
+				if (!root.children.isEmpty()) {
+					RegistryEntry entry = resourceRegistry.getEntry(resourceName);
+					ResourceInformation resourceInformation = entry.getResourceInformation();
+					List<LookupTask> tasks = createTasks(resourceInformation, resources, root);
+
+					Executor currentExecutor = executor;
+					if (currentExecutor == null) {
+						lookupSequentially(tasks, queryAdapter, parameterProvider);
+					}
+					else {
+						lookupConcurrently(currentExecutor, tasks, queryAdapter, parameterProvider);
 					}
 				}
 			}
@@ -74,34 +190,199 @@ public class IncludeLookupSetter {
 		return includedRelationsParams;
 	}
 
+	private void lookupSequentially(List<LookupTask> tasks, QueryAdapter queryAdapter,
+			RepositoryMethodParameterProvider parameterProvider) {
+		for (LookupTask task : tasks) {
+			lookupSequentially(lookup(task, queryAdapter, parameterProvider), queryAdapter, parameterProvider);
+		}
+	}
+
+	/**
+	 * Schedules the lookups from the request thread and waits for all of them to complete. Lookups of a sub-path are
+	 * scheduled once their parent relationship is loaded. After the first failure no further lookups are scheduled,
+	 * the running ones are awaited and the failure is rethrown.
+	 */
+	private void lookupConcurrently(Executor defaultExecutor, List<LookupTask> tasks, final QueryAdapter queryAdapter,
+			final RepositoryMethodParameterProvider parameterProvider) {
+		Deque<LookupTask> pendingTasks = new ArrayDeque<>(tasks);
+		final BlockingQueue<LookupResult> completedTasks = new LinkedBlockingQueue<>();
+		int limit = maxConcurrency;
+		int runningTasks = 0;
+		Throwable failure = null;
+		boolean interrupted = false;
+
+		while (runningTasks > 0 || (failure == null && !pendingTasks.isEmpty())) {
+			while (failure == null && runningTasks < limit && !pendingTasks.isEmpty()) {
+				final LookupTask task = pendingTasks.poll();
+				Executor taskExecutor = getExecutor(defaultExecutor, task.resourceInformation);
+				if (taskExecutor == null) {
+					try {
+						pendingTasks.addAll(lookup(task, queryAdapter, parameterProvider));
+					}
+					catch (RuntimeException | Error e) { // NOSONAR rethrown once running lookups are done
+						failure = e;
+					}
+					continue;
+				}
+				try {
+					taskExecutor.execute(new Runnable() {
+
+						@Override
+						public void run() {
+							try {
+								completedTasks.add(new LookupResult(lookup(task, queryAdapter, parameterProvider), null));
+							}
+							catch (Throwable e) { // NOSONAR handed over to the request thread
+								completedTasks.add(new LookupResult(null, e));
+							}
+						}
+					});
+					runningTasks++;
+				}
+				catch (RejectedExecutionException e) {
+					failure = e;
+				}
+			}
+
+			if (runningTasks > 0) {
+				LookupResult result;
+				try {
+					result = completedTasks.take();
+				}
+				catch (InterruptedException e) { // NOSONAR interrupt flag is restored below
+					interrupted = true;
+					if (failure == null) {
+						failure = e;
+					}
+					continue;
+				}
+				runningTasks--;
+				if (result.failure != null) {
+					if (failure == null) {
+						failure = result.failure;
+					}
+				}
+				else {
+					pendingTasks.addAll(result.tasks);
+				}
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure instanceof InterruptedException) {
+			throw new InternalServerErrorException("interrupted while looking up included relationships");
+		}
+		if (failure != null) {
+			throw new IllegalStateException(failure);
+		}
+	}
+
+	private Executor getExecutor(Executor defaultExecutor, ResourceInformation resourceInformation) {
+		Executor taskExecutor = defaultExecutor;
+		for (IncludeLookupExecutorProvider executorProvider : executorProviders) {
+			taskExecutor = executorProvider.getExecutor(resourceInformation, taskExecutor);
+		}
+		return taskExecutor;
+	}
+
+	/**
+	 * Looks up a single relationship.
+	 *
+	 * @return lookups of the relationships further down the inclusion paths
+	 */
 	@SuppressWarnings("rawtypes")
-	private void setIncludedElements(ResourceInformation resourceInformation, Iterable resources, List<String> pathList,
-			QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider) {
-		if (!pathList.isEmpty()) {
-			ResourceField field = resourceInformation.findRelationshipFieldByName(pathList.get(0));
-			if (field == null) {
-				logger.warn("Error loading relationship, couldn't find field " + pathList.get(0));
-				return;
+	private List<LookupTask> lookup(LookupTask task, QueryAdapter queryAdapter,
+			RepositoryMethodParameterProvider parameterProvider) {
+		ResourceInformation resourceInformation = task.resourceInformation;
+		ResourceField field = resourceInformation.findRelationshipFieldByName(task.fieldName);
+		if (field == null) {
+			logger.warn("Error loading relationship, couldn't find field " + task.fieldName);
+			return Collections.emptyList();
+		}
+
+		List pendingResources = filterResourcesForLookup(task.resources, field);
+		if (!pendingResources.isEmpty()) {
+			Set properties = loadRelationships(resourceInformation, pendingResources, field, queryAdapter, parameterProvider);
+
+			if (!properties.isEmpty() && !task.node.children.isEmpty()) {
+				Class<?> propertyResourceType = field.getElementType();
+				RegistryEntry propertyResourceEntry = resourceRegistry.getEntry(propertyResourceType);
+				ResourceInformation propertyResourceInformation = propertyResourceEntry.getResourceInformation();
+
+				return createTasks(propertyResourceInformation, properties, task.node);
 			}
+		}
+		return Collections.emptyList();
+	}
 
-			List pendingResources = filterResourcesForLookup(resources, field);
-			if (!pendingResources.isEmpty()) {
-				Set properties = loadRelationships(resourceInformation, pendingResources, field, queryAdapter, parameterProvider);
+	@SuppressWarnings("rawtypes")
+	private static List<LookupTask> createTasks(ResourceInformation resourceInformation, Iterable resources, LookupNode node) {
+		List<LookupTask> tasks = new ArrayList<>();
+		for (Map.Entry<String, LookupNode> child : node.children.entrySet()) {
+			tasks.add(new LookupTask(resourceInformation, resources, child.getKey(), child.getValue()));
+		}
+		return tasks;
+	}
 
-				if (!properties.isEmpty() && pathList.size() > 1) {
-					List<String> subPathList = pathList.subList(1, pathList.size());
+	/**
+	 * Inclusion paths merged into a tree, the children of a node are the relationships to look up next.
+	 */
+	private static class LookupNode {
 
-					Class<?> propertyReousrceType = field.getElementType();
-					RegistryEntry propertyResourceEntry = resourceRegistry.getEntry(propertyReousrceType);
-					ResourceInformation propertyResourceInformation = propertyResourceEntry.getResourceInformation();
+		private final Map<String, LookupNode> children = new LinkedHashMap<>();
 
-					setIncludedElements(propertyResourceInformation, (Iterable) properties, subPathList, queryAdapter,
-							parameterProvider);
+		void addPath(List<String> pathList) {
+			LookupNode node = this;
+			for (String fieldName : pathList) {
+				LookupNode child = node.children.get(fieldName);
+				if (child == null) {
+					child = new LookupNode();
+					node.children.put(fieldName, child);
 				}
+				node = child;
 			}
 		}
 	}
 
+	@SuppressWarnings("rawtypes")
+	private static class LookupTask {
+
+		private final ResourceInformation resourceInformation;
+
+		private final Iterable resources;
+
+		private final String fieldName;
+
+		private final LookupNode node;
+
+		LookupTask(ResourceInformation resourceInformation, Iterable resources, String fieldName, LookupNode node) {
+			this.resourceInformation = resourceInformation;
+			this.resources = resources;
+			this.fieldName = fieldName;
+			this.node = node;
+		}
+	}
+
+	private static class LookupResult {
+
+		private final List<LookupTask> tasks;
+
+		private final Throwable failure;
+
+		LookupResult(List<LookupTask> tasks, Throwable failure) {
+			this.tasks = tasks;
+			this.failure = failure;
+		}
+	}
+
 	/**
 	 * Filter by resources that need lookup based on incusion behavior.
 	 * 
@@ -0,0 +1,189 @@
+package io.katharsis.resource.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of resources, entities and components like repositories, filters, exception mappers and modules written at
+ * compile-time by {@link ResourceIndexProcessor}. Every jar or classes directory may contain an index at
+ * {@value #LOCATION}, holding one line per class and kind with the kind and the binary name of the class. A class
+ * annotated with both {@link io.katharsis.resource.annotations.JsonApiResource} and <code>javax.persistence.Entity</code>
+ * is listed as {@link #RESOURCE} and as {@link #ENTITY}.
+ * <p>
+ * An index only lists the classes compiled with {@link ResourceIndexProcessor}. It is used in place of classpath
+ * scanning only if every classpath location holding classes of the searched packages ships an index, see
+ * {@link #isComplete(String)}.
+ */
+public class ResourceIndex {
+
+	public static final String LOCATION = "META-INF/katharsis/resource.index";
+
+	/**
+	 * Classes annotated with {@link io.katharsis.resource.annotations.JsonApiResource}.
+	 */
+	public static final String RESOURCE = "resource";
+
+	/**
+	 * Classes annotated with <code>javax.persistence.Entity</code>.
+	 */
+	public static final String ENTITY = "entity";
+
+	/**
+	 * Concrete repositories, filters, exception mappers and modules.
+	 */
+	public static final String COMPONENT = "component";
+
+	private final ClassLoader classLoader;
+
+	private final Map<String, Set<String>> entries;
+
+	private final Set<String> locations;
+
+	ResourceIndex(ClassLoader classLoader, Map<String, Set<String>> entries, Set<String> locations) {
+		this.classLoader = classLoader;
+		this.entries = entries;
+		this.locations = locations;
+	}
+
+	/**
+	 * @param classLoader to load the index and the indexed classes from
+	 * @return merged index of all index files found or <code>null</code> if there is none
+	 */
+	public static ResourceIndex load(ClassLoader classLoader) {
+		try {
+			Enumeration<URL> urls = classLoader.getResources(LOCATION);
+			if (!urls.hasMoreElements()) {
+				return null;
+			}
+			Map<String, Set<String>> entries = new LinkedHashMap<>();
+			Set<String> locations = new HashSet<>();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				read(url, entries);
+				locations.add(getLocation(url, LOCATION));
+			}
+			return new ResourceIndex(classLoader, entries, locations);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("failed to read " + LOCATION, e);
+		}
+	}
+
+	private static void read(URL url, Map<String, Set<String>> entries) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				int separator = line.indexOf(' ');
+				if (separator > 0) {
+					String className = line.substring(separator + 1).trim();
+					Set<String> kinds = entries.get(className);
+					if (kinds == null) {
+						kinds = new HashSet<>();
+						entries.put(className, kinds);
+					}
+					kinds.add(line.substring(0, separator));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param kind of the classes, {@link #RESOURCE}, {@link #ENTITY} or {@link #COMPONENT}
+	 * @param packageNames comma-separated packages to restrict the classes to, <code>null</code> for all packages
+	 * @return true if there is an indexed class of the given kind
+	 */
+	public boolean contains(String kind, String packageNames) {
+		for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+			if (entry.getValue().contains(kind) && isInPackages(entry.getKey(), packageNames)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param kind of the classes, {@link #RESOURCE}, {@link #ENTITY} or {@link #COMPONENT}
+	 * @param packageNames comma-separated packages to restrict the classes to, <code>null</code> for all packages
+	 * @return indexed classes of the given kind
+	 */
+	public List<Class<?>> getClasses(String kind, String packageNames) {
+		List<Class<?>> classes = new ArrayList<>();
+		for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+			String className = entry.getKey();
+			if (entry.getValue().contains(kind) && isInPackages(className, packageNames)) {
+				classes.add(loadClass(className));
+			}
+		}
+		return Collections.unmodifiableList(classes);
+	}
+
+	/**
+	 * An index is complete if every jar or classes directory holding one of the packages ships an index. Otherwise
+	 * classes compiled without {@link ResourceIndexProcessor} would be missed and the classpath must be scanned.
+	 * Packages are looked up as directory entries, jars without such entries cannot be detected.
+	 *
+	 * @param packageNames comma-separated packages to check, <code>null</code> for all packages
+	 * @return true if all classes of the given packages are indexed, always false if no packages are given
+	 */
+	public boolean isComplete(String packageNames) {
+		if (packageNames == null) {
+			return false;
+		}
+		try {
+			for (String packageName : packageNames.split(",")) {
+				String path = packageName.trim().replace('.', '/');
+				Enumeration<URL> urls = classLoader.getResources(path);
+				while (urls.hasMoreElements()) {
+					if (!locations.contains(getLocation(urls.nextElement(), path))) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("failed to look up " + packageNames, e);
+		}
+	}
+
+	private static String getLocation(URL url, String path) {
+		String location = url.toString();
+		if (location.endsWith("/")) {
+			location = location.substring(0, location.length() - 1);
+		}
+		return location.endsWith(path) ? location.substring(0, location.length() - path.length()) : location;
+	}
+
+	private static boolean isInPackages(String className, String packageNames) {
+		if (packageNames == null) {
+			return true;
+		}
+		for (String packageName : packageNames.split(",")) {
+			if (className.startsWith(packageName.trim() + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Class<?> loadClass(String className) {
+		try {
+			return Class.forName(className, false, classLoader);
+		}
+		catch (ClassNotFoundException e) {
+			throw new IllegalStateException("indexed class " + className + " not found, rebuild the index", e);
+		}
+	}
+}
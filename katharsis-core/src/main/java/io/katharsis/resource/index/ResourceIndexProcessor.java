@@ -0,0 +1,164 @@
+package io.katharsis.resource.index;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import io.katharsis.dispatcher.filter.Filter;
+import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
+import io.katharsis.module.Module;
+import io.katharsis.repository.Repository;
+import io.katharsis.repository.annotations.JsonApiRelationshipRepository;
+import io.katharsis.repository.annotations.JsonApiResourceRepository;
+import io.katharsis.resource.annotations.JsonApiResource;
+
+/**
+ * Annotation processor writing a {@link ResourceIndex} of the compiled classes, such that
+ * {@link io.katharsis.internal.boot.KatharsisBoot} and the JPA module can find resources, repositories and other
+ * components without scanning the classpath at startup. The processor is not registered automatically, it has to be
+ * enabled for the compilation of the application classes, for example with the <code>annotationProcessors</code>
+ * setting of the maven-compiler-plugin or with <code>javac -processor</code>.
+ * <p>
+ * The index only lists classes compiled together. Components in other libraries are found if those libraries ship an
+ * index of their own, otherwise the classpath is scanned, see {@link ResourceIndex#isComplete(String)}. Incremental
+ * compilations must recompile all indexed classes.
+ */
+@SupportedAnnotationTypes("*")
+public class ResourceIndexProcessor extends AbstractProcessor {
+
+	private static final String ENTITY_ANNOTATION = "javax.persistence.Entity";
+
+	private static final String[] COMPONENT_TYPES = { Repository.class.getName(), JsonApiExceptionMapper.class.getName(),
+			Filter.class.getName(), Module.class.getName() };
+
+	private final Map<String, Set<String>> entries = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			if (!entries.isEmpty()) {
+				writeIndex();
+			}
+		}
+		else {
+			List<TypeMirror> componentTypes = getComponentTypes();
+			for (Element element : roundEnv.getRootElements()) {
+				collect(element, componentTypes);
+			}
+		}
+		return false;
+	}
+
+	private List<TypeMirror> getComponentTypes() {
+		Types types = processingEnv.getTypeUtils();
+		List<TypeMirror> componentTypes = new ArrayList<>();
+		for (String componentType : COMPONENT_TYPES) {
+			TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(componentType);
+			if (typeElement != null) {
+				componentTypes.add(types.erasure(typeElement.asType()));
+			}
+		}
+		return componentTypes;
+	}
+
+	private void collect(Element element, List<TypeMirror> componentTypes) {
+		if (!(element instanceof TypeElement)) {
+			return;
+		}
+		TypeElement typeElement = (TypeElement) element;
+		Set<String> kinds = getKinds(typeElement, componentTypes);
+		if (!kinds.isEmpty()) {
+			entries.put(processingEnv.getElementUtils().getBinaryName(typeElement).toString(), kinds);
+		}
+		for (Element enclosedElement : typeElement.getEnclosedElements()) {
+			collect(enclosedElement, componentTypes);
+		}
+	}
+
+	private Set<String> getKinds(TypeElement typeElement, List<TypeMirror> componentTypes) {
+		Set<String> kinds = new TreeSet<>();
+		if (hasAnnotation(typeElement, JsonApiResource.class.getName())) {
+			kinds.add(ResourceIndex.RESOURCE);
+		}
+		if (hasAnnotation(typeElement, ENTITY_ANNOTATION)) {
+			kinds.add(ResourceIndex.ENTITY);
+		}
+		if (isComponent(typeElement, componentTypes)) {
+			kinds.add(ResourceIndex.COMPONENT);
+		}
+		return kinds;
+	}
+
+	private boolean isComponent(TypeElement typeElement, List<TypeMirror> componentTypes) {
+		if (typeElement.getKind() != ElementKind.CLASS || typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		if (hasAnnotation(typeElement, JsonApiResourceRepository.class.getName())
+				|| hasAnnotation(typeElement, JsonApiRelationshipRepository.class.getName())) {
+			return true;
+		}
+		Types types = processingEnv.getTypeUtils();
+		TypeMirror type = types.erasure(typeElement.asType());
+		for (TypeMirror componentType : componentTypes) {
+			if (types.isAssignable(type, componentType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasAnnotation(TypeElement typeElement, String annotationName) {
+		for (AnnotationMirror annotation : typeElement.getAnnotationMirrors()) {
+			Element annotationElement = annotation.getAnnotationType().asElement();
+			if (((TypeElement) annotationElement).getQualifiedName().contentEquals(annotationName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeIndex() {
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					ResourceIndex.LOCATION);
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+					for (String kind : entry.getValue()) {
+						writer.write(kind + " " + entry.getKey() + "\n");
+					}
+				}
+			}
+		}
+		catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"failed to write " + ResourceIndex.LOCATION + ": " + e.getMessage());
+		}
+	}
+}
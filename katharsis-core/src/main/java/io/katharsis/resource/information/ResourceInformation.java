@@ -5,7 +5,9 @@ import io.katharsis.resource.field.ResourceField;
 import io.katharsis.utils.parser.TypeParser;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -35,6 +37,11 @@ public class ResourceInformation {
      */
     private final Set<ResourceField> relationshipFields;
 
+    /**
+     * Relationship fields indexed by their JSON name.
+     */
+    private final Map<String, ResourceField> relationshipFieldsByName;
+
 
     /**
      * An underlying field's name which contains meta information about for a resource
@@ -70,6 +77,14 @@ public class ResourceInformation {
 	    this.idField = idField;
 	    this.attributeFields = attributeFields;
 	    this.relationshipFields = relationshipFields;
+	    this.relationshipFieldsByName = new HashMap<>();
+	    if (relationshipFields != null) {
+	        for (ResourceField relationshipField : relationshipFields) {
+	            if (!relationshipFieldsByName.containsKey(relationshipField.getJsonName())) {
+	                relationshipFieldsByName.put(relationshipField.getJsonName(), relationshipField);
+	            }
+	        }
+	    }
 	    this.metaFieldName = metaFieldName;
 	    this.linksFieldName = linksFieldName;
 	    
@@ -103,18 +118,7 @@ public class ResourceInformation {
     }
 
     public ResourceField findRelationshipFieldByName(String name) {
-        return getJsonField(name, relationshipFields);
-    }
-
-    private static ResourceField getJsonField(String name, Set<ResourceField> fields) {
-        ResourceField foundField = null;
-        for (ResourceField field : fields) {
-            if (field.getJsonName().equals(name)) {
-                foundField = field;
-                break;
-            }
-        }
-        return foundField;
+        return relationshipFieldsByName.get(name);
     }
 
     public String getMetaFieldName() {
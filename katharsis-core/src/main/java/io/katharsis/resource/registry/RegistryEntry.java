@@ -1,5 +1,6 @@
 package io.katharsis.resource.registry;
 
+import io.katharsis.repository.RepositoryDecoratorFactory;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.repository.exception.RelationshipRepositoryNotFoundException;
 import io.katharsis.resource.information.ResourceInformation;
@@ -12,6 +13,7 @@ import io.katharsis.resource.registry.repository.ResponseRelationshipEntry;
 import io.katharsis.resource.registry.responseRepository.RelationshipRepositoryAdapter;
 import io.katharsis.resource.registry.responseRepository.ResourceRepositoryAdapter;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -28,8 +30,8 @@ import java.util.Objects;
  */
 public class RegistryEntry<T> {
     private final ResourceInformation resourceInformation;
-    private final ResourceEntry<T, ?> resourceEntry;
-    private final List<ResponseRelationshipEntry<T, ?>> relationshipEntries;
+    private ResourceEntry<T, ?> resourceEntry;
+    private List<ResponseRelationshipEntry<T, ?>> relationshipEntries;
     private RegistryEntry parentRegistryEntry = null;
     
 	private ResourceRegistry resourceRegistry;
@@ -99,6 +101,29 @@ public class RegistryEntry<T> {
         return new RelationshipRepositoryAdapter(resourceInformation, resourceRegistry, repoInstance);
     }
 
+    /**
+     * Decorates the repositories built by a {@link io.katharsis.repository.RepositoryInstanceBuilder}, like those
+     * found by {@link ResourceRegistryBuilder}. Annotated repositories are not decorated. To be used only by
+     * {@link io.katharsis.module.ModuleRegistry}.
+     *
+     * @param decoratorFactory factory decorating the repositories
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void decorateRepositories(RepositoryDecoratorFactory decoratorFactory) {
+        if (resourceEntry instanceof DirectResponseResourceEntry) {
+            resourceEntry = ((DirectResponseResourceEntry) resourceEntry).decorate(decoratorFactory);
+        }
+        List<ResponseRelationshipEntry<T, ?>> decoratedEntries = new ArrayList<>(relationshipEntries.size());
+        for (ResponseRelationshipEntry<T, ?> relationshipEntry : relationshipEntries) {
+            if (relationshipEntry instanceof DirectResponseRelationshipEntry) {
+                decoratedEntries.add(((DirectResponseRelationshipEntry) relationshipEntry).decorate(decoratorFactory));
+            } else {
+                decoratedEntries.add(relationshipEntry);
+            }
+        }
+        relationshipEntries = decoratedEntries;
+    }
+
     public ResourceInformation getResourceInformation() {
         return resourceInformation;
     }
@@ -3,6 +3,8 @@ package io.katharsis.resource.registry;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +20,17 @@ public class ResourceRegistry {
     private final ServiceUrlProvider serviceUrlProvider;
     private final Logger logger = LoggerFactory.getLogger(ResourceRegistry.class);
 
+    /**
+     * Immutable index of resource types, replaced as a whole whenever a new entry is added.
+     */
+    private volatile Map<String, RegistryEntry> typeIndex = Collections.emptyMap();
+
+    /**
+     * Resolved resource classes of registered classes and their subclasses, e.g. proxies. Replaced whenever a new
+     * entry is added since it may change the outcome of previous resolutions.
+     */
+    private volatile ConcurrentMap<Class<?>, Optional<Class<?>>> classIndex = new ConcurrentHashMap<>();
+
     public ResourceRegistry(ServiceUrlProvider serviceUrlProvider) {
         this.serviceUrlProvider = serviceUrlProvider;
         this.resources = new HashMap<>();
@@ -27,6 +40,7 @@ public class ResourceRegistry {
     public ResourceRegistry(Map<Class, RegistryEntry> resources, ServiceUrlProvider serviceUrlProvider) {
         this.serviceUrlProvider = serviceUrlProvider;
         this.resources = new HashMap<>(resources); // copying is slower but completely thread safe
+        rebuildIndexes();
     }
 
     /**
@@ -36,12 +50,26 @@ public class ResourceRegistry {
      * @param registryEntry resource information
      * @param <T>           type of a resource
      */
-    public <T> void addEntry(Class<T> resource, RegistryEntry<? extends T> registryEntry) {
+    public synchronized <T> void addEntry(Class<T> resource, RegistryEntry<? extends T> registryEntry) {
         resources.put(resource, registryEntry);
         registryEntry.initialize(this);
+        rebuildIndexes();
         logger.debug("Added resource {} to ResourceRegistry", resource.getName());
     }
 
+    private void rebuildIndexes() {
+        Map<String, RegistryEntry> newTypeIndex = new HashMap<>();
+        for (RegistryEntry entry : resources.values()) {
+            ResourceInformation resourceInformation = entry.getResourceInformation();
+            if (resourceInformation != null && resourceInformation.getResourceType() != null
+                && !newTypeIndex.containsKey(resourceInformation.getResourceType())) {
+                newTypeIndex.put(resourceInformation.getResourceType(), entry);
+            }
+        }
+        classIndex = new ConcurrentHashMap<>();
+        typeIndex = Collections.unmodifiableMap(newTypeIndex);
+    }
+
     /**
      * Searches the registry for a resource identified by a JSON API resource type.
      * If a resource cannot be found, <i>null</i> is returned.
@@ -50,16 +78,7 @@ public class ResourceRegistry {
      * @return registry entry or <i>null</i>
      */
     public RegistryEntry getEntry(String searchType) {
-        for (Map.Entry<Class, RegistryEntry> entry : resources.entrySet()) {
-            String type = getResourceType(entry.getKey());
-            if (type == null) {
-                return null;
-            }
-            if (type.equals(searchType)) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        return typeIndex.get(searchType);
     }
 
     /**
@@ -143,6 +162,16 @@ public class ResourceRegistry {
     }
 
     public Optional<Class<?>> getResourceClass(Class<?> resourceClass) {
+        ConcurrentMap<Class<?>, Optional<Class<?>>> currentClassIndex = classIndex;
+        Optional<Class<?>> resolvedClass = currentClassIndex.get(resourceClass);
+        if (resolvedClass == null) {
+            resolvedClass = findResourceClass(resourceClass);
+            currentClassIndex.putIfAbsent(resourceClass, resolvedClass);
+        }
+        return resolvedClass;
+    }
+
+    private Optional<Class<?>> findResourceClass(Class<?> resourceClass) {
         Class<?> currentClass = resourceClass;
         while (currentClass != null && currentClass != Object.class) {
             RegistryEntry<?> entry = resources.get(currentClass);
@@ -1,7 +1,9 @@
 package io.katharsis.resource.registry.repository;
 
 import io.katharsis.queryspec.QuerySpecRelationshipRepository;
+import io.katharsis.repository.DecoratingRepositoryInstanceBuilder;
 import io.katharsis.repository.RelationshipRepository;
+import io.katharsis.repository.RepositoryDecoratorFactory;
 import io.katharsis.repository.RepositoryInstanceBuilder;
 import net.jodah.typetools.TypeResolver;
 
@@ -28,6 +30,15 @@ public class DirectResponseRelationshipEntry<T, D> implements ResponseRelationsh
         return repositoryInstanceBuilder.buildRepository();
     }
 
+    /**
+     * @param decoratorFactory factory decorating the repositories
+     * @return entry building the repositories of this entry decorated by the given factory
+     */
+    public DirectResponseRelationshipEntry<T, D> decorate(RepositoryDecoratorFactory decoratorFactory) {
+        return new DirectResponseRelationshipEntry<>(
+            new DecoratingRepositoryInstanceBuilder<>(repositoryInstanceBuilder, decoratorFactory));
+    }
+
     @Override
     public String toString() {
         return "DirectResponseRelationshipEntry{" +
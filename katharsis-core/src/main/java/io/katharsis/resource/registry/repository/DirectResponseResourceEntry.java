@@ -1,5 +1,7 @@
 package io.katharsis.resource.registry.repository;
 
+import io.katharsis.repository.DecoratingRepositoryInstanceBuilder;
+import io.katharsis.repository.RepositoryDecoratorFactory;
 import io.katharsis.repository.RepositoryInstanceBuilder;
 import io.katharsis.repository.ResourceRepository;
 
@@ -16,6 +18,15 @@ public class DirectResponseResourceEntry<T, ID extends Serializable> implements
         return repositoryInstanceBuilder.buildRepository();
     }
 
+    /**
+     * @param decoratorFactory factory decorating the repositories
+     * @return entry building the repositories of this entry decorated by the given factory
+     */
+    public DirectResponseResourceEntry<T, ID> decorate(RepositoryDecoratorFactory decoratorFactory) {
+        return new DirectResponseResourceEntry<>(
+            new DecoratingRepositoryInstanceBuilder<>(repositoryInstanceBuilder, decoratorFactory));
+    }
+
     @Override
     public String toString() {
         return "DirectResponseResourceEntry{" +
@@ -1,10 +1,16 @@
 package io.katharsis.resource.registry.responseRepository;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecBulkResourceRepository;
 import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.queryspec.QuerySpecStreamingRepository;
 import io.katharsis.queryspec.internal.QueryAdapter;
 import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.VersionedRepository;
 import io.katharsis.repository.annotated.AnnotatedResourceRepositoryAdapter;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.registry.ResourceRegistry;
@@ -47,8 +53,14 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable> extends Respo
 			resources = ((AnnotatedResourceRepositoryAdapter) resourceRepository).findAll(queryAdapter);
 		}
 		else if (resourceRepository instanceof QuerySpecResourceRepository) {
-			resources = ((QuerySpecResourceRepository) resourceRepository)
-					.findAll(toQuerySpec(queryAdapter, resourceInformation.getResourceClass()));
+			QuerySpec querySpec = toQuerySpec(queryAdapter, resourceInformation.getResourceClass());
+			resources = null;
+			if (resourceRepository instanceof QuerySpecStreamingRepository) {
+				resources = ((QuerySpecStreamingRepository) resourceRepository).stream(querySpec);
+			}
+			if (resources == null) {
+				resources = ((QuerySpecResourceRepository) resourceRepository).findAll(querySpec);
+			}
 		}
 		else {
 			resources = ((ResourceRepository) resourceRepository).findAll(toQueryParams(queryAdapter));
@@ -72,17 +84,63 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable> extends Respo
 	}
 
 	public <S extends T> JsonApiResponse save(S entity, QueryAdapter queryAdapter) {
-		Object resource;
+		Object resource = doSave(entity);
+		return getResponse(resourceRepository, resource, new RequestSpec(queryAdapter));
+	}
+
+	private Object doSave(Object entity) {
 		if (isAnnotated) {
-			resource = ((AnnotatedResourceRepositoryAdapter) resourceRepository).save(entity);
+			return ((AnnotatedResourceRepositoryAdapter) resourceRepository).save(entity);
 		}
 		else if (resourceRepository instanceof QuerySpecResourceRepository) {
-			resource = ((QuerySpecResourceRepository) resourceRepository).save(entity);
+			return ((QuerySpecResourceRepository) resourceRepository).save(entity);
 		}
 		else {
-			resource = ((ResourceRepository) resourceRepository).save(entity);
+			return ((ResourceRepository) resourceRepository).save(entity);
 		}
-		return getResponse(resourceRepository, resource, new RequestSpec(queryAdapter));
+	}
+
+	/**
+	 * Saves the given resources with a single call if the repository implements {@link QuerySpecBulkResourceRepository},
+	 * otherwise one by one.
+	 *
+	 * @param entities to save
+	 * @param queryAdapter of the request
+	 * @param <S> resource type
+	 * @return response holding the list of saved resources
+	 */
+	public <S extends T> JsonApiResponse saveAll(Iterable<S> entities, QueryAdapter queryAdapter) {
+		List<Object> resources;
+		if (resourceRepository instanceof QuerySpecBulkResourceRepository) {
+			resources = new ArrayList<Object>(((QuerySpecBulkResourceRepository) resourceRepository).saveAll(entities));
+		}
+		else {
+			resources = new ArrayList<>();
+			for (S entity : entities) {
+				resources.add(doSave(entity));
+			}
+		}
+		return getResponse(resourceRepository, resources, new RequestSpec(queryAdapter));
+	}
+
+	/**
+	 * Deletes the given resources with a single call if the repository implements
+	 * {@link QuerySpecBulkResourceRepository}, otherwise one by one.
+	 *
+	 * @param ids to delete
+	 * @param queryAdapter of the request
+	 * @return empty response
+	 */
+	public JsonApiResponse deleteAll(Iterable<ID> ids, QueryAdapter queryAdapter) {
+		if (resourceRepository instanceof QuerySpecBulkResourceRepository) {
+			((QuerySpecBulkResourceRepository) resourceRepository).deleteAll(ids);
+		}
+		else {
+			for (ID id : ids) {
+				delete(id, queryAdapter);
+			}
+		}
+		return new JsonApiResponse();
 	}
 
 	public JsonApiResponse delete(ID id, QueryAdapter queryAdapter) {
@@ -98,6 +156,17 @@ public class ResourceRepositoryAdapter<T, ID extends Serializable> extends Respo
 		return new JsonApiResponse();
 	}
 
+	/**
+	 * @return version provided by a {@link VersionedRepository} or <i>null</i> if the repository does not provide one
+	 */
+	public String getVersion(Iterable<ID> ids, QueryAdapter queryAdapter) {
+		if (resourceRepository instanceof VersionedRepository) {
+			return ((VersionedRepository<ID>) resourceRepository).getVersion(ids,
+					toQuerySpec(queryAdapter, resourceInformation.getResourceClass()));
+		}
+		return null;
+	}
+
 	public Object getResourceRepository() {
 		return resourceRepository;
 	}
@@ -16,7 +16,9 @@ import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.JsonApiResponse;
 import io.katharsis.response.LinksInformation;
 import io.katharsis.response.MetaInformation;
+import io.katharsis.response.paging.CursorPagedResultList;
 import io.katharsis.response.paging.DefaultPagedLinksInformation;
+import io.katharsis.response.paging.HasNextPagedResultList;
 import io.katharsis.response.paging.PagedLinksInformation;
 import io.katharsis.response.paging.PagedResultList;
 import io.katharsis.utils.JsonApiUrlBuilder;
@@ -121,7 +123,17 @@ public abstract class ResponseRepository {
 		}
 		if(!hasPageLinks(pagedLinksInformation)){
 			PagedResultList<?> pageResultList = (PagedResultList<?>) resources;
-			doEnrichPageLinksInformation(pagedLinksInformation, pageResultList, queryAdapter, requestSpec);
+			if (pageResultList instanceof CursorPagedResultList) {
+				doEnrichCursorLinksInformation(pagedLinksInformation, (CursorPagedResultList<?>) pageResultList, queryAdapter,
+						requestSpec);
+			}
+			else if (pageResultList instanceof HasNextPagedResultList) {
+				doEnrichHasNextLinksInformation(pagedLinksInformation, (HasNextPagedResultList<?>) pageResultList, queryAdapter,
+						requestSpec);
+			}
+			else if (pageResultList.getTotalCount() != null) {
+				doEnrichPageLinksInformation(pagedLinksInformation, pageResultList, queryAdapter, requestSpec);
+			}
 		}
 		return pagedLinksInformation;
 	}
@@ -164,6 +176,47 @@ public abstract class ResponseRepository {
 		}
 	}
 	
+	private void doEnrichCursorLinksInformation(PagedLinksInformation pagedLinksInformation,
+			CursorPagedResultList<?> pageResultList, QueryAdapter queryAdapter, RequestSpec requestSpec) {
+		QuerySpecAdapter pageSpec = (QuerySpecAdapter) queryAdapter.duplicate();
+		pageSpec.setOffset(0);
+
+		pageSpec.getQuerySpec().setCursor("");
+		pagedLinksInformation.setFirst(toUrl(pageSpec, pageResultList, requestSpec));
+
+		if (pageResultList.getPrevCursor() != null) {
+			pageSpec.getQuerySpec().setCursor(pageResultList.getPrevCursor());
+			pagedLinksInformation.setPrev(toUrl(pageSpec, pageResultList, requestSpec));
+		}
+
+		if (pageResultList.getNextCursor() != null) {
+			pageSpec.getQuerySpec().setCursor(pageResultList.getNextCursor());
+			pagedLinksInformation.setNext(toUrl(pageSpec, pageResultList, requestSpec));
+		}
+	}
+
+	private void doEnrichHasNextLinksInformation(PagedLinksInformation pagedLinksInformation,
+			HasNextPagedResultList<?> pageResultList, QueryAdapter queryAdapter, RequestSpec requestSpec) {
+		long pageSize = queryAdapter.getLimit().longValue();
+		long offset = queryAdapter.getOffset();
+
+		QueryAdapter pageSpec = queryAdapter.duplicate();
+		pageSpec.setLimit(pageSize);
+
+		pageSpec.setOffset(0);
+		pagedLinksInformation.setFirst(toUrl(pageSpec, pageResultList, requestSpec));
+
+		if (offset > 0) {
+			pageSpec.setOffset(Math.max(offset - pageSize, 0));
+			pagedLinksInformation.setPrev(toUrl(pageSpec, pageResultList, requestSpec));
+		}
+
+		if (pageResultList.hasNext()) {
+			pageSpec.setOffset(offset + pageSize);
+			pagedLinksInformation.setNext(toUrl(pageSpec, pageResultList, requestSpec));
+		}
+	}
+
 	/**
 	 * Add some point maybe a more prominent api is necessary for this. But i likely should
 	 * be keept separate from QuerySpec.
@@ -0,0 +1,51 @@
+package io.katharsis.response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * {@link ResultStream} backed by an iterator, for example over a database cursor that is released by the given
+ * {@link Closeable}.
+ *
+ * @param <T> resource type
+ */
+public class IteratorResultStream<T> implements ResultStream<T> {
+
+	private Iterator<T> iterator;
+
+	private final Closeable closeable;
+
+	private boolean closed;
+
+	public IteratorResultStream(Iterator<T> iterator) {
+		this(iterator, null);
+	}
+
+	/**
+	 * @param iterator over the resources
+	 * @param closeable to release the resources backing the iterator or <code>null</code>
+	 */
+	public IteratorResultStream(Iterator<T> iterator, Closeable closeable) {
+		this.iterator = iterator;
+		this.closeable = closeable;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		if (iterator == null) {
+			throw new IllegalStateException("result stream can be iterated only once");
+		}
+		Iterator<T> result = iterator;
+		iterator = null;
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closeable != null && !closed) {
+			closed = true;
+			closeable.close();
+		}
+	}
+}
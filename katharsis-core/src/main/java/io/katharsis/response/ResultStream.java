@@ -0,0 +1,21 @@
+package io.katharsis.response;
+
+import java.io.Closeable;
+
+/**
+ * Lazily fetched resources of a collection that may be too large to be held in memory, for example a nightly export.
+ * Repositories return it from <i>findAll</i> or from
+ * {@link io.katharsis.queryspec.QuerySpecStreamingRepository#stream(io.katharsis.queryspec.QuerySpec)}. The
+ * resources are written to the response one after another as they are fetched and the stream is closed once the
+ * response is written.
+ * <p>
+ * A stream can be iterated only once. Meta and links repositories receive the stream but must not iterate it,
+ * relationships are not looked up for streamed resources (see
+ * {@link io.katharsis.resource.annotations.JsonApiLookupIncludeAutomatically}), only relationships already set on the
+ * resources are included.
+ *
+ * @param <T> resource type
+ */
+public interface ResultStream<T> extends Iterable<T>, Closeable {
+
+}
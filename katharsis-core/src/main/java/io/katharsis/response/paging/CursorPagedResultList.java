@@ -0,0 +1,35 @@
+package io.katharsis.response.paging;
+
+import java.util.List;
+
+/**
+ * {@link PagedResultList} of a repository implementing keyset pagination. Katharsis computes the first, next and
+ * previous links from the cursors, see {@link io.katharsis.queryspec.QuerySpec#setCursor(String)}. The total count is
+ * optional and usually not available, no last link is computed.
+ */
+public class CursorPagedResultList<T> extends PagedResultList<T> {
+
+	private String nextCursor;
+
+	private String prevCursor;
+
+	public CursorPagedResultList(List<T> list, Long totalCount, String nextCursor, String prevCursor) {
+		super(list, totalCount);
+		this.nextCursor = nextCursor;
+		this.prevCursor = prevCursor;
+	}
+
+	/**
+	 * @return cursor of the next page or <code>null</code> if this is the last page
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	/**
+	 * @return cursor of the previous page or <code>null</code> if this is the first page
+	 */
+	public String getPrevCursor() {
+		return prevCursor;
+	}
+}
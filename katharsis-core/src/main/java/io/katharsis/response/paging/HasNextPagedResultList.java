@@ -0,0 +1,25 @@
+package io.katharsis.response.paging;
+
+import java.util.List;
+
+/**
+ * {@link PagedResultList} of a repository that does not know the exact total number of resources, but whether there
+ * is a page following the current one, for example by fetching one resource more than requested. Katharsis computes
+ * the first, previous and next links, no last link is computed. The total count is optional and may hold an estimate.
+ */
+public class HasNextPagedResultList<T> extends PagedResultList<T> {
+
+	private boolean hasNext;
+
+	public HasNextPagedResultList(List<T> list, Long totalCount, boolean hasNext) {
+		super(list, totalCount);
+		this.hasNext = hasNext;
+	}
+
+	/**
+	 * @return true if there is a page following this one
+	 */
+	public boolean hasNext() {
+		return hasNext;
+	}
+}
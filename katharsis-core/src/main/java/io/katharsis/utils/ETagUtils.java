@@ -0,0 +1,118 @@
+package io.katharsis.utils;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Computes and compares the ETags used by the integrations to answer conditional GET requests. Strong ETags are
+ * computed from the response body while it is written, see {@link #newDigest()}. Weak ETags are derived from the
+ * version reported by a {@link io.katharsis.repository.VersionedRepository} together with the request, since the
+ * same version results in different documents for e.g. different sparse fieldsets.
+ */
+public class ETagUtils {
+
+    public static final String ETAG_HEADER = "ETag";
+
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    private static final String DIGEST_ALGORITHM = "MD5";
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtils() {
+    }
+
+    /**
+     * @return digest to pass the response body through, see {@link #fromDigest(MessageDigest)}
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param digest digest of the response body
+     * @return strong ETag
+     */
+    public static String fromDigest(MessageDigest digest) {
+        return '"' + toHex(digest.digest()) + '"';
+    }
+
+    /**
+     * @param version version of the requested resources
+     * @param path request path
+     * @param parameters query parameters of the request
+     * @return weak ETag
+     */
+    public static String fromVersion(String version, String path, Map<String, Set<String>> parameters) {
+        MessageDigest digest = newDigest();
+        update(digest, version);
+        update(digest, path);
+        if (parameters != null) {
+            for (Map.Entry<String, Set<String>> parameter : new TreeMap<>(parameters).entrySet()) {
+                update(digest, parameter.getKey());
+                if (parameter.getValue() != null) {
+                    for (String value : new TreeSet<>(parameter.getValue())) {
+                        update(digest, value);
+                    }
+                }
+            }
+        }
+        return WEAK_PREFIX + '"' + toHex(digest.digest()) + '"';
+    }
+
+    /**
+     * Compares the ETag of a response with the <i>If-None-Match</i> header of the request using the weak comparison
+     * required for this header.
+     *
+     * @param ifNoneMatch header value, may be <i>null</i>
+     * @param etag of the response, may be <i>null</i>
+     * @return <i>true</i> if the client has an up-to-date representation
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = toOpaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate) || toOpaqueTag(candidate).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toOpaqueTag(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(UTF8));
+        }
+        // separator, so that e.g. ("ab", "c") and ("a", "bc") differ
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,79 @@
+package io.katharsis.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Holds the resolved members used to read and write a single bean property. Instances are created once per
+ * (class, property) pair by {@link PropertyUtils} and reused, so the class hierarchy does not have to be scanned on
+ * every access. A <i>null</i> getter or setter means the property cannot be read or written that way and the caller is
+ * responsible for reporting the error.
+ */
+class PropertyAccessor {
+
+    private final Class<?> propertyClass;
+    private final Type propertyType;
+    private final Field field;
+    private final Method getter;
+    private final Method setter;
+    private final Class<?> writeClass;
+
+    PropertyAccessor(Class<?> propertyClass, Type propertyType, Field field, Method getter, Method setter) {
+        this.propertyClass = propertyClass;
+        this.propertyType = propertyType;
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+        if (field != null) {
+            this.writeClass = field.getType();
+        } else {
+            this.writeClass = setter != null ? setter.getParameterTypes()[0] : null;
+        }
+    }
+
+    public Class<?> getPropertyClass() {
+        return propertyClass;
+    }
+
+    public Type getPropertyType() {
+        return propertyType;
+    }
+
+    /**
+     * @return <i>true</i> if the value can be obtained with a public field or a getter
+     */
+    public boolean isReadable() {
+        return field != null || getter != null;
+    }
+
+    /**
+     * @return <i>true</i> if the value can be assigned with a public field or a setter
+     */
+    public boolean isWritable() {
+        return field != null || setter != null;
+    }
+
+    /**
+     * @return class the value is converted to before being assigned
+     */
+    public Class<?> getWriteClass() {
+        return writeClass;
+    }
+
+    public Object getValue(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (field != null) {
+            return field.get(bean);
+        }
+        return getter.invoke(bean);
+    }
+
+    public void setValue(Object bean, Object value) throws IllegalAccessException, InvocationTargetException {
+        if (field != null) {
+            field.set(bean, value);
+        } else {
+            setter.invoke(bean, value);
+        }
+    }
+}
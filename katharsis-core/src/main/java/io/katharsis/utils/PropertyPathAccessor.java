@@ -0,0 +1,75 @@
+package io.katharsis.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the value of a property path like {@link PropertyUtils#getProperty(Object, List)}, but keeps the accessor
+ * of every path element resolved for the class it has last been used with. Meant to be created once and applied to
+ * many beans of the same type, like the filters and comparators compiled by
+ * {@link io.katharsis.queryspec.InMemoryEvaluator}. A <i>null</i> value along the path results in <i>null</i>.
+ */
+public class PropertyPathAccessor {
+
+    private final List<String> path;
+
+    private final ResolvedAccessor[] resolvedAccessors;
+
+    public PropertyPathAccessor(List<String> path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("No property path specified");
+        }
+        this.path = Collections.unmodifiableList(new ArrayList<>(path));
+        this.resolvedAccessors = new ResolvedAccessor[path.size()];
+    }
+
+    public List<String> getPath() {
+        return path;
+    }
+
+    /**
+     * @param bean bean to be accessed
+     * @return value at the end of the property path
+     */
+    public Object getValue(Object bean) {
+        Object current = bean;
+        for (int i = 0; i < resolvedAccessors.length && current != null; i++) {
+            current = getValue(current, i);
+        }
+        return current;
+    }
+
+    private Object getValue(Object bean, int index) {
+        Class<?> beanClass = bean.getClass();
+        ResolvedAccessor resolvedAccessor = resolvedAccessors[index];
+        if (resolvedAccessor == null || resolvedAccessor.beanClass != beanClass) {
+            // instances are immutable, a concurrent reader sees either the previous or the new one
+            resolvedAccessor = new ResolvedAccessor(beanClass, PropertyUtils.getReadAccessor(beanClass, path.get(index)));
+            resolvedAccessors[index] = resolvedAccessor;
+        }
+        try {
+            return resolvedAccessor.accessor.getValue(bean);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw PropertyUtils.handleReflectionException(bean, path.get(index), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyPathAccessor" + path;
+    }
+
+    private static final class ResolvedAccessor {
+
+        private final Class<?> beanClass;
+
+        private final PropertyAccessor accessor;
+
+        private ResolvedAccessor(Class<?> beanClass, PropertyAccessor accessor) {
+            this.beanClass = beanClass;
+            this.accessor = accessor;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.katharsis.repository.exception.RepositoryMethodException;
 
@@ -22,6 +24,8 @@ public class PropertyUtils {
 
     private static final PropertyUtils INSTANCE = new PropertyUtils();
 
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, PropertyAccessor>> accessors = new ConcurrentHashMap<>();
+
     private PropertyUtils() {
     }
 
@@ -60,11 +64,7 @@ public class PropertyUtils {
      * @return bean's property class
      */
     public static Class<?> getPropertyClass(Class<?> beanClass, String field) {
-        try {
-            return INSTANCE.findPropertyClass(beanClass, field);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw handleReflectionException(beanClass, field, e);
-        }
+        return INSTANCE.findPropertyClass(beanClass, field);
     }
     
     /**
@@ -75,11 +75,7 @@ public class PropertyUtils {
      * @return bean's property class
      */
     public static Type getPropertyType(Class<?> beanClass, String field) {
-        try {
-            return INSTANCE.findPropertyType(beanClass, field);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw handleReflectionException(beanClass, field, e);
-        }
+        return INSTANCE.findPropertyType(beanClass, field);
     }
 
     /**
@@ -115,6 +111,23 @@ public class PropertyUtils {
 	}
 
     
+    /**
+     * Returns the accessor used to read the given property, failing like {@link PropertyUtils#getProperty(Object, String)}
+     * if there is none. Used by {@link PropertyPathAccessor} to resolve an accessor once per class.
+     */
+    static PropertyAccessor getReadAccessor(Class<?> beanClass, String field) {
+        PropertyAccessor accessor = INSTANCE.getExistingAccessor(beanClass, field);
+        if (!accessor.isReadable()) {
+            try {
+                // fails with the appropriate exception
+                INSTANCE.getGetter(beanClass, field);
+            } catch (NoSuchMethodException e) {
+                throw new PropertyException(e, beanClass, field);
+            }
+        }
+        return accessor;
+    }
+
     private void checkParameters(Object bean, String field) {
         if (bean == null) {
             throw new IllegalArgumentException("No bean specified");
@@ -127,59 +140,93 @@ public class PropertyUtils {
     private Object getPropertyValue(Object bean, String fieldName)
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
 
-        Field foundField = findField(bean.getClass(), fieldName);
-        if (foundField != null) {
-            if (!Modifier.isPublic(foundField.getModifiers())) {
-                Method getter = getGetter(bean.getClass(), foundField.getName());
-                return getter.invoke(bean);
-            } else {
-                return foundField.get(bean);
+        Class<?> beanClass = bean.getClass();
+        PropertyAccessor accessor = getExistingAccessor(beanClass, fieldName);
+        if (!accessor.isReadable()) {
+            // fails with the appropriate exception
+            getGetter(beanClass, fieldName);
+        }
+        return accessor.getValue(bean);
+    }
+
+    private Class<?> findPropertyClass(Class<?> beanClass, String fieldName) {
+        return getExistingAccessor(beanClass, fieldName).getPropertyClass();
+    }
+
+    private Type findPropertyType(Class<?> beanClass, String fieldName) {
+        return getExistingAccessor(beanClass, fieldName).getPropertyType();
+    }
+
+    private PropertyAccessor getExistingAccessor(Class<?> beanClass, String fieldName) {
+        PropertyAccessor accessor = getAccessor(beanClass, fieldName);
+        if (accessor == null) {
+            String message = String
+                .format("Cannot find an getter for %s.%s", beanClass.getCanonicalName(), fieldName);
+            throw new PropertyException(message, beanClass, fieldName);
+        }
+        return accessor;
+    }
+
+    /**
+     * Returns the cached accessor of a property and resolves it on first use. Properties which cannot be found are
+     * not cached to not let unknown names, e.g. taken from request parameters, grow the cache.
+     *
+     * @return accessor or <i>null</i> if the class has neither a field nor a getter with the given name
+     */
+    private PropertyAccessor getAccessor(Class<?> beanClass, String fieldName) {
+        ConcurrentMap<String, PropertyAccessor> classAccessors = accessors.get(beanClass);
+        if (classAccessors == null) {
+            classAccessors = new ConcurrentHashMap<>();
+            ConcurrentMap<String, PropertyAccessor> existing = accessors.putIfAbsent(beanClass, classAccessors);
+            if (existing != null) {
+                classAccessors = existing;
             }
-        } else {
-            Method getter = findGetter(bean.getClass(), fieldName);
-            if (getter == null) {
-                String message = String
-                    .format("Cannot find an getter for %s.%s", bean.getClass().getCanonicalName(), fieldName);
-                throw new PropertyException(message, bean.getClass(), fieldName);
+        }
+
+        PropertyAccessor accessor = classAccessors.get(fieldName);
+        if (accessor == null) {
+            accessor = resolveAccessor(beanClass, fieldName);
+            if (accessor != null) {
+                classAccessors.putIfAbsent(fieldName, accessor);
             }
-            return getter.invoke(bean);
         }
+        return accessor;
     }
 
-    
-    private Class<?> findPropertyClass(Class<?> beanClass, String fieldName)
-        throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-
+    private PropertyAccessor resolveAccessor(Class<?> beanClass, String fieldName) {
         Field foundField = findField(beanClass, fieldName);
         if (foundField != null) {
-        	return foundField.getType();
+            if (Modifier.isPublic(foundField.getModifiers())) {
+                return new PropertyAccessor(foundField.getType(), foundField.getGenericType(), foundField, null, null);
+            }
+            Method getter = findMethod(beanClass, "get" + toUpperCaseName(fieldName));
+            if (getter == null) {
+                getter = findMethod(beanClass, "is" + toUpperCaseName(fieldName));
+            }
+            Method setter = findMethod(beanClass, "set" + toUpperCaseName(fieldName), foundField.getType());
+            return new PropertyAccessor(foundField.getType(), foundField.getGenericType(), null, getter, setter);
         } else {
             Method getter = findGetter(beanClass, fieldName);
             if (getter == null) {
-                String message = String
-                    .format("Cannot find an getter for %s.%s", beanClass.getCanonicalName(), fieldName);
-                throw new PropertyException(message, beanClass, fieldName);
+                return null;
             }
-            return getter.getReturnType();
+            String getterFieldName = getGetterFieldName(getter);
+            Method setter = findMethod(beanClass, "set" + toUpperCaseName(getterFieldName), getter.getReturnType());
+            return new PropertyAccessor(getter.getReturnType(), getter.getGenericReturnType(), null, getter, setter);
         }
     }
-    
-    private Type findPropertyType(Class<?> beanClass, String fieldName)
-            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-
-            Field foundField = findField(beanClass, fieldName);
-            if (foundField != null) {
-            	return foundField.getGenericType();
-            } else {
-                Method getter = findGetter(beanClass, fieldName);
-                if (getter == null) {
-                    String message = String
-                        .format("Cannot find an getter for %s.%s", beanClass.getCanonicalName(), fieldName);
-                    throw new PropertyException(message, beanClass, fieldName);
-                }
-                return getter.getGenericReturnType();
-            }
+
+    private static Method findMethod(Class<?> beanClass, String name, Class<?>... parameterTypes) {
+        try {
+            return beanClass.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
         }
+    }
+
+    private static String toUpperCaseName(String fieldName) {
+        return fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+    }
 
     private Method findGetter(Class<?> beanClass, String fieldName) {
         List<Method> classGetters = ClassUtils.getClassGetters(beanClass);
@@ -216,7 +263,7 @@ public class PropertyUtils {
     }
 
     private Method getGetter(Class<?> beanClass, String fieldName) throws NoSuchMethodException {
-        String upperCaseName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+        String upperCaseName = toUpperCaseName(fieldName);
 
         try {
             return beanClass.getMethod("get" + upperCaseName);
@@ -264,7 +311,7 @@ public class PropertyUtils {
         }
     }
 
-    private static RuntimeException handleReflectionException(Object bean, String field, ReflectiveOperationException e) {
+    static RuntimeException handleReflectionException(Object bean, String field, ReflectiveOperationException e) {
         if (e instanceof InvocationTargetException &&
             ((InvocationTargetException) e).getTargetException() instanceof RuntimeException) {
             return (RuntimeException) ((InvocationTargetException) e).getTargetException();
@@ -274,25 +321,17 @@ public class PropertyUtils {
 
     private void setPropertyValue(Object bean, String fieldName, Object value)
         throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-        Field foundField = findField(bean.getClass(), fieldName);
-
-        if (foundField != null) {
-            if ( !Modifier.isPublic(foundField.getModifiers())) {
-                Method setter = getSetter(bean, foundField.getName(), foundField.getType());
-                setter.invoke(bean, prepareValue(value, setter.getParameterTypes()[0]));
-            } else {
-                foundField.set(bean, prepareValue(value, foundField.getType()));
-            }
-        } else {
-            Method getter = findGetter(bean.getClass(), fieldName);
-            if (getter == null) {
-                String message = String.format("Cannot find a getter for %s.%s", bean.getClass().getCanonicalName(), fieldName);
-                throw new PropertyException(message, bean.getClass(), fieldName);
-            }
-            String getterFieldName = getGetterFieldName(getter);
-            Method setter = getSetter(bean, getterFieldName, getter.getReturnType());
-            setter.invoke(bean, prepareValue(value, setter.getParameterTypes()[0]));
+        Class<?> beanClass = bean.getClass();
+        PropertyAccessor accessor = getAccessor(beanClass, fieldName);
+        if (accessor == null) {
+            String message = String.format("Cannot find a getter for %s.%s", beanClass.getCanonicalName(), fieldName);
+            throw new PropertyException(message, beanClass, fieldName);
+        }
+        if (!accessor.isWritable()) {
+            // fails with the appropriate exception
+            getSetter(bean, fieldName, accessor.getPropertyClass());
         }
+        accessor.setValue(bean, prepareValue(value, accessor.getWriteClass()));
     }
 
     @SuppressWarnings("unchecked")
@@ -311,7 +350,7 @@ public class PropertyUtils {
     private Method getSetter(Object bean, String fieldName, Class<?> fieldType) throws NoSuchMethodException {
         Class<?> beanClass = bean.getClass();
 
-        String upperCaseName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+        String upperCaseName = toUpperCaseName(fieldName);
 
         return beanClass.getMethod("set" + upperCaseName, fieldType);
     }
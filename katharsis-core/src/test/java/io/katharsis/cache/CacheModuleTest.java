@@ -0,0 +1,450 @@
+package io.katharsis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.cache.internal.CachedRelationshipRepository;
+import io.katharsis.cache.internal.CachedResourceRepository;
+import io.katharsis.dispatcher.filter.Filter;
+import io.katharsis.dispatcher.filter.FilterChain;
+import io.katharsis.dispatcher.filter.FilterRequestContext;
+import io.katharsis.locator.JsonServiceLocator;
+import io.katharsis.module.ModuleRegistry;
+import io.katharsis.module.SimpleModule;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecRelationshipRepository;
+import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.repository.RepositoryInstanceBuilder;
+import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.annotations.JsonApiCache;
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.AnnotationResourceInformationBuilder;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.registry.ConstantServiceUrlProvider;
+import io.katharsis.resource.registry.RegistryEntry;
+import io.katharsis.resource.registry.ResourceRegistry;
+import io.katharsis.resource.registry.repository.DirectResponseResourceEntry;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.paging.CursorPagedResultList;
+import io.katharsis.response.paging.PagedResultList;
+
+public class CacheModuleTest {
+
+    private CountingTaskRepository taskRepository;
+
+    private CountingTaskToProjectRepository taskToProjectRepository;
+
+    private CacheModule cacheModule;
+
+    private ResourceRegistry resourceRegistry;
+
+    private ModuleRegistry moduleRegistry;
+
+    @Before
+    public void setup() {
+        taskRepository = new CountingTaskRepository();
+        taskToProjectRepository = new CountingTaskToProjectRepository();
+
+        SimpleModule module = new SimpleModule("test");
+        module.addResourceInformationBuilder(new AnnotationResourceInformationBuilder(new ResourceFieldNameTransformer()));
+        module.addRepository(Task.class, taskRepository);
+        module.addRepository(Task.class, Project.class, taskToProjectRepository);
+        module.addRepository(ReferenceData.class, new CountingReferenceDataRepository());
+
+        cacheModule = new CacheModule();
+        cacheModule.setPolicy(Task.class, new CachePolicy(10, 1, TimeUnit.MINUTES));
+        cacheModule.setPolicy(Project.class, new CachePolicy(10, 1, TimeUnit.MINUTES));
+
+        resourceRegistry = new ResourceRegistry(new ConstantServiceUrlProvider("http://localhost"));
+        moduleRegistry = new ModuleRegistry();
+        moduleRegistry.addModule(module);
+        moduleRegistry.addModule(cacheModule);
+        moduleRegistry.init(new ObjectMapper(), resourceRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private QuerySpecResourceRepository<Task, Long> getTaskRepository() {
+        return (QuerySpecResourceRepository<Task, Long>) resourceRegistry.getEntry(Task.class).getResourceRepository(null)
+            .getResourceRepository();
+    }
+
+    @SuppressWarnings("unchecked")
+    private QuerySpecRelationshipRepository<Task, Long, Project, Long> getTaskToProjectRepository() {
+        return (QuerySpecRelationshipRepository<Task, Long, Project, Long>) resourceRegistry.getEntry(Task.class)
+            .getRelationshipRepositoryForClass(Project.class, null).getRelationshipRepository();
+    }
+
+    @Test
+    public void onEqualQuerySpecShouldReturnCachedResult() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Task.class);
+        querySpec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "a"));
+        querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GT, 1L));
+        QuerySpec reordered = new QuerySpec(Task.class);
+        reordered.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GT, 1L));
+        reordered.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "a"));
+
+        // WHEN
+        Iterable<Task> first = getTaskRepository().findAll(querySpec);
+        Iterable<Task> second = getTaskRepository().findAll(reordered);
+
+        // THEN
+        assertThat(getTaskRepository()).isInstanceOf(CachedResourceRepository.class);
+        assertThat(taskRepository.numFindAll).isEqualTo(1);
+        assertThat(second).extracting("id").containsExactly(1L);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.iterator().next()).isNotSameAs(first.iterator().next());
+    }
+
+    @Test
+    public void onPagedResultShouldKeepPagingInformation() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Task.class);
+        querySpec.setLimit(1L);
+        QuerySpec cursorQuerySpec = new QuerySpec(Task.class);
+        cursorQuerySpec.setLimit(1L);
+        cursorQuerySpec.setCursor("a");
+
+        // WHEN
+        getTaskRepository().findAll(querySpec);
+        Iterable<Task> paged = getTaskRepository().findAll(querySpec);
+        getTaskRepository().findAll(cursorQuerySpec);
+        Iterable<Task> cursorPaged = getTaskRepository().findAll(cursorQuerySpec);
+
+        // THEN
+        assertThat(taskRepository.numFindAll).isEqualTo(2);
+        assertThat(paged).isInstanceOf(PagedResultList.class).hasSize(1);
+        assertThat(((PagedResultList<Task>) paged).getTotalCount()).isEqualTo(5L);
+        assertThat(cursorPaged).isInstanceOf(CursorPagedResultList.class).hasSize(1);
+        assertThat(((CursorPagedResultList<Task>) cursorPaged).getNextCursor()).isEqualTo("b");
+        assertThat(((CursorPagedResultList<Task>) cursorPaged).getPrevCursor()).isNull();
+    }
+
+    @Test
+    public void onModifiedResultShouldNotModifyCache() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Task.class);
+        Task task = getTaskRepository().findOne(1L, querySpec);
+
+        // WHEN
+        task.setName("modified");
+        getTaskRepository().findAll(querySpec).iterator().next().setProject(new Project());
+        Task cachedTask = getTaskRepository().findOne(1L, querySpec);
+        Task cachedListTask = getTaskRepository().findAll(querySpec).iterator().next();
+
+        // THEN
+        assertThat(taskRepository.numFindOne).isEqualTo(1);
+        assertThat(taskRepository.numFindAll).isEqualTo(1);
+        assertThat(cachedTask.getId()).isEqualTo(1L);
+        assertThat(cachedTask.getName()).isNull();
+        assertThat(cachedListTask.getProject()).isNull();
+    }
+
+    @Test
+    public void onModifyingRequestShouldBypassCache() {
+        // GIVEN
+        final QuerySpec querySpec = new QuerySpec(Task.class);
+        getTaskRepository().findOne(1L, querySpec);
+        FilterRequestContext requestContext = Mockito.mock(FilterRequestContext.class);
+        Mockito.when(requestContext.getMethod()).thenReturn("PATCH");
+        Mockito.when(requestContext.getJsonPath()).thenReturn(new ResourcePath("tasks"));
+        FilterChain chain = new FilterChain() {
+
+            @Override
+            public BaseResponseContext doFilter(FilterRequestContext context) {
+                getTaskRepository().findOne(1L, querySpec);
+                getTaskRepository().findOne(1L, querySpec);
+                return null;
+            }
+        };
+
+        // WHEN
+        for (Filter filter : moduleRegistry.getFilters()) {
+            filter.filter(requestContext, chain);
+        }
+
+        // THEN
+        assertThat(taskRepository.numFindOne).isEqualTo(3);
+    }
+
+    @Test
+    public void onDifferentQuerySpecShouldCallRepository() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Task.class);
+        QuerySpec limited = new QuerySpec(Task.class);
+        limited.setLimit(1L);
+
+        // WHEN
+        getTaskRepository().findAll(querySpec);
+        getTaskRepository().findAll(limited);
+        getTaskRepository().findOne(1L, querySpec);
+        getTaskRepository().findOne(2L, querySpec);
+        getTaskRepository().findOne(1L, querySpec);
+
+        // THEN
+        assertThat(taskRepository.numFindAll).isEqualTo(2);
+        assertThat(taskRepository.numFindOne).isEqualTo(2);
+    }
+
+    @Test
+    public void onSaveShouldInvalidateResourceAndRelationships() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Task.class);
+        QuerySpec projectQuerySpec = new QuerySpec(Project.class);
+        getTaskRepository().findAll(querySpec);
+        getTaskToProjectRepository().findOneTarget(1L, "project", projectQuerySpec);
+
+        // WHEN
+        getTaskRepository().save(new Task());
+        getTaskRepository().findAll(querySpec);
+        getTaskToProjectRepository().findOneTarget(1L, "project", projectQuerySpec);
+
+        // THEN
+        assertThat(taskRepository.numFindAll).isEqualTo(2);
+        assertThat(taskToProjectRepository.numFindOneTarget).isEqualTo(2);
+    }
+
+    @Test
+    public void onRelationshipChangeShouldInvalidateRelationships() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Project.class);
+        getTaskToProjectRepository().findOneTarget(1L, "project", querySpec);
+        getTaskToProjectRepository().findOneTarget(1L, "project", querySpec);
+
+        // WHEN
+        getTaskToProjectRepository().setRelation(new Task(), 2L, "project");
+        getTaskToProjectRepository().findOneTarget(1L, "project", querySpec);
+
+        // THEN
+        assertThat(getTaskToProjectRepository()).isInstanceOf(CachedRelationshipRepository.class);
+        assertThat(taskToProjectRepository.numFindOneTarget).isEqualTo(2);
+    }
+
+    @Test
+    public void onModifyingRequestShouldInvalidateResourceType() {
+        // GIVEN
+        QuerySpec querySpec = new QuerySpec(Project.class);
+        getTaskToProjectRepository().findOneTarget(1L, "project", querySpec);
+        FilterRequestContext requestContext = Mockito.mock(FilterRequestContext.class);
+        Mockito.when(requestContext.getMethod()).thenReturn("DELETE");
+        Mockito.when(requestContext.getJsonPath()).thenReturn(new ResourcePath("tasks"));
+        FilterChain chain = Mockito.mock(FilterChain.class);
+
+        // WHEN
+        for (Filter filter : moduleRegistry.getFilters()) {
+            filter.filter(requestContext, chain);
+        }
+        getTaskToProjectRepository().findOneTarget(1L, "project", querySpec);
+
+        // THEN
+        Mockito.verify(chain).doFilter(requestContext);
+        assertThat(taskToProjectRepository.numFindOneTarget).isEqualTo(2);
+    }
+
+    @Test
+    public void onAnnotatedResourceShouldUseAnnotatedPolicy() {
+        // WHEN
+        CachePolicy policy = cacheModule.getPolicy(ReferenceData.class);
+
+        // THEN
+        assertThat(policy.getMaxSize()).isEqualTo(5);
+        assertThat(policy.getTimeToLiveMillis()).isEqualTo(TimeUnit.HOURS.toMillis(1));
+        assertThat(resourceRegistry.getEntry(ReferenceData.class).getResourceRepository(null).getResourceRepository())
+            .isInstanceOf(CachedResourceRepository.class);
+        assertThat(cacheModule.getPolicy(Object.class)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void onScannedRepositoryShouldShareCachedResults() {
+        // GIVEN
+        final List<CountingTaskRepository> instances = new ArrayList<>();
+        JsonServiceLocator serviceLocator = new JsonServiceLocator() {
+
+            @Override
+            public <T> T getInstance(Class<T> clazz) {
+                CountingTaskRepository repository = new CountingTaskRepository();
+                instances.add(repository);
+                return (T) repository;
+            }
+        };
+        ResourceRegistry scannedRegistry = new ResourceRegistry(new ConstantServiceUrlProvider("http://localhost"));
+        ResourceInformation resourceInformation = new AnnotationResourceInformationBuilder(new ResourceFieldNameTransformer())
+            .build(Task.class);
+        scannedRegistry.addEntry(Task.class, new RegistryEntry(resourceInformation,
+            new DirectResponseResourceEntry(new RepositoryInstanceBuilder(serviceLocator, CountingTaskRepository.class))));
+        CacheModule scannedCacheModule = new CacheModule();
+        scannedCacheModule.setPolicy(Task.class, new CachePolicy(10, 1, TimeUnit.MINUTES));
+        ModuleRegistry scannedModuleRegistry = new ModuleRegistry();
+        scannedModuleRegistry.addModule(scannedCacheModule);
+        scannedModuleRegistry.init(new ObjectMapper(), scannedRegistry);
+
+        // WHEN
+        Object first = scannedRegistry.getEntry(Task.class).getResourceRepository(null).getResourceRepository();
+        Object second = scannedRegistry.getEntry(Task.class).getResourceRepository(null).getResourceRepository();
+        ((QuerySpecResourceRepository<Task, Long>) first).findAll(new QuerySpec(Task.class));
+        ((QuerySpecResourceRepository<Task, Long>) second).findAll(new QuerySpec(Task.class));
+
+        // THEN
+        assertThat(first).isInstanceOf(CachedResourceRepository.class);
+        assertThat(second).isInstanceOf(CachedResourceRepository.class);
+        assertThat(instances).hasSize(2);
+        assertThat(instances.get(0).numFindAll + instances.get(1).numFindAll).isEqualTo(1);
+    }
+
+    @JsonApiResource(type = "referenceData")
+    @JsonApiCache(maxSize = 5, timeToLive = 1, unit = TimeUnit.HOURS)
+    public static class ReferenceData {
+
+        @JsonApiId
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    static class CountingTaskRepository implements QuerySpecResourceRepository<Task, Long> {
+
+        private int numFindOne;
+
+        private int numFindAll;
+
+        @Override
+        public Class<Task> getResourceClass() {
+            return Task.class;
+        }
+
+        @Override
+        public Task findOne(Long id, QuerySpec querySpec) {
+            numFindOne++;
+            Task task = new Task();
+            task.setId(id);
+            return task;
+        }
+
+        @Override
+        public Iterable<Task> findAll(QuerySpec querySpec) {
+            numFindAll++;
+            List<Task> tasks = new ArrayList<>();
+            tasks.add(findOne(1L, querySpec));
+            numFindOne--;
+            if (querySpec.getCursor() != null) {
+                return new CursorPagedResultList<>(tasks, null, "b", null);
+            }
+            if (querySpec.getLimit() != null) {
+                return new PagedResultList<>(tasks, 5L);
+            }
+            return tasks;
+        }
+
+        @Override
+        public Iterable<Task> findAll(Iterable<Long> ids, QuerySpec querySpec) {
+            numFindAll++;
+            return new ArrayList<>();
+        }
+
+        @Override
+        public <S extends Task> S save(S entity) {
+            return entity;
+        }
+
+        @Override
+        public void delete(Long id) {
+        }
+    }
+
+    static class CountingTaskToProjectRepository implements QuerySpecRelationshipRepository<Task, Long, Project, Long> {
+
+        private int numFindOneTarget;
+
+        @Override
+        public Class<Task> getSourceResourceClass() {
+            return Task.class;
+        }
+
+        @Override
+        public Class<Project> getTargetResourceClass() {
+            return Project.class;
+        }
+
+        @Override
+        public void setRelation(Task source, Long targetId, String fieldName) {
+        }
+
+        @Override
+        public void setRelations(Task source, Iterable<Long> targetIds, String fieldName) {
+        }
+
+        @Override
+        public void addRelations(Task source, Iterable<Long> targetIds, String fieldName) {
+        }
+
+        @Override
+        public void removeRelations(Task source, Iterable<Long> targetIds, String fieldName) {
+        }
+
+        @Override
+        public Project findOneTarget(Long sourceId, String fieldName, QuerySpec querySpec) {
+            numFindOneTarget++;
+            return new Project();
+        }
+
+        @Override
+        public Iterable<Project> findManyTargets(Long sourceId, String fieldName, QuerySpec querySpec) {
+            return new ArrayList<>();
+        }
+    }
+
+    static class CountingReferenceDataRepository implements QuerySpecResourceRepository<ReferenceData, Long> {
+
+        @Override
+        public Class<ReferenceData> getResourceClass() {
+            return ReferenceData.class;
+        }
+
+        @Override
+        public ReferenceData findOne(Long id, QuerySpec querySpec) {
+            return null;
+        }
+
+        @Override
+        public Iterable<ReferenceData> findAll(QuerySpec querySpec) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Iterable<ReferenceData> findAll(Iterable<Long> ids, QuerySpec querySpec) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public <S extends ReferenceData> S save(S entity) {
+            return entity;
+        }
+
+        @Override
+        public void delete(Long id) {
+        }
+    }
+}
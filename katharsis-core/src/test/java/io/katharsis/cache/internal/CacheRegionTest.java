@@ -0,0 +1,114 @@
+package io.katharsis.cache.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.katharsis.cache.CachePolicy;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.resource.mock.models.Task;
+
+public class CacheRegionTest {
+
+    private long time = 1000;
+
+    private CacheRegion region = new CacheRegion(new CachePolicy(2, 10, TimeUnit.MILLISECONDS)) {
+
+        @Override
+        protected long currentTimeMillis() {
+            return time;
+        }
+    };
+
+    private static CacheKey key(long id) {
+        return new CacheKey("findOne", new QuerySpec(Task.class), id);
+    }
+
+    @Test
+    public void onExpiredEntryShouldReturnMiss() {
+        // GIVEN
+        region.put(key(1), "a", region.getGeneration());
+
+        // WHEN
+        Object beforeExpiry = region.get(key(1));
+        time += 10;
+        Object afterExpiry = region.get(key(1));
+
+        // THEN
+        assertThat(beforeExpiry).isEqualTo("a");
+        assertThat(afterExpiry).isSameAs(CacheRegion.MISS);
+        assertThat(region.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void onFullRegionShouldEvictLeastRecentlyUsedEntry() {
+        // GIVEN
+        region.put(key(1), "a", region.getGeneration());
+        region.put(key(2), "b", region.getGeneration());
+        region.get(key(1));
+
+        // WHEN
+        region.put(key(3), "c", region.getGeneration());
+
+        // THEN
+        assertThat(region.get(key(1))).isEqualTo("a");
+        assertThat(region.get(key(2))).isSameAs(CacheRegion.MISS);
+        assertThat(region.get(key(3))).isEqualTo("c");
+    }
+
+    @Test
+    public void onLargeFullRegionShouldEvictSeveralEntries() {
+        // GIVEN
+        CacheRegion largeRegion = new CacheRegion(new CachePolicy(32, 1, TimeUnit.MINUTES));
+        for (long id = 0; id < 32; id++) {
+            largeRegion.put(key(id), "a", largeRegion.getGeneration());
+        }
+        largeRegion.get(key(0));
+
+        // WHEN
+        largeRegion.put(key(32), "b", largeRegion.getGeneration());
+
+        // THEN
+        assertThat(largeRegion.size()).isEqualTo(30);
+        assertThat(largeRegion.get(key(0))).isEqualTo("a");
+        assertThat(largeRegion.get(key(1))).isSameAs(CacheRegion.MISS);
+        assertThat(largeRegion.get(key(2))).isSameAs(CacheRegion.MISS);
+        assertThat(largeRegion.get(key(3))).isSameAs(CacheRegion.MISS);
+        assertThat(largeRegion.get(key(32))).isEqualTo("b");
+    }
+
+    @Test
+    public void onResultLoadedBeforeInvalidationShouldNotStore() {
+        // GIVEN
+        long generation = region.getGeneration();
+
+        // WHEN
+        region.clear();
+        region.put(key(1), "a", generation);
+
+        // THEN
+        assertThat(region.get(key(1))).isSameAs(CacheRegion.MISS);
+    }
+
+    @Test
+    public void onNullResultShouldStoreNull() {
+        // WHEN
+        region.put(key(1), null, region.getGeneration());
+
+        // THEN
+        assertThat(region.get(key(1))).isNull();
+    }
+
+    @Test
+    public void onEqualArgumentsShouldReturnEqualKeys() {
+        assertThat(new CacheKey("findAll", new QuerySpec(Task.class), Arrays.asList(1L, 2L)))
+            .isEqualTo(new CacheKey("findAll", new QuerySpec(Task.class), Arrays.asList(1L, 2L)))
+            .isNotEqualTo(new CacheKey("findAll", new QuerySpec(Task.class), Arrays.asList(2L, 1L)))
+            .isNotEqualTo(new CacheKey("findOne", new QuerySpec(Task.class), Arrays.asList(1L, 2L)));
+        assertThat(new CacheKey("findAll", new QuerySpec(Task.class)).hashCode())
+            .isEqualTo(new CacheKey("findAll", new QuerySpec(Task.class)).hashCode());
+    }
+}
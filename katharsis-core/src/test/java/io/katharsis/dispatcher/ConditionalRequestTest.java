@@ -0,0 +1,130 @@
+package io.katharsis.dispatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.ResourcePath;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.utils.ETagUtils;
+
+public class ConditionalRequestTest {
+
+    private static final byte[] BODY = "{\"data\":null}".getBytes(Charset.forName("UTF-8"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper() {
+
+        @Override
+        public void writeValue(OutputStream out, Object value) throws IOException {
+            out.write(BODY);
+        }
+    };
+
+    private final Map<String, Set<String>> parameters = Collections.emptyMap();
+
+    @Test
+    public void onSameBodyShouldReturnNotModified() throws Exception {
+        // GIVEN
+        ConditionalRequest first = new ConditionalRequest(true, "GET", null);
+        first.write(objectMapper, response(HttpStatus.OK_200), new ByteArrayOutputStream());
+        String etag = first.getETag(response(HttpStatus.OK_200));
+
+        // WHEN
+        ConditionalRequest second = new ConditionalRequest(true, "GET", etag);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean notModified = second.write(objectMapper, response(HttpStatus.OK_200), out);
+
+        // THEN
+        assertThat(etag).startsWith("\"");
+        assertThat(notModified).isTrue();
+        assertThat(second.getETag()).isEqualTo(etag);
+        assertThat(out.toByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    public void onErrorResponseShouldNotReturnETag() throws Exception {
+        // GIVEN
+        ConditionalRequest request = new ConditionalRequest(true, "GET", "*");
+
+        // WHEN
+        boolean notModified = request.write(objectMapper, response(HttpStatus.NOT_FOUND_404), new ByteArrayOutputStream());
+
+        // THEN
+        assertThat(notModified).isFalse();
+        assertThat(request.getETag(response(HttpStatus.NOT_FOUND_404))).isNull();
+    }
+
+    @Test
+    public void onNonGetRequestShouldNotBeConditional() throws Exception {
+        // GIVEN
+        ConditionalRequest request = new ConditionalRequest(true, "POST", "*");
+
+        // WHEN
+        boolean notModified = request.write(objectMapper, response(HttpStatus.OK_200), new ByteArrayOutputStream());
+
+        // THEN
+        assertThat(request.isConditional()).isFalse();
+        assertThat(notModified).isFalse();
+        assertThat(request.getETag(response(HttpStatus.OK_200))).isNull();
+    }
+
+    @Test
+    public void onMatchingVersionShouldNotDispatch() {
+        // GIVEN
+        JsonPath jsonPath = new ResourcePath("projects");
+        String etag = ETagUtils.fromVersion("1", "/projects", parameters);
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+        when(requestDispatcher.getVersion(any(JsonPath.class), anyString(), eq(parameters),
+                any(RepositoryMethodParameterProvider.class))).thenReturn("1");
+
+        // WHEN
+        ConditionalRequest request = new ConditionalRequest(true, "GET", etag);
+        boolean notModified = request.isNotModified(requestDispatcher, jsonPath, "/projects", parameters, null);
+
+        // THEN
+        assertThat(notModified).isTrue();
+        assertThat(request.getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    public void onDisabledETagShouldNotAskVersion() {
+        // GIVEN
+        RequestDispatcher requestDispatcher = mock(RequestDispatcher.class);
+
+        // WHEN
+        ConditionalRequest request = new ConditionalRequest(false, "GET", "*");
+        boolean notModified = request.isNotModified(requestDispatcher, new ResourcePath("projects"), "/projects",
+                parameters, null);
+
+        // THEN
+        assertThat(notModified).isFalse();
+        verify(requestDispatcher, never()).getVersion(any(JsonPath.class), anyString(),
+                eq(parameters), any(RepositoryMethodParameterProvider.class));
+    }
+
+    private static BaseResponseContext response(int status) {
+        BaseResponseContext response = mock(BaseResponseContext.class);
+        when(response.getHttpStatus()).thenReturn(status);
+        return response;
+    }
+}
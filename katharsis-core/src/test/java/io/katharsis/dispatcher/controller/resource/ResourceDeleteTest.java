@@ -10,6 +10,8 @@ import io.katharsis.queryParams.QueryParams;
 import io.katharsis.queryspec.internal.QueryParamsAdapter;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.TaskRepository;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.BaseResponseContext;
 
@@ -58,4 +60,25 @@ public class ResourceDeleteTest extends BaseControllerTest {
         // THEN
         assertThat(response).isNull();
     }
+
+    @Test
+    public void onMultipleIdsShouldDeleteAll() throws Exception {
+        // GIVEN
+        TaskRepository.clear();
+        TaskRepository taskRepository = new TaskRepository();
+        for (long id = 1; id <= 3; id++) {
+            Task task = new Task();
+            task.setId(id);
+            taskRepository.save(task);
+        }
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/1,2");
+        ResourceDelete sut = new ResourceDelete(resourceRegistry, typeParser);
+
+        // WHEN
+        BaseResponseContext response = sut.handle(jsonPath, new QueryParamsAdapter(new QueryParams()), null, null);
+
+        // THEN
+        assertThat(response).isNull();
+        assertThat(taskRepository.findAll(new QueryParams())).extracting("id").containsExactly(3L);
+    }
 }
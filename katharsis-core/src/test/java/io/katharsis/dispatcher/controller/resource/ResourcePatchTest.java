@@ -11,14 +11,20 @@ import io.katharsis.request.dto.ResourceRelationships;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.ResourcePath;
 import io.katharsis.resource.exception.RequestBodyException;
+import io.katharsis.resource.exception.ResourceNotFoundException;
 import io.katharsis.resource.mock.models.Memorandum;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.mock.models.ComplexPojo;
+import io.katharsis.resource.mock.repository.TaskRepository;
 import io.katharsis.response.BaseResponseContext;
 import io.katharsis.response.ResourceResponseContext;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ResourcePatchTest extends BaseControllerTest {
@@ -26,7 +32,7 @@ public class ResourcePatchTest extends BaseControllerTest {
     private static final String REQUEST_TYPE = "PATCH";
 
     @Test
-    public void onGivenRequestCollectionGetShouldDenyIt() {
+    public void onGivenRequestCollectionGetShouldAcceptIt() {
         // GIVEN
         JsonPath jsonPath = pathBuilder.buildPath("/tasks/");
         ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
@@ -35,7 +41,70 @@ public class ResourcePatchTest extends BaseControllerTest {
         boolean result = sut.isAcceptable(jsonPath, REQUEST_TYPE);
 
         // THEN
-        Assert.assertEquals(result, false);
+        Assert.assertEquals(result, true);
+    }
+
+    @Test
+    public void onMultipleResourcesShouldUpdateThem() throws Exception {
+        // GIVEN
+        TaskRepository.clear();
+        TaskRepository taskRepository = new TaskRepository();
+        List<DataBody> dataBodies = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setName("task " + id);
+            taskRepository.save(task);
+
+            DataBody data = new DataBody();
+            data.setType("tasks");
+            data.setId(Long.toString(id));
+            data.setAttributes(objectMapper.createObjectNode().put("name", "task " + id + " updated"));
+            dataBodies.add(data);
+        }
+        RequestBody tasksPatch = new RequestBody();
+        tasksPatch.setData(dataBodies);
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        BaseResponseContext response = sut.handle(jsonPath, new QueryParamsAdapter(REQUEST_PARAMS), null, tasksPatch);
+
+        // THEN
+        assertThat((List<Task>) response.getResponse().getEntity()).extracting("name")
+            .containsExactly("task 1 updated", "task 2 updated");
+        assertThat(taskRepository.findOne(2L, null).getName()).isEqualTo("task 2 updated");
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void onMultipleResourcesWithUnknownIdShouldThrowException() throws Exception {
+        // GIVEN
+        DataBody data = new DataBody();
+        data.setType("tasks");
+        data.setId("404");
+        data.setAttributes(objectMapper.createObjectNode().put("name", "unknown"));
+        RequestBody tasksPatch = new RequestBody();
+        tasksPatch.setData(Collections.singletonList(data));
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        sut.handle(jsonPath, new QueryParamsAdapter(REQUEST_PARAMS), null, tasksPatch);
+    }
+
+    @Test(expected = RequestBodyException.class)
+    public void onSingleResourceSentToCollectionShouldThrowException() throws Exception {
+        // GIVEN
+        DataBody data = new DataBody();
+        data.setType("tasks");
+        data.setId("1");
+        RequestBody taskPatch = new RequestBody();
+        taskPatch.setData(data);
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks");
+        ResourcePatch sut = new ResourcePatch(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        sut.handle(jsonPath, new QueryParamsAdapter(REQUEST_PARAMS), null, taskPatch);
     }
 
     @Test
@@ -20,13 +20,17 @@ import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.ProjectData;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.mock.models.User;
+import io.katharsis.resource.mock.repository.ProjectRepository;
 import io.katharsis.resource.mock.repository.TaskRepository;
 import io.katharsis.response.HttpStatus;
 import io.katharsis.response.ResourceResponseContext;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -212,6 +216,66 @@ public class ResourcePostTest extends BaseControllerTest {
         assertThat(((User) (taskResponse.getResponse().getEntity())).getAssignedProjects().get(0).getId()).isEqualTo(projectId);
     }
 
+    @Test
+    public void onMultipleNewResourcesShouldPersistThemWithRelationships() throws Exception {
+        // GIVEN
+        Long projectId = new ProjectRepository().save(new Project()).getId();
+
+        List<DataBody> dataBodies = new ArrayList<>();
+        for (String name : Arrays.asList("first task", "second task")) {
+            DataBody data = new DataBody();
+            data.setType("tasks");
+            data.setAttributes(objectMapper.createObjectNode().put("name", name));
+            data.setRelationships(new ResourceRelationships());
+            data.getRelationships().setAdditionalProperty("project", new LinkageData("projects", projectId.toString()));
+            dataBodies.add(data);
+        }
+        RequestBody newTasksBody = new RequestBody();
+        newTasksBody.setData(dataBodies);
+
+        JsonPath taskPath = pathBuilder.buildPath("/tasks");
+        ResourcePost sut = new ResourcePost(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        ResourceResponseContext taskResponse = sut.handle(taskPath, new QueryParamsAdapter(REQUEST_PARAMS), null, newTasksBody);
+
+        // THEN
+        assertThat(taskResponse.getHttpStatus()).isEqualTo(HttpStatus.CREATED_201);
+        List<Task> tasks = (List<Task>) taskResponse.getResponse().getEntity();
+        assertThat(tasks).hasSize(2);
+        assertThat(tasks.get(0).getName()).isEqualTo("first task");
+        assertThat(tasks.get(1).getName()).isEqualTo("second task");
+        for (Task task : tasks) {
+            assertThat(task.getId()).isNotNull();
+            assertThat(task.getProject().getId()).isEqualTo(projectId);
+            assertThat(new TaskRepository().findOne(task.getId(), null)).isSameAs(task);
+        }
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void onMultipleNewResourcesWithUnknownRelationshipShouldThrowException() throws Exception {
+        // GIVEN
+        Long projectId = new ProjectRepository().save(new Project()).getId();
+
+        List<DataBody> dataBodies = new ArrayList<>();
+        for (Long relatedId : Arrays.asList(projectId, projectId + 1000)) {
+            DataBody data = new DataBody();
+            data.setType("tasks");
+            data.setAttributes(objectMapper.createObjectNode().put("name", "sample task"));
+            data.setRelationships(new ResourceRelationships());
+            data.getRelationships().setAdditionalProperty("project", new LinkageData("projects", relatedId.toString()));
+            dataBodies.add(data);
+        }
+        RequestBody newTasksBody = new RequestBody();
+        newTasksBody.setData(dataBodies);
+
+        JsonPath taskPath = pathBuilder.buildPath("/tasks");
+        ResourcePost sut = new ResourcePost(resourceRegistry, typeParser, objectMapper);
+
+        // WHEN
+        sut.handle(taskPath, new QueryParamsAdapter(REQUEST_PARAMS), null, newTasksBody);
+    }
+
     @Test
     public void onNewInheritedResourceShouldPersistThisResource() throws Exception {
         // GIVEN
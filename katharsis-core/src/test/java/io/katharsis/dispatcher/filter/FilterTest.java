@@ -3,6 +3,7 @@ package io.katharsis.dispatcher.filter;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,11 +36,13 @@ import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.field.ResourceFieldNameTransformer;
 import io.katharsis.resource.information.AnnotationResourceInformationBuilder;
 import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.repository.ProjectRepository;
 import io.katharsis.resource.registry.ConstantServiceUrlProvider;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ResourceRegistryBuilder;
 import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
 import io.katharsis.resource.registry.ResourceRegistryTest;
+import io.katharsis.security.ForbiddenException;
 
 public class FilterTest {
 
@@ -105,4 +108,69 @@ public class FilterTest {
 		Assert.assertEquals(requestBody, value.getRequestBody());
 		Assert.assertEquals("GET", value.getMethod());
 	}
+
+	@Test
+	public void testVersionLookupWithoutFilters() throws Exception {
+		moduleRegistry.init(new ObjectMapper(), resourceRegistry);
+
+		Assert.assertEquals(ProjectRepository.VERSION, getProjectVersion());
+	}
+
+	@Test
+	public void testVersionLookupPassesVersionFilters() throws Exception {
+		TestVersionFilter versionFilter = mock(TestVersionFilter.class);
+		when(versionFilter.filterVersion(any(FilterRequestContext.class), any(VersionFilterChain.class)))
+				.thenCallRealMethod();
+		addFilter(versionFilter);
+
+		Assert.assertEquals(ProjectRepository.VERSION, getProjectVersion());
+
+		ArgumentCaptor<FilterRequestContext> captor = ArgumentCaptor.forClass(FilterRequestContext.class);
+		verify(versionFilter, times(1)).filterVersion(captor.capture(), any(VersionFilterChain.class));
+		verify(versionFilter, never()).filter(any(FilterRequestContext.class), any(FilterChain.class));
+		Assert.assertEquals("projects", captor.getValue().getJsonPath().getElementName());
+		Assert.assertEquals("GET", captor.getValue().getMethod());
+	}
+
+	@Test
+	public void testVersionLookupWithFilterWithoutVersionHook() throws Exception {
+		filter = mock(TestFilter.class);
+		when(filter.filter(any(FilterRequestContext.class), any(FilterChain.class))).thenCallRealMethod();
+		addFilter(filter);
+
+		Assert.assertNull(getProjectVersion());
+		verify(filter, never()).filter(any(FilterRequestContext.class), any(FilterChain.class));
+	}
+
+	@Test
+	public void testVersionLookupWithAnsweringFilter() throws Exception {
+		TestVersionFilter versionFilter = mock(TestVersionFilter.class);
+		when(versionFilter.filterVersion(any(FilterRequestContext.class), any(VersionFilterChain.class))).thenReturn(null);
+		addFilter(versionFilter);
+
+		Assert.assertNull(getProjectVersion());
+	}
+
+	@Test
+	public void testVersionLookupWithFailingFilter() throws Exception {
+		TestVersionFilter versionFilter = mock(TestVersionFilter.class);
+		when(versionFilter.filterVersion(any(FilterRequestContext.class), any(VersionFilterChain.class)))
+				.thenThrow(new ForbiddenException("not allowed"));
+		addFilter(versionFilter);
+
+		Assert.assertNull(getProjectVersion());
+	}
+
+	private void addFilter(Filter filter) {
+		SimpleModule filterModule = new SimpleModule("filter");
+		filterModule.addFilter(filter);
+		moduleRegistry.addModule(filterModule);
+		moduleRegistry.init(new ObjectMapper(), resourceRegistry);
+	}
+
+	private String getProjectVersion() {
+		JsonPath jsonPath = pathBuilder.buildPath("/projects/1");
+		Map<String, Set<String>> queryParams = new HashMap<>();
+		return dispatcher.getVersion(jsonPath, requestType, queryParams, new NewInstanceRepositoryMethodParameterProvider());
+	}
 }
@@ -0,0 +1,9 @@
+package io.katharsis.dispatcher.filter;
+
+public class TestVersionFilter extends TestFilter implements VersionFilter {
+
+	@Override
+	public String filterVersion(FilterRequestContext filterRequestContext, VersionFilterChain chain) {
+		return chain.doFilter(filterRequestContext);
+	}
+}
@@ -1,21 +1,34 @@
 package io.katharsis.dispatcher.registry;
 
+import io.katharsis.dispatcher.controller.BaseController;
+import io.katharsis.dispatcher.controller.collection.CollectionGet;
+import io.katharsis.dispatcher.controller.resource.ResourceGet;
 import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryspec.internal.QueryAdapter;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.include.IncludeLookupSetter;
 import io.katharsis.resource.information.AnnotationResourceInformationBuilder;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.registry.ConstantServiceUrlProvider;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ResourceRegistryBuilder;
 import io.katharsis.resource.registry.ResourceRegistryBuilderTest;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.utils.parser.TypeParser;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static io.katharsis.resource.registry.ResourceRegistryTest.TEST_MODELS_URL;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class ControllerRegistryTest {
 
@@ -48,4 +61,80 @@ public class ControllerRegistryTest {
         // WHEN
         sut.getController(jsonPath, requestType);
     }
+
+    @Test
+    public void onRepeatedRequestShouldReturnSameController() {
+        // GIVEN
+        PathBuilder pathBuilder = new PathBuilder(resourceRegistry);
+        IncludeLookupSetter includeLookupSetter = new IncludeLookupSetter(resourceRegistry);
+        CollectionGet collectionGet = new CollectionGet(resourceRegistry, new TypeParser(), includeLookupSetter);
+        ResourceGet resourceGet = new ResourceGet(resourceRegistry, new TypeParser(), includeLookupSetter);
+        ControllerRegistry sut = new ControllerRegistry(Arrays.<BaseController>asList(collectionGet, resourceGet));
+
+        // WHEN
+        BaseController first = sut.getController(pathBuilder.buildPath("/tasks/1"), "GET");
+        BaseController second = sut.getController(pathBuilder.buildPath("/tasks/2"), "GET");
+        BaseController collection = sut.getController(pathBuilder.buildPath("/tasks/"), "GET");
+
+        // THEN
+        assertThat(first).isSameAs(resourceGet);
+        assertThat(second).isSameAs(resourceGet);
+        assertThat(collection).isSameAs(collectionGet);
+    }
+
+    @Test
+    public void onAddedControllerShouldReturnAddedController() {
+        // GIVEN
+        PathBuilder pathBuilder = new PathBuilder(resourceRegistry);
+        JsonPath jsonPath = pathBuilder.buildPath("/tasks/");
+        ControllerRegistry sut = new ControllerRegistry(Collections.<BaseController>emptyList());
+        CollectionGet collectionGet = new CollectionGet(resourceRegistry, new TypeParser(),
+            new IncludeLookupSetter(resourceRegistry));
+
+        // WHEN
+        sut.addController(collectionGet);
+
+        // THEN
+        assertThat(sut.getController(jsonPath, "GET")).isSameAs(collectionGet);
+    }
+
+    @Test
+    public void onControllersOfSameRouteShouldReturnFirstSuitableController() {
+        // GIVEN
+        PathBuilder pathBuilder = new PathBuilder(resourceRegistry);
+        ResourceGet resourceGet = new ResourceGet(resourceRegistry, new TypeParser(),
+            new IncludeLookupSetter(resourceRegistry));
+        BaseController projectGet = new ResourceNameController("projects");
+        ControllerRegistry sut = new ControllerRegistry(Arrays.<BaseController>asList(projectGet, resourceGet));
+
+        // WHEN
+        BaseController task = sut.getController(pathBuilder.buildPath("/tasks/1"), "GET");
+        BaseController project = sut.getController(pathBuilder.buildPath("/projects/1"), "GET");
+        BaseController otherTask = sut.getController(pathBuilder.buildPath("/tasks/2"), "GET");
+
+        // THEN
+        assertThat(task).isSameAs(resourceGet);
+        assertThat(project).isSameAs(projectGet);
+        assertThat(otherTask).isSameAs(resourceGet);
+    }
+
+    private static class ResourceNameController extends BaseController {
+
+        private final String resourceName;
+
+        ResourceNameController(String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public boolean isAcceptable(JsonPath jsonPath, String requestType) {
+            return !jsonPath.isCollection() && resourceName.equals(jsonPath.getElementName());
+        }
+
+        @Override
+        public BaseResponseContext handle(JsonPath jsonPath, QueryAdapter queryAdapter,
+                                          RepositoryMethodParameterProvider parameterProvider, RequestBody requestBody) {
+            return null;
+        }
+    }
 }
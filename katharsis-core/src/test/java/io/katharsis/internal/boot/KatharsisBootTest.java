@@ -64,4 +64,34 @@ public class KatharsisBootTest {
 
 		Assert.assertNotNull(requestDispatcher);
 	}
+
+	@Test
+	public void testShutdownIncludeLookupExecutor() {
+		KatharsisBoot boot = new KatharsisBoot();
+		final Properties properties = new Properties();
+		properties.put(KatharsisBootProperties.RESOURCE_SEARCH_PACKAGE, "io.katharsis.resource.mock");
+		properties.put(KatharsisBootProperties.INCLUDE_LOOKUP_CONCURRENCY, "2");
+		boot.setServiceLocator(new SampleJsonServiceLocator());
+		boot.setDefaultServiceUrlProvider(new ServiceUrlProvider() {
+
+			@Override
+			public String getUrl() {
+				return "http://127.0.0.1";
+			}
+		});
+		boot.setPropertiesProvider(new PropertiesProvider() {
+
+			@Override
+			public String getProperty(String key) {
+				return (String) properties.get(key);
+			}
+		});
+		boot.setResourceFieldNameTransformer(new ResourceFieldNameTransformer(boot.getObjectMapper().getSerializationConfig()));
+		boot.boot();
+		Assert.assertNotNull(boot.getRequestDispatcher());
+
+		boot.shutdown();
+		// nothing left to release
+		boot.shutdown();
+	}
 }
@@ -2,6 +2,7 @@ package io.katharsis.jackson;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.katharsis.errorhandling.ErrorData;
 import io.katharsis.queryParams.DefaultQueryParamsParser;
 import io.katharsis.queryParams.QueryParams;
@@ -22,11 +23,19 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class BaseResponseSerializerTest extends BaseSerializerTest {
 
@@ -125,6 +134,170 @@ public class BaseResponseSerializerTest extends BaseSerializerTest {
         assertThatJson(result).node("data").isArray().ofLength(2);
     }
 
+    @Test
+    public void onResourceResponseWithManyResourcesShouldReturnArrayOfResources() throws Exception {
+        // GIVEN
+        Project project = new Project();
+        project.setId(3L);
+        Task task1 = new Task();
+        task1.setId(1L);
+        task1.setProject(project);
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setProject(project);
+
+        // WHEN
+        String result = sut.writeValueAsString(new ResourceResponseContext(buildResponse(Arrays.asList(task1, task2)),
+            new ResourcePath("tasks"), REQUEST_PARAMS, HttpStatus.CREATED_201));
+
+        // THEN
+        assertThatJson(result).node("data").isArray().ofLength(2);
+        assertThatJson(result).node("data[1].id").isEqualTo("\"2\"");
+        assertThatJson(result).node("included").isArray().ofLength(1);
+        assertThatJson(result).node("included[0].id").isEqualTo("\"3\"");
+    }
+
+    @Test
+    public void onResultStreamShouldWriteResourcesAndIncludedResources() throws Exception {
+        // GIVEN
+        Project project = new Project();
+        project.setId(2L);
+        project.setName("Sample project");
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setName("Sample task");
+            task.setProject(project);
+            tasks.add(task);
+        }
+        final AtomicBoolean closed = new AtomicBoolean();
+        ResultStream<Task> stream = new IteratorResultStream<>(tasks.iterator(), new Closeable() {
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder(new DefaultQueryParamsParser());
+        QueryParams queryParams = queryParamsBuilder.buildQueryParams(
+                Collections.singletonMap("include[tasks]", Collections.singleton("project")));
+
+        // WHEN
+        String result = sut.writeValueAsString(new CollectionResponseContext(buildResponse(stream),
+            new ResourcePath("tasks"), new QueryParamsAdapter(queryParams)));
+
+        // THEN
+        assertThatJson(result).node("data").isArray().ofLength(3);
+        assertThatJson(result).node("data[2].id").isEqualTo("\"3\"");
+        assertThatJson(result).node("included").isArray().ofLength(1);
+        assertThatJson(result).node("included[0].id").isEqualTo("\"2\"");
+        assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    public void onResultStreamExceedingIncludedResourcesShouldTruncateIncluded() throws Exception {
+        // GIVEN
+        JsonApiModuleBuilder jsonApiModuleBuilder = new JsonApiModuleBuilder();
+        jsonApiModuleBuilder.setMaxStreamedInclusions(1);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(jsonApiModuleBuilder.build(resourceRegistry, false));
+
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Project project = new Project();
+            project.setId(id);
+            Task task = new Task();
+            task.setId(id);
+            task.setProject(project);
+            tasks.add(task);
+        }
+        QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder(new DefaultQueryParamsParser());
+        QueryParams queryParams = queryParamsBuilder.buildQueryParams(
+                Collections.singletonMap("include[tasks]", Collections.singleton("project")));
+
+        // WHEN
+        String result = objectMapper.writeValueAsString(new CollectionResponseContext(
+            buildResponse(new IteratorResultStream<>(tasks.iterator())).setMetaInformation(new MetaData("Humpty Dumpty")),
+            new ResourcePath("tasks"), new QueryParamsAdapter(queryParams)));
+
+        // THEN
+        // the third task is written without its project
+        assertThatJson(result).node("data").isArray().ofLength(3);
+        assertThatJson(result).node("included").isArray().ofLength(2);
+        assertThatJson(result).node("meta.includedTruncated").isEqualTo(true);
+        assertThatJson(result).node("meta.author").isEqualTo("Humpty Dumpty");
+    }
+
+    @Test
+    public void onResultStreamIncludingSameResourceShouldNotHoldItsInstances() throws Exception {
+        // GIVEN
+        JsonApiModuleBuilder jsonApiModuleBuilder = new JsonApiModuleBuilder();
+        jsonApiModuleBuilder.setMaxStreamedInclusions(1);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(jsonApiModuleBuilder.build(resourceRegistry, false));
+
+        // every chunk of a stream loads its own instance of the related resource
+        final int taskCount = 1000;
+        final List<WeakReference<Project>> projects = new ArrayList<>();
+        final AtomicInteger retainedProjects = new AtomicInteger();
+        Iterator<Task> tasks = new Iterator<Task>() {
+
+            private long id;
+
+            @Override
+            public boolean hasNext() {
+                return id < taskCount;
+            }
+
+            @Override
+            public Task next() {
+                if (id == taskCount - 1) {
+                    // the stream is still being written, the instances of the earlier tasks must not pile up
+                    System.gc();
+                    for (WeakReference<Project> project : projects) {
+                        if (project.get() != null) {
+                            retainedProjects.incrementAndGet();
+                        }
+                    }
+                }
+                Project project = new Project();
+                project.setId(2L);
+                projects.add(new WeakReference<>(project));
+                Task task = new Task();
+                task.setId(++id);
+                task.setProject(project);
+                return task;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder(new DefaultQueryParamsParser());
+        QueryParams queryParams = queryParamsBuilder.buildQueryParams(
+                Collections.singletonMap("include[tasks]", Collections.singleton("project")));
+
+        // WHEN
+        String result = objectMapper.writeValueAsString(new CollectionResponseContext(
+            buildResponse(new IteratorResultStream<>(tasks)), new ResourcePath("tasks"),
+            new QueryParamsAdapter(queryParams)));
+
+        // THEN
+        assertThatJson(result).node("data").isArray().ofLength(taskCount);
+        assertThatJson(result).node("included").isArray().ofLength(1);
+        assertThatJson(result).node("meta").isAbsent();
+        assertThat(retainedProjects.get()).isLessThan(10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void onResultStreamIteratedTwiceShouldThrowException() {
+        ResultStream<Task> stream = new IteratorResultStream<>(Collections.<Task>emptyIterator());
+        stream.iterator();
+        stream.iterator();
+    }
+
     @Test
     public void onSingleResponseWithManyLinkagesShouldReturnArrayOfLinks() throws Exception {
         // GIVEN
@@ -7,7 +7,10 @@ import java.util.Set;
 
 import org.junit.Test;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 
 import io.katharsis.queryParams.DefaultQueryParamsParser;
 import io.katharsis.queryParams.QueryParams;
@@ -19,6 +22,7 @@ import io.katharsis.resource.mock.models.Memorandum;
 import io.katharsis.resource.mock.models.OtherPojo;
 import io.katharsis.resource.mock.models.Pojo;
 import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.ProjectData;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.mock.models.User;
 import io.katharsis.response.Container;
@@ -80,6 +84,25 @@ public class ContainerSerializerTest extends BaseSerializerTest {
         assertThatJson(result).node("attributes.linksInformation").isAbsent();
     }
 
+    @Test
+    public void onFilteredAttributeValueShouldApplyObjectMapperFilter() throws Exception {
+        // GIVEN
+        sut.addMixIn(ProjectData.class, FilteredProjectData.class);
+        sut.setFilterProvider(new SimpleFilterProvider()
+            .addFilter("projectDataFilter", SimpleBeanPropertyFilter.serializeAllExcept("data")));
+        Project project = new Project();
+        project.setName("name");
+        project.setData(new ProjectData().setData("secret"));
+
+        // WHEN
+        String result = sut.writeValueAsString(new Container(project, testResponse));
+
+        // THEN
+        assertThatJson(result).node("attributes.name").isEqualTo("name");
+        assertThatJson(result).node("attributes.data").isPresent();
+        assertThatJson(result).node("attributes.data.data").isAbsent();
+    }
+
     @Test
     public void onSimpleObjectWithNullValueShouldNotIncludeAttributes() throws Exception {
         // GIVEN
@@ -137,6 +160,27 @@ public class ContainerSerializerTest extends BaseSerializerTest {
         assertThatJson(result).node("attributes.description").isAbsent();
     }
 
+    @Test
+    public void onSubsequentResourcesShouldApplyTheirOwnIncludedFields() throws Exception {
+        // GIVEN
+        Project project = new Project();
+        project.setName("name");
+        project.setDescription("description");
+
+        QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder(new DefaultQueryParamsParser());
+        QueryParams queryParams = queryParamsBuilder.buildQueryParams(Collections.singletonMap("fields[projects]", Collections.singleton("name")));
+        JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath("/projects");
+
+        // WHEN
+        String sparseResult = sut.writeValueAsString(new Container(project, new ResourceResponseContext(new JsonApiResponse(), jsonPath, new QueryParamsAdapter(queryParams))));
+        String fullResult = sut.writeValueAsString(new Container(project, new ResourceResponseContext(new JsonApiResponse(), jsonPath, new QueryParamsAdapter(new QueryParams()))));
+
+        // THEN
+        assertThatJson(sparseResult).node("attributes.description").isAbsent();
+        assertThatJson(fullResult).node("attributes.name").isEqualTo("name");
+        assertThatJson(fullResult).node("attributes.description").isEqualTo("description");
+    }
+
     @Test
     public void onIncludedRelationshipInParamsShouldContainIncludedList() throws Exception {
         // GIVEN
@@ -240,4 +284,8 @@ public class ContainerSerializerTest extends BaseSerializerTest {
         // THEN
         assertThatJson(result).node("relationships").isAbsent();
     }
+
+    @JsonFilter("projectDataFilter")
+    private abstract static class FilteredProjectData {
+    }
 }
@@ -2,6 +2,7 @@ package io.katharsis.jackson;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -42,6 +43,7 @@ import io.katharsis.response.ResourceResponseContext;
 
 public class IncludedRelationshipExtractorTest {
 
+    private ResourceRegistry resourceRegistry;
     private IncludedRelationshipExtractor sut;
     private ResourceResponseContext testResponse;
 
@@ -55,7 +57,7 @@ public class IncludedRelationshipExtractorTest {
 
         String resourceSearchPackage = String.format("%s,%s", ResourceRegistryBuilderTest.TEST_MODELS_PACKAGE,
                 "io.katharsis.jackson.mock");
-        ResourceRegistry resourceRegistry = registryBuilder
+        resourceRegistry = registryBuilder
                 .build(resourceSearchPackage, new ConstantServiceUrlProvider(ResourceRegistryTest.TEST_MODELS_URL));
 
         sut = new IncludedRelationshipExtractor(resourceRegistry);
@@ -271,6 +273,101 @@ public class IncludedRelationshipExtractorTest {
         assertThat(result).containsValue(new Container(nestedClassA, testResponse, ContainerType.INCLUDED_NESTED, "classC"));
     }
 
+    @Test
+    public void onCollectionWithSharedInclusionShouldReturnEachElementOnce() throws Exception {
+        // GIVEN
+        QueryParams queryParams = getRequestParamsWithInclusion("include[classAs]",
+                "classBs.classC");
+
+        ResourceResponseContext response = new ResourceResponseContext(new JsonApiResponse(),
+                new ResourcePath("classAs"), new QueryParamsAdapter(queryParams));
+        ClassC classC = new ClassC();
+        classC.setId(1L);
+        ClassB sharedClassB = new ClassB(null, classC);
+        sharedClassB.setId(2L);
+        ClassB otherClassB = new ClassB(null, classC);
+        otherClassB.setId(3L);
+        ClassA first = new ClassA(sharedClassB);
+        first.setId(4L);
+        ClassA second = new ClassA(sharedClassB);
+        second.setId(5L);
+        ClassA third = new ClassA(otherClassB);
+        third.setId(6L);
+
+        // WHEN
+        Map<ResourceDigest, Container> result = sut.extractIncludedResources(Arrays.asList(first, second, third), response);
+
+        // THEN
+        assertThat(result).hasSize(3);
+        assertThat(result.get(new ResourceDigest(2L, "classBs")))
+            .isEqualTo(new Container(sharedClassB, testResponse, ContainerType.INCLUDED, "classBs"));
+        assertThat(result.get(new ResourceDigest(3L, "classBs")))
+            .isEqualTo(new Container(otherClassB, testResponse, ContainerType.INCLUDED, "classBs"));
+        assertThat(result.get(new ResourceDigest(1L, "classCs")).getContainerType()).isEqualTo(ContainerType.INCLUDED_NESTED);
+    }
+
+    @Test
+    public void onThreeLevelInclusionShouldReturnAllLevels() throws Exception {
+        // GIVEN
+        QueryParams queryParams = getRequestParamsWithInclusion("include[classAs]",
+                "classBs.classA.classBs");
+
+        ResourceResponseContext response = new ResourceResponseContext(new JsonApiResponse(),
+                new ResourcePath("classAs"), new QueryParamsAdapter(queryParams));
+        ClassB lastClassB = new ClassB();
+        lastClassB.setId(4L);
+        ClassA nestedClassA = new ClassA(lastClassB);
+        nestedClassA.setId(3L);
+        ClassB classB = new ClassB(nestedClassA);
+        classB.setId(2L);
+        ClassA classA = new ClassA(classB);
+        classA.setId(1L);
+
+        // WHEN
+        Map<ResourceDigest, Container> result = sut.extractIncludedResources(classA, response);
+
+        // THEN
+        assertThat(result).hasSize(3);
+        assertThat(result.get(new ResourceDigest(2L, "classBs")))
+            .isEqualTo(new Container(classB, testResponse, ContainerType.INCLUDED, "classBs"));
+        assertThat(result.get(new ResourceDigest(3L, "classAs")).getContainerType()).isEqualTo(ContainerType.INCLUDED_NESTED);
+        assertThat(result.get(new ResourceDigest(3L, "classAs")).getIncludedFieldName()).isEqualTo("classA");
+        assertThat(result.get(new ResourceDigest(4L, "classBs")).getContainerType()).isEqualTo(ContainerType.INCLUDED_NESTED);
+        assertThat(result.get(new ResourceDigest(4L, "classBs")).getIncludedFieldName()).isEqualTo("classBs");
+    }
+
+    @Test
+    public void onInclusionDeeperThanMaxDepthShouldStopAtMaxDepth() throws Exception {
+        // GIVEN
+        IncludedRelationshipExtractor sut = new IncludedRelationshipExtractor(resourceRegistry, 2);
+        ClassCWithInclusion fourth = new ClassCWithInclusion().setId(4L);
+        ClassCWithInclusion third = new ClassCWithInclusion(fourth).setId(3L);
+        ClassCWithInclusion second = new ClassCWithInclusion(third).setId(2L);
+        ClassCWithInclusion first = new ClassCWithInclusion(second).setId(1L);
+
+        // WHEN
+        Map<ResourceDigest, Container> result = sut.extractIncludedResources(first, testResponse);
+
+        // THEN
+        assertThat(result).containsOnlyKeys(new ResourceDigest(2L, "classCsWithInclusion"),
+                new ResourceDigest(3L, "classCsWithInclusion"));
+    }
+
+    @Test
+    public void onDefaultInclusionWithCycleShouldReturnEachElementOnce() throws Exception {
+        // GIVEN
+        ClassCWithInclusion second = new ClassCWithInclusion().setId(2L);
+        ClassCWithInclusion first = new ClassCWithInclusion(second).setId(1L);
+        second.setClassCsWithInclusion(Collections.singletonList(first));
+
+        // WHEN
+        Map<ResourceDigest, Container> result = sut.extractIncludedResources(first, testResponse);
+
+        // THEN
+        assertThat(result).containsOnlyKeys(new ResourceDigest(1L, "classCsWithInclusion"),
+                new ResourceDigest(2L, "classCsWithInclusion"));
+    }
+
     private QueryParams getRequestParamsWithInclusion(String resourceType, String relationshipField) {
         QueryParamsBuilder queryParamsBuilder = new QueryParamsBuilder(new DefaultQueryParamsParser());
         return queryParamsBuilder.buildQueryParams(Collections.singletonMap(resourceType, Collections.singleton(relationshipField)));
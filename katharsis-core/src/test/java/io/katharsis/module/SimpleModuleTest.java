@@ -7,6 +7,7 @@ import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import com.fasterxml.jackson.databind.Module;
 
@@ -17,9 +18,12 @@ import io.katharsis.errorhandling.mapper.ExceptionMapperLookup;
 import io.katharsis.errorhandling.mapper.ExceptionMapperRegistryTest.IllegalStateExceptionMapper;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
 import io.katharsis.errorhandling.mapper.KatharsisExceptionMapper;
+import io.katharsis.module.Module.ExtendedModuleContext;
 import io.katharsis.module.Module.ModuleContext;
 import io.katharsis.module.SimpleModule.RelationshipRepositoryRegistration;
 import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.repository.RepositoryDecoratorFactory;
+import io.katharsis.resource.include.IncludeLookupExecutorProvider;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.registry.ResourceLookup;
@@ -85,6 +89,44 @@ public class SimpleModuleTest {
 		Assert.assertEquals(0, context.numRelationshipRepositories);
 	}
 
+	@Test
+	public void testIncludeLookupExecutorProvider() {
+		module.addIncludeLookupExecutorProvider(Mockito.mock(IncludeLookupExecutorProvider.class));
+		Assert.assertEquals(1, module.getIncludeLookupExecutorProviders().size());
+		module.setupModule(context);
+
+		Assert.assertEquals(1, context.numIncludeLookupExecutorProviders);
+		Assert.assertEquals(0, context.numFilters);
+		Assert.assertEquals(0, context.numResourceRepositoreis);
+		Assert.assertEquals(0, context.numRelationshipRepositories);
+	}
+
+	@Test
+	public void testIncludeLookupExecutorProviderWithoutExtendedContext() {
+		module.addIncludeLookupExecutorProvider(Mockito.mock(IncludeLookupExecutorProvider.class));
+		ModuleContext plainContext = Mockito.mock(ModuleContext.class);
+		module.setupModule(plainContext);
+		Mockito.verifyZeroInteractions(plainContext);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRepositoryDecoratorFactoryWithoutExtendedContext() {
+		module.addRepositoryDecoratorFactory(Mockito.mock(RepositoryDecoratorFactory.class));
+		module.setupModule(Mockito.mock(ModuleContext.class));
+	}
+
+	@Test
+	public void testRepositoryDecoratorFactory() {
+		module.addRepositoryDecoratorFactory(Mockito.mock(RepositoryDecoratorFactory.class));
+		Assert.assertEquals(1, module.getRepositoryDecoratorFactories().size());
+		module.setupModule(context);
+
+		Assert.assertEquals(1, context.numRepositoryDecoratorFactories);
+		Assert.assertEquals(0, context.numFilters);
+		Assert.assertEquals(0, context.numResourceRepositoreis);
+		Assert.assertEquals(0, context.numRelationshipRepositories);
+	}
+
 	@Test
 	public void testJacksonModule() {
 		module.addJacksonModule(new com.fasterxml.jackson.databind.module.SimpleModule() {
@@ -182,7 +224,7 @@ public class SimpleModuleTest {
 		}
 	}
 
-	class TestModuleContext implements ModuleContext {
+	class TestModuleContext implements ExtendedModuleContext {
 
 		private int numResourceInformationBuilds = 0;
 
@@ -196,6 +238,10 @@ public class SimpleModuleTest {
 
 		private int numFilters = 0;
 
+		private int numIncludeLookupExecutorProviders = 0;
+
+		private int numRepositoryDecoratorFactories = 0;
+
 		private int numExceptionMapperLookup = 0;
 
 		private int numSecurityProviders = 0;
@@ -230,6 +276,16 @@ public class SimpleModuleTest {
 			numFilters++;
 		}
 
+		@Override
+		public void addIncludeLookupExecutorProvider(IncludeLookupExecutorProvider executorProvider) {
+			numIncludeLookupExecutorProviders++;
+		}
+
+		@Override
+		public void addRepositoryDecoratorFactory(RepositoryDecoratorFactory decoratorFactory) {
+			numRepositoryDecoratorFactories++;
+		}
+
 		@Override
 		public ResourceRegistry getResourceRegistry() {
 			return new ResourceRegistry(null);
@@ -127,6 +127,14 @@ public class DefaultQuerySpecSerializerTest {
 		check("http://127.0.0.1/tasks/?page[limit]=2&page[offset]=1", null, querySpec);
 	}
 
+	@Test
+	public void testCursorPaging() throws InstantiationException, IllegalAccessException {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.setLimit(2L);
+		querySpec.setCursor("abc");
+		check("http://127.0.0.1/tasks/?page[limit]=2&page[cursor]=abc", null, querySpec);
+	}
+
 	@Test
 	public void testPagingOnRelation() throws InstantiationException, IllegalAccessException {
 		QuerySpec querySpec = new QuerySpec(Task.class);
@@ -2,6 +2,7 @@ package io.katharsis.queryspec;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.Assert;
@@ -9,6 +10,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.katharsis.resource.mock.models.Task;
+import io.katharsis.response.paging.PagedResultList;
 
 public class InMemoryEvaluatorTest {
 
@@ -178,4 +180,137 @@ public class InMemoryEvaluatorTest {
 		List<Task> results = spec.apply(tasks);
 		Assert.assertEquals(3, results.size());
 	}
+
+	@Test
+	public void testSortWithLimitKeepsTopResources() {
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addSort(new SortSpec(Arrays.asList("id"), Direction.DESC));
+		spec.setOffset(1L);
+		spec.setLimit(2L);
+		List<Task> results = spec.apply(tasks);
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals(3L, results.get(0).getId().longValue());
+		Assert.assertEquals(2L, results.get(1).getId().longValue());
+		Assert.assertEquals(Long.valueOf(5L), ((PagedResultList<Task>) results).getTotalCount());
+	}
+
+	@Test
+	public void testSortWithLimitIsStable() {
+		for (Task task : tasks) {
+			task.setName("test");
+		}
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+		spec.setLimit(3L);
+		List<Task> results = spec.apply(tasks);
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(0L, results.get(0).getId().longValue());
+		Assert.assertEquals(2L, results.get(2).getId().longValue());
+	}
+
+	@Test
+	public void testTotalCountOfFilteredResults() {
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GT, 1L));
+		spec.setLimit(1L);
+		List<Task> results = spec.apply(tasks);
+		Assert.assertEquals(1, results.size());
+		Assert.assertEquals(Long.valueOf(3L), ((PagedResultList<Task>) results).getTotalCount());
+	}
+
+	@Test
+	public void testStopsOnceLimitReachedWithoutTotalCount() {
+		final List<Task> visited = new ArrayList<>();
+		Iterable<Task> iterable = new Iterable<Task>() {
+
+			@Override
+			public Iterator<Task> iterator() {
+				final Iterator<Task> iterator = tasks.iterator();
+				return new Iterator<Task>() {
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Task next() {
+						Task task = iterator.next();
+						visited.add(task);
+						return task;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.setOffset(1L);
+		spec.setLimit(2L);
+
+		InMemoryEvaluator evaluator = new InMemoryEvaluator();
+		evaluator.setTotalCountRequired(false);
+		List<Task> results = evaluator.eval(iterable, spec);
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals(1L, results.get(0).getId().longValue());
+		Assert.assertEquals(3, visited.size());
+		Assert.assertFalse(results instanceof PagedResultList);
+	}
+
+	@Test
+	public void testCompiledQuerySpecIsReusable() {
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addFilter(FilterSpec.or(new FilterSpec(Arrays.asList("id"), FilterOperator.LE, 1L),
+				new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "test4")));
+		spec.addSort(new SortSpec(Arrays.asList("id"), Direction.DESC));
+		CompiledQuerySpec compiledSpec = InMemoryEvaluator.compile(spec);
+
+		InMemoryEvaluator evaluator = new InMemoryEvaluator();
+		List<Task> results = evaluator.eval(tasks, compiledSpec);
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(4L, results.get(0).getId().longValue());
+		Assert.assertEquals(new ArrayList<>(results), new ArrayList<>(evaluator.eval(tasks, compiledSpec)));
+		Assert.assertTrue(compiledSpec.matches(tasks.get(0)));
+		Assert.assertFalse(compiledSpec.matches(tasks.get(2)));
+		Assert.assertTrue(compiledSpec.<Task> getComparator().compare(tasks.get(0), tasks.get(1)) > 0);
+	}
+
+	@Test
+	public void testHashIndex() {
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "test3"));
+		spec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GE, 0L));
+
+		InMemoryEvaluator evaluator = new InMemoryEvaluator();
+		evaluator.addIndex(new HashInMemoryIndex<>(tasks, Arrays.asList("name")));
+		List<Task> results = evaluator.eval(tasks, spec);
+		Assert.assertEquals(1, results.size());
+		Assert.assertEquals(3L, results.get(0).getId().longValue());
+		Assert.assertEquals(Long.valueOf(1L), ((PagedResultList<Task>) results).getTotalCount());
+	}
+
+	@Test
+	public void testSortedIndex() {
+		SortedInMemoryIndex<Task> index = new SortedInMemoryIndex<>(tasks, Arrays.asList("id"));
+		Assert.assertEquals(Arrays.asList(tasks.get(3), tasks.get(4)), index.find(FilterOperator.GT, 2L));
+		Assert.assertEquals(Arrays.asList(tasks.get(0), tasks.get(1)), index.find(FilterOperator.LE, 1L));
+		Assert.assertEquals(Arrays.asList(tasks.get(2)), index.find(FilterOperator.EQ, 2L));
+		Assert.assertNull(index.find(FilterOperator.NEQ, 2L));
+
+		QuerySpec spec = new QuerySpec(Task.class);
+		spec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.LT, 3L));
+		spec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.NEQ, "test0"));
+
+		InMemoryEvaluator evaluator = new InMemoryEvaluator();
+		evaluator.addIndex(index);
+		List<Task> results = evaluator.eval(tasks, spec);
+		Assert.assertEquals(Arrays.asList(tasks.get(1), tasks.get(2)), results);
+
+		// index of a different list is ignored
+		List<Task> otherTasks = new ArrayList<>(tasks.subList(0, 2));
+		Assert.assertEquals(Arrays.asList(tasks.get(1)), evaluator.eval(otherTasks, spec));
+	}
 }
@@ -120,4 +120,31 @@ public class QuerySpecTest {
 		Assert.assertNotEquals(spec1, "someOtherType");
 	}
 
+	@Test
+	public void testEqualsWithDifferentResourceClass() {
+		Assert.assertNotEquals(new QuerySpec(Task.class), new QuerySpec(Project.class));
+	}
+
+	@Test
+	public void testNormalize() {
+		QuerySpec spec1 = new QuerySpec(Task.class);
+		spec1.addFilter(new FilterSpec(Arrays.asList("attr1"), FilterOperator.EQ, "test1"));
+		spec1.addFilter(new FilterSpec(Arrays.asList("attr2"), FilterOperator.EQ, "test2"));
+		spec1.getOrCreateQuerySpec(Project.class).addFilter(
+				FilterSpec.or(new FilterSpec(Arrays.asList("attr4"), FilterOperator.EQ, "test4"),
+						new FilterSpec(Arrays.asList("attr3"), FilterOperator.EQ, "test3")));
+
+		QuerySpec spec2 = new QuerySpec(Task.class);
+		spec2.addFilter(new FilterSpec(Arrays.asList("attr2"), FilterOperator.EQ, "test2"));
+		spec2.addFilter(new FilterSpec(Arrays.asList("attr1"), FilterOperator.EQ, "test1"));
+		spec2.getOrCreateQuerySpec(Project.class).addFilter(
+				FilterSpec.or(new FilterSpec(Arrays.asList("attr3"), FilterOperator.EQ, "test3"),
+						new FilterSpec(Arrays.asList("attr4"), FilterOperator.EQ, "test4")));
+
+		Assert.assertNotEquals(spec1, spec2);
+		Assert.assertEquals(spec1.normalize(), spec2.normalize());
+		Assert.assertEquals(spec1.normalize().hashCode(), spec2.normalize().hashCode());
+		Assert.assertEquals(2, spec1.getFilters().size());
+		Assert.assertEquals("attr1", spec1.getFilters().get(0).getAttributePath().get(0));
+	}
 }
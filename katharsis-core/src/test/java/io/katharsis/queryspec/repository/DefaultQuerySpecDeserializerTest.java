@@ -193,6 +193,23 @@ public class DefaultQuerySpecDeserializerTest extends AbstractQuerySpecTest {
 		Assert.assertEquals(expectedSpec, actualSpec);
 	}
 
+	@Test
+	public void testCursorPaging() throws InstantiationException, IllegalAccessException {
+		QuerySpec expectedSpec = new QuerySpec(Task.class);
+		expectedSpec.setLimit(2L);
+		expectedSpec.setCursor("abc");
+
+		Map<String, Set<String>> params = new HashMap<>();
+		add(params, "page[cursor]", "abc");
+		add(params, "page[limit]", "2");
+		Assert.assertEquals(expectedSpec, deserializer.deserialize(Task.class, params));
+
+		params = new HashMap<>();
+		add(params, "page[after]", "abc");
+		add(params, "page[limit]", "2");
+		Assert.assertEquals(expectedSpec, deserializer.deserialize(Task.class, params));
+	}
+
 	@Test
 	public void testIncludeRelations() throws InstantiationException, IllegalAccessException {
 		QuerySpec expectedSpec = new QuerySpec(Task.class);
@@ -232,6 +232,19 @@ public class PathBuilderTest {
         Assert.assertEquals(jsonPath.getIds().getIds(), Arrays.asList("1", "2"));
     }
 
+    @Test
+    public void onMixedSeparatorsAndTrailingSlashShouldReturnCollectionPath() {
+        // GIVEN
+        String path = "/tasks/1%2C2,3,/";
+
+        // WHEN
+        JsonPath jsonPath = pathBuilder.buildPath(path);
+
+        // THEN
+        Assert.assertTrue(jsonPath.isCollection());
+        Assert.assertEquals(jsonPath.getIds().getIds(), Arrays.asList("1", "2", "3"));
+    }
+
     @Test
     public void onSimpleResourcePathShouldReturnCorrectStringPath() {
         // GIVEN
@@ -74,6 +74,28 @@ public class ResourceAttributesBridgeTest {
             .containsOnly(entry("name", "value"));
     }
 
+    @Test
+    public void onStaticAndDynamicAttributesShouldGetInstanceValues() throws Exception {
+        // GIVEN
+        ResourceField field = new ResourceField("name", "name", String.class, String.class);
+        ResourceAttributesBridge<Task> taskSut =
+            new ResourceAttributesBridge<>(Collections.singleton(field), Task.class);
+        Task task = new Task();
+        task.setName("value");
+        ResourceAttributesBridge<DynamicResource> dynamicSut =
+            new ResourceAttributesBridge<>(Collections.<ResourceField>emptySet(), DynamicResource.class);
+        DynamicResource resource = new DynamicResource();
+        resource.anySetter("name", "dynamic value");
+
+        // WHEN
+        Object taskValue = taskSut.getProperty(task, "name");
+        Object dynamicValue = dynamicSut.getProperty(resource, "name");
+
+        // THEN
+        assertThat(taskValue).isEqualTo("value");
+        assertThat(dynamicValue).isEqualTo("dynamic value");
+    }
+
     @Test(expected = ResourceException.class)
     public void onDynamicAttributesReadingShouldThrowException() throws Exception {
         // GIVEN
@@ -5,6 +5,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -18,6 +22,7 @@ import io.katharsis.queryParams.QueryParams;
 import io.katharsis.queryParams.QueryParamsBuilder;
 import io.katharsis.queryspec.internal.QueryAdapter;
 import io.katharsis.queryspec.internal.QueryParamsAdapter;
+import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.mock.repository.MockRepositoryUtil;
@@ -97,4 +102,70 @@ public class IncludeLookupSetterTest {
 		Assert.assertNotNull(task.getIncludedProjects());
 		Assert.assertEquals(1, task.getIncludedProjects().size());
 	}
+
+	@Test
+	public void includeConcurrentlyOnExecutor() throws Exception {
+		Map<String, Set<String>> params = new HashMap<String, Set<String>>();
+		params.put("include[tasks]", new HashSet<String>(Arrays.asList("includedProject", "includedProjects")));
+		QueryParams queryParams = queryParamsBuilder.buildQueryParams(params);
+		QueryAdapter queryAdapter = new QueryParamsAdapter(queryParams);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		final AtomicInteger numExecutions = new AtomicInteger();
+		sut.setExecutor(countingExecutor(executorService, numExecutions));
+		sut.setMaxConcurrency(2);
+
+		Task task = new Task();
+		task.setId(1L);
+		try {
+			sut.setIncludedElements("tasks", task, queryAdapter, null);
+		}
+		finally {
+			executorService.shutdown();
+		}
+		Assert.assertEquals(2, numExecutions.get());
+		Assert.assertNotNull(task.getIncludedProject());
+		Assert.assertNotNull(task.getIncludedProjects());
+		Assert.assertEquals(1, task.getIncludedProjects().size());
+	}
+
+	@Test
+	public void includeOnRequestThreadIfProviderOptsOut() throws Exception {
+		Map<String, Set<String>> params = new HashMap<String, Set<String>>();
+		addParams(params, "include[tasks]", "includedProject");
+		QueryParams queryParams = queryParamsBuilder.buildQueryParams(params);
+		QueryAdapter queryAdapter = new QueryParamsAdapter(queryParams);
+
+		final AtomicInteger numExecutions = new AtomicInteger();
+		sut.setExecutor(countingExecutor(IncludeLookupSetter.createDefaultExecutor(), numExecutions));
+		sut.addExecutorProvider(new IncludeLookupExecutorProvider() {
+
+			@Override
+			public Executor getExecutor(ResourceInformation resourceInformation, Executor executor) {
+				return resourceInformation.getResourceClass() == Task.class ? null : executor;
+			}
+		});
+
+		Task task = new Task();
+		task.setId(1L);
+		sut.setIncludedElements("tasks", task, queryAdapter, null);
+		Assert.assertEquals(0, numExecutions.get());
+		Assert.assertNotNull(task.getIncludedProject());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectNonPositiveMaxConcurrency() {
+		sut.setMaxConcurrency(0);
+	}
+
+	private static Executor countingExecutor(final Executor executor, final AtomicInteger numExecutions) {
+		return new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				numExecutions.incrementAndGet();
+				executor.execute(command);
+			}
+		};
+	}
 }
@@ -0,0 +1,178 @@
+package io.katharsis.resource.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.internal.boot.IndexServiceDiscovery;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.repository.annotations.JsonApiResourceRepository;
+import io.katharsis.resource.annotations.JsonApiResource;
+
+public class ResourceIndexProcessorTest {
+
+	private static final Pattern TYPE_NAME_PATTERN = Pattern.compile("\\b(?:class|interface)\\s+(\\w+)");
+
+	private File dir;
+
+	private File otherDir;
+
+	private URLClassLoader classLoader;
+
+	@Before
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("katharsis-index").toFile();
+		otherDir = Files.createTempDirectory("katharsis-no-index").toFile();
+	}
+
+	@After
+	public void teardown() throws IOException {
+		if (classLoader != null) {
+			classLoader.close();
+		}
+		delete(dir);
+		delete(otherDir);
+	}
+
+	@Test
+	public void testIndex() throws IOException {
+		compile(
+				"package test.index; @io.katharsis.resource.annotations.JsonApiResource(type = \"indexed\") public class IndexedResource { public static class Nested {} }",
+				"package test.index; @io.katharsis.repository.annotations.JsonApiResourceRepository(IndexedResource.class) public class IndexedRepository {}",
+				"package test.index; public abstract class AbstractIndexedFilter implements io.katharsis.dispatcher.filter.Filter {}",
+				"package test.index.other; public class IndexedFilter extends test.index.AbstractIndexedFilter { public io.katharsis.response.BaseResponseContext filter(io.katharsis.dispatcher.filter.FilterRequestContext context, io.katharsis.dispatcher.filter.FilterChain chain) { return null; } }",
+				"package test.index; public class NotIndexed {}");
+
+		classLoader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, getClass().getClassLoader());
+		ResourceIndex index = ResourceIndex.load(classLoader);
+		Assert.assertNotNull(index);
+
+		Assert.assertEquals(Arrays.asList("test.index.IndexedResource"), getNames(index.getClasses(ResourceIndex.RESOURCE, null)));
+		Assert.assertEquals(Arrays.asList("test.index.IndexedRepository", "test.index.other.IndexedFilter"),
+				getNames(index.getClasses(ResourceIndex.COMPONENT, null)));
+		Assert.assertEquals(Arrays.asList("test.index.IndexedRepository", "test.index.other.IndexedFilter"),
+				getNames(index.getClasses(ResourceIndex.COMPONENT, "test.index.doesNotExist, test.index")));
+		Assert.assertEquals(Arrays.asList("test.index.other.IndexedFilter"),
+				getNames(index.getClasses(ResourceIndex.COMPONENT, "test.index.other")));
+		Assert.assertTrue(index.getClasses(ResourceIndex.ENTITY, null).isEmpty());
+		Assert.assertTrue(index.contains(ResourceIndex.COMPONENT, "test.index"));
+		Assert.assertFalse(index.contains(ResourceIndex.COMPONENT, "test.index.doesNotExist"));
+		Assert.assertFalse(index.contains(ResourceIndex.COMPONENT, "test.ind"));
+		Assert.assertTrue(index.isComplete("test.index"));
+		Assert.assertFalse(index.isComplete(null));
+
+		IndexServiceDiscovery discovery = new IndexServiceDiscovery(index, "test.index", new SampleJsonServiceLocator());
+		List<Object> repositories = discovery.getInstancesByAnnotation(JsonApiResourceRepository.class);
+		Assert.assertEquals(1, repositories.size());
+		Assert.assertEquals("test.index.IndexedRepository", repositories.get(0).getClass().getName());
+		Assert.assertEquals(1, discovery.getInstancesByType(io.katharsis.dispatcher.filter.Filter.class).size());
+
+		IndexServiceDiscovery otherDiscovery = new IndexServiceDiscovery(index, "test.index.other", new SampleJsonServiceLocator());
+		Assert.assertTrue(otherDiscovery.getInstancesByAnnotation(JsonApiResourceRepository.class).isEmpty());
+	}
+
+	@Test
+	public void testEntityResource() throws IOException {
+		compile(dir, true, "package javax.persistence; public @interface Entity {}",
+				"package test.index; @javax.persistence.Entity public class IndexedEntity {}",
+				"package test.index; @javax.persistence.Entity @io.katharsis.resource.annotations.JsonApiResource(type = \"indexed\") public class IndexedEntityResource {}");
+
+		classLoader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, getClass().getClassLoader());
+		ResourceIndex index = ResourceIndex.load(classLoader);
+		Assert.assertEquals(Arrays.asList("test.index.IndexedEntity", "test.index.IndexedEntityResource"),
+				getNames(index.getClasses(ResourceIndex.ENTITY, "test.index")));
+		Assert.assertEquals(Arrays.asList("test.index.IndexedEntityResource"),
+				getNames(index.getClasses(ResourceIndex.RESOURCE, "test.index")));
+	}
+
+	@Test
+	public void testIncompleteIndex() throws IOException {
+		compile(dir, true,
+				"package test.index; @io.katharsis.repository.annotations.JsonApiResourceRepository(Object.class) public class IndexedRepository {}");
+		compile(otherDir, false,
+				"package test.index; @io.katharsis.repository.annotations.JsonApiResourceRepository(Object.class) public class NotIndexedRepository {}",
+				"package test.other; public class NotIndexed {}");
+
+		classLoader = new URLClassLoader(new URL[] { dir.toURI().toURL(), otherDir.toURI().toURL() },
+				getClass().getClassLoader());
+		ResourceIndex index = ResourceIndex.load(classLoader);
+		Assert.assertTrue(index.contains(ResourceIndex.COMPONENT, "test.index"));
+		Assert.assertFalse(index.isComplete("test.index"));
+		Assert.assertFalse(index.isComplete("test.other"));
+		Assert.assertTrue(index.isComplete("test.doesNotExist"));
+	}
+
+	@Test
+	public void testNoIndex() {
+		Assert.assertNull(ResourceIndex.load(new URLClassLoader(new URL[0], null)));
+	}
+
+	private void compile(String... sources) throws IOException {
+		compile(dir, true, sources);
+	}
+
+	private void compile(File outputDir, boolean index, String... sources) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+
+		List<File> files = new ArrayList<>();
+		for (String source : sources) {
+			String packageName = source.substring("package ".length(), source.indexOf(';'));
+			Matcher matcher = TYPE_NAME_PATTERN.matcher(source);
+			Assert.assertTrue(matcher.find());
+			File file = new File(outputDir, packageName.replace('.', File.separatorChar) + File.separator + matcher.group(1) + ".java");
+			file.getParentFile().mkdirs();
+			Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+			files.add(file);
+		}
+
+		String classPath = new File(JsonApiResource.class.getProtectionDomain().getCodeSource().getLocation().getPath())
+				.getAbsolutePath() + File.pathSeparator + outputDir.getAbsolutePath();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+			Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(files);
+			List<String> options = Arrays.asList("-classpath", classPath, "-d", outputDir.getAbsolutePath());
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, compilationUnits);
+			task.setProcessors(index ? Collections.singletonList(new ResourceIndexProcessor())
+					: Collections.<ResourceIndexProcessor> emptyList());
+			Assert.assertTrue(task.call());
+		}
+	}
+
+	private static List<String> getNames(List<Class<?>> classes) {
+		List<String> names = new ArrayList<>();
+		for (Class<?> clazz : classes) {
+			names.add(clazz.getName());
+		}
+		return names;
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
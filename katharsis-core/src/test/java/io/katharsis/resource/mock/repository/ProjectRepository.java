@@ -1,7 +1,9 @@
 package io.katharsis.resource.mock.repository;
 
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.VersionedRepository;
 import io.katharsis.resource.exception.ResourceNotFoundException;
 import io.katharsis.resource.mock.models.Project;
 
@@ -9,7 +11,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class ProjectRepository implements ResourceRepository<Project, Long> {
+public class ProjectRepository implements ResourceRepository<Project, Long>, VersionedRepository<Long> {
+
+    public static final String VERSION = "1";
 
     private static final ConcurrentHashMap<Long, Project> THREAD_LOCAL_REPOSITORY = new ConcurrentHashMap<>();
     
@@ -65,4 +69,9 @@ public class ProjectRepository implements ResourceRepository<Project, Long> {
     public void delete(Long aLong) {
         THREAD_LOCAL_REPOSITORY.remove(aLong);
     }
+
+    @Override
+    public String getVersion(Iterable<Long> ids, QuerySpec querySpec) {
+        return VERSION;
+    }
 }
@@ -139,6 +139,20 @@ public class ResourceRegistryTest {
         assertThat(clazz.isPresent()).isFalse();
     }
 
+    @Test
+    public void onEntryAddedAfterLookupShouldReturnEntry() {
+        assertThat(resourceRegistry.getEntry("tasks")).isNull();
+        assertThat(resourceRegistry.getResourceClass(Task$Proxy.class).isPresent()).isFalse();
+
+        // WHEN
+        resourceRegistry.addEntry(Task.class, new RegistryEntry(new ResourceInformation(Task.class, "tasks", null, null, null), null, null));
+
+        // THEN
+        assertThat(resourceRegistry.getEntry("tasks")).isNotNull();
+        assertThat(resourceRegistry.getResourceClass(Task$Proxy.class).get()).isEqualTo(Task.class);
+        assertThat(resourceRegistry.getResourceType(Task$Proxy.class)).isEqualTo("tasks");
+    }
+
     @Test
     public void onResourceGetEntryWithBackUp() {
         String taskType = Task.class.getAnnotation(JsonApiResource.class).type();
@@ -95,4 +95,45 @@ public class PagedLinksInformationQuerySpecTest extends AbstractQuerySpecTest {
 		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=4", linksInformation.getFirst());
 		Assert.assertNull(linksInformation.getNext());
 	}
+
+	@Test
+	public void testCursorPaging() throws InstantiationException, IllegalAccessException {
+		QuerySpecAdapter querySpec = new QuerySpecAdapter(new QuerySpec(Task.class), resourceRegistry);
+		querySpec.setLimit(2L);
+		querySpec.getQuerySpec().setCursor("current");
+
+		PagedLinksInformation linksInformation = (PagedLinksInformation) adapter.findAll(querySpec).getLinksInformation();
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2&page[cursor]=", linksInformation.getFirst());
+		Assert.assertNull(linksInformation.getLast());
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2&page[cursor]=prev", linksInformation.getPrev());
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2&page[cursor]=next", linksInformation.getNext());
+	}
+
+	@Test
+	public void testHasNextPaging() throws InstantiationException, IllegalAccessException {
+		TestPagedResourceRepository.setHasNextPaging(true);
+		QuerySpecAdapter querySpec = new QuerySpecAdapter(new QuerySpec(Task.class), resourceRegistry);
+		querySpec.setOffset(2L);
+		querySpec.setLimit(2L);
+
+		PagedLinksInformation linksInformation = (PagedLinksInformation) adapter.findAll(querySpec).getLinksInformation();
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2", linksInformation.getFirst());
+		Assert.assertNull(linksInformation.getLast());
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2", linksInformation.getPrev());
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2&page[offset]=4", linksInformation.getNext());
+	}
+
+	@Test
+	public void testHasNextPagingLast() throws InstantiationException, IllegalAccessException {
+		TestPagedResourceRepository.setHasNextPaging(true);
+		QuerySpecAdapter querySpec = new QuerySpecAdapter(new QuerySpec(Task.class), resourceRegistry);
+		querySpec.setOffset(4L);
+		querySpec.setLimit(2L);
+
+		PagedLinksInformation linksInformation = (PagedLinksInformation) adapter.findAll(querySpec).getLinksInformation();
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2", linksInformation.getFirst());
+		Assert.assertNull(linksInformation.getLast());
+		Assert.assertEquals("http://127.0.0.1/tasks/?page[limit]=2&page[offset]=2", linksInformation.getPrev());
+		Assert.assertNull(linksInformation.getNext());
+	}
 }
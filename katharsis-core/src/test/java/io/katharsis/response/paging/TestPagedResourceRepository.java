@@ -12,6 +12,8 @@ public class TestPagedResourceRepository implements QuerySpecResourceRepository<
 
 	private static List<Task> tasks = new ArrayList<Task>();
 
+	private static boolean hasNextPaging;
+
 	@Override
 	public Class<Task> getResourceClass() {
 		return Task.class;
@@ -32,6 +34,13 @@ public class TestPagedResourceRepository implements QuerySpecResourceRepository<
 		if (querySpec == null) {
 			return tasks;
 		}
+		if (querySpec.getCursor() != null) {
+			return new CursorPagedResultList<>(querySpec.apply(tasks), null, "next", "prev");
+		}
+		if (hasNextPaging) {
+			boolean hasNext = querySpec.getOffset() + querySpec.getLimit() < tasks.size();
+			return new HasNextPagedResultList<>(querySpec.apply(tasks), null, hasNext);
+		}
 		return querySpec.apply(tasks);
 	}
 
@@ -62,5 +71,10 @@ public class TestPagedResourceRepository implements QuerySpecResourceRepository<
 
 	public static void clear() {
 		tasks.clear();
+		hasNextPaging = false;
+	}
+
+	public static void setHasNextPaging(boolean hasNextPaging) {
+		TestPagedResourceRepository.hasNextPaging = hasNextPaging;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package io.katharsis.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ETagUtilsTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Test
+    public void onSameBodyShouldReturnSameStrongETag() {
+        // GIVEN
+        MessageDigest first = ETagUtils.newDigest();
+        first.update("{\"data\":null}".getBytes(UTF8));
+        MessageDigest second = ETagUtils.newDigest();
+        second.update("{\"data\":null}".getBytes(UTF8));
+
+        // WHEN
+        String etag = ETagUtils.fromDigest(first);
+
+        // THEN
+        assertThat(etag).startsWith("\"").endsWith("\"").hasSize(34);
+        assertThat(ETagUtils.fromDigest(second)).isEqualTo(etag);
+    }
+
+    @Test
+    public void onVersionShouldIgnoreParameterOrder() {
+        // GIVEN
+        Map<String, Set<String>> parameters = new HashMap<>();
+        parameters.put("fields[tasks]", new LinkedHashSet<>(Arrays.asList("name", "description")));
+        parameters.put("sort[tasks]", Collections.singleton("name"));
+        Map<String, Set<String>> reordered = new HashMap<>();
+        reordered.put("sort[tasks]", Collections.singleton("name"));
+        reordered.put("fields[tasks]", new LinkedHashSet<>(Arrays.asList("description", "name")));
+
+        // WHEN
+        String etag = ETagUtils.fromVersion("1", "/tasks", parameters);
+
+        // THEN
+        assertThat(etag).startsWith("W/\"");
+        assertThat(ETagUtils.fromVersion("1", "/tasks", reordered)).isEqualTo(etag);
+    }
+
+    @Test
+    public void onDifferentRequestShouldReturnDifferentWeakETag() {
+        // GIVEN
+        Map<String, Set<String>> parameters = Collections.emptyMap();
+
+        // WHEN
+        String etag = ETagUtils.fromVersion("1", "/tasks", parameters);
+
+        // THEN
+        assertThat(ETagUtils.fromVersion("2", "/tasks", parameters)).isNotEqualTo(etag);
+        assertThat(ETagUtils.fromVersion("1", "/projects", parameters)).isNotEqualTo(etag);
+        assertThat(ETagUtils.fromVersion("1", "/tasks",
+            Collections.<String, Set<String>>singletonMap("page[limit]", Collections.singleton("1"))))
+            .isNotEqualTo(etag);
+    }
+
+    @Test
+    public void onIfNoneMatchShouldUseWeakComparison() {
+        assertThat(ETagUtils.matches("\"abc\"", "\"abc\"")).isTrue();
+        assertThat(ETagUtils.matches("W/\"abc\"", "\"abc\"")).isTrue();
+        assertThat(ETagUtils.matches("\"abc\"", "W/\"abc\"")).isTrue();
+        assertThat(ETagUtils.matches("\"xyz\", W/\"abc\"", "\"abc\"")).isTrue();
+        assertThat(ETagUtils.matches("*", "\"abc\"")).isTrue();
+        assertThat(ETagUtils.matches("\"xyz\"", "\"abc\"")).isFalse();
+        assertThat(ETagUtils.matches(null, "\"abc\"")).isFalse();
+        assertThat(ETagUtils.matches("\"abc\"", null)).isFalse();
+    }
+}
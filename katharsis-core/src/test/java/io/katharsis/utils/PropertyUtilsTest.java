@@ -459,6 +459,45 @@ public class PropertyUtilsTest {
         PropertyUtils.getPropertyType(Bean.class,"attrThatDoesNotExist");
     }
     
+    @Test
+    public void onRepeatedAccessShouldReturnValueOfEachBean() throws Exception {
+        // GIVEN
+        Bean bean1 = new Bean();
+        bean1.setPrivatePropertyWithMutators("value1");
+        Bean bean2 = new Bean();
+        bean2.setPrivatePropertyWithMutators("value2");
+        ChildBean bean3 = new ChildBean();
+        bean3.setPrivatePropertyWithMutators("value3");
+
+        // WHEN
+        PropertyUtils.setProperty(bean1, "publicProperty", "public1");
+        PropertyUtils.setProperty(bean2, "publicProperty", "public2");
+
+        // THEN
+        assertThat(PropertyUtils.getProperty(bean1, "privatePropertyWithMutators")).isEqualTo("value1");
+        assertThat(PropertyUtils.getProperty(bean2, "privatePropertyWithMutators")).isEqualTo("value2");
+        assertThat(PropertyUtils.getProperty(bean3, "privatePropertyWithMutators")).isEqualTo("value3");
+        assertThat(PropertyUtils.getProperty(bean1, "publicProperty")).isEqualTo("public1");
+        assertThat(PropertyUtils.getProperty(bean2, "publicProperty")).isEqualTo("public2");
+    }
+
+    @Test
+    public void unknownPropertyThrowingExceptionOnRepeatedAccess() throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        try {
+            PropertyUtils.getProperty(bean, "attrThatDoesNotExist");
+        } catch (PropertyException e) {
+            // expected
+        }
+
+        // THEN
+        expectedException.expect(PropertyException.class);
+
+        // WHEN
+        PropertyUtils.getProperty(bean, "attrThatDoesNotExist");
+    }
+
     @Test
     public void nullBeanResultsInNullValue() throws Exception {
     	 // GIVEN
@@ -1,18 +1,27 @@
 package io.katharsis.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import javax.persistence.EntityManager;
 
+import io.katharsis.jpa.internal.JpaProjection;
 import io.katharsis.jpa.internal.JpaRepositoryBase;
 import io.katharsis.jpa.internal.JpaRepositoryUtils;
 import io.katharsis.jpa.internal.meta.MetaAttribute;
 import io.katharsis.jpa.internal.meta.MetaEntity;
 import io.katharsis.jpa.internal.paging.DefaultPagedMetaInformation;
+import io.katharsis.jpa.internal.paging.KeysetPaging;
+import io.katharsis.jpa.internal.paging.KeysetResultStream;
 import io.katharsis.jpa.internal.paging.PagedMetaInformation;
+import io.katharsis.jpa.mapping.IdentityMapper;
 import io.katharsis.jpa.query.ComputedAttributeRegistry;
 import io.katharsis.jpa.query.JpaQuery;
 import io.katharsis.jpa.query.JpaQueryExecutor;
@@ -21,15 +30,28 @@ import io.katharsis.jpa.query.Tuple;
 import io.katharsis.queryspec.FilterOperator;
 import io.katharsis.queryspec.FilterSpec;
 import io.katharsis.queryspec.QuerySpec;
-import io.katharsis.queryspec.QuerySpecResourceRepository;
-import io.katharsis.response.paging.PagedResultList;
+import io.katharsis.queryspec.QuerySpecBulkResourceRepository;
+import io.katharsis.queryspec.QuerySpecStreamingRepository;
+import io.katharsis.response.ResultStream;
+import io.katharsis.response.paging.CursorPagedResultList;
 import io.katharsis.utils.PropertyUtils;
 
 /**
- * Exposes a JPA entity as ResourceRepository.
+ * Exposes a JPA entity as ResourceRepository. Supports offset-based pagination with a total count and, if the
+ * QuerySpec carries a cursor, keyset pagination without count query, see {@link KeysetPaging}. How the total count
+ * is computed is configured per resource, see {@link TotalCountStrategy}. Sparse fieldsets are
+ * selected as projection for read-only requests, see {@link JpaProjection}. Large collections can be streamed in
+ * chunks, see {@link JpaModule#setStreamingFetchSize(Class, Integer)}. Bulk writes are flushed once, such that
+ * the JPA provider can batch the statements if JDBC batching is enabled for the persistence unit, for example with
+ * <code>hibernate.jdbc.batch_size</code> and <code>hibernate.order_inserts</code>.
  */
 public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositoryBase<T>
-		implements QuerySpecResourceRepository<T, I> {
+		implements QuerySpecBulkResourceRepository<T, I>, QuerySpecStreamingRepository<T> {
+
+	/**
+	 * Maximum number of ids put into a single IN-list when bulk saved resources are fetched again or bulk deleted.
+	 */
+	public static final int MAX_IDS_PER_QUERY = 500;
 
 	private MetaEntity meta;
 
@@ -60,35 +82,124 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 
 	@Override
 	public List<T> findAll(QuerySpec querySpec) {
-		resetEntityManager();
 		checkReadable();
+		return findAll(querySpec, module.isReadOnlyRequest());
+	}
+
+	/**
+	 * Streams unpaged requests if a fetch size is configured for the resource, see
+	 * {@link JpaModule#setStreamingFetchSize(Class, Integer)}.
+	 */
+	@Override
+	public ResultStream<T> stream(QuerySpec querySpec) {
+		Integer fetchSize = module.getStreamingFetchSize(resourceClass);
+		if (fetchSize == null || querySpec.getLimit() != null || querySpec.getOffset() != 0
+				|| querySpec.getCursor() != null) {
+			return null;
+		}
+		checkReadable();
+		// the stream is consumed while the response is written, after the request and its transaction have ended
+		final boolean readOnly = module.isReadOnlyRequest();
+		return new KeysetResultStream<T>(querySpec, fetchSize) {
+
+			@Override
+			protected CursorPagedResultList<T> fetch(final QuerySpec chunkQuerySpec) {
+				return module.doInReadTransaction(new Callable<CursorPagedResultList<T>>() {
+
+					@Override
+					public CursorPagedResultList<T> call() {
+						return (CursorPagedResultList<T>) findAll(chunkQuerySpec, readOnly);
+					}
+				});
+			}
+
+			@Override
+			protected void release(List<T> resources) {
+				if (!(mapper instanceof IdentityMapper)) {
+					return;
+				}
+				EntityManager em = module.getEntityManager();
+				for (T resource : resources) {
+					if (em.contains(resource)) {
+						em.detach(resource);
+					}
+				}
+			}
+		};
+	}
+
+	private List<T> findAll(QuerySpec querySpec, boolean readOnly) {
 		QuerySpec filteredQuerySpec = filterQuerySpec(querySpec);
+		JpaProjection<T> projection = getProjection(filteredQuerySpec, readOnly);
+		KeysetPaging keysetPaging = null;
+		if (filteredQuerySpec.getCursor() != null) {
+			keysetPaging = new KeysetPaging(filteredQuerySpec, meta, primaryKeyAttr.getName());
+			filteredQuerySpec = keysetPaging.getSeekQuerySpec();
+		}
 		JpaQueryFactory queryFactory = module.getQueryFactory();
 		JpaQuery<?> query = queryFactory.query(entityClass);
 
-		ComputedAttributeRegistry computedAttributesRegistry = queryFactory.getComputedAttributes();
-		Set<String> computedAttrs = computedAttributesRegistry.getForType(entityClass);
+		Set<String> computedAttrs;
+		if (projection != null) {
+			projection.apply(query);
+			computedAttrs = Collections.emptySet();
+		}
+		else {
+			ComputedAttributeRegistry computedAttributesRegistry = queryFactory.getComputedAttributes();
+			computedAttrs = computedAttributesRegistry.getForType(entityClass);
+		}
 
 		JpaRepositoryUtils.prepareQuery(query, filteredQuerySpec, computedAttrs);
 		query = filterQuery(filteredQuerySpec, query);
 		JpaQueryExecutor<?> executor = query.buildExecutor();
 		JpaRepositoryUtils.prepareExecutor(executor, filteredQuerySpec, fetchRelations(null));
+		boolean paged = keysetPaging == null && filteredQuerySpec.getLimit() != null;
+		if (paged) {
+			prepareTotalCount(executor, filteredQuerySpec);
+		}
+		executor.setReadOnly(readOnly);
 		executor = filterExecutor(filteredQuerySpec, executor);
-		resetEntityManager();
+		resetEntityManager(readOnly);
 		
 		List<Tuple> tuples = executor.getResultTuples();
+		boolean hasNext = paged && tuples.size() > filteredQuerySpec.getLimit();
+		if (hasNext) {
+			tuples = truncateTuples(tuples, filteredQuerySpec);
+		}
 		tuples = filterTuples(filteredQuerySpec, tuples);
-		List<T> resources = map(tuples);
+		List<T> resources = projection != null ? map(projection, tuples) : map(tuples);
 		resources = filterResults(filteredQuerySpec, resources);
-		if (filteredQuerySpec.getLimit() != null) {
-			long totalRowCount = executor.getTotalRowCount();
-			return new PagedResultList<>(resources, totalRowCount);
+		if (keysetPaging != null) {
+			return keysetPaging.toResultList(resources);
+		}
+		else if (paged) {
+			return toPagedResultList(resources, filteredQuerySpec, executor, hasNext);
 		}
 		else {
 			return resources;
 		}
 	}
 
+	/**
+	 * Sparse fieldsets of entities exposed without DTO mapping are pushed down to the database for read-only requests,
+	 * see {@link JpaProjection}. Otherwise entire entities are loaded and the fieldset is applied when serializing.
+	 */
+	private JpaProjection<T> getProjection(QuerySpec querySpec, boolean readOnly) {
+		if (querySpec.getIncludedFields().isEmpty() || !(mapper instanceof IdentityMapper)) {
+			return null;
+		}
+		JpaProjection<T> projection = JpaProjection.create(meta, querySpec);
+		return readOnly ? projection : null;
+	}
+
+	private static <T> List<T> map(JpaProjection<T> projection, List<Tuple> tuples) {
+		List<T> resources = new ArrayList<>();
+		for (Tuple tuple : tuples) {
+			resources.add(projection.map(tuple));
+		}
+		return resources;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <S extends T> S save(S resource) {
@@ -103,6 +214,7 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		
 		em.persist(entity);
 		em.flush();
+		clearTotalCounts();
 
 		// fetch again since we may have to fetch tuple data and do DTO mapping
 		QuerySpec querySpec = new QuerySpec(resourceClass);
@@ -113,6 +225,56 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		return (S) findOne(id, querySpec);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public <S extends T> List<S> saveAll(Iterable<S> resources) {
+		EntityManager em = module.getEntityManager();
+		List<I> ids = new ArrayList<>();
+		List<Object> entities = new ArrayList<>();
+		for (S resource : resources) {
+			Object entity = mapper.unmap(resource);
+			if (em.contains(entity)) {
+				checkUpdateable();
+			}
+			else {
+				checkCreateable();
+			}
+			em.persist(entity);
+			entities.add(entity);
+		}
+		em.flush();
+		clearTotalCounts();
+
+		for (Object entity : entities) {
+			I id = (I) PropertyUtils.getProperty(entity, primaryKeyAttr.getName());
+			if (id == null) {
+				throw new IllegalStateException("id not available for entity " + entity);
+			}
+			ids.add(id);
+		}
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		// fetch again with a query per chunk since we may have to fetch tuple data and do DTO mapping
+		Map<Object, T> resourceMap = new HashMap<>();
+		for (int i = 0; i < ids.size(); i += MAX_IDS_PER_QUERY) {
+			List<I> chunk = ids.subList(i, Math.min(ids.size(), i + MAX_IDS_PER_QUERY));
+			for (T resource : findAll(chunk, new QuerySpec(resourceClass))) {
+				resourceMap.put(PropertyUtils.getProperty(resource, primaryKeyAttr.getName()), resource);
+			}
+		}
+		List<S> results = new ArrayList<>();
+		for (I id : ids) {
+			T resource = resourceMap.get(id);
+			if (resource == null) {
+				throw new IllegalStateException("saved resource with id " + id + " not found, may not be readable");
+			}
+			results.add((S) resource);
+		}
+		return results;
+	}
+
 	@Override
 	public void delete(I id) {
 		checkDeleteable();
@@ -121,6 +283,32 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		Object object = em.find(entityClass, id);
 		if (object != null) {
 			em.remove(object);
+			clearTotalCounts();
+		}
+	}
+
+	@Override
+	public void deleteAll(Iterable<I> ids) {
+		checkDeleteable();
+		List<I> idList = new ArrayList<>();
+		for (I id : ids) {
+			idList.add(id);
+		}
+		EntityManager em = module.getEntityManager();
+
+		boolean removed = false;
+		for (int i = 0; i < idList.size(); i += MAX_IDS_PER_QUERY) {
+			List<I> chunk = idList.subList(i, Math.min(idList.size(), i + MAX_IDS_PER_QUERY));
+			JpaQuery<?> query = module.getQueryFactory().query(entityClass);
+			query.addFilter(primaryKeyAttr.getName(), FilterOperator.EQ, chunk);
+			List<?> entities = query.buildExecutor().getResultList();
+			for (Object entity : entities) {
+				em.remove(entity);
+			}
+			removed |= !entities.isEmpty();
+		}
+		if (removed) {
+			clearTotalCounts();
 		}
 	}
 
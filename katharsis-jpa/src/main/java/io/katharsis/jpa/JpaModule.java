@@ -8,20 +8,28 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
 import javax.persistence.metamodel.ManagedType;
 
 import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.katharsis.cache.CachePolicy;
+import io.katharsis.internal.boot.ReadOnlyTransactionRunner;
 import io.katharsis.internal.boot.TransactionRunner;
+import io.katharsis.dispatcher.controller.HttpMethod;
 import io.katharsis.dispatcher.filter.AbstractFilter;
 import io.katharsis.dispatcher.filter.FilterChain;
 import io.katharsis.dispatcher.filter.FilterRequestContext;
+import io.katharsis.dispatcher.filter.VersionFilter;
+import io.katharsis.dispatcher.filter.VersionFilterChain;
 import io.katharsis.jpa.internal.JpaResourceInformationBuilder;
 import io.katharsis.jpa.internal.OptimisticLockExceptionMapper;
 import io.katharsis.jpa.internal.meta.MetaAttribute;
@@ -39,6 +47,9 @@ import io.katharsis.jpa.query.criteria.JpaCriteriaQueryFactory;
 import io.katharsis.module.Module;
 import io.katharsis.queryspec.QuerySpecRelationshipRepository;
 import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.resource.include.IncludeLookupExecutorProvider;
+import io.katharsis.resource.index.ResourceIndex;
+import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.registry.ResourceLookup;
 import io.katharsis.response.BaseResponseContext;
@@ -53,7 +64,8 @@ import io.katharsis.utils.PreconditionUtil;
  * <li>Filtering</li>
  * <li>Access to relationships for any operation (sorting, filtering, etc.)</li>
  * <li>Includes for relationships </li>
- * <li>Paging</li>
+ * <li>Paging with configurable total counts, see {@link TotalCountStrategy}</li>
+ * <li>Streaming of large collections, see {@link #setStreamingFetchSize(Class, Integer)}</li>
  * <li>Mapping to DTOs</li>
  * <li>Criteria API and QueryDSL support</li>
  * <li>Computated attributes that map JPA Criteria/QueryDSL expressions to DTO attributes</li>
@@ -74,6 +86,25 @@ import io.katharsis.utils.PreconditionUtil;
  */
 public class JpaModule implements Module {
 
+	/**
+	 * Transaction handling of GET requests, other requests always run in a regular transaction.
+	 */
+	public enum ReadTransactionMode {
+		/**
+		 * Runs GET requests in a regular transaction, just like modifying requests.
+		 */
+		READ_WRITE,
+		/**
+		 * Runs GET requests in a read-only transaction that is never flushed, entities are loaded read-only. The
+		 * transaction is marked read-only if the transaction runner is a {@link ReadOnlyTransactionRunner}.
+		 */
+		READ_ONLY,
+		/**
+		 * Runs GET requests without transaction, entities are loaded read-only.
+		 */
+		NONE
+	}
+
 	private Logger logger = LoggerFactory.getLogger(JpaModule.class);
 
 	private static final String MODULE_NAME = "jpa";
@@ -102,12 +133,38 @@ public class JpaModule implements Module {
 
 	private List<JpaRepositoryFilter> filters = new CopyOnWriteArrayList<>();
 
+	private Executor includeLookupExecutor;
+
+	private ReadTransactionMode readTransactionMode = ReadTransactionMode.READ_ONLY;
+
+	/**
+	 * Read-only flag of the request processed by the current thread, null if there is none.
+	 */
+	private ThreadLocal<Boolean> requestState = new ThreadLocal<>();
+
+	private TotalCountStrategy defaultTotalCountStrategy = TotalCountStrategy.EXACT;
+
+	private Map<Class<?>, TotalCountStrategy> totalCountStrategies = new HashMap<>();
+
+	private CachePolicy totalCountCachePolicy = new CachePolicy(1000, 1, TimeUnit.MINUTES);
+
+	private TotalCountEstimator totalCountEstimator;
+
+	private Map<Class<?>, Integer> streamingFetchSizes = new HashMap<>();
+
 	/**
 	 * Constructor used on client side.
 	 */
 	private JpaModule(String resourceSearchPackage) {
 		this.resourceSearchPackage = resourceSearchPackage;
 
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ResourceIndex index = ResourceIndex.load(classLoader != null ? classLoader : JpaModule.class.getClassLoader());
+		if (index != null && index.isComplete(resourceSearchPackage)) {
+			this.entityClasses.addAll(index.getClasses(ResourceIndex.ENTITY, resourceSearchPackage));
+			return;
+		}
+
 		Reflections reflections;
 		if (resourceSearchPackage != null) {
 			String[] packageNames = resourceSearchPackage.split(",");
@@ -216,6 +273,137 @@ public class JpaModule implements Module {
 		this.repositoryFactory = repositoryFactory;
 	}
 
+	/**
+	 * Sets the executor the relationships of JPA resources are looked up on when Katharsis resolves inclusions
+	 * concurrently. By default they are looked up on the request thread, since the entity manager and the transaction
+	 * of the request are bound to it. A custom executor has to make both available to its threads.
+	 * 
+	 * @param includeLookupExecutor executor or <code>null</code> to look up on the request thread
+	 */
+	public void setIncludeLookupExecutor(Executor includeLookupExecutor) {
+		checkNotInitialized();
+		this.includeLookupExecutor = includeLookupExecutor;
+	}
+
+	public Executor getIncludeLookupExecutor() {
+		return includeLookupExecutor;
+	}
+
+	/**
+	 * Sets how GET requests are run, {@link ReadTransactionMode#READ_ONLY} by default.
+	 * 
+	 * @param readTransactionMode to use
+	 */
+	public void setReadTransactionMode(ReadTransactionMode readTransactionMode) {
+		checkNotInitialized();
+		this.readTransactionMode = readTransactionMode;
+	}
+
+	public ReadTransactionMode getReadTransactionMode() {
+		return readTransactionMode;
+	}
+
+	/**
+	 * @return true if the current thread is processing a GET request in {@link ReadTransactionMode#READ_ONLY} or
+	 *         {@link ReadTransactionMode#NONE} mode. The repositories then neither flush the entity manager nor track
+	 *         changes to the loaded entities.
+	 */
+	public boolean isReadOnlyRequest() {
+		return Boolean.TRUE.equals(requestState.get());
+	}
+
+	/**
+	 * Sets how the total count of paged requests is computed for resources without a strategy of their own,
+	 * {@link TotalCountStrategy#EXACT} by default.
+	 * 
+	 * @param defaultTotalCountStrategy to use
+	 */
+	public void setDefaultTotalCountStrategy(TotalCountStrategy defaultTotalCountStrategy) {
+		checkNotInitialized();
+		this.defaultTotalCountStrategy = defaultTotalCountStrategy;
+	}
+
+	/**
+	 * Sets how the total count of paged requests is computed for the given resource, also when it is the target of a
+	 * relationship.
+	 * 
+	 * @param resourceClass entity or DTO class
+	 * @param totalCountStrategy to use
+	 */
+	public void setTotalCountStrategy(Class<?> resourceClass, TotalCountStrategy totalCountStrategy) {
+		checkNotInitialized();
+		totalCountStrategies.put(resourceClass, totalCountStrategy);
+	}
+
+	/**
+	 * @param resourceClass entity or DTO class
+	 * @return strategy of the resource or the default strategy
+	 */
+	public TotalCountStrategy getTotalCountStrategy(Class<?> resourceClass) {
+		TotalCountStrategy totalCountStrategy = totalCountStrategies.get(resourceClass);
+		return totalCountStrategy != null ? totalCountStrategy : defaultTotalCountStrategy;
+	}
+
+	/**
+	 * Bounds the counts every repository keeps for {@link TotalCountStrategy#CACHED}, 1000 counts for one minute by
+	 * default.
+	 * 
+	 * @param totalCountCachePolicy to use
+	 */
+	public void setTotalCountCachePolicy(CachePolicy totalCountCachePolicy) {
+		checkNotInitialized();
+		this.totalCountCachePolicy = totalCountCachePolicy;
+	}
+
+	public CachePolicy getTotalCountCachePolicy() {
+		return totalCountCachePolicy;
+	}
+
+	/**
+	 * Sets the estimator used by {@link TotalCountStrategy#ESTIMATE}. Without estimator no total count is reported.
+	 * 
+	 * @param totalCountEstimator to use, for example a {@link TableStatisticsEstimator}
+	 */
+	public void setTotalCountEstimator(TotalCountEstimator totalCountEstimator) {
+		checkNotInitialized();
+		this.totalCountEstimator = totalCountEstimator;
+	}
+
+	public TotalCountEstimator getTotalCountEstimator() {
+		return totalCountEstimator;
+	}
+
+	/**
+	 * Streams unpaged requests for the collection of the given resource instead of loading it as a whole, see
+	 * {@link io.katharsis.response.ResultStream}. The rows are fetched in chunks of the given size with keyset
+	 * pagination, such that no database cursor is held open while the response is written. The sort attributes must
+	 * not be nullable, the primary key is appended to make the order unique. Loaded entities are detached once the
+	 * next chunk is fetched.
+	 * <p>
+	 * Every chunk is fetched in a transaction of its own, so the streamed collection is not a consistent snapshot.
+	 * Rows inserted or deleted while the response is written may or may not be part of it, and a row whose sort
+	 * attributes are updated meanwhile can be skipped or returned twice. Use paging if a consistent result is
+	 * required.
+	 * 
+	 * @param resourceClass entity or DTO class
+	 * @param fetchSize number of rows fetched at once or <code>null</code> to no longer stream the resource
+	 */
+	public void setStreamingFetchSize(Class<?> resourceClass, Integer fetchSize) {
+		checkNotInitialized();
+		if (fetchSize != null && fetchSize < 1) {
+			throw new IllegalArgumentException("fetchSize must be positive, got " + fetchSize);
+		}
+		streamingFetchSizes.put(resourceClass, fetchSize);
+	}
+
+	/**
+	 * @param resourceClass entity or DTO class
+	 * @return number of rows fetched at once when streaming the resource or <code>null</code> if it is not streamed
+	 */
+	public Integer getStreamingFetchSize(Class<?> resourceClass) {
+		return streamingFetchSizes.get(resourceClass);
+	}
+
 	/**
 	 * @return set of entity classes made available as repository.
 	 */
@@ -333,6 +521,7 @@ public class JpaModule implements Module {
 			context.addResourceLookup(new MappingsResourceLookup());
 			setupServerRepositories();
 			setupTransactionMgmt();
+			setupIncludeLookup();
 		}
 	}
 
@@ -353,17 +542,132 @@ public class JpaModule implements Module {
 	}
 
 	protected void setupTransactionMgmt() {
-		context.addFilter(new AbstractFilter() {
+		context.addFilter(new TransactionFilter());
+	}
+
+	/**
+	 * Runs requests and the version lookups of conditional requests in a transaction.
+	 */
+	private class TransactionFilter extends AbstractFilter implements VersionFilter {
+
+		@Override
+		public BaseResponseContext filter(final FilterRequestContext context, final FilterChain chain) {
+			Callable<BaseResponseContext> callable = new Callable<BaseResponseContext>() {
+
+				@Override
+				public BaseResponseContext call() throws Exception {
+					return chain.doFilter(context);
+				}
+			};
+			if (!HttpMethod.GET.name().equals(context.getMethod())) {
+				return transactionRunner.doInTransaction(new RequestCallable<>(callable, false));
+			}
+			return runRead(callable);
+		}
+
+		@Override
+		public String filterVersion(final FilterRequestContext context, final VersionFilterChain chain) {
+			return runRead(new Callable<String>() {
+
+				@Override
+				public String call() throws Exception {
+					return chain.doFilter(context);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Runs the callable like a GET request, see {@link #setReadTransactionMode(ReadTransactionMode)}. Used for work
+	 * that outlives the request, like fetching the chunks of a streamed response while it is written. Joins the request
+	 * in progress on the current thread, if any.
+	 * 
+	 * @param callable to run
+	 * @return result of the callable
+	 */
+	protected <T> T doInReadTransaction(Callable<T> callable) {
+		if (requestState.get() != null || transactionRunner == null) {
+			return call(callable);
+		}
+		return runRead(callable);
+	}
+
+	private <T> T runRead(Callable<T> callable) {
+		if (readTransactionMode == ReadTransactionMode.READ_WRITE) {
+			return transactionRunner.doInTransaction(new RequestCallable<>(callable, false));
+		}
+		else if (readTransactionMode == ReadTransactionMode.READ_ONLY) {
+			if (transactionRunner instanceof ReadOnlyTransactionRunner) {
+				return ((ReadOnlyTransactionRunner) transactionRunner).doInReadOnlyTransaction(new RequestCallable<>(callable, true));
+			}
+			return transactionRunner.doInTransaction(new RequestCallable<>(callable, true));
+		}
+		else {
+			return call(new RequestCallable<>(callable, true));
+		}
+	}
+
+	private static <T> T call(Callable<T> callable) {
+		try {
+			return callable.call();
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Marks the current thread as processing a request. For read-only requests it also keeps the entity manager from
+	 * flushing while the callable runs.
+	 */
+	private class RequestCallable<T> implements Callable<T> {
+
+		private final Callable<T> callable;
+
+		private final boolean readOnly;
+
+		RequestCallable(Callable<T> callable, boolean readOnly) {
+			this.callable = callable;
+			this.readOnly = readOnly;
+		}
+
+		@Override
+		public T call() throws Exception {
+			// a transaction manager may have disabled flushing already
+			boolean autoFlush = readOnly && em.getFlushMode() == FlushModeType.AUTO;
+			requestState.set(readOnly);
+			if (autoFlush) {
+				em.setFlushMode(FlushModeType.COMMIT);
+			}
+			try {
+				return callable.call();
+			}
+			finally {
+				if (autoFlush) {
+					em.setFlushMode(FlushModeType.AUTO);
+				}
+				requestState.remove();
+			}
+		}
+	}
+
+	protected void setupIncludeLookup() {
+		if (!(context instanceof ExtendedModuleContext)) {
+			// inclusions are not resolved concurrently by other contexts
+			return;
+		}
+		((ExtendedModuleContext) context).addIncludeLookupExecutorProvider(new IncludeLookupExecutorProvider() {
 
 			@Override
-			public BaseResponseContext filter(final FilterRequestContext context, final FilterChain chain) {
-				return transactionRunner.doInTransaction(new Callable<BaseResponseContext>() {
-
-					@Override
-					public BaseResponseContext call() throws Exception {
-						return chain.doFilter(context);
-					}
-				});
+			public Executor getExecutor(ResourceInformation resourceInformation, Executor executor) {
+				Class<?> resourceClass = resourceInformation.getResourceClass();
+				if (entityClasses.contains(resourceClass) || mappings.containsKey(resourceClass)) {
+					return includeLookupExecutor;
+				}
+				return executor;
 			}
 		});
 	}
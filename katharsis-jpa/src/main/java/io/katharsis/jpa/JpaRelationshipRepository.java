@@ -35,6 +35,11 @@ import io.katharsis.response.paging.PagedResultList;
 public class JpaRelationshipRepository<S, I extends Serializable, T, J extends Serializable> extends JpaRepositoryBase<T>
 		implements QuerySpecBulkRelationshipRepository<S, I, T, J> {
 
+	/**
+	 * Stays below the IN-list limit of common databases.
+	 */
+	public static final int DEFAULT_BULK_FETCH_BATCH_SIZE = 1000;
+
 	private Class<S> sourceResourceClass;
 
 	private Class<?> sourceEntityClass;
@@ -43,6 +48,8 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 	private JpaMapper<?, S> sourceMapper;
 
+	private int bulkFetchBatchSize = DEFAULT_BULK_FETCH_BATCH_SIZE;
+
 	/**
 	 * JPA relationship directly exposed as repository
 	 * 
@@ -69,6 +76,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 	@Override
 	public void setRelation(S source, J targetId, String fieldName) {
 		checkUpdateable();
+		clearTotalCounts();
 		MetaAttribute attrMeta = entityMeta.getAttribute(fieldName);
 		MetaAttribute oppositeAttrMeta = attrMeta.getOppositeAttribute();
 		Class<?> targetType = getElementType(attrMeta);
@@ -92,6 +100,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 	@Override
 	public void setRelations(S source, Iterable<J> targetIds, String fieldName) {
+		clearTotalCounts();
 		MetaAttribute attrMeta = entityMeta.getAttribute(fieldName);
 		MetaAttribute oppositeAttrMeta = attrMeta.getOppositeAttribute();
 		Class<?> targetType = getElementType(attrMeta);
@@ -151,6 +160,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 	@Override
 	public void addRelations(S source, Iterable<J> targetIds, String fieldName) {
 		checkCreateable();
+		clearTotalCounts();
 		MetaAttribute attrMeta = entityMeta.getAttribute(fieldName);
 		MetaAttribute oppositeAttrMeta = attrMeta.getOppositeAttribute();
 		Class<?> targetType = getElementType(attrMeta);
@@ -178,6 +188,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 	@Override
 	public void removeRelations(S source, Iterable<J> targetIds, String fieldName) {
 		checkDeleteable();
+		clearTotalCounts();
 		MetaAttribute attrMeta = entityMeta.getAttribute(fieldName);
 		MetaAttribute oppositeAttrMeta = attrMeta.getOppositeAttribute();
 		Class<?> targetType = getElementType(attrMeta);
@@ -215,18 +226,29 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 	private Map<I, Iterable<T>> getResults(Iterable<I> sourceIds, String fieldName, QuerySpec querySpec) {
 		resetEntityManager();
-		
+
 		List<I> sourceIdLists = new ArrayList<>();
 		for (I sourceId : sourceIds) {
 			sourceIdLists.add(sourceId);
 		}
 
-		if (querySpec.getLimit() != null && sourceIdLists.size() > 1) {
-			throw new UnsupportedOperationException("page limit not supported for bulk inclusions");
+		// paged requests are queried per source to let the database apply offset and limit
+		boolean paging = querySpec.getLimit() != null || querySpec.getOffset() > 0;
+		int batchSize = paging ? 1 : bulkFetchBatchSize;
+
+		Map<I, Iterable<T>> map = new HashMap<>();
+		for (int i = 0; i < sourceIdLists.size(); i += batchSize) {
+			List<I> batchIds = sourceIdLists.subList(i, Math.min(sourceIdLists.size(), i + batchSize));
+			map.putAll(getBatchResults(batchIds, fieldName, querySpec));
 		}
 
+		resetEntityManager();
+		return map;
+	}
+
+	private Map<I, Iterable<T>> getBatchResults(List<I> sourceIdLists, String fieldName, QuerySpec querySpec) {
 		QuerySpec bulkQuerySpec = querySpec.duplicate();
-		
+
 		QuerySpec filteredQuerySpec = filterQuerySpec(bulkQuerySpec);
 
 		JpaQueryFactory queryFactory = module.getQueryFactory();
@@ -241,26 +263,32 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		JpaQueryExecutor<?> executor = query.buildExecutor();
 		JpaRepositoryUtils.prepareExecutor(executor, filteredQuerySpec, fetchRelations(fieldName));
+		// support paging for non-bulk requests
+		boolean paged = sourceIdLists.size() == 1 && querySpec.getLimit() != null;
+		if (paged) {
+			prepareTotalCount(executor, filteredQuerySpec);
+		}
+		executor.setReadOnly(module.isReadOnlyRequest());
 		executor = filterExecutor(filteredQuerySpec, executor);
 
 		List<Tuple> tuples = executor.getResultTuples();
-		
+		boolean hasNext = paged && tuples.size() > filteredQuerySpec.getLimit();
+		if (hasNext) {
+			tuples = truncateTuples(tuples, filteredQuerySpec);
+		}
+
 		tuples = filterTuples(bulkQuerySpec, tuples);
 
 		Map<I, Iterable<T>> map = mapTuples(tuples);
 
-		// support paging for non-bulk requests
-		if (sourceIdLists.size() == 1 && querySpec.getLimit() != null) {
-			long totalRowCount = executor.getTotalRowCount();
+		if (paged) {
 			I sourceId = sourceIdLists.get(0);
 			Iterable<T> iterable = map.get(sourceId);
 			if (iterable == null) {
 				iterable = new ArrayList<>();
 			}
-			map.put(sourceId, new PagedResultList<>((List<T>) iterable, totalRowCount));
+			map.put(sourceId, toPagedResultList((List<T>) iterable, filteredQuerySpec, executor, hasNext, sourceId, fieldName));
 		}
-
-		resetEntityManager();
 		return map;
 	}
 
@@ -309,6 +337,24 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		}
 	}
 
+	public int getBulkFetchBatchSize() {
+		return bulkFetchBatchSize;
+	}
+
+	/**
+	 * Targets of multiple sources are loaded with a single query per batch of source ids. Requests with an offset or
+	 * limit are instead queried for every source separately, so that the database applies the page and only the
+	 * targets of the page are loaded.
+	 *
+	 * @param bulkFetchBatchSize maximum number of source ids per query
+	 */
+	public void setBulkFetchBatchSize(int bulkFetchBatchSize) {
+		if (bulkFetchBatchSize < 1) {
+			throw new IllegalArgumentException("bulkFetchBatchSize must be positive");
+		}
+		this.bulkFetchBatchSize = bulkFetchBatchSize;
+	}
+
 	@Override
 	public Class<S> getSourceResourceClass() {
 		return sourceResourceClass;
@@ -323,6 +369,15 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		return entityClass;
 	}
 
+	/**
+	 * The targets of a relationship cannot be estimated, {@link TotalCountStrategy#ESTIMATE} only determines whether
+	 * there is a next page.
+	 */
+	@Override
+	protected Long estimateTotalCount(QuerySpec querySpec) {
+		return null;
+	}
+
 	@Override
 	protected PagedMetaInformation newPagedMetaInformation() {
 		return new DefaultPagedMetaInformation();
@@ -0,0 +1,57 @@
+package io.katharsis.jpa;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Table;
+
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * Estimates the number of rows of the table of an entity from the statistics of the database with a native query. Such
+ * statistics are updated by the database from time to time and ignore filters, so unfiltered requests are estimated
+ * only. Resources restricted by a {@link JpaRepositoryFilter} are counted exactly instead, see
+ * {@link TotalCountStrategy#ESTIMATE}. The table name is taken from {@link Table} or defaults to the simple name of the entity class, the statements
+ * for PostgreSQL and H2 match it case-insensitively.
+ */
+public class TableStatisticsEstimator implements TotalCountEstimator {
+
+	public static final String POSTGRESQL = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE LOWER(relname) = LOWER(?1)";
+
+	public static final String MYSQL = "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?1";
+
+	public static final String H2 = "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = UPPER(?1)";
+
+	private final String sql;
+
+	/**
+	 * @param sql native query returning the row count estimate of the table whose name is passed as first parameter,
+	 *            for example {@link #POSTGRESQL}, {@link #MYSQL} or {@link #H2}
+	 */
+	public TableStatisticsEstimator(String sql) {
+		this.sql = sql;
+	}
+
+	@Override
+	public Long estimate(EntityManager em, Class<?> entityClass, QuerySpec querySpec) {
+		if (!querySpec.getFilters().isEmpty()) {
+			return null;
+		}
+		Query query = em.createNativeQuery(sql);
+		query.setParameter(1, getTableName(entityClass));
+		List<?> results = query.getResultList();
+		if (results.isEmpty() || results.get(0) == null) {
+			return null;
+		}
+		return Math.max(0L, ((Number) results.get(0)).longValue());
+	}
+
+	private static String getTableName(Class<?> entityClass) {
+		Table table = entityClass.getAnnotation(Table.class);
+		if (table != null && !table.name().isEmpty()) {
+			return table.name();
+		}
+		return entityClass.getSimpleName();
+	}
+}
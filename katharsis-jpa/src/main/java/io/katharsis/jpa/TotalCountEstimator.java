@@ -0,0 +1,21 @@
+package io.katharsis.jpa;
+
+import javax.persistence.EntityManager;
+
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * Estimates the total number of resources for {@link TotalCountStrategy#ESTIMATE}, usually from statistics the
+ * database keeps for its query planner. Only used by entity repositories, the targets of relationships are not
+ * estimated.
+ */
+public interface TotalCountEstimator {
+
+	/**
+	 * @param em entity manager of the module
+	 * @param entityClass queried entity
+	 * @param querySpec of the request
+	 * @return estimated number of resources matching the filters of the querySpec or <code>null</code> if unknown
+	 */
+	public Long estimate(EntityManager em, Class<?> entityClass, QuerySpec querySpec);
+}
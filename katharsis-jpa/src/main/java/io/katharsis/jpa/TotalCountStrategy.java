@@ -0,0 +1,52 @@
+package io.katharsis.jpa;
+
+/**
+ * Determines how the total number of resources is computed when a paged collection is requested with a limit, see
+ * {@link JpaModule#setTotalCountStrategy(Class, TotalCountStrategy)}. The strategy in use is reported by the
+ * {@link io.katharsis.jpa.internal.paging.PagedMetaInformation} of the response. Keyset pagination never counts.
+ */
+public enum TotalCountStrategy {
+
+	/**
+	 * Executes a count query for every page. Provides first, last, previous and next links.
+	 */
+	EXACT(false),
+
+	/**
+	 * Neither counts nor computes pagination links.
+	 */
+	NONE(false),
+
+	/**
+	 * Fetches one resource more than requested to determine whether there is a next page. Provides first, previous and
+	 * next links, but no total count.
+	 */
+	HAS_NEXT(true),
+
+	/**
+	 * Like {@link #HAS_NEXT}, but reports the estimate of the {@link TotalCountEstimator} of the module as total count.
+	 * Resources a {@link JpaRepositoryFilter} applies to are counted like {@link #EXACT}.
+	 */
+	ESTIMATE(true),
+
+	/**
+	 * Like {@link #EXACT}, but keeps the counts for the filters of a request for the time to live of the
+	 * {@link io.katharsis.cache.CachePolicy} of the module. Counts are discarded when the repository modifies resources,
+	 * changes made elsewhere show up once the counts expire. Resources a {@link JpaRepositoryFilter} applies to are
+	 * counted like {@link #EXACT}, since a filter may restrict the query beyond its QuerySpec.
+	 */
+	CACHED(false);
+
+	private final boolean lookahead;
+
+	private TotalCountStrategy(boolean lookahead) {
+		this.lookahead = lookahead;
+	}
+
+	/**
+	 * @return true if one resource more than requested is fetched to determine whether there is a next page
+	 */
+	public boolean isLookahead() {
+		return lookahead;
+	}
+}
@@ -0,0 +1,129 @@
+package io.katharsis.jpa.internal;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.katharsis.errorhandling.exception.BadRequestException;
+import io.katharsis.jpa.internal.meta.MetaAttribute;
+import io.katharsis.jpa.internal.meta.MetaEntity;
+import io.katharsis.jpa.internal.meta.MetaType;
+import io.katharsis.jpa.query.JpaQuery;
+import io.katharsis.jpa.query.Tuple;
+import io.katharsis.queryspec.IncludeFieldSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+
+/**
+ * Pushes a sparse fieldset down to the database by selecting the primary key and the requested attributes of an entity
+ * instead of the entire entity. The entities are created with their default constructor and populated from the
+ * selected tuples. They are not managed by the entity manager and must never be written back, which is why projections
+ * are only used for read-only requests.
+ * <p>
+ * Only basic and embedded attributes of entities without subtypes can be projected. Relationships of JPA resources are
+ * looked up by the relationship repositories based on the primary key, so no foreign keys have to be selected.
+ */
+public class JpaProjection<T> {
+
+	private final Constructor<T> constructor;
+
+	private final List<MetaAttribute> attributes;
+
+	private JpaProjection(Constructor<T> constructor, List<MetaAttribute> attributes) {
+		this.constructor = constructor;
+		this.attributes = attributes;
+	}
+
+	/**
+	 * @param meta of the queried entity
+	 * @param querySpec holding the sparse fieldset
+	 * @param <T> entity type
+	 * @return projection or <code>null</code> if there is no sparse fieldset or it cannot be projected
+	 * @throws BadRequestException if the sparse fieldset holds an unknown attribute
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> JpaProjection<T> create(MetaEntity meta, QuerySpec querySpec) {
+		List<IncludeFieldSpec> includedFields = querySpec.getIncludedFields();
+		for (IncludeFieldSpec includedField : includedFields) {
+			String name = includedField.getAttributePath().get(0);
+			if (!meta.hasAttribute(name)) {
+				throw new BadRequestException("unknown attribute " + name + " in sparse fieldset of " + meta.getName());
+			}
+		}
+		if (includedFields.isEmpty() || !meta.getSubTypes().isEmpty()) {
+			return null;
+		}
+
+		Set<MetaAttribute> attributes = new LinkedHashSet<>();
+		attributes.add(JpaRepositoryUtils.getPrimaryKeyAttr(meta));
+		for (IncludeFieldSpec includedField : includedFields) {
+			if (!addAttribute(meta, includedField.getAttributePath(), attributes)) {
+				return null;
+			}
+		}
+		if (querySpec.getCursor() != null) {
+			// keyset paging reads the sort keys from the results
+			for (SortSpec sortSpec : querySpec.getSort()) {
+				if (!addAttribute(meta, sortSpec.getAttributePath(), attributes)) {
+					return null;
+				}
+			}
+		}
+
+		try {
+			Constructor<T> constructor = (Constructor<T>) meta.getImplementationClass().getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return new JpaProjection<>(constructor, new ArrayList<>(attributes));
+		}
+		catch (NoSuchMethodException e) { // NOSONAR
+			return null;
+		}
+	}
+
+	private static boolean addAttribute(MetaEntity meta, List<String> attributePath, Set<MetaAttribute> attributes) {
+		if (attributePath.size() != 1) {
+			return false;
+		}
+		MetaAttribute attr = meta.getAttribute(attributePath.get(0));
+		MetaType type = attr.getType();
+		if (attr.isAssociation() || attr.isDerived() || type.isCollection() || type.isMap()) {
+			return false;
+		}
+		attributes.add(attr);
+		return true;
+	}
+
+	/**
+	 * Replaces the entity selection of the query with the projected attributes. Must be applied before any other
+	 * selection is added.
+	 *
+	 * @param query to project
+	 */
+	public void apply(JpaQuery<?> query) {
+		query.removeEntitySelection();
+		for (MetaAttribute attr : attributes) {
+			query.addSelection(Arrays.asList(attr.getName()));
+		}
+	}
+
+	/**
+	 * @param tuple selected by a query the projection has been applied to
+	 * @return new, partially populated entity
+	 */
+	public T map(Tuple tuple) {
+		T entity;
+		try {
+			entity = constructor.newInstance();
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("failed to instantiate " + constructor.getDeclaringClass(), e);
+		}
+		for (int i = 0; i < attributes.size(); i++) {
+			attributes.get(i).setValue(entity, tuple.get(i, Object.class));
+		}
+		return entity;
+	}
+}
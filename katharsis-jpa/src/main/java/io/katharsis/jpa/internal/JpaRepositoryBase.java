@@ -8,8 +8,11 @@ import java.util.Map;
 
 import javax.persistence.EntityManager;
 
+import io.katharsis.cache.QuerySpecCache;
 import io.katharsis.jpa.JpaModule;
 import io.katharsis.jpa.JpaRepositoryFilter;
+import io.katharsis.jpa.TotalCountEstimator;
+import io.katharsis.jpa.TotalCountStrategy;
 import io.katharsis.jpa.internal.paging.PagedRepositoryBase;
 import io.katharsis.jpa.mapping.IdentityMapper;
 import io.katharsis.jpa.mapping.JpaMapper;
@@ -18,6 +21,8 @@ import io.katharsis.jpa.query.JpaQuery;
 import io.katharsis.jpa.query.JpaQueryExecutor;
 import io.katharsis.jpa.query.Tuple;
 import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.response.paging.HasNextPagedResultList;
+import io.katharsis.response.paging.PagedResultList;
 
 public abstract class JpaRepositoryBase<T> extends PagedRepositoryBase<T> {
 
@@ -40,6 +45,8 @@ public abstract class JpaRepositoryBase<T> extends PagedRepositoryBase<T> {
 
 	private boolean deleteable = true;
 
+	private QuerySpecCache totalCountCache;
+
 	protected <E> JpaRepositoryBase(JpaModule module, Class<T> resourceType) {
 		this.module = module;
 		this.resourceClass = resourceType;
@@ -70,14 +77,140 @@ public abstract class JpaRepositoryBase<T> extends PagedRepositoryBase<T> {
 	/**
 	 * For read we always use a clean entity manager and return detached entities.
 	 * For example, Jackson cannot handle proxies. And Katharsis is modifying the entities
-	 * for subgraph loading.
+	 * for subgraph loading. Read-only requests have nothing to flush and may not even run in a transaction.
 	 */
 	protected void resetEntityManager() {
+		resetEntityManager(module.isReadOnlyRequest());
+	}
+
+	/**
+	 * @param readOnly whether the entity manager must not be flushed, see {@link #resetEntityManager()}
+	 */
+	protected void resetEntityManager(boolean readOnly) {
 		EntityManager em = module.getEntityManager();
-		em.flush();
+		if (!readOnly) {
+			em.flush();
+		}
 		em.clear();
 	}
 	
+	/**
+	 * {@link TotalCountStrategy#CACHED} and {@link TotalCountStrategy#ESTIMATE} count like
+	 * {@link TotalCountStrategy#EXACT} if a {@link JpaRepositoryFilter} applies to the resource, since it may restrict
+	 * the query, for example to the data of the current user, in ways neither the cached counts nor the estimate could
+	 * tell apart.
+	 */
+	@Override
+	protected TotalCountStrategy getTotalCountStrategy() {
+		TotalCountStrategy strategy = module.getTotalCountStrategy(resourceClass);
+		if ((strategy == TotalCountStrategy.CACHED || strategy == TotalCountStrategy.ESTIMATE) && isFiltered()) {
+			return TotalCountStrategy.EXACT;
+		}
+		return strategy;
+	}
+
+	private boolean isFiltered() {
+		for (JpaRepositoryFilter filter : module.getFilters()) {
+			if (filter.accept(resourceClass)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Fetches one row more than requested if the total count strategy looks ahead.
+	 *
+	 * @param executor prepared for the querySpec
+	 * @param querySpec with a limit
+	 */
+	protected void prepareTotalCount(JpaQueryExecutor<?> executor, QuerySpec querySpec) {
+		if (getTotalCountStrategy().isLookahead()) {
+			executor.setLimit((int) Math.min(querySpec.getLimit() + 1, Integer.MAX_VALUE));
+		}
+	}
+
+	/**
+	 * @param tuples fetched by an executor prepared with {@link #prepareTotalCount(JpaQueryExecutor, QuerySpec)}
+	 * @param querySpec with a limit
+	 * @return tuples of the requested page, without a row fetched ahead
+	 */
+	protected static List<Tuple> truncateTuples(List<Tuple> tuples, QuerySpec querySpec) {
+		int limit = (int) querySpec.getLimit().longValue();
+		return tuples.size() > limit ? tuples.subList(0, limit) : tuples;
+	}
+
+	/**
+	 * Computes the total count of a page according to the {@link TotalCountStrategy} of the resource.
+	 *
+	 * @param resources of the requested page
+	 * @param querySpec with a limit
+	 * @param executor the page was fetched with
+	 * @param hasNext true if the executor fetched a row ahead of the page
+	 * @param cacheKeyArguments further identifying the count besides the filters of the querySpec
+	 * @return paged result list
+	 */
+	protected PagedResultList<T> toPagedResultList(List<T> resources, QuerySpec querySpec, JpaQueryExecutor<?> executor,
+			boolean hasNext, Object... cacheKeyArguments) {
+		TotalCountStrategy strategy = getTotalCountStrategy();
+		switch (strategy) {
+			case EXACT:
+				return new PagedResultList<>(resources, executor.getTotalRowCount());
+			case NONE:
+				return new PagedResultList<>(resources, null);
+			case HAS_NEXT:
+				return new HasNextPagedResultList<>(resources, null, hasNext);
+			case ESTIMATE:
+				return new HasNextPagedResultList<>(resources, estimateTotalCount(querySpec), hasNext);
+			case CACHED:
+				return new PagedResultList<>(resources, getCachedTotalCount(querySpec, executor, cacheKeyArguments));
+			default:
+				throw new IllegalStateException("unknown total count strategy " + strategy);
+		}
+	}
+
+	/**
+	 * @param querySpec of the request
+	 * @return estimated total count for {@link TotalCountStrategy#ESTIMATE} or <code>null</code> if unknown
+	 */
+	protected Long estimateTotalCount(QuerySpec querySpec) {
+		TotalCountEstimator estimator = module.getTotalCountEstimator();
+		if (estimator == null) {
+			return null;
+		}
+		return estimator.estimate(module.getEntityManager(), entityClass, querySpec);
+	}
+
+	private Long getCachedTotalCount(QuerySpec querySpec, final JpaQueryExecutor<?> executor, Object... cacheKeyArguments) {
+		QuerySpecCache cache;
+		synchronized (this) {
+			if (totalCountCache == null) {
+				totalCountCache = new QuerySpecCache(module.getTotalCountCachePolicy());
+			}
+			cache = totalCountCache;
+		}
+		QuerySpec countQuerySpec = new QuerySpec(querySpec.getResourceClass());
+		countQuerySpec.setFilters(querySpec.getFilters());
+		return cache.get("count", countQuerySpec, cacheKeyArguments, new QuerySpecCache.Loader<Long>() {
+
+			@Override
+			public Long load() {
+				return executor.getTotalRowCount();
+			}
+		});
+	}
+
+	/**
+	 * Discards the cached total counts, to be called whenever the repository modifies resources.
+	 */
+	protected void clearTotalCounts() {
+		synchronized (this) {
+			if (totalCountCache != null) {
+				totalCountCache.clear();
+			}
+		}
+	}
+
 	protected static <D> D getUniqueOrNull(List<D> list) {
 		if (list.isEmpty()) {
 			return null;
@@ -43,9 +43,7 @@ public class JpaRepositoryUtils {
 		for (SortSpec sortSpec : querySpec.getSort()) {
 			query.addSortBy(sortSpec);
 		}
-		if (!querySpec.getIncludedFields().isEmpty()) {
-			throw new UnsupportedOperationException("includeFields not yet supported");
-		}
+		// included fields are either selected by a JpaProjection or applied when serializing
 	}
 
 	public static void prepareExecutor(JpaQueryExecutor<?> executor, QuerySpec querySpec, boolean includeRelations) {
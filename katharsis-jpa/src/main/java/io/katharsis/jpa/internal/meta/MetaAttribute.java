@@ -28,4 +28,6 @@ public interface MetaAttribute extends MetaTypedElement {
 
 	public boolean isId();
 
+	public boolean isNullable();
+
 }
@@ -1,9 +1,13 @@
 package io.katharsis.jpa.internal.paging;
 
+import io.katharsis.jpa.TotalCountStrategy;
+
 public class DefaultPagedMetaInformation implements PagedMetaInformation {
 
 	private Long totalResourceCount;
 
+	private TotalCountStrategy totalCountStrategy;
+
 	@Override
 	public Long getTotalResourceCount() {
 		return totalResourceCount;
@@ -13,4 +17,14 @@ public class DefaultPagedMetaInformation implements PagedMetaInformation {
 	public void setTotalResourceCount(Long totalResourceCount) {
 		this.totalResourceCount = totalResourceCount;
 	}
+
+	@Override
+	public TotalCountStrategy getTotalCountStrategy() {
+		return totalCountStrategy;
+	}
+
+	@Override
+	public void setTotalCountStrategy(TotalCountStrategy totalCountStrategy) {
+		this.totalCountStrategy = totalCountStrategy;
+	}
 }
@@ -0,0 +1,219 @@
+package io.katharsis.jpa.internal.paging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import io.katharsis.errorhandling.exception.BadRequestException;
+import io.katharsis.jpa.internal.meta.MetaAttribute;
+import io.katharsis.jpa.internal.meta.MetaDataObject;
+import io.katharsis.jpa.internal.meta.MetaType;
+import io.katharsis.queryspec.Direction;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+import io.katharsis.response.paging.CursorPagedResultList;
+import io.katharsis.utils.PropertyUtils;
+
+/**
+ * Implements keyset pagination for a {@link QuerySpec} carrying a cursor. Instead of skipping rows with an offset,
+ * the query seeks to the rows following (or preceding) the sort key of the last (or first) row of the previous page.
+ * The sort order of the QuerySpec is completed with the primary key to make it unique and the seek predicate is
+ * expressed as {@link FilterSpec}, such that every query backend supports it.
+ * <p>
+ * A cursor is the URL-safe Base64 encoding of a JSON array holding the direction followed by the key values of a row.
+ * Key values must not be <code>null</code>, a request sorting by a nullable attribute is rejected. One row more than
+ * requested is fetched to determine whether a further page exists, no total count is computed.
+ */
+public class KeysetPaging {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final String NEXT = "next";
+
+	private static final String PREV = "prev";
+
+	private final QuerySpec querySpec;
+
+	private final List<SortSpec> keys;
+
+	private final boolean backward;
+
+	private final List<Object> position;
+
+	public KeysetPaging(QuerySpec querySpec, MetaDataObject meta, String primaryKeyName) {
+		this.querySpec = querySpec;
+		this.keys = getKeys(querySpec, primaryKeyName);
+		for (SortSpec key : keys) {
+			if (isNullable(meta, key.getAttributePath())) {
+				throw new BadRequestException(
+						"keyset pagination requires non-null sort attributes, " + key.getAttributePath() + " is nullable");
+			}
+		}
+
+		String cursor = querySpec.getCursor();
+		if (cursor == null || cursor.isEmpty()) {
+			backward = false;
+			position = null;
+		}
+		else {
+			List<Object> cursorValues = decode(cursor);
+			backward = PREV.equals(cursorValues.get(0));
+			position = cursorValues.subList(1, cursorValues.size());
+		}
+	}
+
+	private static boolean isNullable(MetaDataObject meta, List<String> attributePath) {
+		MetaDataObject current = meta;
+		for (String name : attributePath) {
+			if (current == null || !current.hasAttribute(name)) {
+				return true;
+			}
+			MetaAttribute attr = current.getAttribute(name);
+			if (attr.isNullable()) {
+				return true;
+			}
+			MetaType type = attr.getType();
+			current = type instanceof MetaDataObject ? (MetaDataObject) type : null;
+		}
+		return false;
+	}
+
+	private static List<SortSpec> getKeys(QuerySpec querySpec, String primaryKeyName) {
+		List<SortSpec> keys = new ArrayList<>(querySpec.getSort());
+		List<String> primaryKeyPath = Collections.singletonList(primaryKeyName);
+		for (SortSpec sortSpec : keys) {
+			if (sortSpec.getAttributePath().equals(primaryKeyPath)) {
+				return keys;
+			}
+		}
+		keys.add(new SortSpec(primaryKeyPath, Direction.ASC));
+		return keys;
+	}
+
+	/**
+	 * @return direction followed by the key values converted to the types of the sort attributes
+	 */
+	private List<Object> decode(String cursor) {
+		try {
+			JsonNode node = MAPPER.readTree(Base64Variants.MODIFIED_FOR_URL.decode(cursor));
+			if (node instanceof ArrayNode && node.size() == keys.size() + 1) {
+				String direction = node.get(0).asText();
+				if (NEXT.equals(direction) || PREV.equals(direction)) {
+					List<Object> values = new ArrayList<>();
+					values.add(direction);
+					for (int i = 0; i < keys.size(); i++) {
+						Class<?> keyClass = PropertyUtils.getPropertyClass(querySpec.getResourceClass(), keys.get(i).getAttributePath());
+						values.add(MAPPER.convertValue(node.get(i + 1), keyClass));
+					}
+					return values;
+				}
+			}
+		}
+		catch (IOException | IllegalArgumentException e) { // NOSONAR
+			// reported below
+		}
+		throw new BadRequestException("invalid page cursor " + cursor);
+	}
+
+	private String encode(String direction, Object resource) {
+		ArrayNode node = MAPPER.createArrayNode();
+		node.add(direction);
+		for (SortSpec key : keys) {
+			Object value = PropertyUtils.getProperty(resource, key.getAttributePath());
+			if (value == null) {
+				throw new IllegalStateException(
+						"keyset pagination requires non-null sort attributes, " + key.getAttributePath() + " is null for " + resource);
+			}
+			node.add(MAPPER.valueToTree(value));
+		}
+		try {
+			return Base64Variants.MODIFIED_FOR_URL.encode(MAPPER.writeValueAsBytes(node));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return QuerySpec to execute: ordered by the completed, possibly reversed, sort keys, seeking from the cursor
+	 *         position, without offset and with one more row than requested
+	 */
+	public QuerySpec getSeekQuerySpec() {
+		QuerySpec seekQuerySpec = querySpec.duplicate();
+		seekQuerySpec.setCursor(null);
+		seekQuerySpec.setOffset(0);
+		if (querySpec.getLimit() != null) {
+			seekQuerySpec.setLimit(querySpec.getLimit() + 1);
+		}
+
+		List<SortSpec> sort = new ArrayList<>();
+		for (SortSpec key : keys) {
+			sort.add(backward ? key.reverse() : key);
+		}
+		seekQuerySpec.setSort(sort);
+
+		if (position != null) {
+			seekQuerySpec.addFilter(getSeekFilter());
+		}
+		return seekQuerySpec;
+	}
+
+	/**
+	 * Rows following the position in the order of the keys: (k1 &gt; v1) or (k1 = v1 and k2 &gt; v2) or ...
+	 */
+	private FilterSpec getSeekFilter() {
+		List<FilterSpec> alternatives = new ArrayList<>();
+		for (int i = 0; i < keys.size(); i++) {
+			List<FilterSpec> conditions = new ArrayList<>();
+			for (int j = 0; j < i; j++) {
+				conditions.add(new FilterSpec(keys.get(j).getAttributePath(), FilterOperator.EQ, position.get(j)));
+			}
+			boolean ascending = keys.get(i).getDirection() == Direction.ASC;
+			FilterOperator operator = ascending != backward ? FilterOperator.GT : FilterOperator.LT;
+			conditions.add(new FilterSpec(keys.get(i).getAttributePath(), operator, position.get(i)));
+			alternatives.add(conditions.size() == 1 ? conditions.get(0) : FilterSpec.and(conditions));
+		}
+		return alternatives.size() == 1 ? alternatives.get(0) : FilterSpec.or(alternatives);
+	}
+
+	/**
+	 * @param resources result of the {@link #getSeekQuerySpec()}
+	 * @param <T> resource type
+	 * @return requested page in the order of the QuerySpec together with the cursors of the adjacent pages
+	 */
+	public <T> CursorPagedResultList<T> toResultList(List<T> resources) {
+		Long limit = querySpec.getLimit();
+		boolean hasMore = limit != null && resources.size() > limit;
+		List<T> page = new ArrayList<>(hasMore ? resources.subList(0, limit.intValue()) : resources);
+		if (backward) {
+			Collections.reverse(page);
+		}
+
+		String nextCursor = null;
+		String prevCursor = null;
+		if (!page.isEmpty()) {
+			boolean hasNext = backward || hasMore;
+			boolean hasPrev = backward ? hasMore : position != null;
+			if (hasNext) {
+				nextCursor = encode(NEXT, page.get(page.size() - 1));
+			}
+			if (hasPrev) {
+				prevCursor = encode(PREV, page.get(0));
+			}
+		}
+		return new CursorPagedResultList<>(page, null, nextCursor, prevCursor);
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetPaging[keys=" + keys + ", backward=" + backward + ", position=" + position + "]";
+	}
+}
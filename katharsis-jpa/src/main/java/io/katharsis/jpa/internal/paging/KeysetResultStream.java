@@ -0,0 +1,115 @@
+package io.katharsis.jpa.internal.paging;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.response.ResultStream;
+import io.katharsis.response.paging.CursorPagedResultList;
+
+/**
+ * {@link ResultStream} fetching the resources of a QuerySpec in chunks with {@link KeysetPaging}. Every chunk is a
+ * separate query seeking from the last row of the previous chunk, so only a single chunk is held in memory and no
+ * database cursor has to be kept open between chunks.
+ */
+public abstract class KeysetResultStream<T> implements ResultStream<T> {
+
+	private final QuerySpec querySpec;
+
+	private final int fetchSize;
+
+	private boolean iterated;
+
+	private List<T> chunk;
+
+	private int index;
+
+	private String nextCursor = "";
+
+	private boolean done;
+
+	/**
+	 * @param querySpec to stream, without limit, offset and cursor
+	 * @param fetchSize number of rows fetched at once
+	 */
+	public KeysetResultStream(QuerySpec querySpec, int fetchSize) {
+		this.querySpec = querySpec;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * @param chunkQuerySpec QuerySpec of the stream with the limit and cursor of the next chunk
+	 * @return result of the keyset paged query
+	 */
+	protected abstract CursorPagedResultList<T> fetch(QuerySpec chunkQuerySpec);
+
+	/**
+	 * Called once the resources of a chunk have been consumed, for example to detach them from the entity manager.
+	 *
+	 * @param resources of the consumed chunk
+	 */
+	protected void release(List<T> resources) {
+		// nothing to do by default
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		if (iterated) {
+			throw new IllegalStateException("result stream can be iterated only once");
+		}
+		iterated = true;
+		return new Iterator<T>() {
+
+			@Override
+			public boolean hasNext() {
+				return advance();
+			}
+
+			@Override
+			public T next() {
+				if (!advance()) {
+					throw new NoSuchElementException();
+				}
+				return chunk.get(index++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private boolean advance() {
+		while (!done && (chunk == null || index >= chunk.size())) {
+			if (chunk != null) {
+				release(chunk);
+				chunk = null;
+			}
+			if (nextCursor == null) {
+				done = true;
+			}
+			else {
+				QuerySpec chunkQuerySpec = querySpec.duplicate();
+				chunkQuerySpec.setLimit((long) fetchSize);
+				chunkQuerySpec.setCursor(nextCursor);
+				CursorPagedResultList<T> result = fetch(chunkQuerySpec);
+				chunk = result;
+				index = 0;
+				nextCursor = result.getNextCursor();
+			}
+		}
+		return !done;
+	}
+
+	@Override
+	public void close() {
+		if (chunk != null) {
+			release(chunk);
+		}
+		chunk = Collections.emptyList();
+		done = true;
+	}
+}
@@ -1,5 +1,6 @@
 package io.katharsis.jpa.internal.paging;
 
+import io.katharsis.jpa.TotalCountStrategy;
 import io.katharsis.response.MetaInformation;
 
 /**
@@ -10,4 +11,12 @@ public interface PagedMetaInformation extends MetaInformation {
 	public Long getTotalResourceCount();
 
 	public void setTotalResourceCount(Long totalResourceCount);
+
+	/**
+	 * @return strategy the total resource count was computed with, <code>null</code> for unpaged and keyset paged
+	 *         requests
+	 */
+	public TotalCountStrategy getTotalCountStrategy();
+
+	public void setTotalCountStrategy(TotalCountStrategy totalCountStrategy);
 }
@@ -1,7 +1,9 @@
 package io.katharsis.jpa.internal.paging;
 
+import io.katharsis.jpa.TotalCountStrategy;
 import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.queryspec.QuerySpecMetaRepository;
+import io.katharsis.response.paging.CursorPagedResultList;
 import io.katharsis.response.paging.PagedResultList;
 
 public abstract class PagedRepositoryBase<T> implements QuerySpecMetaRepository<T> {
@@ -12,10 +14,18 @@ public abstract class PagedRepositoryBase<T> implements QuerySpecMetaRepository<
 		if (resources instanceof PagedResultList) {
 			PagedResultList<T> pageResultList = (PagedResultList<T>) resources;
 			meta.setTotalResourceCount(pageResultList.getTotalCount());
+			if (!(resources instanceof CursorPagedResultList)) {
+				meta.setTotalCountStrategy(getTotalCountStrategy());
+			}
 		}
 		return meta;
 	}
 
 	protected abstract PagedMetaInformation newPagedMetaInformation();
 
+	/**
+	 * @return strategy used to compute the total count of paged results
+	 */
+	protected abstract TotalCountStrategy getTotalCountStrategy();
+
 }
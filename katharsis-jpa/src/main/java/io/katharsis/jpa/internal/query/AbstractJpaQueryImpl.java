@@ -55,6 +55,8 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 
 	protected boolean parentIdSelection;
 
+	protected boolean entitySelection = true;
+
 	private ComputedAttributeRegistryImpl computedAttrs;
 
 	protected AbstractJpaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<T> clazz,
@@ -91,6 +93,15 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 		this.parentIdSelection = true;
 	}
 
+	@Override
+	public void removeEntitySelection() {
+		this.entitySelection = false;
+	}
+
+	public boolean isEntitySelection() {
+		return entitySelection;
+	}
+
 	@Override
 	public void addSelection(List<String> path) {
 		includedFields.add(new IncludeFieldSpec(path));
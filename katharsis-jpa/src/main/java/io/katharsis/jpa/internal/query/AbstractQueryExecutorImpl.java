@@ -22,6 +22,7 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 	protected int limit = -1;
 
 	protected boolean cached = false;
+	protected boolean readOnly = false;
 	protected EntityManager em;
 	protected int numAutoSelections;
 
@@ -54,6 +55,12 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 		return this;
 	}
 
+	@Override
+	public JpaQueryExecutor<T> setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+		return this;
+	}
+
 	@Override
 	public JpaQueryExecutor<T> setOffset(int offset) {
 		this.offset = offset;
@@ -194,6 +201,11 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 			typedQuery.setHint("org.hibernate.cacheable", Boolean.TRUE);
 		}
 
+		// let Hibernate skip the snapshots for dirty checking
+		if (readOnly) {
+			typedQuery.setHint("org.hibernate.readOnly", Boolean.TRUE);
+		}
+
 		if (limit > 0) {
 			typedQuery.setMaxResults(limit);
 		}
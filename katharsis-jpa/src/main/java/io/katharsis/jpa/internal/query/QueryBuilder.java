@@ -78,8 +78,8 @@ public class QueryBuilder<T, F, O, P, E> {
 
 		Map<String, Integer> selectionBindings = new HashMap<>();
 
-		int index = 1;
-		
+		int index = query.isEntitySelection() ? 1 : 0;
+
 		List<IncludeFieldSpec> includedFields = query.getIncludedFields();
 		for (IncludeFieldSpec includedField : includedFields) {
 			MetaAttributePath path = meta.resolvePath(includedField.getAttributePath(), attributeFinder);
@@ -69,7 +69,9 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 			root = criteriaQuery.from(clazz);
 			joinHelper = new JoinRegistry<>(this, query);
 			joinHelper.putJoin(new MetaAttributePath(), root);
-			criteriaQuery.select(root);
+			if (query.isEntitySelection()) {
+				criteriaQuery.select(root);
+			}
 		}
 	}
 
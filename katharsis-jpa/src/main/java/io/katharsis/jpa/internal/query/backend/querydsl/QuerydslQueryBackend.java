@@ -95,7 +95,7 @@ public class QuerydslQueryBackend<T> implements JpaQueryBackend<Expression<?>, O
 			root = QuerydslUtils.getEntityPath(clazz);
 			joinHelper = new JoinRegistry<>(this, queryImpl);
 			joinHelper.putJoin(new MetaAttributePath(), root);
-			querydslQuery = queryFactory.select(root);
+			querydslQuery = queryImpl.isEntitySelection() ? queryFactory.select(root) : queryFactory.query();
 			querydslQuery = querydslQuery.from((EntityPath) root);
 		}
 	}
@@ -39,4 +39,10 @@ public interface JpaQuery<T> {
 
 	public void addParentIdSelection();
 
+	/**
+	 * Selects only the attributes added with {@link #addSelection(List)} instead of the entity followed by those
+	 * attributes.
+	 */
+	public void removeEntitySelection();
+
 }
@@ -21,6 +21,13 @@ public interface JpaQueryExecutor<T> {
 
 	public JpaQueryExecutor<T> setCached(boolean cached);
 
+	/**
+	 * @param readOnly true to load the entities read-only, such that the persistence provider can skip keeping snapshots
+	 *            for dirty checking. Changes to those entities are not persisted.
+	 * @return this executor
+	 */
+	public JpaQueryExecutor<T> setReadOnly(boolean readOnly);
+
 	public JpaQueryExecutor<T> fetch(List<String> attrPath);
 
 	public Class<T> getEntityClass();
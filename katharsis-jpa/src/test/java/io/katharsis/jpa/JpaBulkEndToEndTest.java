@@ -0,0 +1,102 @@
+package io.katharsis.jpa;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.QuerySpecResourceRepositoryStub;
+import io.katharsis.jpa.model.RelatedEntity;
+import io.katharsis.jpa.model.TestEntity;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.rs.type.JsonApiMediaType;
+
+public class JpaBulkEndToEndTest extends AbstractJpaJerseyTest {
+
+	private QuerySpecResourceRepositoryStub<TestEntity, Long> testRepo;
+
+	@Override
+	@Before
+	public void setup() {
+		super.setup();
+		testRepo = client.getQuerySpecRepository(TestEntity.class);
+
+		QuerySpecResourceRepositoryStub<RelatedEntity, Long> relatedRepo = client.getQuerySpecRepository(RelatedEntity.class);
+		for (long i = 1; i <= 2; i++) {
+			RelatedEntity related = new RelatedEntity();
+			related.setId(i);
+			related.setStringValue("related" + i);
+			relatedRepo.save(related);
+		}
+	}
+
+	@Test
+	public void testBulkPostWithRelationships() {
+		Response response = request("POST", "[" + testBody(10L, "test10", 1L) + "," + testBody(11L, "test11", 2L) + "]");
+		Assert.assertEquals(201, response.getStatus());
+
+		List<TestEntity> list = findAllWithRelated();
+		Assert.assertEquals(2, list.size());
+		assertTest(list.get(0), 10L, "test10", 1L);
+		assertTest(list.get(1), 11L, "test11", 2L);
+	}
+
+	@Test
+	public void testBulkPatchWithRelationships() {
+		Assert.assertEquals(201, request("POST", "[" + testBody(10L, "test10", 1L) + "," + testBody(11L, "test11", 1L) + "]")
+				.getStatus());
+
+		// related resources are loaded in bulk before the resources to update, both must end up being saved
+		Response response = request("PATCH", "[" + testBody(10L, "updated10", 2L) + "," + testBody(11L, "updated11", 2L) + "]");
+		Assert.assertEquals(200, response.getStatus());
+
+		List<TestEntity> list = findAllWithRelated();
+		Assert.assertEquals(2, list.size());
+		assertTest(list.get(0), 10L, "updated10", 2L);
+		assertTest(list.get(1), 11L, "updated11", 2L);
+	}
+
+	@Test
+	public void testBulkPatchWithUnknownRelationship() {
+		Assert.assertEquals(201, request("POST", "[" + testBody(10L, "test10", 1L) + "," + testBody(11L, "test11", 1L) + "]")
+				.getStatus());
+
+		Response response = request("PATCH", "[" + testBody(10L, "updated10", 2L) + "," + testBody(11L, "updated11", 3L) + "]");
+		Assert.assertEquals(404, response.getStatus());
+
+		List<TestEntity> list = findAllWithRelated();
+		assertTest(list.get(0), 10L, "test10", 1L);
+		assertTest(list.get(1), 11L, "test11", 1L);
+	}
+
+	private Response request(String method, String body) {
+		return target("test").request(JsonApiMediaType.APPLICATION_JSON_API_TYPE)
+				.property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true)
+				.method(method, Entity.entity("{\"data\":" + body + "}", JsonApiMediaType.APPLICATION_JSON_API_TYPE));
+	}
+
+	private static String testBody(Long id, String stringValue, Long relatedId) {
+		return "{\"id\":\"" + id + "\",\"type\":\"test\",\"attributes\":{\"stringValue\":\"" + stringValue
+				+ "\"},\"relationships\":{\"oneRelatedValue\":{\"data\":{\"id\":\"" + relatedId
+				+ "\",\"type\":\"related\"}}}}";
+	}
+
+	private List<TestEntity> findAllWithRelated() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeRelation(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+		return testRepo.findAll(querySpec);
+	}
+
+	private static void assertTest(TestEntity test, Long id, String stringValue, Long relatedId) {
+		Assert.assertEquals(id, test.getId());
+		Assert.assertEquals(stringValue, test.getStringValue());
+		Assert.assertNotNull(test.getOneRelatedValue());
+		Assert.assertEquals(relatedId, test.getOneRelatedValue().getId());
+	}
+}
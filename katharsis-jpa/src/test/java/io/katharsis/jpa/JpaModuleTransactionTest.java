@@ -0,0 +1,166 @@
+package io.katharsis.jpa;
+
+import java.util.concurrent.Callable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import io.katharsis.dispatcher.filter.Filter;
+import io.katharsis.dispatcher.filter.FilterChain;
+import io.katharsis.dispatcher.filter.FilterRequestContext;
+import io.katharsis.internal.boot.ReadOnlyTransactionRunner;
+import io.katharsis.internal.boot.TransactionRunner;
+import io.katharsis.module.Module.ModuleContext;
+import io.katharsis.response.BaseResponseContext;
+
+public class JpaModuleTransactionTest {
+
+	private EntityManager em;
+
+	private ReadOnlyTransactionRunner transactionRunner;
+
+	private Answer<Object> callAnswer;
+
+	private JpaModule module;
+
+	private Boolean readOnlyRequest;
+
+	private boolean readInChain;
+
+	@Before
+	public void setup() {
+		em = Mockito.mock(EntityManager.class);
+		Mockito.when(em.getFlushMode()).thenReturn(FlushModeType.AUTO);
+
+		callAnswer = new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return ((Callable<?>) invocation.getArguments()[0]).call();
+			}
+		};
+		transactionRunner = Mockito.mock(ReadOnlyTransactionRunner.class);
+		Mockito.when(transactionRunner.doInTransaction(Mockito.any(Callable.class))).thenAnswer(callAnswer);
+		Mockito.when(transactionRunner.doInReadOnlyTransaction(Mockito.any(Callable.class))).thenAnswer(callAnswer);
+
+		module = JpaModule.newServerModule(em, transactionRunner);
+		readOnlyRequest = null;
+		readInChain = false;
+	}
+
+	@Test
+	public void testGetRunsReadOnly() throws Exception {
+		filter("GET");
+		Assert.assertTrue(readOnlyRequest);
+		Assert.assertFalse(module.isReadOnlyRequest());
+		Mockito.verify(transactionRunner, Mockito.times(1)).doInReadOnlyTransaction(Mockito.any(Callable.class));
+		Mockito.verify(transactionRunner, Mockito.never()).doInTransaction(Mockito.any(Callable.class));
+		Mockito.verify(em, Mockito.times(1)).setFlushMode(FlushModeType.COMMIT);
+		Mockito.verify(em, Mockito.times(1)).setFlushMode(FlushModeType.AUTO);
+	}
+
+	@Test
+	public void testGetFallsBackToRegularTransaction() throws Exception {
+		TransactionRunner regularTransactionRunner = Mockito.mock(TransactionRunner.class);
+		Mockito.when(regularTransactionRunner.doInTransaction(Mockito.any(Callable.class))).thenAnswer(callAnswer);
+		module = JpaModule.newServerModule(em, regularTransactionRunner);
+		filter("GET");
+		Assert.assertTrue(readOnlyRequest);
+		Mockito.verify(regularTransactionRunner, Mockito.times(1)).doInTransaction(Mockito.any(Callable.class));
+		Mockito.verify(em, Mockito.times(1)).setFlushMode(FlushModeType.COMMIT);
+	}
+
+	@Test
+	public void testGetWithoutTransaction() throws Exception {
+		module.setReadTransactionMode(JpaModule.ReadTransactionMode.NONE);
+		filter("GET");
+		Assert.assertTrue(readOnlyRequest);
+		Mockito.verify(transactionRunner, Mockito.never()).doInReadOnlyTransaction(Mockito.any(Callable.class));
+		Mockito.verify(transactionRunner, Mockito.never()).doInTransaction(Mockito.any(Callable.class));
+	}
+
+	@Test
+	public void testGetReadWrite() throws Exception {
+		module.setReadTransactionMode(JpaModule.ReadTransactionMode.READ_WRITE);
+		filter("GET");
+		Assert.assertFalse(readOnlyRequest);
+		Mockito.verify(transactionRunner, Mockito.times(1)).doInTransaction(Mockito.any(Callable.class));
+		Mockito.verify(em, Mockito.never()).setFlushMode(Mockito.any(FlushModeType.class));
+	}
+
+	@Test
+	public void testPostRunsInTransaction() throws Exception {
+		filter("POST");
+		Assert.assertFalse(readOnlyRequest);
+		Mockito.verify(transactionRunner, Mockito.times(1)).doInTransaction(Mockito.any(Callable.class));
+		Mockito.verify(transactionRunner, Mockito.never()).doInReadOnlyTransaction(Mockito.any(Callable.class));
+	}
+
+	@Test
+	public void testKeepsManualFlushMode() throws Exception {
+		Mockito.when(em.getFlushMode()).thenReturn(null);
+		filter("GET");
+		Assert.assertTrue(readOnlyRequest);
+		Mockito.verify(em, Mockito.never()).setFlushMode(Mockito.any(FlushModeType.class));
+	}
+
+	@Test
+	public void testReadTransactionOutsideRequest() throws Exception {
+		Assert.assertTrue(module.doInReadTransaction(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() {
+				return module.isReadOnlyRequest();
+			}
+		}));
+		Assert.assertFalse(module.isReadOnlyRequest());
+		Mockito.verify(transactionRunner, Mockito.times(1)).doInReadOnlyTransaction(Mockito.any(Callable.class));
+	}
+
+	@Test
+	public void testReadTransactionJoinsRequest() throws Exception {
+		readInChain = true;
+		filter("POST");
+		Assert.assertFalse(readOnlyRequest);
+		Mockito.verify(transactionRunner, Mockito.times(1)).doInTransaction(Mockito.any(Callable.class));
+		Mockito.verify(transactionRunner, Mockito.never()).doInReadOnlyTransaction(Mockito.any(Callable.class));
+	}
+
+	private void filter(String method) {
+		ModuleContext context = Mockito.mock(ModuleContext.class);
+		module.setupModule(context);
+		ArgumentCaptor<Filter> filterCaptor = ArgumentCaptor.forClass(Filter.class);
+		Mockito.verify(context).addFilter(filterCaptor.capture());
+
+		FilterRequestContext requestContext = Mockito.mock(FilterRequestContext.class);
+		Mockito.when(requestContext.getMethod()).thenReturn(method);
+		FilterChain chain = new FilterChain() {
+
+			@Override
+			public BaseResponseContext doFilter(FilterRequestContext context) {
+				if (readInChain) {
+					readOnlyRequest = module.doInReadTransaction(new Callable<Boolean>() {
+
+						@Override
+						public Boolean call() {
+							return module.isReadOnlyRequest();
+						}
+					});
+				}
+				else {
+					readOnlyRequest = module.isReadOnlyRequest();
+				}
+				return null;
+			}
+		};
+		filterCaptor.getValue().filter(requestContext, chain);
+	}
+}
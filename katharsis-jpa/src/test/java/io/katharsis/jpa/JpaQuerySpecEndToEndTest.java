@@ -1,6 +1,7 @@
 package io.katharsis.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,6 +32,8 @@ public class JpaQuerySpecEndToEndTest extends AbstractJpaJerseyTest {
 
 	private QuerySpecResourceRepositoryStub<TestEntity, Long> testRepo;
 
+	private List<Object> serverResults = new ArrayList<>();
+
 	@Override
 	@Before
 	public void setup() {
@@ -38,6 +41,65 @@ public class JpaQuerySpecEndToEndTest extends AbstractJpaJerseyTest {
 		testRepo = client.getQuerySpecRepository(TestEntity.class);
 	}
 
+	@Override
+	protected void setupModule(JpaModule module, boolean server) {
+		if (server) {
+			module.addFilter(new JpaRepositoryFilterBase() {
+
+				@Override
+				public <T> List<T> filterResults(Object repository, QuerySpec querySpec, List<T> resources) {
+					serverResults.addAll(resources);
+					return resources;
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testSparseFieldSetProjection() {
+		TestEntity test = new TestEntity();
+		test.setId(2L);
+		test.setStringValue("test");
+		test.setLongValue(12L);
+		testRepo.save(test);
+		serverResults.clear();
+
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		List<TestEntity> list = testRepo.findAll(querySpec);
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals("test", list.get(0).getStringValue());
+
+		// only the primary key and the requested attribute have been loaded
+		Assert.assertEquals(1, serverResults.size());
+		TestEntity serverEntity = (TestEntity) serverResults.get(0);
+		Assert.assertEquals(2L, serverEntity.getId().longValue());
+		Assert.assertEquals("test", serverEntity.getStringValue());
+		Assert.assertEquals(0L, serverEntity.getLongValue());
+
+		querySpec.setLimit(10L);
+		ResourceList<TestEntity> pagedList = (ResourceList<TestEntity>) testRepo.findAll(querySpec);
+		Assert.assertEquals(1, pagedList.size());
+		Assert.assertEquals("test", pagedList.get(0).getStringValue());
+
+		// entire entity loaded without sparse fieldset
+		serverResults.clear();
+		testRepo.findAll(new QuerySpec(TestEntity.class));
+		Assert.assertEquals(12L, ((TestEntity) serverResults.get(0)).getLongValue());
+	}
+
+	@Test
+	public void testSparseFieldSetWithRelation() {
+		addTestWithOneRelation();
+
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.includeRelation(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+		List<TestEntity> list = testRepo.findAll(querySpec);
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals("test", list.get(0).getStringValue());
+	}
+
 	@Test
 	public void testIncludeOneRelations() throws InstantiationException, IllegalAccessException {
 		addTestWithOneRelation();
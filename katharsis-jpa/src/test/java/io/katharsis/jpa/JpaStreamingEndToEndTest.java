@@ -0,0 +1,62 @@
+package io.katharsis.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.QuerySpecResourceRepositoryStub;
+import io.katharsis.jpa.model.TestEntity;
+import io.katharsis.queryspec.QuerySpec;
+
+public class JpaStreamingEndToEndTest extends AbstractJpaJerseyTest {
+
+	private QuerySpecResourceRepositoryStub<TestEntity, Long> testRepo;
+
+	private List<Boolean> chunkReadOnlyRequests = new ArrayList<>();
+
+	@Override
+	@Before
+	public void setup() {
+		super.setup();
+		testRepo = client.getQuerySpecRepository(TestEntity.class);
+	}
+
+	@Override
+	protected void setupModule(final JpaModule module, boolean server) {
+		if (server) {
+			module.setStreamingFetchSize(TestEntity.class, 2);
+			module.addFilter(new JpaRepositoryFilterBase() {
+
+				@Override
+				public <T> List<T> filterResults(Object repository, QuerySpec querySpec, List<T> resources) {
+					chunkReadOnlyRequests.add(module.isReadOnlyRequest());
+					return resources;
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testStreamedChunksRunInReadOnlyTransactions() {
+		for (long i = 0; i < 5; i++) {
+			TestEntity test = new TestEntity();
+			test.setId(i);
+			test.setStringValue("test" + i);
+			testRepo.save(test);
+		}
+		chunkReadOnlyRequests.clear();
+
+		// chunks are fetched while the response is written, after the transaction of the request has ended
+		List<TestEntity> list = testRepo.findAll(new QuerySpec(TestEntity.class));
+		Assert.assertEquals(5, list.size());
+		for (int i = 0; i < 5; i++) {
+			Assert.assertEquals(i, list.get(i).getId().longValue());
+			Assert.assertEquals("test" + i, list.get(i).getStringValue());
+		}
+		Assert.assertEquals(3, chunkReadOnlyRequests.size());
+		Assert.assertFalse(chunkReadOnlyRequests.contains(Boolean.FALSE));
+	}
+}
@@ -1,6 +1,10 @@
 package io.katharsis.jpa.repository;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.hibernate.Hibernate;
@@ -9,16 +13,32 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.Base64Variants;
+
+import io.katharsis.errorhandling.exception.BadRequestException;
 import io.katharsis.jpa.JpaEntityRepository;
+import io.katharsis.jpa.JpaModule;
+import io.katharsis.jpa.JpaRepositoryFilter;
+import io.katharsis.jpa.JpaRepositoryFilterBase;
+import io.katharsis.jpa.TableStatisticsEstimator;
+import io.katharsis.jpa.TotalCountStrategy;
+import io.katharsis.jpa.internal.JpaProjection;
+import io.katharsis.jpa.internal.meta.MetaEntity;
 import io.katharsis.jpa.internal.paging.PagedMetaInformation;
 import io.katharsis.jpa.model.RelatedEntity;
 import io.katharsis.jpa.model.TestEntity;
 import io.katharsis.jpa.query.AbstractJpaTest;
+import io.katharsis.jpa.query.JpaQuery;
+import io.katharsis.jpa.query.Tuple;
 import io.katharsis.queryspec.Direction;
 import io.katharsis.queryspec.FilterOperator;
 import io.katharsis.queryspec.FilterSpec;
 import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.queryspec.SortSpec;
+import io.katharsis.response.ResultStream;
+import io.katharsis.response.paging.CursorPagedResultList;
+import io.katharsis.response.paging.HasNextPagedResultList;
+import io.katharsis.response.paging.PagedResultList;
 
 @Transactional
 public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
@@ -213,6 +233,7 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 
 		PagedMetaInformation metaInformation = repo.getMetaInformation(list, querySpec);
 		Assert.assertEquals(5, metaInformation.getTotalResourceCount().longValue());
+		Assert.assertEquals(TotalCountStrategy.EXACT, metaInformation.getTotalCountStrategy());
 	}
 
 	@Test
@@ -245,6 +266,251 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		Assert.assertEquals(5, metaInformation.getTotalResourceCount().longValue());
 	}
 
+	@Test
+	public void testPagingWithoutTotalCount() throws InstantiationException, IllegalAccessException {
+		JpaEntityRepository<TestEntity, Long> noCountRepo = createRepository(TotalCountStrategy.NONE);
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setOffset(2L);
+		querySpec.setLimit(2L);
+
+		List<TestEntity> list = noCountRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertFalse(list instanceof HasNextPagedResultList);
+
+		PagedMetaInformation metaInformation = noCountRepo.getMetaInformation(list, querySpec);
+		Assert.assertNull(metaInformation.getTotalResourceCount());
+		Assert.assertEquals(TotalCountStrategy.NONE, metaInformation.getTotalCountStrategy());
+	}
+
+	@Test
+	public void testPagingHasNext() throws InstantiationException, IllegalAccessException {
+		JpaEntityRepository<TestEntity, Long> hasNextRepo = createRepository(TotalCountStrategy.HAS_NEXT);
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setOffset(2L);
+		querySpec.setLimit(2L);
+
+		HasNextPagedResultList<TestEntity> list = (HasNextPagedResultList<TestEntity>) hasNextRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(2, list.get(0).getId().intValue());
+		Assert.assertEquals(3, list.get(1).getId().intValue());
+		Assert.assertTrue(list.hasNext());
+
+		PagedMetaInformation metaInformation = hasNextRepo.getMetaInformation(list, querySpec);
+		Assert.assertNull(metaInformation.getTotalResourceCount());
+		Assert.assertEquals(TotalCountStrategy.HAS_NEXT, metaInformation.getTotalCountStrategy());
+
+		querySpec.setOffset(3L);
+		list = (HasNextPagedResultList<TestEntity>) hasNextRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertFalse(list.hasNext());
+	}
+
+	@Test
+	public void testPagingEstimate() throws InstantiationException, IllegalAccessException {
+		JpaEntityRepository<TestEntity, Long> estimateRepo = createRepository(TotalCountStrategy.ESTIMATE);
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+
+		HasNextPagedResultList<TestEntity> list = (HasNextPagedResultList<TestEntity>) estimateRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertTrue(list.hasNext());
+		Assert.assertNotNull(list.getTotalCount());
+
+		PagedMetaInformation metaInformation = estimateRepo.getMetaInformation(list, querySpec);
+		Assert.assertEquals(list.getTotalCount(), metaInformation.getTotalResourceCount());
+		Assert.assertEquals(TotalCountStrategy.ESTIMATE, metaInformation.getTotalCountStrategy());
+
+		// statistics do not account for filters
+		querySpec.addFilter(new FilterSpec(Arrays.asList("longValue"), FilterOperator.GT, 2L));
+		list = (HasNextPagedResultList<TestEntity>) estimateRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertFalse(list.hasNext());
+		Assert.assertNull(list.getTotalCount());
+	}
+
+	@Test
+	public void testPagingEstimateWithFilter() throws InstantiationException, IllegalAccessException {
+		JpaEntityRepository<TestEntity, Long> estimateRepo = createRepository(TotalCountStrategy.ESTIMATE,
+				new JpaRepositoryFilterBase());
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+
+		// a filter may restrict the query in ways the statistics cannot tell apart, so the count is exact
+		PagedResultList<TestEntity> list = (PagedResultList<TestEntity>) estimateRepo.findAll(querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(5L, list.getTotalCount().longValue());
+		PagedMetaInformation metaInformation = estimateRepo.getMetaInformation(list, querySpec);
+		Assert.assertEquals(TotalCountStrategy.EXACT, metaInformation.getTotalCountStrategy());
+	}
+
+	@Test
+	public void testPagingCachedTotalCount() throws InstantiationException, IllegalAccessException {
+		JpaEntityRepository<TestEntity, Long> cachedRepo = createRepository(TotalCountStrategy.CACHED);
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		Assert.assertEquals(5L, ((PagedResultList<TestEntity>) cachedRepo.findAll(querySpec)).getTotalCount().longValue());
+
+		TestEntity entity = new TestEntity();
+		entity.setId(100L);
+		em.persist(entity);
+		em.flush();
+
+		// the count of the same filters is served from the cache, while other pages share it
+		querySpec.setOffset(2L);
+		Assert.assertEquals(5L, ((PagedResultList<TestEntity>) cachedRepo.findAll(querySpec)).getTotalCount().longValue());
+		QuerySpec filteredQuerySpec = querySpec.duplicate();
+		filteredQuerySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.GE, 0L));
+		Assert.assertEquals(6L,
+				((PagedResultList<TestEntity>) cachedRepo.findAll(filteredQuerySpec)).getTotalCount().longValue());
+
+		// modifications of the repository discard the counts
+		TestEntity savedEntity = new TestEntity();
+		savedEntity.setId(101L);
+		cachedRepo.save(savedEntity);
+		Assert.assertEquals(7L, ((PagedResultList<TestEntity>) cachedRepo.findAll(querySpec)).getTotalCount().longValue());
+
+		PagedMetaInformation metaInformation = cachedRepo.getMetaInformation(cachedRepo.findAll(querySpec), querySpec);
+		Assert.assertEquals(TotalCountStrategy.CACHED, metaInformation.getTotalCountStrategy());
+	}
+
+	@Test
+	public void testPagingCachedTotalCountWithFilter() throws InstantiationException, IllegalAccessException {
+		JpaEntityRepository<TestEntity, Long> cachedRepo = createRepository(TotalCountStrategy.CACHED,
+				new JpaRepositoryFilterBase());
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		Assert.assertEquals(5L, ((PagedResultList<TestEntity>) cachedRepo.findAll(querySpec)).getTotalCount().longValue());
+
+		TestEntity entity = new TestEntity();
+		entity.setId(100L);
+		em.persist(entity);
+		em.flush();
+
+		// a filter may restrict the query in ways the cache cannot tell apart, so counts are not cached
+		PagedResultList<TestEntity> list = (PagedResultList<TestEntity>) cachedRepo.findAll(querySpec);
+		Assert.assertEquals(6L, list.getTotalCount().longValue());
+		PagedMetaInformation metaInformation = cachedRepo.getMetaInformation(list, querySpec);
+		Assert.assertEquals(TotalCountStrategy.EXACT, metaInformation.getTotalCountStrategy());
+	}
+
+	private JpaEntityRepository<TestEntity, Long> createRepository(TotalCountStrategy totalCountStrategy,
+			JpaRepositoryFilter... filters) {
+		JpaModule countModule = JpaModule.newServerModule(emFactory, em, null);
+		for (JpaRepositoryFilter filter : filters) {
+			countModule.addFilter(filter);
+		}
+		countModule.setTotalCountStrategy(TestEntity.class, totalCountStrategy);
+		countModule.setTotalCountEstimator(new TableStatisticsEstimator(TableStatisticsEstimator.H2));
+		countModule.setQueryFactory(createQueryFactory(em));
+		return new JpaEntityRepository<>(countModule, TestEntity.class);
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		JpaModule streamingModule = JpaModule.newServerModule(emFactory, em, null);
+		streamingModule.setStreamingFetchSize(TestEntity.class, 2);
+		streamingModule.setQueryFactory(createQueryFactory(em));
+		JpaEntityRepository<TestEntity, Long> streamingRepo = new JpaEntityRepository<>(streamingModule, TestEntity.class);
+
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("longValue"), Direction.DESC));
+		List<TestEntity> streamed = new ArrayList<>();
+		try (ResultStream<TestEntity> stream = streamingRepo.stream(querySpec)) {
+			Iterator<TestEntity> iterator = stream.iterator();
+			while (iterator.hasNext()) {
+				TestEntity entity = iterator.next();
+				Assert.assertTrue(em.contains(entity));
+				streamed.add(entity);
+			}
+		}
+		Assert.assertEquals(numTestEntities, streamed.size());
+		for (int i = 0; i < numTestEntities; i++) {
+			Assert.assertEquals(numTestEntities - 1 - i, streamed.get(i).getLongValue());
+			// detached once the next chunk has been fetched
+			Assert.assertFalse(em.contains(streamed.get(i)));
+		}
+	}
+
+	@Test
+	public void testStreamOnlyUnpagedRequests() {
+		Assert.assertNull(repo.stream(new QuerySpec(TestEntity.class)));
+
+		JpaModule streamingModule = JpaModule.newServerModule(emFactory, em, null);
+		streamingModule.setStreamingFetchSize(TestEntity.class, 2);
+		streamingModule.setQueryFactory(createQueryFactory(em));
+		JpaEntityRepository<TestEntity, Long> streamingRepo = new JpaEntityRepository<>(streamingModule, TestEntity.class);
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		Assert.assertNull(streamingRepo.stream(querySpec));
+	}
+
+	@Test
+	public void testKeysetPaging() throws InstantiationException, IllegalAccessException {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("longValue"), Direction.DESC));
+		querySpec.setLimit(2L);
+		querySpec.setCursor("");
+
+		CursorPagedResultList<TestEntity> first = (CursorPagedResultList<TestEntity>) repo.findAll(querySpec);
+		Assert.assertEquals(2, first.size());
+		Assert.assertEquals(4, first.get(0).getId().intValue());
+		Assert.assertEquals(3, first.get(1).getId().intValue());
+		Assert.assertNull(first.getTotalCount());
+		Assert.assertNull(first.getPrevCursor());
+		Assert.assertNotNull(first.getNextCursor());
+
+		querySpec.setCursor(first.getNextCursor());
+		CursorPagedResultList<TestEntity> second = (CursorPagedResultList<TestEntity>) repo.findAll(querySpec);
+		Assert.assertEquals(2, second.size());
+		Assert.assertEquals(2, second.get(0).getId().intValue());
+		Assert.assertEquals(1, second.get(1).getId().intValue());
+
+		querySpec.setCursor(second.getNextCursor());
+		CursorPagedResultList<TestEntity> last = (CursorPagedResultList<TestEntity>) repo.findAll(querySpec);
+		Assert.assertEquals(1, last.size());
+		Assert.assertEquals(0, last.get(0).getId().intValue());
+		Assert.assertNull(last.getNextCursor());
+
+		querySpec.setCursor(last.getPrevCursor());
+		CursorPagedResultList<TestEntity> prev = (CursorPagedResultList<TestEntity>) repo.findAll(querySpec);
+		Assert.assertEquals(2, prev.size());
+		Assert.assertEquals(2, prev.get(0).getId().intValue());
+		Assert.assertEquals(1, prev.get(1).getId().intValue());
+		Assert.assertNotNull(prev.getPrevCursor());
+		Assert.assertNotNull(prev.getNextCursor());
+
+		querySpec.setCursor(prev.getPrevCursor());
+		CursorPagedResultList<TestEntity> firstAgain = (CursorPagedResultList<TestEntity>) repo.findAll(querySpec);
+		Assert.assertEquals(2, firstAgain.size());
+		Assert.assertEquals(4, firstAgain.get(0).getId().intValue());
+		Assert.assertNull(firstAgain.getPrevCursor());
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testInvalidKeysetCursor() throws InstantiationException, IllegalAccessException {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		querySpec.setCursor("invalid");
+		repo.findAll(querySpec);
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testKeysetCursorWithInvalidKeyValue() throws InstantiationException, IllegalAccessException {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.setLimit(2L);
+		querySpec.setCursor(Base64Variants.MODIFIED_FOR_URL.encode("[\"next\",\"notANumber\"]".getBytes(Charset.forName("UTF-8"))));
+		repo.findAll(querySpec);
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void testKeysetPagingByNullableAttribute() throws InstantiationException, IllegalAccessException {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.addSort(new SortSpec(Arrays.asList(TestEntity.ATTR_stringValue), Direction.ASC));
+		querySpec.setLimit(2L);
+		querySpec.setCursor("");
+		repo.findAll(querySpec);
+	}
+
 	@Test
 	public void testIncludeNoRelations() throws InstantiationException, IllegalAccessException {
 		em.clear();
@@ -264,13 +530,55 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		repo.findAll(querySpec);
 	}
 
-	@Test(expected = Exception.class)
-	public void testSparseFieldSetNotSupported() throws InstantiationException, IllegalAccessException {
+	@Test(expected = BadRequestException.class)
+	public void testSparseFieldSetUnknownAttr() throws InstantiationException, IllegalAccessException {
 		QuerySpec querySpec = new QuerySpec(TestEntity.class);
 		querySpec.includeField(Arrays.asList("test"));
 		repo.findAll(querySpec);
 	}
 
+	@Test
+	public void testSparseFieldSetProjection() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_embValue));
+		MetaEntity meta = module.getMetaLookup().getMeta(TestEntity.class).asEntity();
+		JpaProjection<TestEntity> projection = JpaProjection.create(meta, querySpec);
+
+		JpaQuery<TestEntity> query = module.getQueryFactory().query(TestEntity.class);
+		projection.apply(query);
+		query.addSortBy(Arrays.asList(TestEntity.ATTR_id), Direction.ASC);
+		List<Tuple> tuples = query.buildExecutor().getResultTuples();
+		Assert.assertEquals(5, tuples.size());
+
+		TestEntity test = projection.map(tuples.get(1));
+		Assert.assertEquals(1L, test.getId().longValue());
+		Assert.assertEquals("test1", test.getStringValue());
+		Assert.assertEquals("emb1", test.getEmbValue().getEmbStringValue());
+		Assert.assertEquals(0L, test.getLongValue());
+		Assert.assertFalse(module.getEntityManager().contains(test));
+	}
+
+	@Test
+	public void testSparseFieldSetWithRelationNotProjected() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+		MetaEntity meta = module.getMetaLookup().getMeta(TestEntity.class).asEntity();
+		Assert.assertNull(JpaProjection.create(meta, querySpec));
+	}
+
+	@Test
+	public void testSparseFieldSetLoadsEntitiesOutsideReadOnlyRequests() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeField(Arrays.asList(TestEntity.ATTR_stringValue));
+		querySpec.addSort(new SortSpec(Arrays.asList(TestEntity.ATTR_id), Direction.ASC));
+		List<TestEntity> list = repo.findAll(querySpec);
+		Assert.assertEquals(5, list.size());
+		Assert.assertEquals(1L, list.get(1).getLongValue());
+		Assert.assertTrue(module.getEntityManager().contains(list.get(1)));
+	}
+
 	@Test(expected = Exception.class)
 	public void testSortUnknownAttr() throws InstantiationException, IllegalAccessException {
 		QuerySpec querySpec = new QuerySpec(TestEntity.class);
@@ -278,6 +586,79 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		repo.findAll(querySpec);
 	}
 
+	@Test
+	public void testSaveAll() {
+		List<TestEntity> entities = new ArrayList<>();
+		for (long id = 101; id >= 100; id--) {
+			TestEntity entity = new TestEntity();
+			entity.setId(id);
+			entity.setStringValue("bulk" + id);
+			entities.add(entity);
+		}
+
+		List<TestEntity> saved = repo.saveAll(entities);
+		Assert.assertEquals(2, saved.size());
+		Assert.assertEquals(101L, saved.get(0).getId().longValue());
+		Assert.assertEquals("bulk101", saved.get(0).getStringValue());
+		Assert.assertEquals(100L, saved.get(1).getId().longValue());
+		Assert.assertEquals(numTestEntities + 2, repo.findAll(new QuerySpec(TestEntity.class)).size());
+	}
+
+	@Test
+	public void testSaveAllUpdates() {
+		List<TestEntity> entities = repo.findAll(Arrays.asList(1L, 2L), new QuerySpec(TestEntity.class));
+		for (TestEntity entity : entities) {
+			entity.setStringValue("updated");
+		}
+
+		repo.saveAll(entities);
+		em.clear();
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("stringValue"), FilterOperator.EQ, "updated"));
+		Assert.assertEquals(2, repo.findAll(querySpec).size());
+	}
+
+	@Test
+	public void testDeleteAll() {
+		repo.deleteAll(Arrays.asList(1L, 2L, 99L));
+		List<TestEntity> list = repo.findAll(new QuerySpec(TestEntity.class));
+		Assert.assertEquals(numTestEntities - 2, list.size());
+		repo.deleteAll(new ArrayList<Long>());
+	}
+
+	@Test
+	public void testSaveAllAndDeleteAllInChunks() {
+		int count = JpaEntityRepository.MAX_IDS_PER_QUERY + 10;
+		List<TestEntity> entities = new ArrayList<>();
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1000; id < 1000 + count; id++) {
+			TestEntity entity = new TestEntity();
+			entity.setId(id);
+			entities.add(entity);
+			ids.add(id);
+		}
+
+		List<TestEntity> saved = repo.saveAll(entities);
+		Assert.assertEquals(count, saved.size());
+		Assert.assertEquals(1000L + count - 1, saved.get(count - 1).getId().longValue());
+		Assert.assertEquals(numTestEntities + count, repo.findAll(new QuerySpec(TestEntity.class)).size());
+
+		repo.deleteAll(ids);
+		Assert.assertEquals(numTestEntities, repo.findAll(new QuerySpec(TestEntity.class)).size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testCreatableSaveAll() {
+		repo.setCreateable(false);
+		repo.saveAll(Arrays.asList(new TestEntity()));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testDeletableDeleteAll() {
+		repo.setDeleteable(false);
+		repo.deleteAll(Arrays.asList(1L));
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void testReadableFindAll() {
 		repo.setReadable(false);
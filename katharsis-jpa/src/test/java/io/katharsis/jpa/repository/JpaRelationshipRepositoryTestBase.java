@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.hamcrest.core.Is;
 import org.junit.Assert;
@@ -11,7 +12,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.katharsis.jpa.JpaModule;
 import io.katharsis.jpa.JpaRelationshipRepository;
+import io.katharsis.jpa.TotalCountStrategy;
 import io.katharsis.jpa.internal.paging.PagedMetaInformation;
 import io.katharsis.jpa.model.RelatedEntity;
 import io.katharsis.jpa.model.TestEntity;
@@ -19,6 +22,8 @@ import io.katharsis.jpa.query.AbstractJpaTest;
 import io.katharsis.queryspec.FilterOperator;
 import io.katharsis.queryspec.FilterSpec;
 import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.response.paging.HasNextPagedResultList;
+import io.katharsis.response.paging.PagedResultList;
 
 @Transactional
 public abstract class JpaRelationshipRepositoryTestBase extends AbstractJpaTest {
@@ -183,6 +188,84 @@ public abstract class JpaRelationshipRepositoryTestBase extends AbstractJpaTest
 		Assert.assertEquals(5, metaInformation.getTotalResourceCount().longValue());
 	}
 
+	@Test
+	public void testGetManyRelationWithHasNextPaging() throws InstantiationException, IllegalAccessException {
+		TestEntity test = setupManyRelation(Arrays.asList(100L, 101L, 102L, 103L, 104L));
+
+		JpaModule hasNextModule = JpaModule.newServerModule(emFactory, em, null);
+		hasNextModule.setTotalCountStrategy(RelatedEntity.class, TotalCountStrategy.HAS_NEXT);
+		hasNextModule.setQueryFactory(createQueryFactory(em));
+		JpaRelationshipRepository<TestEntity, Long, RelatedEntity, Long> hasNextRepo = new JpaRelationshipRepository<>(
+				hasNextModule, TestEntity.class, RelatedEntity.class);
+
+		QuerySpec querySpec = new QuerySpec(RelatedEntity.class);
+		querySpec.setOffset(2L);
+		querySpec.setLimit(2L);
+		HasNextPagedResultList<RelatedEntity> list = (HasNextPagedResultList<RelatedEntity>) hasNextRepo
+				.findManyTargets(test.getId(), TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(102, list.get(0).getId().intValue());
+		Assert.assertEquals(103, list.get(1).getId().intValue());
+		Assert.assertTrue(list.hasNext());
+		Assert.assertNull(list.getTotalCount());
+
+		querySpec.setOffset(3L);
+		list = (HasNextPagedResultList<RelatedEntity>) hasNextRepo.findManyTargets(test.getId(),
+				TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(2, list.size());
+		Assert.assertFalse(list.hasNext());
+
+		PagedMetaInformation metaInformation = hasNextRepo.getMetaInformation(list, querySpec);
+		Assert.assertEquals(TotalCountStrategy.HAS_NEXT, metaInformation.getTotalCountStrategy());
+	}
+
+	@Test
+	public void testGetManyRelationWithBulkPaging() {
+		setupManyRelation(Arrays.asList(100L, 101L, 102L));
+		TestEntity test2 = em.find(TestEntity.class, 2L);
+		repo.addRelations(test2, Arrays.asList(103L, 104L), TestEntity.ATTR_manyRelatedValues);
+		em.flush();
+		em.clear();
+
+		QuerySpec querySpec = new QuerySpec(RelatedEntity.class);
+		querySpec.setOffset(1L);
+		querySpec.setLimit(1L);
+
+		Map<Long, Iterable<RelatedEntity>> map = repo.findManyTargets(Arrays.asList(1L, 2L, 3L),
+				TestEntity.ATTR_manyRelatedValues, querySpec);
+		Assert.assertEquals(3, map.size());
+
+		PagedResultList<RelatedEntity> list1 = (PagedResultList<RelatedEntity>) map.get(1L);
+		Assert.assertEquals(1, list1.size());
+		Assert.assertEquals(101L, list1.get(0).getId().longValue());
+		Assert.assertEquals(3L, list1.getTotalCount().longValue());
+
+		PagedResultList<RelatedEntity> list2 = (PagedResultList<RelatedEntity>) map.get(2L);
+		Assert.assertEquals(1, list2.size());
+		Assert.assertEquals(104L, list2.get(0).getId().longValue());
+		Assert.assertEquals(2L, list2.getTotalCount().longValue());
+
+		PagedResultList<RelatedEntity> list3 = (PagedResultList<RelatedEntity>) map.get(3L);
+		Assert.assertEquals(0, list3.size());
+		Assert.assertEquals(0L, list3.getTotalCount().longValue());
+	}
+
+	@Test
+	public void testGetManyRelationWithBatches() {
+		setupManyRelation(Arrays.asList(100L, 101L));
+		TestEntity test2 = em.find(TestEntity.class, 2L);
+		repo.addRelations(test2, Arrays.asList(102L), TestEntity.ATTR_manyRelatedValues);
+		em.flush();
+		em.clear();
+
+		repo.setBulkFetchBatchSize(1);
+		Map<Long, Iterable<RelatedEntity>> map = repo.findManyTargets(Arrays.asList(1L, 2L),
+				TestEntity.ATTR_manyRelatedValues, new QuerySpec(RelatedEntity.class));
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals(2, ((List<RelatedEntity>) map.get(1L)).size());
+		Assert.assertEquals(1, ((List<RelatedEntity>) map.get(2L)).size());
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void testReadableFindOneTarget() {
 		repo.setReadable(false);
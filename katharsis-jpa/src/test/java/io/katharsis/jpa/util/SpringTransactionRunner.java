@@ -8,16 +8,26 @@ import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
-import io.katharsis.internal.boot.TransactionRunner;
+import io.katharsis.internal.boot.ReadOnlyTransactionRunner;
 
-public class SpringTransactionRunner implements TransactionRunner {
+public class SpringTransactionRunner implements ReadOnlyTransactionRunner {
 
 	@Autowired
 	private PlatformTransactionManager platformTransactionManager;
 
 	@Override
 	public <T> T doInTransaction(final Callable<T> callable) {
+		return execute(callable, false);
+	}
+
+	@Override
+	public <T> T doInReadOnlyTransaction(Callable<T> callable) {
+		return execute(callable, true);
+	}
+
+	private <T> T execute(final Callable<T> callable, boolean readOnly) {
 		TransactionTemplate template = new TransactionTemplate(platformTransactionManager);
+		template.setReadOnly(readOnly);
 		return template.execute(new TransactionCallback<T>() {
 
 			@Override
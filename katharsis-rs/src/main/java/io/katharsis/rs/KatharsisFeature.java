@@ -101,6 +101,8 @@ public class KatharsisFeature implements Feature {
 			RequestDispatcher requestDispatcher = boot.getRequestDispatcher();
 			katharsisFilter = createKatharsisFilter(resourceRegistry, parameterProviderRegistry, webPathPrefix,
 					requestDispatcher);
+			katharsisFilter.setETagEnabled(
+					Boolean.parseBoolean(propertiesProvider.getProperty(KatharsisProperties.WEB_ETAG_ENABLED)));
 		}
 		catch (Exception e) {
 			throw new WebApplicationException(e);
@@ -110,6 +112,15 @@ public class KatharsisFeature implements Feature {
 		return true;
 	}
 
+	/**
+	 * Releases the resources Katharsis holds, for example the executor looking up inclusions concurrently. JAX-RS offers
+	 * no notification for this, so it has to be called by the application when it stops, for example from a
+	 * ServletContextListener.
+	 */
+	public void shutdown() {
+		boot.shutdown();
+	}
+
 	private RequestContextParameterProviderRegistry buildParameterProviderRegistry() {
 		RequestContextParameterProviderRegistryBuilder builder = new RequestContextParameterProviderRegistryBuilder();
 		return builder.build(boot.getServiceDiscovery());
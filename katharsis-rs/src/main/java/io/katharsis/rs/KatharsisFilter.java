@@ -4,8 +4,10 @@ import static io.katharsis.rs.type.JsonApiMediaType.APPLICATION_JSON_API_TYPE;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -21,6 +23,7 @@ import javax.ws.rs.container.PreMatching;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.slf4j.Logger;
@@ -28,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.katharsis.dispatcher.ConditionalRequest;
 import io.katharsis.dispatcher.RequestDispatcher;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.KatharsisMatchingException;
@@ -39,10 +43,12 @@ import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ServiceUrlProvider;
 import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.ResultStream;
 import io.katharsis.rs.parameterProvider.JaxRsParameterProvider;
 import io.katharsis.rs.parameterProvider.RequestContextParameterProviderRegistry;
 import io.katharsis.rs.resource.registry.UriInfoServiceUrlProvider;
 import io.katharsis.rs.type.JsonApiMediaType;
+import io.katharsis.utils.ETagUtils;
 
 /**
  * Handles JSON API requests.
@@ -70,6 +76,7 @@ public class KatharsisFilter implements ContainerRequestFilter {
     private RequestDispatcher requestDispatcher;
     private RequestContextParameterProviderRegistry parameterProviderRegistry;
     private String webPathPrefix;
+    private boolean etagEnabled;
 
     public KatharsisFilter(ObjectMapper objectMapper,
                            ResourceRegistry resourceRegistry, RequestDispatcher
@@ -89,6 +96,21 @@ public class KatharsisFilter implements ContainerRequestFilter {
         }
     }
 
+    public boolean isETagEnabled() {
+        return etagEnabled;
+    }
+
+    /**
+     * Enables ETags for successful GET responses and answers conditional requests with <i>304 Not Modified</i>. The
+     * ETag is derived from the version of a {@link io.katharsis.repository.VersionedRepository} before the request is
+     * dispatched, or otherwise computed from the response body.
+     *
+     * @param etagEnabled <i>true</i> to enable ETags
+     */
+    public void setETagEnabled(boolean etagEnabled) {
+        this.etagEnabled = etagEnabled;
+    }
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         if (requestContext.hasEntity() && !requestContext.getMediaType().isCompatible(JsonApiMediaType.APPLICATION_JSON_API_TYPE)) {
@@ -122,6 +144,9 @@ public class KatharsisFilter implements ContainerRequestFilter {
         UriInfo uriInfo = requestContext.getUriInfo();
         BaseResponseContext katharsisResponse = null;
         boolean passToMethodMatcher = false;
+        ConditionalRequest conditionalRequest = new ConditionalRequest(etagEnabled, requestContext.getMethod(),
+            requestContext.getHeaderString(ETagUtils.IF_NONE_MATCH_HEADER));
+        boolean notModified = false;
         ServiceUrlProvider serviceUrlProvider = resourceRegistry.getServiceUrlProvider();
         try {
             String path = buildPath(uriInfo);
@@ -138,11 +163,15 @@ public class KatharsisFilter implements ContainerRequestFilter {
             Map<String, Set<String>> parameters = getParameters(uriInfo);
 
             String method = requestContext.getMethod();
-            RequestBody requestBody = inputStreamToBody(requestContext.getEntityStream());
-
             JaxRsParameterProvider parameterProvider = new JaxRsParameterProvider(objectMapper, requestContext, parameterProviderRegistry);
-            katharsisResponse = requestDispatcher
-                .dispatchRequest(jsonPath, method, parameters, parameterProvider, requestBody);
+
+            notModified = conditionalRequest.isNotModified(requestDispatcher, jsonPath, path, parameters,
+                parameterProvider);
+            if (!notModified) {
+                RequestBody requestBody = inputStreamToBody(requestContext.getEntityStream());
+                katharsisResponse = requestDispatcher
+                    .dispatchRequest(jsonPath, method, parameters, parameterProvider, requestBody);
+            }
         } catch (KatharsisMappableException e) {
             // log error in KatharsisMappableException mapper.
             katharsisResponse = new KatharsisExceptionMapper().toErrorResponse(e);
@@ -150,8 +179,10 @@ public class KatharsisFilter implements ContainerRequestFilter {
         	LOGGER.warn("failed to process request", e);
             passToMethodMatcher = true;
         } finally {
-            if (!passToMethodMatcher) {
-                abortWithResponse(requestContext, katharsisResponse);
+            if (notModified) {
+                requestContext.abortWith(notModified(conditionalRequest.getETag()));
+            } else if (!passToMethodMatcher) {
+                abortWithResponse(requestContext, katharsisResponse, conditionalRequest);
             }
 
             if(serviceUrlProvider instanceof UriInfoServiceUrlProvider){
@@ -179,24 +210,83 @@ public class KatharsisFilter implements ContainerRequestFilter {
         }
     }
 
-    private void abortWithResponse(ContainerRequestContext requestContext, BaseResponseContext katharsisResponse)
-        throws IOException {
+    private void abortWithResponse(ContainerRequestContext requestContext, BaseResponseContext katharsisResponse,
+                                   ConditionalRequest conditionalRequest) throws IOException {
         Response response;
-        if (katharsisResponse != null) {
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            objectMapper.writeValue(os, katharsisResponse);
+        ResultStream<?> resultStream = null;
+        if (katharsisResponse != null && katharsisResponse.getResponse() != null
+            && katharsisResponse.getResponse().getEntity() instanceof ResultStream) {
+            resultStream = (ResultStream<?>) katharsisResponse.getResponse().getEntity();
             response = Response
                 .status(katharsisResponse.getHttpStatus())
-                .entity(new ByteArrayInputStream(os.toByteArray()))
+                .entity(streamingOutput(katharsisResponse, resultStream, requestContext.getUriInfo()))
                 .type(APPLICATION_JSON_API_TYPE)
+                .header(ETagUtils.ETAG_HEADER, conditionalRequest.getETag(katharsisResponse))
                 .build();
+        } else if (katharsisResponse != null) {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            if (conditionalRequest.write(objectMapper, katharsisResponse, os)) {
+                response = notModified(conditionalRequest.getETag());
+            } else {
+                response = Response
+                    .status(katharsisResponse.getHttpStatus())
+                    .entity(new ByteArrayInputStream(os.toByteArray()))
+                    .type(APPLICATION_JSON_API_TYPE)
+                    .header(ETagUtils.ETAG_HEADER, conditionalRequest.getETag(katharsisResponse))
+                    .build();
+            }
         } else {
             response = Response.noContent().build();
         }
-        requestContext.abortWith(response);
+        try {
+            requestContext.abortWith(response);
+        } catch (RuntimeException e) {
+            if (resultStream != null) {
+                closeQuietly(resultStream);
+            }
+            throw e;
+        }
     }
 
+    /**
+     * Streamed collections are written to the entity stream as they are fetched rather than buffered, see
+     * {@link ResultStream}. This happens after the filter has returned, so the links need the uriInfo of the request
+     * once more.
+     */
+    private StreamingOutput streamingOutput(final BaseResponseContext katharsisResponse,
+                                            final ResultStream<?> resultStream, final UriInfo uriInfo) {
+        return new StreamingOutput() {
+
+            @Override
+            public void write(OutputStream output) throws IOException {
+                ServiceUrlProvider serviceUrlProvider = resourceRegistry.getServiceUrlProvider();
+                if (serviceUrlProvider instanceof UriInfoServiceUrlProvider) {
+                    ((UriInfoServiceUrlProvider) serviceUrlProvider).onRequestStarted(uriInfo);
+                }
+                try {
+                    objectMapper.writeValue(output, katharsisResponse);
+                } finally {
+                    // already closed if written, but the serialization may have failed before
+                    closeQuietly(resultStream);
+                    if (serviceUrlProvider instanceof UriInfoServiceUrlProvider) {
+                        ((UriInfoServiceUrlProvider) serviceUrlProvider).onRequestFinished();
+                    }
+                }
+            }
+        };
+    }
 
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            LOGGER.warn("failed to close result stream", e);
+        }
+    }
+
+    private static Response notModified(String etag) {
+        return Response.notModified().header(ETagUtils.ETAG_HEADER, etag).build();
+    }
 
     public RequestBody inputStreamToBody(InputStream is) throws IOException {
         if (is == null) {
@@ -50,6 +50,15 @@ public final class KatharsisProperties {
      */
     public static final String WEB_PATH_PREFIX = KatharsisBootProperties.WEB_PATH_PREFIX;
 
+    /**
+     * Enables ETags for successful GET responses, see {@link KatharsisFilter#setETagEnabled(boolean)}.
+     *
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WEB_ETAG_ENABLED = KatharsisBootProperties.WEB_ETAG_ENABLED;
+
     private KatharsisProperties() {
         throw new InstantiationError("This class should not be instantiated");
     }
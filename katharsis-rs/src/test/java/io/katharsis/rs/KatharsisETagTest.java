@@ -0,0 +1,106 @@
+package io.katharsis.rs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.DefaultQueryParamsParser;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.response.HttpStatus;
+import io.katharsis.utils.ETagUtils;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.jetty.JettyTestContainerFactory;
+import org.glassfish.jersey.test.spi.TestContainerFactory;
+import org.junit.Test;
+
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import static io.katharsis.rs.type.JsonApiMediaType.APPLICATION_JSON_API_TYPE;
+import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KatharsisETagTest extends JerseyTest {
+
+    @Override
+    protected TestContainerFactory getTestContainerFactory() {
+        return new JettyTestContainerFactory();
+    }
+
+    @Override
+    protected Application configure() {
+        return new TestApplication();
+    }
+
+    @Test
+    public void onConditionalGetShouldReturnNotModified() {
+        // GIVEN
+        Response response = get("tasks/1", null);
+        String etag = response.getHeaderString(ETagUtils.ETAG_HEADER);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(etag).startsWith("\"");
+
+        // WHEN
+        response = get("tasks/1", etag);
+
+        // THEN
+        assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_MODIFIED.getStatusCode());
+        assertThat(response.getHeaderString(ETagUtils.ETAG_HEADER)).isEqualTo(etag);
+        assertThat(response.getHeaderString(HttpHeaders.CONTENT_TYPE)).isNull();
+        assertThat(response.hasEntity()).isFalse();
+    }
+
+    @Test
+    public void onOtherETagShouldReturnResource() {
+        // WHEN
+        Response response = get("tasks/1", "\"other\"");
+
+        // THEN
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getMediaType().isCompatible(APPLICATION_JSON_API_TYPE)).isTrue();
+        assertThatJson(response.readEntity(String.class)).node("data.id").isStringEqualTo("1");
+    }
+
+    @Test
+    public void onVersionedRepositoryShouldReturnNotModified() {
+        // GIVEN
+        String etag = get("projects/1", null).getHeaderString(ETagUtils.ETAG_HEADER);
+        assertThat(etag).startsWith("W/");
+
+        // WHEN
+        Response response = get("projects/1", etag);
+
+        // THEN
+        assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_MODIFIED.getStatusCode());
+        assertThat(response.getHeaderString(ETagUtils.ETAG_HEADER)).isEqualTo(etag);
+        assertThat(response.getHeaderString(HttpHeaders.CONTENT_TYPE)).isNull();
+    }
+
+    @Test
+    public void onErrorShouldNotReturnETag() {
+        // WHEN
+        Response response = get("tasks/5", "*");
+
+        // THEN
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR_500);
+        assertThat(response.getHeaderString(ETagUtils.ETAG_HEADER)).isNull();
+    }
+
+    private Response get(String path, String ifNoneMatch) {
+        return target(path)
+            .request(APPLICATION_JSON_API_TYPE)
+            .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+            .get();
+    }
+
+    @ApplicationPath("/")
+    private static class TestApplication extends ResourceConfig {
+        public TestApplication() {
+            property(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, "io.katharsis.rs.resource");
+            property(KatharsisProperties.RESOURCE_DEFAULT_DOMAIN, "http://test.local");
+            property(KatharsisProperties.WEB_ETAG_ENABLED, "true");
+            register(new KatharsisFeature(new ObjectMapper(), new QueryParamsBuilder(new DefaultQueryParamsParser()), new SampleJsonServiceLocator()));
+        }
+    }
+}
@@ -16,8 +16,10 @@
  */
 package io.katharsis.invoker;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.net.MediaType;
+import io.katharsis.dispatcher.ConditionalRequest;
 import io.katharsis.dispatcher.RequestDispatcher;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.KatharsisMatchingException;
@@ -29,16 +31,28 @@ import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.ResultStream;
 import io.katharsis.servlet.util.QueryStringUtils;
+import io.katharsis.utils.ETagUtils;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 
 /**
  * Katharsis dispatcher invoker.
+ * <p>
+ * Request bodies are parsed directly from the request input stream. Responses are by default serialized into a
+ * buffer first, so that a failing serialization can still be reported with a proper status. With
+ * {@link #setStreamResponses(boolean)} responses are instead written directly to the response output stream.
+ * Collections returned as {@link ResultStream} are always written directly to the response output stream, which is
+ * flushed periodically.
+ * <p>
+ * With {@link #setETagEnabled(boolean)} successful GET responses carry an ETag and conditional requests are answered
+ * with <i>304 Not Modified</i>. If the repository implements {@link io.katharsis.repository.VersionedRepository},
+ * the ETag is derived from the version before the request is dispatched. Otherwise it is a hash of the buffered
+ * response body computed while it is written; streamed responses only support the former.
  */
 public class KatharsisInvoker {
 
@@ -47,6 +61,8 @@ public class KatharsisInvoker {
     private ObjectMapper objectMapper;
     private ResourceRegistry resourceRegistry;
     private RequestDispatcher requestDispatcher;
+    private boolean streamResponses;
+    private boolean etagEnabled;
 
     public KatharsisInvoker(ObjectMapper objectMapper,
                             ResourceRegistry resourceRegistry, RequestDispatcher requestDispatcher) {
@@ -55,6 +71,36 @@ public class KatharsisInvoker {
         this.requestDispatcher = requestDispatcher;
     }
 
+    public boolean isStreamResponses() {
+        return streamResponses;
+    }
+
+    /**
+     * Enables writing responses directly to the response output stream without an intermediate buffer. If the
+     * serialization fails before the servlet container committed the response, the partial output is discarded and
+     * the error is reported as usual. If the response has already been committed, the client receives a truncated
+     * response.
+     *
+     * @param streamResponses <i>true</i> to stream responses
+     */
+    public void setStreamResponses(boolean streamResponses) {
+        this.streamResponses = streamResponses;
+    }
+
+    public boolean isETagEnabled() {
+        return etagEnabled;
+    }
+
+    /**
+     * Enables ETags and conditional GET requests, see class documentation. Requires
+     * {@link KatharsisInvokerContext#getServletResponse()} to be available.
+     *
+     * @param etagEnabled <i>true</i> to enable ETags
+     */
+    public void setETagEnabled(boolean etagEnabled) {
+        this.etagEnabled = etagEnabled;
+    }
+
     public void invoke(KatharsisInvokerContext invokerContext) throws KatharsisInvokerException {
         if (isAcceptableMediaType(invokerContext)) {
             try {
@@ -72,6 +118,11 @@ public class KatharsisInvoker {
 
         boolean passToMethodMatcher = false;
 
+        ConditionalRequest conditionalRequest = new ConditionalRequest(
+                etagEnabled && invokerContext.getServletResponse() != null, invokerContext.getRequestMethod(),
+                invokerContext.getRequestHeader(ETagUtils.IF_NONE_MATCH_HEADER));
+        boolean notModified = false;
+
         InputStream in = null;
 
         try {
@@ -79,13 +130,18 @@ public class KatharsisInvoker {
 
             Map<String, Set<String>> parameters = getParameters(invokerContext);
 
-            in = invokerContext.getRequestEntityStream();
-            RequestBody requestBody = inputStreamToBody(in);
-
             String method = invokerContext.getRequestMethod();
             RepositoryMethodParameterProvider parameterProvider = invokerContext.getParameterProvider();
-            katharsisResponse = requestDispatcher.dispatchRequest(jsonPath, method, parameters, parameterProvider,
-                    requestBody);
+
+            notModified = conditionalRequest.isNotModified(requestDispatcher, jsonPath, invokerContext.getRequestPath(),
+                    parameters, parameterProvider);
+            if (!notModified) {
+                in = invokerContext.getRequestEntityStream();
+                RequestBody requestBody = inputStreamToBody(in);
+
+                katharsisResponse = requestDispatcher.dispatchRequest(jsonPath, method, parameters, parameterProvider,
+                        requestBody);
+            }
         } catch (KatharsisMappableException e) {
             // log error in KatharsisMappableException mapper.
             katharsisResponse = new KatharsisExceptionMapper().toErrorResponse(e);
@@ -94,24 +150,20 @@ public class KatharsisInvoker {
         } finally {
             closeQuietly(in);
 
-            if (katharsisResponse != null) {
-                invokerContext.setResponseStatus(katharsisResponse.getHttpStatus());
-                invokerContext.setResponseContentType(JsonApiMediaType.APPLICATION_JSON_API);
-
-                ByteArrayOutputStream baos = null;
-                OutputStream out = null;
-
+            if (notModified) {
+                writeNotModified(invokerContext, conditionalRequest.getETag());
+            } else if (katharsisResponse != null) {
+                ResultStream<?> resultStream = getResultStream(katharsisResponse);
                 try {
-                    // first write to a buffer first because objectMapper may fail while writing.
-                    baos = new ByteArrayOutputStream(BUFFER_SIZE);
-                    objectMapper.writeValue(baos, katharsisResponse);
-
-                    out = invokerContext.getResponseOutputStream();
-                    out.write(baos.toByteArray());
-                    out.flush();
+                    if (streamResponses || resultStream != null) {
+                        writeHeaders(invokerContext, katharsisResponse, conditionalRequest.getETag(katharsisResponse));
+                        streamResponse(invokerContext, katharsisResponse, resultStream != null);
+                    } else {
+                        bufferResponse(invokerContext, katharsisResponse, conditionalRequest);
+                    }
                 } finally {
-                    closeQuietly(baos);
-                    closeQuietly(out);
+                    // already closed if written, but the response may have failed before
+                    closeQuietly(resultStream);
                 }
             } else if (passToMethodMatcher) {
                 invokerContext.setResponseStatus(HttpServletResponse.SC_NOT_FOUND);
@@ -121,6 +173,28 @@ public class KatharsisInvoker {
         }
     }
 
+    private static ResultStream<?> getResultStream(BaseResponseContext katharsisResponse) {
+        if (katharsisResponse.getResponse() != null
+                && katharsisResponse.getResponse().getEntity() instanceof ResultStream) {
+            return (ResultStream<?>) katharsisResponse.getResponse().getEntity();
+        }
+        return null;
+    }
+
+    private static void writeHeaders(KatharsisInvokerContext invokerContext, BaseResponseContext katharsisResponse,
+                                     String etag) {
+        invokerContext.setResponseStatus(katharsisResponse.getHttpStatus());
+        invokerContext.setResponseContentType(JsonApiMediaType.APPLICATION_JSON_API);
+        if (etag != null) {
+            invokerContext.getServletResponse().setHeader(ETagUtils.ETAG_HEADER, etag);
+        }
+    }
+
+    private void writeNotModified(KatharsisInvokerContext invokerContext, String etag) {
+        invokerContext.setResponseStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        invokerContext.getServletResponse().setHeader(ETagUtils.ETAG_HEADER, etag);
+    }
+
     private boolean isAcceptableMediaType(KatharsisInvokerContext invokerContext) {
         String acceptHeader = invokerContext.getRequestHeader("Accept");
 
@@ -145,22 +219,65 @@ public class KatharsisInvoker {
                 QueryStringUtils.parseQueryStringAsSingleValueMap(invokerContext);
     }
 
-    private RequestBody inputStreamToBody(InputStream is) throws IOException {
-        if (is == null) {
-            return null;
+    private void bufferResponse(KatharsisInvokerContext invokerContext, BaseResponseContext katharsisResponse,
+                                ConditionalRequest conditionalRequest) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+
+        OutputStream out = null;
+        try {
+            // first write to a buffer first because objectMapper may fail while writing.
+            if (conditionalRequest.write(objectMapper, katharsisResponse, buffer)) {
+                writeNotModified(invokerContext, conditionalRequest.getETag());
+                return;
+            }
+            writeHeaders(invokerContext, katharsisResponse, conditionalRequest.getETag(katharsisResponse));
+
+            out = invokerContext.getResponseOutputStream();
+            buffer.writeTo(out);
+            out.flush();
+        } finally {
+            closeQuietly(out);
         }
+    }
 
-        Scanner s = new Scanner(is).useDelimiter("\\A");
-        String requestBody = s.hasNext() ? s.next() : "";
+    /**
+     * @param flushable <i>true</i> to pass the periodic flushes of a {@link ResultStream} on to the client
+     */
+    private void streamResponse(KatharsisInvokerContext invokerContext, BaseResponseContext katharsisResponse,
+                                boolean flushable) throws IOException {
+        OutputStream out = invokerContext.getResponseOutputStream();
+        try {
+            // flushing or closing would commit the response, prevent it until the serialization is completed
+            objectMapper.writeValue(new UnclosableOutputStream(out, flushable), katharsisResponse);
+            out.flush();
+            closeQuietly(out);
+        } catch (IOException | RuntimeException e) {
+            HttpServletResponse servletResponse = invokerContext.getServletResponse();
+            if (servletResponse != null && !servletResponse.isCommitted()) {
+                servletResponse.resetBuffer();
+            } else {
+                closeQuietly(out);
+            }
+            throw e;
+        }
+    }
 
-        if (requestBody == null || requestBody.isEmpty()) {
+    private RequestBody inputStreamToBody(InputStream is) throws IOException {
+        if (is == null) {
             return null;
         }
 
+        JsonParser parser = null;
         try {
-            return objectMapper.readValue(requestBody, RequestBody.class);
+            parser = objectMapper.getFactory().createParser(is);
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return objectMapper.readValue(parser, RequestBody.class);
         } catch (IOException e) {
             throw new JsonDeserializationException(e.getMessage());
+        } finally {
+            closeQuietly(parser);
         }
     }
 
@@ -172,4 +289,35 @@ public class KatharsisInvoker {
             }
         }
     }
+
+    /**
+     * Passes written data through, but leaves flushing and closing to the invoker.
+     */
+    private static class UnclosableOutputStream extends FilterOutputStream {
+
+        private final boolean flushable;
+
+        UnclosableOutputStream(OutputStream out, boolean flushable) {
+            super(out);
+            this.flushable = flushable;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // ignored unless streaming a ResultStream, see streamResponse
+            if (flushable) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            // ignored, see streamResponse
+        }
+    }
 }
@@ -57,6 +57,9 @@ public class KatharsisInvokerBuilder {
     private String resourceSearchPackage;
     private String resourceDefaultDomain;
 
+    private boolean streamResponses;
+
+    private boolean etagEnabled;
     
     public KatharsisInvokerBuilder module(io.katharsis.module.Module module){
     	moduleRegistry.addModule(module);
@@ -108,6 +111,24 @@ public class KatharsisInvokerBuilder {
         return this;
     }
 
+    /**
+     * @param streamResponses <i>true</i> to write responses directly to the response output stream
+     * @see KatharsisInvoker#setStreamResponses(boolean)
+     */
+    public KatharsisInvokerBuilder streamResponses(boolean streamResponses) {
+        this.streamResponses = streamResponses;
+        return this;
+    }
+
+    /**
+     * @param etagEnabled <i>true</i> to support ETags and conditional GET requests
+     * @see KatharsisInvoker#setETagEnabled(boolean)
+     */
+    public KatharsisInvokerBuilder etagEnabled(boolean etagEnabled) {
+        this.etagEnabled = etagEnabled;
+        return this;
+    }
+
     public KatharsisInvoker build() throws Exception {
         if (resourceRegistry == null || requestDispatcher == null || exceptionMapperRegistry == null) {
             if (resourceSearchPackage == null) {
@@ -144,7 +165,10 @@ public class KatharsisInvokerBuilder {
             requestDispatcher = createRequestDispatcher(resourceRegistry, objectMapper, exceptionMapperRegistry);
         }
 
-        return new KatharsisInvoker(objectMapper, resourceRegistry, requestDispatcher);
+        KatharsisInvoker invoker = new KatharsisInvoker(objectMapper, resourceRegistry, requestDispatcher);
+        invoker.setStreamResponses(streamResponses);
+        invoker.setETagEnabled(etagEnabled);
+        return invoker;
     }
 
     protected ResourceFieldNameTransformer buildResourceFieldNameTransformer(){
@@ -17,6 +17,8 @@
 package io.katharsis.servlet;
 
 import io.katharsis.invoker.JsonApiMediaType;
+import io.katharsis.invoker.KatharsisInvokerBuilder;
+import io.katharsis.servlet.resource.repository.NoteRepository;
 import io.katharsis.utils.StringUtils;
 import org.junit.After;
 import org.junit.Before;
@@ -30,6 +32,7 @@ import org.springframework.mock.web.MockServletContext;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletResponse;
 import java.net.URLEncoder;
@@ -38,6 +41,7 @@ import java.nio.charset.StandardCharsets;
 import static net.javacrumbs.jsonunit.JsonAssert.assertJsonPartEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -78,6 +82,7 @@ public class KatharsisServletTest {
                 RESOURCE_DEFAULT_DOMAIN);
 
         katharsisServlet.init(servletConfig);
+        NoteRepository.OPEN_STREAMS.set(0);
     }
 
     @After
@@ -212,4 +217,150 @@ public class KatharsisServletTest {
 
     }
 
+    @Test
+    public void onStreamedResponseShouldReturnOneResource() throws Exception {
+        katharsisServlet.destroy();
+        katharsisServlet = new SampleKatharsisServlet() {
+            @Override
+            protected KatharsisInvokerBuilder createKatharsisInvokerBuilder() {
+                return super.createKatharsisInvokerBuilder().streamResponses(true);
+            }
+        };
+        katharsisServlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+        request.setMethod("GET");
+        request.setContextPath("");
+        request.setServletPath("/api");
+        request.setPathInfo("/tasks/1");
+        request.setRequestURI("/api/tasks/1");
+        request.setContentType(JsonApiMediaType.APPLICATION_JSON_API);
+        request.addHeader("Accept", "*/*");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        katharsisServlet.service(request, response);
+
+        String responseContent = response.getContentAsString();
+        assertEquals(200, response.getStatus());
+        assertJsonPartEquals("\"1\"", responseContent, "data.id");
+        assertJsonPartEquals(SOME_TASK_ATTRIBUTES, responseContent, "data.attributes");
+    }
+
+    @Test
+    public void onMalformedRequestBodyShouldReturnBadRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+        request.setMethod("POST");
+        request.setContextPath("");
+        request.setServletPath("/api");
+        request.setPathInfo("/tasks");
+        request.setRequestURI("/api/tasks");
+        request.setContentType(JsonApiMediaType.APPLICATION_JSON_API);
+        request.addHeader("Accept", "*/*");
+        request.setContent("{\"data\": {".getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        katharsisServlet.service(request, response);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void onConditionalGetShouldReturnNotModified() throws Exception {
+        initETagServlet();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        katharsisServlet.service(createGetRequest("/tasks/1", null), response);
+
+        String etag = response.getHeader("ETag");
+        assertEquals(200, response.getStatus());
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\""));
+
+        response = new MockHttpServletResponse();
+        katharsisServlet.service(createGetRequest("/tasks/1", etag), response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertNull(response.getContentType());
+        assertTrue(StringUtils.isBlank(response.getContentAsString()));
+
+        response = new MockHttpServletResponse();
+        katharsisServlet.service(createGetRequest("/tasks/1", "\"other\""), response);
+
+        assertEquals(200, response.getStatus());
+        assertJsonPartEquals("\"1\"", response.getContentAsString(), "data.id");
+    }
+
+    @Test
+    public void onVersionedRepositoryShouldReturnNotModified() throws Exception {
+        initETagServlet();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        katharsisServlet.service(createGetRequest("/projects/1", null), response);
+
+        String etag = response.getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+
+        response = new MockHttpServletResponse();
+        katharsisServlet.service(createGetRequest("/projects/1", etag), response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertNull(response.getContentType());
+        assertTrue(StringUtils.isBlank(response.getContentAsString()));
+    }
+
+    @Test
+    public void onResultStreamShouldWriteAndCloseStream() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        katharsisServlet.service(createGetRequest("/notes", null), response);
+
+        assertEquals(200, response.getStatus());
+        assertJsonPartEquals("\"2\"", response.getContentAsString(), "data[1].id");
+        assertEquals(0, NoteRepository.OPEN_STREAMS.get());
+    }
+
+    @Test
+    public void onFailingResultStreamResponseShouldCloseStream() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                throw new IllegalStateException("connection lost");
+            }
+        };
+        katharsisServlet.service(createGetRequest("/notes", null), response);
+
+        assertEquals(500, response.getStatus());
+        assertEquals(0, NoteRepository.OPEN_STREAMS.get());
+    }
+
+    private void initETagServlet() throws Exception {
+        katharsisServlet.destroy();
+        katharsisServlet = new SampleKatharsisServlet() {
+            @Override
+            protected KatharsisInvokerBuilder createKatharsisInvokerBuilder() {
+                return super.createKatharsisInvokerBuilder().etagEnabled(true);
+            }
+        };
+        katharsisServlet.init(servletConfig);
+    }
+
+    private MockHttpServletRequest createGetRequest(String path, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+        request.setMethod("GET");
+        request.setContextPath("");
+        request.setServletPath("/api");
+        request.setPathInfo(path);
+        request.setRequestURI("/api" + path);
+        request.setContentType(JsonApiMediaType.APPLICATION_JSON_API);
+        request.addHeader("Accept", "*/*");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
 }
@@ -2,6 +2,7 @@ package io.katharsis.spring;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.net.MediaType;
+import io.katharsis.dispatcher.ConditionalRequest;
 import io.katharsis.dispatcher.RequestDispatcher;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.KatharsisMatchingException;
@@ -15,7 +16,9 @@ import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.ResultStream;
 import io.katharsis.servlet.util.BufferedRequestWrapper;
+import io.katharsis.utils.ETagUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -52,6 +55,7 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
     private ResourceRegistry resourceRegistry;
     private RequestDispatcher requestDispatcher;
     private String webPathPrefix;
+    private boolean etagEnabled;
 
     private ConfigurableBeanFactory beanFactory;
 
@@ -65,6 +69,21 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
         this.webPathPrefix = webPathPrefix != null ? webPathPrefix : "";
     }
 
+    public boolean isETagEnabled() {
+        return etagEnabled;
+    }
+
+    /**
+     * Enables ETags for successful GET responses and answers conditional requests with <i>304 Not Modified</i>. The
+     * ETag is derived from the version of a {@link io.katharsis.repository.VersionedRepository} before the request is
+     * dispatched, or otherwise computed from the response body while it is written.
+     *
+     * @param etagEnabled <i>true</i> to enable ETags
+     */
+    public void setETagEnabled(boolean etagEnabled) {
+        this.etagEnabled = etagEnabled;
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         if (beanFactory instanceof ConfigurableBeanFactory) {
@@ -113,6 +132,10 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
 
         boolean passToFilters = false;
 
+        ConditionalRequest conditionalRequest = new ConditionalRequest(etagEnabled, request.getMethod(),
+                request.getHeader(ETagUtils.IF_NONE_MATCH_HEADER));
+        boolean notModified = false;
+
         InputStream in = null;
 
         try {
@@ -120,13 +143,18 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
 
             Map<String, Set<String>> parameters = getParameters(request);
 
-            in = request.getInputStream();
-            RequestBody requestBody = inputStreamToBody(in);
-
             String method = request.getMethod();
             RepositoryMethodParameterProvider parameterProvider = new SpringParameterProvider(beanFactory, request);
-            katharsisResponse = requestDispatcher.dispatchRequest(jsonPath, method, parameters, parameterProvider,
-                    requestBody);
+
+            notModified = conditionalRequest.isNotModified(requestDispatcher, jsonPath, getRequestPath(request),
+                    parameters, parameterProvider);
+            if (!notModified) {
+                in = request.getInputStream();
+                RequestBody requestBody = inputStreamToBody(in);
+
+                katharsisResponse = requestDispatcher.dispatchRequest(jsonPath, method, parameters, parameterProvider,
+                        requestBody);
+            }
         } catch (KatharsisMappableException e) {
             // log error in KatharsisMappableException mapper.
             katharsisResponse = new KatharsisExceptionMapper().toErrorResponse(e);
@@ -136,21 +164,37 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
             if (!passToFilters) {
                 closeQuietly(in);
 
-                if (katharsisResponse != null) {
-                    response.setStatus(katharsisResponse.getHttpStatus());
-                    response.setContentType(JsonApiMediaType.APPLICATION_JSON_API);
+                if (notModified) {
+                    writeNotModified(response, conditionalRequest.getETag());
+                } else if (katharsisResponse != null && getResultStream(katharsisResponse) != null) {
+                    ResultStream<?> resultStream = getResultStream(katharsisResponse);
+                    writeHeaders(response, katharsisResponse, conditionalRequest.getETag(katharsisResponse));
 
+                    OutputStream out = null;
+                    try {
+                        // written as the resources are fetched, buffering would hold the entire collection
+                        out = response.getOutputStream();
+                        objectMapper.writeValue(out, katharsisResponse);
+                    } finally {
+                        // already closed if written, but the response may have failed before
+                        closeQuietly(resultStream);
+                        closeQuietly(out);
+                    }
+                } else if (katharsisResponse != null) {
                     ByteArrayOutputStream baos = null;
                     OutputStream out = null;
 
                     try {
                         // first write to a buffer first because objectMapper may fail while writing.
                         baos = new ByteArrayOutputStream(BUFFER_SIZE);
-                        objectMapper.writeValue(baos, katharsisResponse);
-
-                        out = response.getOutputStream();
-                        out.write(baos.toByteArray());
-                        out.flush();
+                        if (conditionalRequest.write(objectMapper, katharsisResponse, baos)) {
+                            writeNotModified(response, conditionalRequest.getETag());
+                        } else {
+                            writeHeaders(response, katharsisResponse, conditionalRequest.getETag(katharsisResponse));
+                            out = response.getOutputStream();
+                            out.write(baos.toByteArray());
+                            out.flush();
+                        }
                     } finally {
                         closeQuietly(baos);
                         closeQuietly(out);
@@ -163,6 +207,27 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
         return passToFilters;
     }
 
+    private static ResultStream<?> getResultStream(BaseResponseContext katharsisResponse) {
+        if (katharsisResponse.getResponse() != null
+                && katharsisResponse.getResponse().getEntity() instanceof ResultStream) {
+            return (ResultStream<?>) katharsisResponse.getResponse().getEntity();
+        }
+        return null;
+    }
+
+    private static void writeHeaders(HttpServletResponse response, BaseResponseContext katharsisResponse, String etag) {
+        response.setStatus(katharsisResponse.getHttpStatus());
+        response.setContentType(JsonApiMediaType.APPLICATION_JSON_API);
+        if (etag != null) {
+            response.setHeader(ETagUtils.ETAG_HEADER, etag);
+        }
+    }
+
+    private void writeNotModified(HttpServletResponse response, String etag) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(ETagUtils.ETAG_HEADER, etag);
+    }
+
     private boolean isAcceptablePath(HttpServletRequest request) {
         String contextPath = request.getContextPath();
         if (contextPath.startsWith("/") && contextPath.length() == 1) {
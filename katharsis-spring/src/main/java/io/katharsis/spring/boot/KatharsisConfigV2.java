@@ -48,8 +48,10 @@ public class KatharsisConfigV2 {
     @Bean
     public Filter springBootSampleKatharsisFilter() {
         objectMapper.registerModule(parameterNamesModule);
-        return new KatharsisFilterV2(objectMapper, resourceRegistry, requestDispatcher,
+        KatharsisFilterV2 filter = new KatharsisFilterV2(objectMapper, resourceRegistry, requestDispatcher,
                 properties.getPathPrefix());
+        filter.setETagEnabled(properties.isEtagEnabled());
+        return filter;
     }
 
     @Bean
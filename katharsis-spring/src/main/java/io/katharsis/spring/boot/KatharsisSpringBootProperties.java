@@ -7,6 +7,7 @@ public class KatharsisSpringBootProperties {
     private String resourcePackage;
     private String domainName;
     private String pathPrefix;
+    private boolean etagEnabled;
 
     public String getResourcePackage() {
         return resourcePackage;
@@ -31,4 +32,15 @@ public class KatharsisSpringBootProperties {
     public void setPathPrefix(String pathPrefix) {
         this.pathPrefix = pathPrefix;
     }
+
+    public boolean isEtagEnabled() {
+        return etagEnabled;
+    }
+
+    /**
+     * @param etagEnabled <i>true</i> to answer conditional GET requests, see {@link io.katharsis.spring.KatharsisFilterV2#setETagEnabled(boolean)}
+     */
+    public void setEtagEnabled(boolean etagEnabled) {
+        this.etagEnabled = etagEnabled;
+    }
 }
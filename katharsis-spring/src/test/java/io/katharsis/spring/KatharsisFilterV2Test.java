@@ -0,0 +1,102 @@
+package io.katharsis.spring;
+
+import io.katharsis.internal.boot.KatharsisBoot;
+import io.katharsis.internal.boot.KatharsisBootProperties;
+import io.katharsis.internal.boot.PropertiesProvider;
+import io.katharsis.invoker.JsonApiMediaType;
+import io.katharsis.locator.SampleJsonServiceLocator;
+import io.katharsis.queryParams.DefaultQueryParamsParser;
+import io.katharsis.queryParams.QueryParamsBuilder;
+import io.katharsis.resource.field.ResourceFieldNameTransformer;
+import io.katharsis.resource.registry.ConstantServiceUrlProvider;
+import io.katharsis.utils.ETagUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KatharsisFilterV2Test {
+
+    private static final String RESOURCE_SEARCH_PACKAGE = "io.katharsis.spring.domain";
+
+    private KatharsisFilterV2 filter;
+
+    @Before
+    public void before() {
+        final KatharsisBoot boot = new KatharsisBoot();
+        boot.setServiceLocator(new SampleJsonServiceLocator());
+        boot.setQueryParamsBuilds(new QueryParamsBuilder(new DefaultQueryParamsParser()));
+        boot.setDefaultServiceUrlProvider(new ConstantServiceUrlProvider("http://localhost:8080/api"));
+        boot.setPropertiesProvider(new PropertiesProvider() {
+
+            @Override
+            public String getProperty(String key) {
+                return KatharsisBootProperties.RESOURCE_SEARCH_PACKAGE.equals(key) ? RESOURCE_SEARCH_PACKAGE : null;
+            }
+        });
+        boot.setResourceFieldNameTransformer(new ResourceFieldNameTransformer(boot.getObjectMapper().getSerializationConfig()));
+        boot.boot();
+
+        filter = new KatharsisFilterV2(boot.getObjectMapper(), boot.getResourceRegistry(), boot.getRequestDispatcher(), "/api");
+        filter.setETagEnabled(true);
+    }
+
+    @Test
+    public void onConditionalGetShouldReturnNotModified() throws Exception {
+        MockHttpServletResponse response = get("/tasks", null);
+
+        String etag = response.getHeader(ETagUtils.ETAG_HEADER);
+        assertEquals(200, response.getStatus());
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\""));
+
+        response = get("/tasks", etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader(ETagUtils.ETAG_HEADER));
+        assertNull(response.getContentType());
+        assertEquals("", response.getContentAsString());
+
+        response = get("/tasks", "\"other\"");
+
+        assertEquals(200, response.getStatus());
+        assertEquals(JsonApiMediaType.APPLICATION_JSON_API, response.getContentType());
+        assertThatJson(response.getContentAsString()).node("data[0].attributes.name").isStringEqualTo("John");
+    }
+
+    @Test
+    public void onVersionedRepositoryShouldReturnNotModified() throws Exception {
+        MockHttpServletResponse response = get("/projects/1", null);
+
+        String etag = response.getHeader(ETagUtils.ETAG_HEADER);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+
+        response = get("/projects/1", etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader(ETagUtils.ETAG_HEADER));
+        assertNull(response.getContentType());
+        assertEquals("", response.getContentAsString());
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("");
+        request.addHeader("Accept", JsonApiMediaType.APPLICATION_JSON_API);
+        if (ifNoneMatch != null) {
+            request.addHeader(ETagUtils.IF_NONE_MATCH_HEADER, ifNoneMatch);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -1,5 +1,6 @@
 package io.katharsis.spring.boot;
 
+import io.katharsis.spring.domain.repository.NoteRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,4 +43,14 @@ public class SpringBootSimpleExampleApplicationTests {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(response.getBody(), "hello");
     }
+
+    @Test
+    public void testResultStreamEndpoint() throws Exception {
+        TestRestTemplate testRestTemplate = new TestRestTemplate();
+        ResponseEntity<String> response = testRestTemplate
+            .getForEntity("http://localhost:" + this.port + "/api/notes", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThatJson(response.getBody()).node("data[1].attributes.text").isStringEqualTo("Second note");
+        assertEquals(0, NoteRepository.OPEN_STREAMS.get());
+    }
 }
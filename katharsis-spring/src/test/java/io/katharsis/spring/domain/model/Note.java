@@ -0,0 +1,37 @@
+package io.katharsis.spring.domain.model;
+
+import io.katharsis.resource.annotations.JsonApiId;
+import io.katharsis.resource.annotations.JsonApiResource;
+
+@JsonApiResource(type = "notes")
+public class Note {
+
+    @JsonApiId
+    private Long id;
+
+    private String text;
+
+    public Note() {
+    }
+
+    public Note(Long id, String text) {
+        this.id = id;
+        this.text = text;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
@@ -0,0 +1,63 @@
+package io.katharsis.spring.domain.repository;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.QuerySpecResourceRepository;
+import io.katharsis.queryspec.QuerySpecStreamingRepository;
+import io.katharsis.response.IteratorResultStream;
+import io.katharsis.response.ResultStream;
+import io.katharsis.spring.domain.model.Note;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class NoteRepository implements QuerySpecResourceRepository<Note, Long>, QuerySpecStreamingRepository<Note> {
+
+    public static final AtomicInteger OPEN_STREAMS = new AtomicInteger();
+
+    @Override
+    public Class<Note> getResourceClass() {
+        return Note.class;
+    }
+
+    @Override
+    public Note findOne(Long id, QuerySpec querySpec) {
+        return new Note(id, "Some note");
+    }
+
+    @Override
+    public Iterable<Note> findAll(QuerySpec querySpec) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Iterable<Note> findAll(Iterable<Long> ids, QuerySpec querySpec) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ResultStream<Note> stream(QuerySpec querySpec) {
+        OPEN_STREAMS.incrementAndGet();
+        return new IteratorResultStream<>(Arrays.asList(new Note(1L, "First note"), new Note(2L, "Second note"))
+            .iterator(), new Closeable() {
+
+            @Override
+            public void close() {
+                OPEN_STREAMS.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public <S extends Note> S save(S entity) {
+        return null;
+    }
+
+    @Override
+    public void delete(Long id) {
+
+    }
+}
@@ -1,12 +1,17 @@
 package io.katharsis.spring.domain.repository;
 
 import io.katharsis.queryParams.QueryParams;
+import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.repository.ResourceRepository;
+import io.katharsis.repository.VersionedRepository;
 import io.katharsis.spring.domain.model.Project;
 import org.springframework.stereotype.Component;
 
 @Component
-public class ProjectRepository implements ResourceRepository<Project, Long> {
+public class ProjectRepository implements ResourceRepository<Project, Long>, VersionedRepository<Long> {
+
+    public static final String VERSION = "1";
+
     @Override
     public <S extends Project> S save(S entity) {
         return null;
@@ -31,4 +36,9 @@ public class ProjectRepository implements ResourceRepository<Project, Long> {
     public void delete(Long aLong) {
 
     }
+
+    @Override
+    public String getVersion(Iterable<Long> ids, QuerySpec querySpec) {
+        return VERSION;
+    }
 }
@@ -1,5 +1,7 @@
 package io.katharsis.vertx;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -9,15 +11,23 @@ import java.util.Set;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.katharsis.dispatcher.ConditionalRequest;
 import io.katharsis.dispatcher.RequestDispatcher;
 import io.katharsis.repository.RepositoryMethodParameterProvider;
 import io.katharsis.request.dto.RequestBody;
 import io.katharsis.request.path.JsonPath;
 import io.katharsis.request.path.PathBuilder;
 import io.katharsis.response.BaseResponseContext;
+import io.katharsis.response.ResultStream;
+import io.katharsis.utils.ETagUtils;
 import io.netty.handler.codec.http.QueryStringDecoder;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.EncodeException;
 import io.vertx.ext.web.RoutingContext;
@@ -28,42 +38,143 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Vertx handler to Katharsis resource controller. Vertx delegates request processing to Katharsis controller.
+ * <p>
+ * If a {@link WorkerExecutor} is given, requests are dispatched and serialized on its worker threads instead of the
+ * event loop, so repositories are free to block. The size of the worker pool bounds the number of requests processed
+ * concurrently.
+ * <p>
+ * If ETags are enabled, successful GET responses carry an <i>ETag</i> header and requests with a matching
+ * <i>If-None-Match</i> header are answered with <i>304 Not Modified</i>. The ETag is derived from the version of a
+ * {@link io.katharsis.repository.VersionedRepository} if available, otherwise from the response body.
+ * <p>
+ * Responses are encoded into a buffer before they are written. This also holds for collections returned as a
+ * {@link ResultStream}: their resources are still fetched lazily, but the encoded collection is held in memory as a
+ * whole. Use the servlet or JAX-RS integration to stream large collections to the client.
  */
 @Slf4j
 @Value
 @RequiredArgsConstructor
 public class KatharsisHandler implements Handler<RoutingContext> {
 
+    private static final int NOT_MODIFIED = 304;
+
     private final ObjectMapper mapper;
     private final String webPath;
     private final PathBuilder pathBuilder;
     private final ParameterProviderFactory parameterProviderFactory;
     private final RequestDispatcher requestDispatcher;
 
+    private final WorkerExecutor workerExecutor;
+
+    private final boolean etagEnabled;
+
+    public KatharsisHandler(ObjectMapper mapper, String webPath, PathBuilder pathBuilder,
+                            ParameterProviderFactory parameterProviderFactory, RequestDispatcher requestDispatcher) {
+        this(mapper, webPath, pathBuilder, parameterProviderFactory, requestDispatcher, null);
+    }
+
+    public KatharsisHandler(ObjectMapper mapper, String webPath, PathBuilder pathBuilder,
+                            ParameterProviderFactory parameterProviderFactory, RequestDispatcher requestDispatcher,
+                            WorkerExecutor workerExecutor) {
+        this(mapper, webPath, pathBuilder, parameterProviderFactory, requestDispatcher, workerExecutor, false);
+    }
+
     @Override
-    public void handle(RoutingContext ctx) {
+    public void handle(final RoutingContext ctx) {
 
-        JsonPath jsonPath = buildPath(ctx);
-        String requestMethod = ctx.request().method().name();
+        final JsonPath jsonPath = buildPath(ctx);
+        final String requestMethod = ctx.request().method().name();
 
-        Map<String, Set<String>> parameters = getParameters(ctx);
+        final Map<String, Set<String>> parameters = getParameters(ctx);
 
-        RepositoryMethodParameterProvider provider = parameterProviderFactory.provider(ctx);
-        RequestBody body = requestBody(ctx.getBodyAsString());
+        final RepositoryMethodParameterProvider provider = parameterProviderFactory.provider(ctx);
+        final String body = ctx.getBodyAsString();
+        final String path = ctx.request().path();
+        final String ifNoneMatch = etagEnabled && ctx.request().method() == HttpMethod.GET
+                ? ctx.request().getHeader(ETagUtils.IF_NONE_MATCH_HEADER) : null;
 
-        try {
-            BaseResponseContext response = requestDispatcher.dispatchRequest(jsonPath, requestMethod, parameters, provider, body);
+        if (workerExecutor == null) {
+            writeResponse(ctx, dispatch(jsonPath, requestMethod, parameters, provider, body, path, ifNoneMatch));
+            return;
+        }
 
-            ctx.response()
-                    .setStatusCode(response.getHttpStatus())
-                    .putHeader(HttpHeaders.CONTENT_TYPE, JsonApiMediaTypeHandler.APPLICATION_JSON_API)
-                    .end(encode(response));
+        workerExecutor.executeBlocking(new Handler<Future<EncodedResponse>>() {
+            @Override
+            public void handle(Future<EncodedResponse> future) {
+                future.complete(dispatch(jsonPath, requestMethod, parameters, provider, body, path, ifNoneMatch));
+            }
+        }, false, new Handler<AsyncResult<EncodedResponse>>() {
+            @Override
+            public void handle(AsyncResult<EncodedResponse> result) {
+                if (result.succeeded()) {
+                    writeResponse(ctx, result.result());
+                } else {
+                    ctx.fail(result.cause());
+                }
+            }
+        });
+    }
 
+    private EncodedResponse dispatch(JsonPath jsonPath, String requestMethod, Map<String, Set<String>> parameters,
+                                     RepositoryMethodParameterProvider provider, String body, String path,
+                                     String ifNoneMatch) {
+        ConditionalRequest conditionalRequest = new ConditionalRequest(etagEnabled, requestMethod, ifNoneMatch);
+        try {
+            if (conditionalRequest.isNotModified(requestDispatcher, jsonPath, path, parameters, provider)) {
+                return new EncodedResponse(NOT_MODIFIED, null, conditionalRequest.getETag());
+            }
+
+            RequestBody requestBody = requestBody(body);
+            BaseResponseContext response = requestDispatcher.dispatchRequest(jsonPath, requestMethod, parameters,
+                    provider, requestBody);
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            boolean notModified;
+            try {
+                notModified = conditionalRequest.write(mapper, response, encoded);
+            } catch (IOException e) {
+                throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+            } finally {
+                closeResultStream(response);
+            }
+            if (notModified) {
+                return new EncodedResponse(NOT_MODIFIED, null, conditionalRequest.getETag());
+            }
+            return new EncodedResponse(response.getHttpStatus(), Buffer.factory.buffer(encoded.toByteArray()),
+                    conditionalRequest.getETag(response));
         } catch (Exception e) {
             throw new KatharsisVertxException("Exception during dispatch " + e.getMessage());
         }
     }
 
+    /**
+     * Encoding closes a {@link ResultStream} once it is written, this also closes it if encoding failed before.
+     */
+    private static void closeResultStream(BaseResponseContext response) {
+        if (response.getResponse() != null && response.getResponse().getEntity() instanceof ResultStream) {
+            try {
+                ((ResultStream<?>) response.getResponse().getEntity()).close();
+            } catch (IOException e) {
+                log.warn("failed to close result stream", e);
+            }
+        }
+    }
+
+    private static void writeResponse(RoutingContext ctx, EncodedResponse response) {
+        if (response.getEtag() != null) {
+            ctx.response().putHeader(ETagUtils.ETAG_HEADER, response.getEtag());
+        }
+        if (response.getBody() == null) {
+            ctx.response()
+                    .setStatusCode(response.getHttpStatus())
+                    .end();
+            return;
+        }
+        ctx.response()
+                .setStatusCode(response.getHttpStatus())
+                .putHeader(HttpHeaders.CONTENT_TYPE, JsonApiMediaTypeHandler.APPLICATION_JSON_API)
+                .end(response.getBody());
+    }
+
     protected JsonPath buildPath(RoutingContext ctx) {
         return buildPath(ctx.request().path());
     }
@@ -107,7 +218,11 @@ public class KatharsisHandler implements Handler<RoutingContext> {
 
     /**
      * Taken from io.vertx.json.Json.
+     *
+     * @deprecated no longer used by the handler, responses are written to a buffer with the {@link ObjectMapper}
+     * directly
      */
+    @Deprecated
     protected String encode(Object obj) throws EncodeException {
         try {
             return mapper.writeValueAsString(obj);
@@ -116,4 +231,11 @@ public class KatharsisHandler implements Handler<RoutingContext> {
         }
     }
 
+    @Value
+    private static class EncodedResponse {
+
+        private final int httpStatus;
+        private final Buffer body;
+        private final String etag;
+    }
 }
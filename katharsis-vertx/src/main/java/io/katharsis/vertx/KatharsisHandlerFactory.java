@@ -23,6 +23,7 @@ import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ResourceRegistryBuilder;
 import io.katharsis.resource.registry.ServiceUrlProvider;
 import io.katharsis.utils.parser.TypeParser;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.json.Json;
 import lombok.NonNull;
 
@@ -46,6 +47,40 @@ public class KatharsisHandlerFactory {
                                           @NonNull ObjectMapper objectMapper,
                                           @NonNull ParameterProviderFactory parameterProviderFactory) {
 
+        return create(packagesToScan, webPath, objectMapper, parameterProviderFactory, null);
+    }
+
+    /**
+     * Creates a handler dispatching requests on the given worker executor rather than on the event loop. Use
+     * {@link io.vertx.core.Vertx#createSharedWorkerExecutor(String, int)} to bound the number of concurrent requests.
+     */
+    public static KatharsisHandler createAsync(@NonNull String packagesToScan,
+                                               @NonNull String webPath,
+                                               @NonNull ObjectMapper objectMapper,
+                                               @NonNull WorkerExecutor workerExecutor) {
+
+        return createAsync(packagesToScan, webPath, objectMapper, new DefaultParameterProviderFactory(), workerExecutor);
+    }
+
+    /**
+     * Creates a handler dispatching requests on the given worker executor, see
+     * {@link #createAsync(String, String, ObjectMapper, WorkerExecutor)}.
+     */
+    public static KatharsisHandler createAsync(@NonNull String packagesToScan,
+                                               @NonNull String webPath,
+                                               @NonNull ObjectMapper objectMapper,
+                                               @NonNull ParameterProviderFactory parameterProviderFactory,
+                                               @NonNull WorkerExecutor workerExecutor) {
+
+        return create(packagesToScan, webPath, objectMapper, parameterProviderFactory, workerExecutor);
+    }
+
+    public static KatharsisHandler create(@NonNull String packagesToScan,
+                                          @NonNull String webPath,
+                                          @NonNull ObjectMapper objectMapper,
+                                          @NonNull ParameterProviderFactory parameterProviderFactory,
+                                          WorkerExecutor workerExecutor) {
+
         ExceptionMapperRegistry exceptionMapperRegistry = buildExceptionMapperRegistry(packagesToScan);
         ResourceRegistry resourceRegistry = buildRegistry(packagesToScan, webPath);
 
@@ -60,7 +95,7 @@ public class KatharsisHandlerFactory {
         PathBuilder pathBuilder = new PathBuilder(resourceRegistry);
 
         return new KatharsisHandler(objectMapper, webPath,
-                pathBuilder, parameterProviderFactory, requestDispatcher);
+                pathBuilder, parameterProviderFactory, requestDispatcher, workerExecutor);
     }
 
     private static RequestDispatcher createRequestDispatcher(@NonNull ObjectMapper objectMapper,
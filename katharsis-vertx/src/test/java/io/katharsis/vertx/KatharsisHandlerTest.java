@@ -0,0 +1,152 @@
+package io.katharsis.vertx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.dispatcher.RequestDispatcher;
+import io.katharsis.repository.RepositoryMethodParameterProvider;
+import io.katharsis.request.dto.RequestBody;
+import io.katharsis.request.path.JsonPath;
+import io.katharsis.request.path.PathBuilder;
+import io.katharsis.request.path.ResourcePath;
+import io.katharsis.response.BaseResponseContext;
+import io.katharsis.utils.ETagUtils;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+public class KatharsisHandlerTest {
+
+    private static final String PATH = "/api/tasks";
+
+    private static final byte[] BODY = "{\"data\":[]}".getBytes(Charset.forName("UTF-8"));
+
+    private final ObjectMapper mapper = new ObjectMapper() {
+
+        @Override
+        public void writeValue(OutputStream out, Object value) throws IOException {
+            out.write(BODY);
+        }
+    };
+
+    private RequestDispatcher requestDispatcher;
+
+    private KatharsisHandler handler;
+
+    @Before
+    public void setup() {
+        PathBuilder pathBuilder = mock(PathBuilder.class);
+        when(pathBuilder.buildPath(anyString())).thenReturn(new ResourcePath("tasks"));
+
+        BaseResponseContext response = mock(BaseResponseContext.class);
+        when(response.getHttpStatus()).thenReturn(200);
+        requestDispatcher = mock(RequestDispatcher.class);
+        when(requestDispatcher.dispatchRequest(any(JsonPath.class), anyString(), anyParameters(),
+                any(RepositoryMethodParameterProvider.class), any(RequestBody.class))).thenReturn(response);
+
+        handler = new KatharsisHandler(mapper, "/api", pathBuilder, mock(ParameterProviderFactory.class),
+                requestDispatcher, null, true);
+    }
+
+    @Test
+    public void onMatchingBodyShouldReturnNotModified() {
+        // GIVEN
+        HttpServerResponse first = handle(null);
+        ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+        verify(first).putHeader(eq(ETagUtils.ETAG_HEADER), etag.capture());
+        verify(first).setStatusCode(200);
+        verify(first).putHeader(HttpHeaders.CONTENT_TYPE, JsonApiMediaTypeHandler.APPLICATION_JSON_API);
+        verify(first).end(any(Buffer.class));
+        assertThat(etag.getValue()).startsWith("\"");
+
+        // WHEN
+        HttpServerResponse second = handle(etag.getValue());
+
+        // THEN
+        verify(second).setStatusCode(304);
+        verify(second).putHeader(ETagUtils.ETAG_HEADER, etag.getValue());
+        verify(second, never()).putHeader(eq(HttpHeaders.CONTENT_TYPE), any(CharSequence.class));
+        verify(second).end();
+    }
+
+    @Test
+    public void onMatchingVersionShouldNotDispatch() {
+        // GIVEN
+        String etag = ETagUtils.fromVersion("1", PATH, Collections.<String, Set<String>>emptyMap());
+        when(requestDispatcher.getVersion(any(JsonPath.class), eq("GET"), anyParameters(),
+                any(RepositoryMethodParameterProvider.class))).thenReturn("1");
+
+        // WHEN
+        HttpServerResponse response = handle(etag);
+
+        // THEN
+        verify(response).setStatusCode(304);
+        verify(response).putHeader(ETagUtils.ETAG_HEADER, etag);
+        verify(response, never()).putHeader(eq(HttpHeaders.CONTENT_TYPE), any(CharSequence.class));
+        verify(response).end();
+        verify(requestDispatcher, never()).dispatchRequest(any(JsonPath.class), anyString(),
+                anyParameters(), any(RepositoryMethodParameterProvider.class),
+                any(RequestBody.class));
+    }
+
+    @Test
+    public void onOtherETagShouldReturnBody() {
+        // WHEN
+        HttpServerResponse response = handle("\"other\"");
+
+        // THEN
+        ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+        verify(response).setStatusCode(200);
+        verify(response).putHeader(HttpHeaders.CONTENT_TYPE, JsonApiMediaTypeHandler.APPLICATION_JSON_API);
+        verify(response).end(body.capture());
+        assertThat(body.getValue().getBytes()).isEqualTo(BODY);
+    }
+
+    private HttpServerResponse handle(String ifNoneMatch) {
+        HttpServerRequest request = mock(HttpServerRequest.class);
+        when(request.method()).thenReturn(HttpMethod.GET);
+        when(request.path()).thenReturn(PATH);
+        when(request.uri()).thenReturn(PATH);
+        when(request.getHeader(ETagUtils.IF_NONE_MATCH_HEADER)).thenReturn(ifNoneMatch);
+
+        HttpServerResponse response = mock(HttpServerResponse.class);
+        when(response.setStatusCode(anyInt())).thenReturn(response);
+        when(response.putHeader(anyString(), anyString())).thenReturn(response);
+        when(response.putHeader(any(CharSequence.class), any(CharSequence.class))).thenReturn(response);
+
+        RoutingContext ctx = mock(RoutingContext.class);
+        when(ctx.request()).thenReturn(request);
+        when(ctx.response()).thenReturn(response);
+
+        handler.handle(ctx);
+        return response;
+    }
+
+    private static Map<String, Set<String>> anyParameters() {
+        return Matchers.<Map<String, Set<String>>>any();
+    }
+}